@@ -14,7 +14,9 @@ import static org.eclipse.swt.internal.widgets.MarkupUtil.isMarkupEnabledFor;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.nebula.widgets.grid.internal.IGridAdapter;
 import org.eclipse.nebula.widgets.grid.internal.IScrollBarProxy;
@@ -73,7 +75,8 @@ public class Grid extends Composite {
 
   private List<GridItem> items = new ArrayList<GridItem>();
   private List<GridItem> rootItems = new ArrayList<GridItem>();
-  private List<GridItem> selectedItems = new ArrayList<GridItem>();
+  private boolean itemIndicesValid = true;
+  private Set<GridItem> selectedItems = new LinkedHashSet<GridItem>();
   private List<Point> selectedCells = new ArrayList<Point>();
   private List<GridColumn> columns = new ArrayList<GridColumn>();
   private List<GridColumn> displayOrderedColumns = new ArrayList<GridColumn>();
@@ -101,6 +104,9 @@ public class Grid extends Composite {
   private int topIndex = -1;
   private int bottomIndex = -1;
   private boolean bottomIndexShownCompletely;
+  private int preloadedItems;
+  private int virtualCacheMargin = -1;
+  private Set<GridItem> cachedItems = new LinkedHashSet<GridItem>();
   private final IGridAdapter gridAdapter;
   boolean hasDifferingHeights;
   LayoutCache layoutCache;
@@ -444,7 +450,7 @@ public class Grid extends Composite {
     if( item == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
-    return item.getParent() == this ? items.indexOf( item ) : -1;
+    return item.getParent() == this ? internalIndexOf( item ) : -1;
   }
 
   /**
@@ -512,7 +518,7 @@ public class Grid extends Composite {
   public GridItem getNextVisibleItem( GridItem item ) {
     checkWidget();
     GridItem result = null;
-    int index = items.indexOf( item );
+    int index = internalIndexOf( item );
     if( index != items.size() - 1 ) {
       result = items.get( index + 1 );
       while( result != null && !result.isVisible() ) {
@@ -547,7 +553,7 @@ public class Grid extends Composite {
     if( item == null ) {
       index = items.size();
     } else {
-      index = items.indexOf( item );
+      index = internalIndexOf( item );
     }
     if( index > 0 ) {
       result = items.get( index - 1 );
@@ -1418,7 +1424,7 @@ public class Grid extends Composite {
           if( item.isDisposed() ) {
             SWT.error( SWT.ERROR_INVALID_ARGUMENT );
           }
-          internalSelect( this.items.indexOf( item ) );
+          internalSelect( internalIndexOf( item ) );
         }
       }
     }
@@ -1520,7 +1526,7 @@ public class Grid extends Composite {
       }
     } else {
       if( selectedItems.size() != 0 ) {
-        result = items.indexOf( selectedItems.get( 0 ) );
+        result = internalIndexOf( selectedItems.iterator().next() );
       }
     }
     return result;
@@ -1559,13 +1565,13 @@ public class Grid extends Composite {
       result = new int[ selectedRows.size() ];
       for( int i = 0; i < result.length; i++ ) {
         GridItem item = selectedRows.get( i );
-        result[ i ] = items.indexOf( item );
+        result[ i ] = internalIndexOf( item );
       }
     } else {
       result = new int[ selectedItems.size() ];
-      for( int i = 0; i < result.length; i++ ) {
-        GridItem item = selectedItems.get( i );
-        result[ i ] = items.indexOf( item );
+      int i = 0;
+      for( GridItem item : selectedItems ) {
+        result[ i++ ] = internalIndexOf( item );
       }
     }
     return result;
@@ -1627,7 +1633,7 @@ public class Grid extends Composite {
     }
     boolean result = false;
     if( cellSelectionEnabled ) {
-      int index = items.indexOf( item );
+      int index = internalIndexOf( item );
       if( index != -1 ) {
         for( Point cell : selectedCells ) {
           if( cell.y == index ) {
@@ -2078,7 +2084,7 @@ public class Grid extends Composite {
             if( item.isVisible() ) {
               row--;
               if( row == 0 ) {
-                firstVisibleIndex = items.indexOf( item );
+                firstVisibleIndex = internalIndexOf( item );
               }
             }
           }
@@ -2126,7 +2132,7 @@ public class Grid extends Composite {
           parent = parent.getParentItem();
         }
         if( !isShown( item ) ) {
-          setTopIndex( items.indexOf( item ) );
+          setTopIndex( internalIndexOf( item ) );
         }
       }
     }
@@ -2202,7 +2208,7 @@ public class Grid extends Composite {
       }
     } else {
       if( selectedItems.size() != 0 ) {
-        item = selectedItems.get( 0 );
+        item = selectedItems.iterator().next();
         showItem( item );
       }
     }
@@ -2238,6 +2244,55 @@ public class Grid extends Composite {
     return autoHeight;
   }
 
+  /**
+   * Sets the number of items above and below the visible area of a virtual grid that keep their
+   * data. The data of items further away is cleared and requested again with an
+   * <code>SWT.SetData</code> event when the items become visible. This keeps the memory needed for
+   * a virtual grid with a large number of items bounded. A negative value (the default) keeps the
+   * data of all items that have been materialized.
+   * <p>
+   * The margin is counted in addition to the items preloaded with <code>RWT.PRELOADED_ITEMS</code>.
+   * Only items that are materialized after the margin was set are cleared.
+   * </p>
+   *
+   * @param margin the number of items to keep outside of the visible area, or a negative value
+   * @throws org.eclipse.swt.SWTException
+   * <ul>
+   * <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   * <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that
+   * created the receiver</li>
+   * </ul>
+   * @see SWT#VIRTUAL
+   * @since 3.2
+   */
+  public void setVirtualCacheMargin( int margin ) {
+    checkWidget();
+    virtualCacheMargin = margin;
+    if( margin < 0 ) {
+      cachedItems.clear();
+    }
+  }
+
+  /**
+   * Returns the number of items above and below the visible area of a virtual grid that keep
+   * their data.
+   *
+   * @return the number of items to keep outside of the visible area, or a negative value if the
+   * data of all items is kept
+   * @throws org.eclipse.swt.SWTException
+   * <ul>
+   * <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   * <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that
+   * created the receiver</li>
+   * </ul>
+   * @see #setVirtualCacheMargin(int)
+   * @since 3.2
+   */
+  public int getVirtualCacheMargin() {
+    checkWidget();
+    return virtualCacheMargin;
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public <T> T getAdapter( Class<T> adapter ) {
@@ -2255,6 +2310,9 @@ public class Grid extends Composite {
 
   @Override
   public void setData( String key, Object value ) {
+    if( RWT.PRELOADED_ITEMS.equals( key ) ) {
+      setPreloadedItems( value );
+    }
     if( !RWT.MARKUP_ENABLED.equals( key ) || !isMarkupEnabledFor( this ) ) {
       super.setData( key, value );
     }
@@ -2273,7 +2331,7 @@ public class Grid extends Composite {
       if( index >= rootItems.size() ) {
         flatIndex = -1;
       } else {
-        flatIndex = items.indexOf( rootItems.get( index ) );
+        flatIndex = internalIndexOf( rootItems.get( index ) );
       }
     } else if( !root ) {
       if( index >= parentItem.getItemCount() || index == -1 ) {
@@ -2282,9 +2340,9 @@ public class Grid extends Composite {
           int lastChildIndex = rightMostDescendent.getItemCount() - 1;
           rightMostDescendent = rightMostDescendent.getItem( lastChildIndex );
         }
-        flatIndex = items.indexOf( rightMostDescendent ) + 1;
+        flatIndex = internalIndexOf( rightMostDescendent ) + 1;
       } else {
-        flatIndex = items.indexOf( parentItem.getItem( index ) );
+        flatIndex = internalIndexOf( parentItem.getItem( index ) );
       }
     }
     if( flatIndex == -1 ) {
@@ -2294,6 +2352,11 @@ public class Grid extends Composite {
       items.add( flatIndex, item );
       row = flatIndex;
     }
+    if( row == items.size() - 1 ) {
+      item.flatIndex = row;
+    } else {
+      itemIndicesValid = false;
+    }
     updateVisibleItems( 1 );
     scheduleRedraw();
     return row;
@@ -2301,8 +2364,12 @@ public class Grid extends Composite {
 
   void removeItem( int index ) {
     GridItem item = items.remove( index );
+    if( index != items.size() ) {
+      itemIndicesValid = false;
+    }
+    cachedItems.remove( item );
     if( !disposing ) {
-      selectedItems.remove (item );
+      selectedItems.remove( item );
 // TODO: [if] Implement cell selection
 //      Point[] cells = getCells( item );
 //      for( int i = 0; i < cells.length; i++ ) {
@@ -2447,7 +2514,7 @@ public class Grid extends Composite {
         y += getHeaderHeight();
       }
       int topIndex = getTopIndex();
-      int itemIndex = items.indexOf( item );
+      int itemIndex = internalIndexOf( item );
       if( itemIndex == -1 ) {
         SWT.error( SWT.ERROR_INVALID_ARGUMENT );
       }
@@ -2474,7 +2541,7 @@ public class Grid extends Composite {
     checkWidget();
     boolean result = false;
     if( item.isVisible() ) {
-      int itemIndex = items.indexOf( item );
+      int itemIndex = internalIndexOf( item );
       if( itemIndex == -1 ) {
         SWT.error( SWT.ERROR_INVALID_ARGUMENT );
       }
@@ -2488,17 +2555,54 @@ public class Grid extends Composite {
 
   private void doRedraw() {
     if( isVirtual() && items.size() > 0 ) {
-      for( int index = getTopIndex(); index <= getBottomIndex(); index++ ) {
+      int startIndex = Math.max( 0, getTopIndex() - preloadedItems );
+      int endIndex = Math.min( items.size() - 1, getBottomIndex() + preloadedItems );
+      for( int index = startIndex; index <= endIndex; index++ ) {
         GridItem item = items.get( index );
         if( item.isVisible() ) {
           item.ensureItemData();
           item.handleVirtual();
         }
       }
+      clearCachedItems( startIndex - virtualCacheMargin, endIndex + virtualCacheMargin );
     }
     updateScrollBars();
   }
 
+  private void clearCachedItems( int startIndex, int endIndex ) {
+    if( virtualCacheMargin >= 0 ) {
+      Iterator<GridItem> iterator = cachedItems.iterator();
+      while( iterator.hasNext() ) {
+        GridItem item = iterator.next();
+        int index = internalIndexOf( item );
+        if( index < startIndex || index > endIndex ) {
+          iterator.remove();
+          item.clear( false );
+        }
+      }
+    }
+  }
+
+  void itemCached( GridItem item ) {
+    if( virtualCacheMargin >= 0 ) {
+      cachedItems.add( item );
+    }
+  }
+
+  private void setPreloadedItems( Object value ) {
+    if( value == null ) {
+      preloadedItems = 0;
+    } else {
+      if( !( value instanceof Integer ) ) {
+        SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+      }
+      preloadedItems = ( ( Integer )value ).intValue();
+      if( preloadedItems < 0 ) {
+        SWT.error( SWT.ERROR_INVALID_RANGE );
+      }
+    }
+  }
+
   boolean isVirtual() {
     return ( getStyle() & SWT.VIRTUAL ) != 0;
   }
@@ -2667,7 +2771,7 @@ public class Grid extends Composite {
       if( cellSelectionEnabled ) {
 // TODO: [if] Implement cell selection
 //        selectCells( getCells( item ) );
-      } else if( !selectedItems.contains( item ) ) {
+      } else {
         selectedItems.add( item );
       }
     }
@@ -2678,7 +2782,7 @@ public class Grid extends Composite {
       if( cellSelectionEnabled ) {
 // TODO: [if] Implement cell selection
 //        deselectCells( getCells( item ) );
-      } else if( selectedItems.contains( item ) ) {
+      } else {
         selectedItems.remove( item );
       }
     }
@@ -3065,7 +3169,28 @@ public class Grid extends Composite {
   }
 
   int internalIndexOf( GridItem item ) {
-    return items.indexOf( item );
+    int result = -1;
+    if( item != null ) {
+      if( !itemIndicesValid ) {
+        updateItemIndices();
+      }
+      int index = item.flatIndex;
+      if( isValidItemIndex( index ) && items.get( index ) == item ) {
+        result = index;
+      }
+    }
+    return result;
+  }
+
+  /*
+   * Item indices are cached in the items and recomputed lazily after an item was inserted or
+   * removed anywhere but at the end.
+   */
+  private void updateItemIndices() {
+    for( int i = 0; i < items.size(); i++ ) {
+      items.get( i ).flatIndex = i;
+    }
+    itemIndicesValid = true;
   }
 
   void scheduleRedraw() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -64,6 +64,7 @@ public class GridItem extends Item {
   private boolean cached;
   private transient IGridItemAdapter gridItemAdapter;
   int index;
+  int flatIndex = -1;
 
   /**
    * Creates a new instance of this class and places the item at the end of
@@ -1607,6 +1608,7 @@ public class GridItem extends Item {
   private void markCached() {
     if( parent.isVirtual() ) {
       cached = true;
+      parent.itemCached( this );
     }
   }
 
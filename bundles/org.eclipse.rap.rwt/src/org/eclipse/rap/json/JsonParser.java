@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013 EclipseSource.
+ * Copyright (c) 2013, 2016 EclipseSource.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *    Ralf Sternberg - initial implementation and API
+ *    EclipseSource - pull parsing and name table
  ******************************************************************************/
 package org.eclipse.rap.json;
 
@@ -30,6 +31,11 @@ class JsonParser {
   private int current;
   private StringBuilder captureBuffer;
   private int captureStart;
+  private NameTable nameTable;
+  private boolean started;
+  private boolean[] separatorPending;
+  private int depth;
+  private boolean nameRead;
 
   /*
    * |                      bufferOffset
@@ -56,7 +62,12 @@ class JsonParser {
     captureStart = -1;
   }
 
+  void setNameTable( NameTable nameTable ) {
+    this.nameTable = nameTable;
+  }
+
   JsonValue parse() throws IOException {
+    started = true;
     read();
     skipWhiteSpace();
     JsonValue result = readValue();
@@ -67,6 +78,148 @@ class JsonParser {
     return result;
   }
 
+  /*
+   * Pull parsing: the following methods read the input step by step. Separators between the
+   * elements of arrays and objects are consumed implicitly.
+   */
+
+  void beginArray() throws IOException {
+    prepareValue();
+    readRequiredChar( '[' );
+    enterScope();
+  }
+
+  void endArray() throws IOException {
+    skipWhiteSpace();
+    if( !readChar( ']' ) ) {
+      throw expected( "',' or ']'" );
+    }
+    leaveScope();
+  }
+
+  void beginObject() throws IOException {
+    prepareValue();
+    readRequiredChar( '{' );
+    enterScope();
+  }
+
+  void endObject() throws IOException {
+    skipWhiteSpace();
+    if( !readChar( '}' ) ) {
+      throw expected( "',' or '}'" );
+    }
+    leaveScope();
+  }
+
+  boolean hasNext() throws IOException {
+    ensureStarted();
+    skipWhiteSpace();
+    if( current == ',' ) {
+      return true;
+    }
+    return !isEndOfText() && current != ']' && current != '}';
+  }
+
+  String nextName() throws IOException {
+    prepareValue();
+    String name = readName();
+    skipWhiteSpace();
+    if( !readChar( ':' ) ) {
+      throw expected( "':'" );
+    }
+    nameRead = true;
+    return name;
+  }
+
+  String nextString() throws IOException {
+    prepareValue();
+    if( current != '"' ) {
+      throw expected( "string" );
+    }
+    return readStringInternal( false );
+  }
+
+  int nextInt() throws IOException {
+    prepareValue();
+    boolean negative = readChar( '-' );
+    int firstDigit = current;
+    if( !isDigit() ) {
+      throw expected( "digit" );
+    }
+    long value = 0;
+    do {
+      value = value * 10 + current - '0';
+      if( value > ( long )Integer.MAX_VALUE + 1 ) {
+        throw error( "Integer out of range" );
+      }
+      read();
+    } while( firstDigit != '0' && isDigit() );
+    if( current == '.' || current == 'e' || current == 'E' ) {
+      throw expected( "integer" );
+    }
+    long result = negative ? -value : value;
+    if( result > Integer.MAX_VALUE ) {
+      throw error( "Integer out of range" );
+    }
+    return ( int )result;
+  }
+
+  boolean nextBoolean() throws IOException {
+    prepareValue();
+    if( current == 't' ) {
+      readTrue();
+      return true;
+    }
+    if( current == 'f' ) {
+      readFalse();
+      return false;
+    }
+    throw expected( "boolean" );
+  }
+
+  JsonValue nextValue() throws IOException {
+    prepareValue();
+    return readValue();
+  }
+
+  private void ensureStarted() throws IOException {
+    if( !started ) {
+      started = true;
+      separatorPending = new boolean[ 8 ];
+      read();
+    }
+  }
+
+  private void prepareValue() throws IOException {
+    ensureStarted();
+    skipWhiteSpace();
+    if( nameRead ) {
+      nameRead = false;
+    } else if( depth > 0 ) {
+      if( separatorPending[ depth ] ) {
+        if( !readChar( ',' ) ) {
+          throw expected( "','" );
+        }
+        skipWhiteSpace();
+      }
+      separatorPending[ depth ] = true;
+    }
+  }
+
+  private void enterScope() {
+    depth++;
+    if( depth == separatorPending.length ) {
+      boolean[] newArray = new boolean[ depth * 2 ];
+      System.arraycopy( separatorPending, 0, newArray, 0, depth );
+      separatorPending = newArray;
+    }
+    separatorPending[ depth ] = false;
+  }
+
+  private void leaveScope() {
+    depth--;
+  }
+
   private JsonValue readValue() throws IOException {
     switch( current ) {
     case 'n':
@@ -144,7 +297,7 @@ class JsonParser {
     if( current != '"' ) {
       throw expected( "name" );
     }
-    return readStringInternal();
+    return readStringInternal( true );
   }
 
   private JsonValue readNull() throws IOException {
@@ -179,10 +332,10 @@ class JsonParser {
   }
 
   private JsonValue readString() throws IOException {
-    return new JsonString( readStringInternal() );
+    return new JsonString( readStringInternal( false ) );
   }
 
-  private String readStringInternal() throws IOException {
+  private String readStringInternal( boolean name ) throws IOException {
     read();
     startCapture();
     while( current != '"' ) {
@@ -196,7 +349,7 @@ class JsonParser {
         read();
       }
     }
-    String string = endCapture();
+    String string = name && nameTable != null ? endNameCapture() : endCapture();
     read();
     return string;
   }
@@ -357,6 +510,18 @@ class JsonParser {
     return captured;
   }
 
+  private String endNameCapture() {
+    if( captureBuffer.length() == 0 ) {
+      int end = current == -1 ? index : index - 1;
+      String name = nameTable.get( buffer, captureStart, end - captureStart );
+      if( name != null ) {
+        captureStart = -1;
+        return name;
+      }
+    }
+    return endCapture();
+  }
+
   private ParseException expected( String expected ) {
     if( isEndOfText() ) {
       return error( "Unexpected end of input" );
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.json;
+
+import java.io.IOException;
+import java.io.Reader;
+
+
+/**
+ * Reads a JSON text from a reader step by step. In contrast to
+ * {@link JsonValue#readFrom(Reader)}, only those parts of the input that are explicitly requested
+ * using {@link #nextValue()} are created as {@link JsonValue}s. Separators between the elements
+ * of arrays and objects are consumed implicitly.
+ * <p>
+ * Example:
+ * </p>
+ *
+ * <pre>
+ * reader.beginObject();
+ * while( reader.hasNext() ) {
+ *   String name = reader.nextName();
+ *   if( "count".equals( name ) ) {
+ *     count = reader.nextInt();
+ *   } else {
+ *     reader.nextValue();
+ *   }
+ * }
+ * reader.endObject();
+ * </pre>
+ * <p>
+ * Names that are contained in the set of <em>known names</em> given to the constructor are not
+ * created as new strings, instead the given instances are returned. This applies to all names
+ * that are read by this reader, including the names of objects created by {@link #nextValue()}.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @since 3.2
+ */
+public class JsonReader {
+
+  private final JsonParser parser;
+
+  /**
+   * Creates a new reader for the given input.
+   *
+   * @param reader
+   *          the reader to read the JSON text from, must not be <code>null</code>
+   */
+  public JsonReader( Reader reader ) {
+    this( reader, null );
+  }
+
+  /**
+   * Creates a new reader for the given input that returns the given instances for known names.
+   *
+   * @param reader
+   *          the reader to read the JSON text from, must not be <code>null</code>
+   * @param knownNames
+   *          names that are expected to occur in the input, or <code>null</code>
+   */
+  public JsonReader( Reader reader, String[] knownNames ) {
+    if( reader == null ) {
+      throw new NullPointerException( "reader is null" );
+    }
+    parser = new JsonParser( reader );
+    if( knownNames != null ) {
+      parser.setNameTable( new NameTable( knownNames ) );
+    }
+  }
+
+  /**
+   * Consumes the beginning of an array.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the next value is not an array
+   */
+  public void beginArray() throws IOException {
+    parser.beginArray();
+  }
+
+  /**
+   * Consumes the end of the current array.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the current array has more elements
+   */
+  public void endArray() throws IOException {
+    parser.endArray();
+  }
+
+  /**
+   * Consumes the beginning of an object.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the next value is not an object
+   */
+  public void beginObject() throws IOException {
+    parser.beginObject();
+  }
+
+  /**
+   * Consumes the end of the current object.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the current object has more members
+   */
+  public void endObject() throws IOException {
+    parser.endObject();
+  }
+
+  /**
+   * Returns whether the current array or object has more elements.
+   *
+   * @return <code>true</code> if there are more elements
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   */
+  public boolean hasNext() throws IOException {
+    return parser.hasNext();
+  }
+
+  /**
+   * Consumes the name of the next member of the current object.
+   *
+   * @return the name of the member
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input does not contain a member name at this position
+   */
+  public String nextName() throws IOException {
+    return parser.nextName();
+  }
+
+  /**
+   * Consumes the next value, which must be a string.
+   *
+   * @return the string value
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the next value is not a string
+   */
+  public String nextString() throws IOException {
+    return parser.nextString();
+  }
+
+  /**
+   * Consumes the next value, which must be an integer number in the range of <code>int</code>.
+   *
+   * @return the number value
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the next value is not an integer number or out of range
+   */
+  public int nextInt() throws IOException {
+    return parser.nextInt();
+  }
+
+  /**
+   * Consumes the next value, which must be a boolean literal.
+   *
+   * @return the boolean value
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the next value is not a boolean literal
+   */
+  public boolean nextBoolean() throws IOException {
+    return parser.nextBoolean();
+  }
+
+  /**
+   * Consumes the next value of any type and returns it as a {@link JsonValue}. This method can
+   * also be used to skip a value.
+   *
+   * @return the value that has been read
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input does not contain a valid value at this position
+   */
+  public JsonValue nextValue() throws IOException {
+    return parser.nextValue();
+  }
+
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.json;
+
+
+/*
+ * A fixed set of names that can be looked up by a range of characters, so that known names do not
+ * have to be created as new strings while parsing.
+ */
+class NameTable {
+
+  private final String[] table;
+  private final int mask;
+
+  NameTable( String[] names ) {
+    int size = 8;
+    while( size < names.length * 2 ) {
+      size <<= 1;
+    }
+    table = new String[ size ];
+    mask = size - 1;
+    for( String name : names ) {
+      add( name );
+    }
+  }
+
+  String get( char[] chars, int offset, int length ) {
+    int hash = 0;
+    for( int i = 0; i < length; i++ ) {
+      hash = 31 * hash + chars[ offset + i ];
+    }
+    for( int slot = hash & mask; table[ slot ] != null; slot = ( slot + 1 ) & mask ) {
+      if( matches( table[ slot ], chars, offset, length ) ) {
+        return table[ slot ];
+      }
+    }
+    return null;
+  }
+
+  private void add( String name ) {
+    int slot = name.hashCode() & mask;
+    while( table[ slot ] != null ) {
+      if( table[ slot ].equals( name ) ) {
+        return;
+      }
+      slot = ( slot + 1 ) & mask;
+    }
+    table[ slot ] = name;
+  }
+
+  private static boolean matches( String name, char[] chars, int offset, int length ) {
+    if( name.length() != length ) {
+      return false;
+    }
+    for( int i = 0; i < length; i++ ) {
+      if( name.charAt( i ) != chars[ offset + i ] ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -284,8 +284,9 @@ public final class RWT {
 
   /**
    * Controls the number of preloaded items outside (above and below) visible area of virtual
-   * <code>Tree</code> or <code>Table</code>. The preloaded items must be specified as an
-   * <code>Integer</code> and passed to <code>setData()</code> with this constant as the key.
+   * <code>Tree</code>, <code>Table</code> or <code>Grid</code>. The preloaded items must be
+   * specified as an <code>Integer</code> and passed to <code>setData()</code> with this constant as
+   * the key.
    * <p>
    * For example: <code>table.setData( RWT.PRELOADED_ITEMS, Integer.valueOf( 10 ) );</code>
    * </p>
@@ -294,6 +295,7 @@ public final class RWT {
    * <ul>
    * <li><code>Table</code></li>
    * <li><code>Tree</code></li>
+   * <li><code>Grid</code></li>
    * </ul>
    * </p>
    *
@@ -13,6 +13,7 @@
 package org.eclipse.rap.rwt.application;
 
 import java.util.Map;
+import java.util.concurrent.ThreadFactory;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.client.WebClient;
@@ -208,6 +209,22 @@ public interface Application {
    */
   void setExceptionHandler( ExceptionHandler exceptionHandler );
 
+  /**
+   * Configure this application to create the UI threads of the <code>SWT_COMPATIBILITY</code>
+   * operation mode with the given thread factory. Every UI session obtains a new thread from the
+   * factory, e.g. a lightweight (virtual) thread. The control is passed between request thread
+   * and UI thread without holding a monitor.
+   * <p>
+   * The threads returned by the factory must not be started yet. If no factory is configured, a
+   * separate daemon thread is created for every UI session.
+   * </p>
+   *
+   * @param threadFactory the thread factory to use, must not be <code>null</code>
+   * @see OperationMode#SWT_COMPATIBILITY
+   * @since 3.2
+   */
+  void setUIThreadFactory( ThreadFactory threadFactory );
+
   /**
    * Register a themeable widget for this application. A themeable widget is a
    * custom widget that supports theming. To do so, the widget provides a couple
@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.engine;
+
+import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_MODIFIED;
+import static javax.servlet.http.HttpServletResponse.SC_PARTIAL_CONTENT;
+import static javax.servlet.http.HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE;
+import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+import static org.eclipse.rap.rwt.internal.util.HTTP.ENCODING_GZIP;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_ACCEPT_ENCODING;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_CONTENT_ENCODING;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_VARY;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.resources.ResourceContent;
+import org.eclipse.rap.rwt.internal.resources.ResourceManagerImpl;
+import org.eclipse.rap.rwt.internal.service.HttpCompression;
+import org.eclipse.rap.rwt.service.ResourceManager;
+
+
+/**
+ * A servlet that delivers the resources registered with the {@link ResourceManager} of a RAP
+ * application. Resources are delivered with an entity tag based on their content, conditional
+ * requests are answered with <code>304 Not Modified</code>, and single byte range requests are
+ * supported. Text resources are compressed once when they are first requested and sent
+ * compressed to clients that accept gzip.
+ * <p>
+ * In a traditional web application (without OSGi), this servlet can be registered for the
+ * resources path of the application instead of the container's default servlet:
+ * </p>
+ *
+ * <pre>
+ * &lt;servlet&gt;
+ *   &lt;servlet-name&gt;rwtResourceServlet&lt;/servlet-name&gt;
+ *   &lt;servlet-class&gt;org.eclipse.rap.rwt.engine.RWTResourceServlet&lt;/servlet-class&gt;
+ * &lt;/servlet&gt;
+ *
+ * &lt;servlet-mapping&gt;
+ *   &lt;servlet-name&gt;rwtResourceServlet&lt;/servlet-name&gt;
+ *   &lt;url-pattern&gt;/rwt-resources/*&lt;/url-pattern&gt;
+ * &lt;/servlet-mapping&gt;
+ * </pre>
+ * <p>
+ * If the system property <code>org.eclipse.rap.rwt.resourceVersioning</code> is set to
+ * <code>true</code>, resource locations contain a hash of the resource content and such requests
+ * are answered with headers that allow clients to cache the resource forever.
+ * </p>
+ *
+ * @since 3.2
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class RWTResourceServlet extends HttpServlet {
+
+  private static final String CACHE_CONTROL = "Cache-Control";
+  private static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+  private static final String CACHE_REVALIDATE = "no-cache";
+  private static final String ETAG = "ETag";
+  private static final String IF_NONE_MATCH = "If-None-Match";
+  private static final String RANGE = "Range";
+  private static final String ACCEPT_RANGES = "Accept-Ranges";
+  private static final String CONTENT_RANGE = "Content-Range";
+  private static final String BYTES = "bytes";
+  private static final String VERSION_PARAM = "v";
+
+  private ApplicationContextImpl applicationContext;
+
+  @Override
+  public String getServletInfo() {
+    return "RWT Resource Servlet";
+  }
+
+  @Override
+  public void init() throws ServletException {
+    applicationContext = ApplicationContextImpl.getFrom( getServletContext() );
+  }
+
+  @Override
+  public void doGet( HttpServletRequest request, HttpServletResponse response )
+    throws ServletException, IOException
+  {
+    if( applicationContext == null || !applicationContext.allowsRequests() ) {
+      response.sendError( SC_SERVICE_UNAVAILABLE );
+    } else {
+      ResourceContent content = findContent( request );
+      if( content == null ) {
+        response.sendError( SC_NOT_FOUND );
+      } else {
+        sendContent( request, response, content );
+      }
+    }
+  }
+
+  private ResourceContent findContent( HttpServletRequest request ) {
+    ResourceContent result = null;
+    ResourceManager resourceManager = applicationContext.getResourceManager();
+    String pathInfo = request.getPathInfo();
+    if( resourceManager instanceof ResourceManagerImpl && pathInfo != null ) {
+      String name = pathInfo.startsWith( "/" ) ? pathInfo.substring( 1 ) : pathInfo;
+      result = ( ( ResourceManagerImpl )resourceManager ).getContent( name );
+    }
+    return result;
+  }
+
+  private void sendContent( HttpServletRequest request,
+                            HttpServletResponse response,
+                            ResourceContent content )
+    throws IOException
+  {
+    // weak, since the same tag is used for the compressed and uncompressed representation
+    String etag = "\"" + content.getHash() + "\"";
+    response.setHeader( ETAG, "W/" + etag );
+    response.setHeader( CACHE_CONTROL, isVersioned( request, content ) ? CACHE_FOREVER
+                                                                      : CACHE_REVALIDATE );
+    response.setHeader( ACCEPT_RANGES, BYTES );
+    response.setDateHeader( "Last-Modified", content.getLastModified() );
+    setContentType( request, response );
+    if( matches( request.getHeader( IF_NONE_MATCH ), etag ) ) {
+      response.setStatus( SC_NOT_MODIFIED );
+    } else if( request.getHeader( RANGE ) != null ) {
+      sendRange( request.getHeader( RANGE ), response, content );
+    } else {
+      sendFullContent( request, response, content );
+    }
+  }
+
+  private void setContentType( HttpServletRequest request, HttpServletResponse response ) {
+    String mimeType = getServletContext().getMimeType( request.getPathInfo() );
+    if( mimeType != null ) {
+      response.setContentType( mimeType );
+    }
+  }
+
+  private static void sendFullContent( HttpServletRequest request,
+                                       HttpServletResponse response,
+                                       ResourceContent content )
+    throws IOException
+  {
+    byte[] gzipContent = content.getGzipContent();
+    if( gzipContent != null ) {
+      response.setHeader( HEADER_VARY, HEADER_ACCEPT_ENCODING );
+    }
+    String encoding = HttpCompression.getAcceptedEncoding( request );
+    if( gzipContent != null && ENCODING_GZIP.equals( encoding ) ) {
+      response.setHeader( HEADER_CONTENT_ENCODING, ENCODING_GZIP );
+      response.setContentLength( gzipContent.length );
+      response.getOutputStream().write( gzipContent );
+    } else {
+      response.setContentLength( ( int )content.getLength() );
+      content.writeTo( response.getOutputStream(), 0, content.getLength() );
+    }
+  }
+
+  private static void sendRange( String range,
+                                 HttpServletResponse response,
+                                 ResourceContent content )
+    throws IOException
+  {
+    long totalLength = content.getLength();
+    long[] bounds = parseRange( range, totalLength );
+    if( bounds == null ) {
+      response.setHeader( CONTENT_RANGE, BYTES + " */" + totalLength );
+      response.sendError( SC_REQUESTED_RANGE_NOT_SATISFIABLE );
+    } else {
+      long length = bounds[ 1 ] - bounds[ 0 ] + 1;
+      response.setStatus( SC_PARTIAL_CONTENT );
+      String contentRange = BYTES + " " + bounds[ 0 ] + "-" + bounds[ 1 ] + "/" + totalLength;
+      response.setHeader( CONTENT_RANGE, contentRange );
+      response.setContentLength( ( int )length );
+      content.writeTo( response.getOutputStream(), bounds[ 0 ], length );
+    }
+  }
+
+  /*
+   * Parses a single byte range like "bytes=0-99", "bytes=100-" or "bytes=-100". Returns the first
+   * and last byte position or null if the range is not satisfiable. Multiple ranges are not
+   * supported.
+   */
+  static long[] parseRange( String range, long length ) {
+    if( !range.startsWith( BYTES + "=" ) || range.indexOf( ',' ) != -1 ) {
+      return null;
+    }
+    String spec = range.substring( BYTES.length() + 1 ).trim();
+    int dash = spec.indexOf( '-' );
+    if( dash == -1 ) {
+      return null;
+    }
+    try {
+      long first;
+      long last;
+      if( dash == 0 ) {
+        long suffixLength = Long.parseLong( spec.substring( 1 ) );
+        first = Math.max( 0, length - suffixLength );
+        last = length - 1;
+      } else {
+        first = Long.parseLong( spec.substring( 0, dash ) );
+        String lastSpec = spec.substring( dash + 1 );
+        last = lastSpec.isEmpty() ? length - 1 : Math.min( Long.parseLong( lastSpec ), length - 1 );
+      }
+      return first <= last && first < length ? new long[] { first, last } : null;
+    } catch( @SuppressWarnings( "unused" ) NumberFormatException exception ) {
+      return null;
+    }
+  }
+
+  private static boolean isVersioned( HttpServletRequest request, ResourceContent content ) {
+    return content.getHash().equals( request.getParameter( VERSION_PARAM ) );
+  }
+
+  private static boolean matches( String ifNoneMatch, String etag ) {
+    if( ifNoneMatch != null ) {
+      for( String candidate : ifNoneMatch.split( "," ) ) {
+        String tag = candidate.trim();
+        if( tag.equals( "*" ) || tag.equals( etag ) || tag.equals( "W/" + etag ) ) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+}
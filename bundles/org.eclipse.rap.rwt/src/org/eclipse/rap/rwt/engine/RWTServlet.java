@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -66,14 +66,18 @@ import org.eclipse.rap.rwt.service.ServiceHandler;
  * &lt;servlet&gt;
  *   &lt;servlet-name&gt;rwtServlet&lt;/servlet-name&gt;
  *   &lt;servlet-class&gt;org.eclipse.rap.rwt.engine.RWTServlet&lt;/servlet-class&gt;
+ *   &lt;async-supported&gt;true&lt;/async-supported&gt;
  * &lt;/servlet&gt;
  *
  * &lt;servlet-mapping&gt;
  *   &lt;servlet-name&gt;rwtServlet&lt;/servlet-name&gt;
  *   &lt;url-pattern&gt;/example&lt;/url-pattern&gt;
  * &lt;/servlet-mapping&gt;
- *
- * <pre>
+ * </pre>
+ * <p>
+ * If asynchronous processing is supported for the RWT servlet and all filters in front of it,
+ * server push requests are suspended instead of blocking a request thread while waiting.
+ * </p>
  *
  * @since 2.0
  * @noextend This class is not intended to be subclassed by clients.
@@ -17,6 +17,16 @@ public final class RWTProperties {
   public static final String SERVICE_HANDLER_BASE_URL = "org.eclipse.rap.rwt.serviceHandlerBaseURL";
   public static final String DEVELOPMEMT_MODE = "org.eclipse.rap.rwt.developmentMode";
   public static final String TEXT_SIZE_STORE_SIZE = "org.eclipse.rap.rwt.textSizeStoreSize";
+  public static final String TEXT_SIZE_STORE_FILE = "org.eclipse.rap.rwt.textSizeStoreFile";
+  public static final String WIDGET_CHANGE_TRACKING = "org.eclipse.rap.rwt.widgetChangeTracking";
+  public static final String STREAMING_RESPONSE = "org.eclipse.rap.rwt.streamingResponse";
+  public static final String TIMER_EXEC_THREADS = "org.eclipse.rap.rwt.timerExecThreads";
+  public static final String RESPONSE_COMPRESSION = "org.eclipse.rap.rwt.responseCompression";
+  public static final String COMPRESSION_THRESHOLD = "org.eclipse.rap.rwt.compressionThreshold";
+  public static final String MAX_DECOMPRESSED_REQUEST_SIZE
+    = "org.eclipse.rap.rwt.maxDecompressedRequestSize";
+  public static final String RESOURCE_VERSIONING = "org.eclipse.rap.rwt.resourceVersioning";
+  public static final String STARTUP_PROFILING = "org.eclipse.rap.rwt.startupProfiling";
 
   /*
    * Used in conjunction with <code>WidgetUtil#CUSTOM_WIDGET_ID</code>,
@@ -40,6 +50,75 @@ public final class RWTProperties {
     return getIntProperty( TEXT_SIZE_STORE_SIZE, defaultValue );
   }
 
+  /*
+   * The file in which measured text sizes are persisted across restarts. Text sizes are only kept
+   * in memory if not set (default).
+   */
+  public static String getTextSizeStoreFile() {
+    return System.getProperty( TEXT_SIZE_STORE_FILE );
+  }
+
+  /*
+   * When enabled, only widgets that were accessed or changed during a request are preserved and
+   * rendered. Otherwise the whole widget tree is visited (default).
+   */
+  public static boolean isWidgetChangeTrackingEnabled() {
+    return getBooleanProperty( WIDGET_CHANGE_TRACKING, false );
+  }
+
+  /*
+   * When enabled, response operations are serialized as soon as they are complete instead of
+   * being collected until the end of the request.
+   */
+  public static boolean isStreamingResponseEnabled() {
+    return getBooleanProperty( STREAMING_RESPONSE, false );
+  }
+
+  /*
+   * The number of threads that execute Display#timerExec() runnables of all sessions of an
+   * application.
+   */
+  public static int getTimerExecThreads( int defaultValue ) {
+    return getIntProperty( TIMER_EXEC_THREADS, defaultValue );
+  }
+
+  /*
+   * When enabled, UI responses are compressed with gzip or deflate if the client accepts it.
+   */
+  public static boolean isResponseCompressionEnabled() {
+    return getBooleanProperty( RESPONSE_COMPRESSION, false );
+  }
+
+  /*
+   * The minimum size in bytes of a response to be compressed.
+   */
+  public static int getCompressionThreshold( int defaultValue ) {
+    return getIntProperty( COMPRESSION_THRESHOLD, defaultValue );
+  }
+
+  /*
+   * The maximum size in bytes of a compressed request body after decompression.
+   */
+  public static int getMaxDecompressedRequestSize( int defaultValue ) {
+    return getIntProperty( MAX_DECOMPRESSED_REQUEST_SIZE, defaultValue );
+  }
+
+  /*
+   * When enabled, resource locations contain the hash of the resource content, so that the
+   * resources can be cached forever when they are delivered by the RWTResourceServlet.
+   */
+  public static boolean isResourceVersioningEnabled() {
+    return getBooleanProperty( RESOURCE_VERSIONING, false );
+  }
+
+  /*
+   * When enabled, the time spent in creating, laying out, rendering and serializing the UI of
+   * new sessions is recorded per entry point.
+   */
+  public static boolean isStartupProfilingEnabled() {
+    return getBooleanProperty( STARTUP_PROFILING, false );
+  }
+
   public static boolean getBooleanProperty( String name, boolean defaultValue ) {
     String value = System.getProperty( name );
     return value == null ? defaultValue : value.equalsIgnoreCase( "true" );
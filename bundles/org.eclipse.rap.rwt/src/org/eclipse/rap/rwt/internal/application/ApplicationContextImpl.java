@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,18 +11,24 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.application;
 
+import java.io.File;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.servlet.ServletContext;
 
 import org.eclipse.rap.rwt.application.ApplicationConfiguration;
 import org.eclipse.rap.rwt.application.ExceptionHandler;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.client.ClientSelector;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointManager;
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleFactory;
@@ -37,12 +43,16 @@ import org.eclipse.rap.rwt.internal.resources.ResourceManagerImpl;
 import org.eclipse.rap.rwt.internal.resources.ResourceRegistry;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushServiceHandler;
 import org.eclipse.rap.rwt.internal.service.ApplicationStoreImpl;
+import org.eclipse.rap.rwt.internal.service.CompressionStatistics;
+import org.eclipse.rap.rwt.internal.service.HttpCompression;
 import org.eclipse.rap.rwt.internal.service.LifeCycleServiceHandler;
 import org.eclipse.rap.rwt.internal.service.RWTMessageHandler;
 import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
 import org.eclipse.rap.rwt.internal.service.SettingStoreManager;
 import org.eclipse.rap.rwt.internal.service.StartupPage;
+import org.eclipse.rap.rwt.internal.service.StartupStatistics;
 import org.eclipse.rap.rwt.internal.textsize.ProbeStore;
+import org.eclipse.rap.rwt.internal.textsize.TextSizeDatabase;
 import org.eclipse.rap.rwt.internal.textsize.TextSizeStorage;
 import org.eclipse.rap.rwt.internal.theme.ThemeManager;
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
@@ -103,11 +113,17 @@ public class ApplicationContextImpl implements ApplicationContext {
   private final ProbeStore probeStore;
   private final ServletContext servletContext;
   private final ClientSelector clientSelector;
+  private final CompressionStatistics compressionStatistics;
+  private final StartupStatistics startupStatistics;
   private final Set<ApplicationContextListener> appContextListeners;
   private final Set<UIThreadListener> uiThreadListeners;
   private final SerializableLock listenersLock;
   private final AtomicReference<State> state;
   private ExceptionHandler exceptionHandler;
+  private ThreadFactory uiThreadFactory;
+  private ScheduledThreadPoolExecutor timerExecService;
+  private boolean timerExecServiceShutdown;
+  private TextSizeDatabase textSizeDatabase;
 
   public ApplicationContextImpl( ApplicationConfiguration applicationConfiguration,
                                  ServletContext servletContext )
@@ -136,6 +152,8 @@ public class ApplicationContextImpl implements ApplicationContext {
     textSizeStorage = new TextSizeStorage();
     probeStore = new ProbeStore( textSizeStorage );
     clientSelector = new ClientSelector();
+    compressionStatistics = new CompressionStatistics();
+    startupStatistics = new StartupStatistics();
     appContextListeners = new HashSet<>();
     listenersLock = new SerializableLock();
     state = new AtomicReference<>( State.INACTIVE );
@@ -336,6 +354,14 @@ public class ApplicationContextImpl implements ApplicationContext {
     return textSizeStorage;
   }
 
+  public CompressionStatistics getCompressionStatistics() {
+    return compressionStatistics;
+  }
+
+  public StartupStatistics getStartupStatistics() {
+    return startupStatistics;
+  }
+
   public ProbeStore getProbeStore() {
     return probeStore;
   }
@@ -352,6 +378,24 @@ public class ApplicationContextImpl implements ApplicationContext {
     this.exceptionHandler = exceptionHandler;
   }
 
+  public ThreadFactory getUIThreadFactory() {
+    return uiThreadFactory;
+  }
+
+  public void setUIThreadFactory( ThreadFactory uiThreadFactory ) {
+    this.uiThreadFactory = uiThreadFactory;
+  }
+
+  public synchronized ScheduledExecutorService getTimerExecService() {
+    if( timerExecServiceShutdown ) {
+      throw new IllegalStateException( "The application context has been deactivated." );
+    }
+    if( timerExecService == null ) {
+      timerExecService = createTimerExecService();
+    }
+    return timerExecService;
+  }
+
   public MessageFilterChain getHandlerChain() {
     return messageChainReference.get();
   }
@@ -367,6 +411,7 @@ public class ApplicationContextImpl implements ApplicationContext {
   }
 
   void doActivate() {
+    resetTimerExecService();
     themeManager.initialize();
     applicationConfiguration.configure( new ApplicationImpl( this, applicationConfiguration ) );
     resourceDirectory.configure( getContextDirectory() );
@@ -382,6 +427,7 @@ public class ApplicationContextImpl implements ApplicationContext {
     }
     resourceRegistry.registerResources();
     clientSelector.activate();
+    activateTextSizeDatabase();
   }
 
   void doDeactivate() {
@@ -398,6 +444,45 @@ public class ApplicationContextImpl implements ApplicationContext {
     settingStoreManager.deregisterFactory();
     resourceDirectory.reset();
     applicationStore.reset();
+    deactivateTextSizeDatabase();
+    shutdownTimerExecService();
+    HttpCompression.releaseDeflaters();
+  }
+
+  private static ScheduledThreadPoolExecutor createTimerExecService() {
+    int threads = Math.max( 1, RWTProperties.getTimerExecThreads( 1 ) );
+    ScheduledThreadPoolExecutor result
+      = new ScheduledThreadPoolExecutor( threads, new TimerExecThreadFactory() );
+    result.setRemoveOnCancelPolicy( true );
+    return result;
+  }
+
+  private synchronized void shutdownTimerExecService() {
+    if( timerExecService != null ) {
+      timerExecService.shutdownNow();
+      timerExecService = null;
+    }
+    // prevent a late caller from creating an executor that would never be shut down
+    timerExecServiceShutdown = true;
+  }
+
+  private synchronized void resetTimerExecService() {
+    timerExecServiceShutdown = false;
+  }
+
+  private void activateTextSizeDatabase() {
+    String fileName = RWTProperties.getTextSizeStoreFile();
+    if( fileName != null ) {
+      textSizeDatabase = new TextSizeDatabase( new File( fileName ), textSizeStorage );
+      textSizeDatabase.activate( getTimerExecService() );
+    }
+  }
+
+  private void deactivateTextSizeDatabase() {
+    if( textSizeDatabase != null ) {
+      textSizeDatabase.deactivate();
+      textSizeDatabase = null;
+    }
   }
 
   private ServiceManagerImpl createServiceManager() {
@@ -450,4 +535,17 @@ public class ApplicationContextImpl implements ApplicationContext {
     servletContext.log( msg, exception );
   }
 
+  private static class TimerExecThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread( Runnable runnable ) {
+      Thread thread = new Thread( runnable, "RWT timerExec scheduler " + count.incrementAndGet() );
+      thread.setDaemon( true );
+      return thread;
+    }
+
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,7 @@ package org.eclipse.rap.rwt.internal.application;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Map;
+import java.util.concurrent.ThreadFactory;
 
 import org.eclipse.rap.rwt.application.Application;
 import org.eclipse.rap.rwt.application.ApplicationConfiguration;
@@ -77,6 +78,13 @@ public class ApplicationImpl implements Application {
     applicationContext.setExceptionHandler( exceptionHandler );
   }
 
+  @Override
+  public void setUIThreadFactory( ThreadFactory threadFactory ) {
+    ParamCheck.notNull( threadFactory, "threadFactory" );
+
+    applicationContext.setUIThreadFactory( threadFactory );
+  }
+
   @Override
   public void addEntryPoint( String path,
                              Class<? extends EntryPoint> entryPointType,
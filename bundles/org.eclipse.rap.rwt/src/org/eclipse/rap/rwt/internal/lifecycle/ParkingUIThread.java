@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+
+import org.eclipse.rap.rwt.internal.lifecycle.UIThread.UIThreadTerminatedError;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceContext;
+import org.eclipse.rap.rwt.internal.service.ServletLog;
+import org.eclipse.rap.rwt.service.UISession;
+
+
+/*
+ * A UI thread holder for threads created by a ThreadFactory. Control is passed between the
+ * request thread and the UI thread by handing over an ownership token and parking the thread
+ * that gave up control, no monitor is held while a thread is waiting.
+ */
+@SuppressWarnings( "deprecation" )
+final class ParkingUIThread implements IUIThreadHolder, ISessionShutdownAdapter {
+
+  private static final ThreadLocal<ParkingUIThread> CURRENT = new ThreadLocal<>();
+
+  private final Thread thread;
+  private final Object lock;
+  private volatile Thread owner;
+  private volatile Thread requestThread;
+  private volatile boolean uiThreadTerminating;
+  private ServiceContext serviceContext;
+  private UISession uiSession;
+  private Runnable shutdownCallback;
+
+  ParkingUIThread( ThreadFactory threadFactory, final Runnable runnable ) {
+    lock = new Object();
+    thread = threadFactory.newThread( new Runnable() {
+      @Override
+      public void run() {
+        runUIThread( runnable );
+      }
+    } );
+    if( thread == null ) {
+      throw new IllegalStateException( "Thread factory did not create a UI thread" );
+    }
+  }
+
+  static IUIThreadHolder getCurrent() {
+    return CURRENT.get();
+  }
+
+  //////////////////////////
+  // interface IThreadHolder
+
+  @Override
+  public void setServiceContext( ServiceContext serviceContext ) {
+    this.serviceContext = serviceContext;
+  }
+
+  @Override
+  public void updateServiceContext() {
+    if( ContextProvider.hasContext() ) {
+      ContextProvider.releaseContextHolder();
+    }
+    ContextProvider.setContext( serviceContext );
+  }
+
+  @Override
+  public void startThread() {
+    thread.start();
+    switchThread();
+  }
+
+  @Override
+  public void switchThread() {
+    Thread current = Thread.currentThread();
+    Thread next;
+    if( current == thread ) {
+      next = requestThread;
+    } else {
+      checkAndReportTerminatedUIThread();
+      requestThread = current;
+      next = thread;
+    }
+    owner = next;
+    LockSupport.unpark( next );
+    awaitControl( current );
+  }
+
+  @Override
+  public void terminateThread() {
+    // Prepare a service context to be used by the UI thread that may continue
+    // to run as a result of the interrupt call
+    setServiceContext( ContextUtil.createFakeContext( uiSession ) );
+    uiThreadTerminating = true;
+    // interrupt the UI thread that is expected to wait in switchThread or already be terminated
+    thread.interrupt();
+    try {
+      thread.join();
+    } catch( InterruptedException e ) {
+      String msg = "Received InterruptedException while terminating UIThread";
+      ServletLog.log( msg, e );
+    }
+    uiThreadTerminating = false;
+  }
+
+  @Override
+  public Thread getThread() {
+    return thread;
+  }
+
+  @Override
+  public Object getLock() {
+    // not used for the hand-off, the UI thread must never park while holding a monitor
+    return lock;
+  }
+
+  ////////////////////////////////////
+  // interface ISessionShutdownAdapter
+
+  @Override
+  public void setUISession( UISession uiSession ) {
+    this.uiSession = uiSession;
+  }
+
+  @Override
+  public void setShutdownCallback( Runnable shutdownCallback ) {
+    this.shutdownCallback = shutdownCallback;
+  }
+
+  @Override
+  public void interceptShutdown() {
+    terminateThread();
+  }
+
+  @Override
+  public void processShutdown() {
+    updateServiceContext();
+    try {
+      UIThread.disposeSession( uiSession, shutdownCallback );
+    } finally {
+      ContextProvider.disposeContext();
+    }
+  }
+
+  private void runUIThread( Runnable runnable ) {
+    CURRENT.set( this );
+    try {
+      awaitControl( thread );
+      runnable.run();
+    } finally {
+      CURRENT.remove();
+      // return control to the waiting request thread
+      Thread next = requestThread;
+      owner = next;
+      LockSupport.unpark( next );
+    }
+  }
+
+  private void awaitControl( Thread current ) {
+    while( owner != current ) {
+      if( current != thread && !thread.isAlive() ) {
+        return;
+      }
+      LockSupport.park( this );
+      if( Thread.interrupted() ) {
+        handleInterrupt( current );
+      }
+    }
+  }
+
+  private void handleInterrupt( Thread current ) throws UIThreadTerminatedError {
+    if( current == thread && uiThreadTerminating ) {
+      // Equip the UI thread that is continuing its execution with a
+      // service context and the proper phase (see terminateThread).
+      updateServiceContext();
+      CurrentPhase.set( PhaseId.PROCESS_ACTION );
+      uiThreadTerminating = false;
+      throw new UIThreadTerminatedError();
+    }
+    if( current != thread ) {
+      String msg = "Received interrupt on request thread";
+      ServletLog.log( msg, null );
+    }
+  }
+
+  private void checkAndReportTerminatedUIThread() {
+    if( thread.getState() == Thread.State.TERMINATED ) {
+      String msg
+        = "Thread '"
+        + Thread.currentThread()
+        + "' is waiting for already terminated UIThread";
+      ServletLog.log( "", new RuntimeException( msg ) );
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,11 +11,14 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.lifecycle;
 
+import static org.eclipse.rap.rwt.internal.service.StartupProfile.Phase.CREATE_UI;
+
 import javax.servlet.http.HttpServletRequest;
 
 import org.eclipse.rap.rwt.application.EntryPoint;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.StartupProfile;
 import org.eclipse.swt.widgets.Display;
 
 
@@ -37,9 +40,14 @@ final class PrepareUIRoot implements IPhase {
   public PhaseId execute( Display display ) {
     PhaseId result;
     if( LifeCycleUtil.isStartup() ) {
-      EntryPoint entryPoint = createEntryPoint();
-      entryPoint.createUI();
-      processPendingMessages();
+      StartupProfile.start( CREATE_UI );
+      try {
+        EntryPoint entryPoint = createEntryPoint();
+        entryPoint.createUI();
+        processPendingMessages();
+      } finally {
+        StartupProfile.stop( CREATE_UI );
+      }
       result = PhaseId.RENDER;
     } else {
       result = PhaseId.READ_DATA;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,7 +11,10 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.lifecycle;
 
+import static org.eclipse.rap.rwt.internal.service.StartupProfile.Phase.CREATE_UI;
+
 import java.io.IOException;
+import java.util.concurrent.ThreadFactory;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -23,6 +26,7 @@ import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceContext;
 import org.eclipse.rap.rwt.internal.service.ServiceStore;
+import org.eclipse.rap.rwt.internal.service.StartupProfile;
 import org.eclipse.rap.rwt.internal.service.UISessionImpl;
 import org.eclipse.rap.rwt.service.UISession;
 import org.eclipse.swt.widgets.Display;
@@ -170,11 +174,14 @@ public class RWTLifeCycle extends LifeCycle {
   int createUI() {
     int result = -1;
     if( ZERO.equals( getCurrentPhase() ) && LifeCycleUtil.isStartup() ) {
+      // usually does not return before the session ends, Render stops the measurement
+      StartupProfile.start( CREATE_UI );
       EntryPointManager entryPointManager = applicationContext.getEntryPointManager();
       HttpServletRequest request = ContextProvider.getRequest();
       EntryPointRegistration registration = entryPointManager.getEntryPointRegistration( request );
       EntryPoint entryPoint = registration.getFactory().create();
       result = entryPoint.createUI();
+      StartupProfile.stop( CREATE_UI );
     }
     return result;
   }
@@ -187,10 +194,7 @@ public class RWTLifeCycle extends LifeCycle {
       uiThread = createUIThread();
       // The serviceContext MUST be set before thread.start() is called
       uiThread.setServiceContext( context );
-      synchronized( uiThread.getLock() ) {
-        uiThread.getThread().start();
-        uiThread.switchThread();
-      }
+      uiThread.startThread();
     } else {
       uiThread.setServiceContext( context );
       // See bug 354368
@@ -237,8 +241,14 @@ public class RWTLifeCycle extends LifeCycle {
 
   private IUIThreadHolder createUIThread() {
     UISession uiSession = ContextProvider.getUISession();
-    IUIThreadHolder result = new UIThread( uiRunnable );
-    result.getThread().setDaemon( true );
+    ThreadFactory threadFactory = applicationContext.getUIThreadFactory();
+    IUIThreadHolder result;
+    if( threadFactory == null ) {
+      result = new UIThread( uiRunnable );
+      result.getThread().setDaemon( true );
+    } else {
+      result = new ParkingUIThread( threadFactory, uiRunnable );
+    }
     result.getThread().setName( "UIThread [" + uiSession.getId() + "]" );
     LifeCycleUtil.setUIThread( uiSession, result );
     setShutdownAdapter( ( ISessionShutdownAdapter )result );
@@ -270,6 +280,14 @@ public class RWTLifeCycle extends LifeCycle {
     return LifeCycleUtil.getUIThread( ContextProvider.getUISession() );
   }
 
+  private static IUIThreadHolder getCurrentUIThread() {
+    Thread thread = Thread.currentThread();
+    if( thread instanceof IUIThreadHolder ) {
+      return ( IUIThreadHolder )thread;
+    }
+    return ParkingUIThread.getCurrent();
+  }
+
   private static final class PhaseExecutionError extends ThreadDeath {
     public PhaseExecutionError( Throwable cause ) {
       initCause( cause );
@@ -279,36 +297,46 @@ public class RWTLifeCycle extends LifeCycle {
   private final class UIThreadController implements Runnable {
     @Override
     public void run() {
-      IUIThreadHolder uiThread = ( IUIThreadHolder )Thread.currentThread();
+      IUIThreadHolder uiThread = getCurrentUIThread();
       try {
-        // [rh] sync exception handling and switchThread (see bug 316676)
-        synchronized( uiThread.getLock() ) {
-          try {
-            uiThread.updateServiceContext();
-            ServerPushManager.getInstance().notifyUIThreadStart();
-            continueLifeCycle();
-            createUI();
-            continueLifeCycle();
-            ServerPushManager.getInstance().notifyUIThreadEnd();
-          } catch( UIThreadTerminatedError thr ) {
-            throw thr;
-          } catch( Throwable thr ) {
-            ServiceStore serviceStore = ContextProvider.getServiceStore();
-            serviceStore.setAttribute( UI_THREAD_THROWABLE, thr );
+        if( uiThread instanceof ParkingUIThread ) {
+          // Control is passed without a monitor. A virtual thread that parks while holding a
+          // monitor would pin its carrier thread for the whole life of the session.
+          runUIThread( uiThread );
+        } else {
+          // [rh] sync exception handling and switchThread (see bug 316676)
+          synchronized( uiThread.getLock() ) {
+            runUIThread( uiThread );
           }
-          // We have to prevent the ui thread from waking up at that point, otherwise
-          // processShutdown would never be executed and session store would not be cleared.
-          // See bug 354368
-          UISession uiSession = ContextProvider.getUISession();
-          uiSession.setAttribute( UI_THREAD_WAITING_FOR_TERMINATION, Boolean.TRUE );
-          // In any case: wait for the thread to be terminated by session timeout
-          uiThread.switchThread();
         }
       } catch( @SuppressWarnings( "unused" ) UIThreadTerminatedError e ) {
         // If we get here, the session is being invalidated, see UIThread#terminateThread()
         ( ( ISessionShutdownAdapter )uiThread ).processShutdown();
       }
     }
+
+    private void runUIThread( IUIThreadHolder uiThread ) {
+      try {
+        uiThread.updateServiceContext();
+        ServerPushManager.getInstance().notifyUIThreadStart();
+        continueLifeCycle();
+        createUI();
+        continueLifeCycle();
+        ServerPushManager.getInstance().notifyUIThreadEnd();
+      } catch( UIThreadTerminatedError thr ) {
+        throw thr;
+      } catch( Throwable thr ) {
+        ServiceStore serviceStore = ContextProvider.getServiceStore();
+        serviceStore.setAttribute( UI_THREAD_THROWABLE, thr );
+      }
+      // We have to prevent the ui thread from waking up at that point, otherwise
+      // processShutdown would never be executed and session store would not be cleared.
+      // See bug 354368
+      UISession uiSession = ContextProvider.getUISession();
+      uiSession.setAttribute( UI_THREAD_WAITING_FOR_TERMINATION, Boolean.TRUE );
+      // In any case: wait for the thread to be terminated by session timeout
+      uiThread.switchThread();
+    }
   }
 
 }
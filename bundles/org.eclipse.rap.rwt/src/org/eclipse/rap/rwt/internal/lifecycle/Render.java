@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,8 +11,12 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.lifecycle;
 
+import static org.eclipse.rap.rwt.internal.service.StartupProfile.Phase.CREATE_UI;
+import static org.eclipse.rap.rwt.internal.service.StartupProfile.Phase.RENDER;
+
 import java.io.IOException;
 
+import org.eclipse.rap.rwt.internal.service.StartupProfile;
 import org.eclipse.swt.internal.widgets.displaykit.DisplayLCA;
 import org.eclipse.swt.widgets.Display;
 
@@ -27,10 +31,16 @@ final class Render implements IPhase {
 
   @Override
   public PhaseId execute( Display display ) throws IOException {
+    StartupProfile.stop( CREATE_UI );
     if( display != null ) {
-      DisplayLCA displayLCA = DisplayUtil.getLCA( display );
-      displayLCA.render( display );
-      displayLCA.clearPreserved( display );
+      StartupProfile.start( RENDER );
+      try {
+        DisplayLCA displayLCA = DisplayUtil.getLCA( display );
+        displayLCA.render( display );
+        displayLCA.clearPreserved( display );
+      } finally {
+        StartupProfile.stop( RENDER );
+      }
     }
     return null;
   }
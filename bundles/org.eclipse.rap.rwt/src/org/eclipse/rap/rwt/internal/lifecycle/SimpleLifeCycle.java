@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -119,6 +119,11 @@ public class SimpleLifeCycle extends LifeCycle {
       throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void startThread() {
+      throw new UnsupportedOperationException();
+    }
+
     @Override
     public void setServiceContext( ServiceContext serviceContext ) {
       throw new UnsupportedOperationException();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -130,6 +130,14 @@ final class UIThread extends Thread implements IUIThreadHolder, ISessionShutdown
     uiThreadTerminating = false;
   }
 
+  @Override
+  public void startThread() {
+    synchronized( getLock() ) {
+      start();
+      switchThread();
+    }
+  }
+
   @Override
   public Thread getThread() {
     return this;
@@ -164,27 +172,31 @@ final class UIThread extends Thread implements IUIThreadHolder, ISessionShutdown
   public void processShutdown() {
     updateServiceContext();
     try {
-      // Simulate PROCESS_ACTION phase if the session times out
-      CurrentPhase.set( PhaseId.PROCESS_ACTION );
-      // TODO [rh] find a better decoupled way to dispose of the display
-      Display display = LifeCycleUtil.getSessionDisplay( uiSession );
-      // TODO [fappel]: Think about a better solution: isActivated() checks whether
-      //                the applicationContext is still activated before starting
-      //                cleanup. This is due to the missing possibility of OSGi HttpService
-      //                to shutdown HttpContext instances. Therefore sessions will survive the
-      //                deactivation of ApplicationContext instances. In case the HttpService
-      //                gets halted the corresponding ApplicationContext instances have already
-      //                been deactivated and this will cause a NPE.
-      if( isApplicationContextActive() && display != null ) {
-        display.dispose();
-      }
-      shutdownCallback.run();
+      disposeSession( uiSession, shutdownCallback );
     } finally {
       ContextProvider.disposeContext();
     }
   }
 
-  private boolean isApplicationContextActive() {
+  static void disposeSession( UISession uiSession, Runnable shutdownCallback ) {
+    // Simulate PROCESS_ACTION phase if the session times out
+    CurrentPhase.set( PhaseId.PROCESS_ACTION );
+    // TODO [rh] find a better decoupled way to dispose of the display
+    Display display = LifeCycleUtil.getSessionDisplay( uiSession );
+    // TODO [fappel]: Think about a better solution: isActivated() checks whether
+    //                the applicationContext is still activated before starting
+    //                cleanup. This is due to the missing possibility of OSGi HttpService
+    //                to shutdown HttpContext instances. Therefore sessions will survive the
+    //                deactivation of ApplicationContext instances. In case the HttpService
+    //                gets halted the corresponding ApplicationContext instances have already
+    //                been deactivated and this will cause a NPE.
+    if( isApplicationContextActive( uiSession ) && display != null ) {
+      display.dispose();
+    }
+    shutdownCallback.run();
+  }
+
+  private static boolean isApplicationContextActive( UISession uiSession ) {
     ApplicationContextImpl applicationContext = ( ( UISessionImpl )uiSession ).getApplicationContext();
     return applicationContext != null && applicationContext.isActive();
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -75,31 +75,58 @@ public final class WidgetLCAUtil {
   private static final String PROP_MODIFY_LISTENER = "Modify";
   private static final String PROP_KEY_LISTENER = "KeyDown";
 
+  private static final int ID_BOUNDS = getPropertyId( Props.BOUNDS );
+  private static final int ID_ENABLED = getPropertyId( PROP_ENABLED );
+  private static final int ID_TOOLTIP = getPropertyId( PROP_TOOLTIP );
+  private static final int ID_FONT = getPropertyId( PROP_FONT );
+  private static final int ID_FOREGROUND = getPropertyId( PROP_FOREGROUND );
+  private static final int ID_BACKGROUND = getPropertyId( PROP_BACKGROUND );
+  private static final int ID_BACKGROUND_TRANSPARENCY
+    = getPropertyId( PROP_BACKGROUND_TRANSPARENCY );
+  private static final int ID_BACKGROUND_GRADIENT_COLORS
+    = getPropertyId( PROP_BACKGROUND_GRADIENT_COLORS );
+  private static final int ID_BACKGROUND_GRADIENT_PERCENTS
+    = getPropertyId( PROP_BACKGROUND_GRADIENT_PERCENTS );
+  private static final int ID_BACKGROUND_GRADIENT_VERTICAL
+    = getPropertyId( PROP_BACKGROUND_GRADIENT_VERTICAL );
+  private static final int ID_ROUNDED_BORDER_WIDTH = getPropertyId( PROP_ROUNDED_BORDER_WIDTH );
+  private static final int ID_ROUNDED_BORDER_COLOR = getPropertyId( PROP_ROUNDED_BORDER_COLOR );
+  private static final int ID_ROUNDED_BORDER_RADIUS = getPropertyId( PROP_ROUNDED_BORDER_RADIUS );
+
   private static final Rectangle DEF_ROUNDED_BORDER_RADIUS = new Rectangle( 0, 0, 0, 0 );
 
   private WidgetLCAUtil() {
     // prevent instantiation
   }
 
+  /**
+   * Returns the id of the given property. The id does not change and can be kept in a constant
+   * of the LCA. Preserving and rendering with property ids avoids looking up the property name
+   * for every widget.
+   */
+  public static int getPropertyId( String property ) {
+    return WidgetRemoteAdapter.getPropertyId( property );
+  }
+
   public static void preserveBounds( Widget widget, Rectangle bounds ) {
-    getAdapter( widget ).preserve( Props.BOUNDS, bounds );
+    preserveProperty( widget, ID_BOUNDS, bounds );
   }
 
   public static void preserveEnabled( Widget widget, boolean enabled ) {
-    getAdapter( widget ).preserve( PROP_ENABLED, Boolean.valueOf( enabled ) );
+    preserveProperty( widget, ID_ENABLED, enabled );
   }
 
   public static void preserveToolTipText( Widget widget, String toolTip ) {
     String text = toolTip == null ? "" : toolTip;
-    getAdapter( widget ).preserve( PROP_TOOLTIP, text );
+    preserveProperty( widget, ID_TOOLTIP, text );
   }
 
   public static void preserveFont( Widget widget, Font font ) {
-    getAdapter( widget ).preserve( PROP_FONT, font );
+    preserveProperty( widget, ID_FONT, font );
   }
 
   public static void preserveForeground( Widget widget, Color foreground ) {
-    getAdapter( widget ).preserve( PROP_FOREGROUND, foreground );
+    preserveProperty( widget, ID_FOREGROUND, foreground );
   }
 
   public static void preserveBackground( Widget widget, Color background ) {
@@ -107,9 +134,8 @@ public final class WidgetLCAUtil {
   }
 
   public static void preserveBackground( Widget widget, Color background, boolean transparency ) {
-    RemoteAdapter adapter = getAdapter( widget );
-    adapter.preserve( PROP_BACKGROUND, background );
-    adapter.preserve( PROP_BACKGROUND_TRANSPARENCY, Boolean.valueOf( transparency ) );
+    preserveProperty( widget, ID_BACKGROUND, background );
+    preserveProperty( widget, ID_BACKGROUND_TRANSPARENCY, transparency );
   }
 
   public static void preserveBackgroundGradient( Widget widget ) {
@@ -119,11 +145,9 @@ public final class WidgetLCAUtil {
       Color[] bgGradientColors = gfxAdapter.getBackgroundGradientColors();
       int[] bgGradientPercents = gfxAdapter.getBackgroundGradientPercents();
       boolean bgGradientVertical = gfxAdapter.isBackgroundGradientVertical();
-      RemoteAdapter widgetAdapter = getAdapter( widget );
-      widgetAdapter.preserve( PROP_BACKGROUND_GRADIENT_COLORS, bgGradientColors );
-      widgetAdapter.preserve( PROP_BACKGROUND_GRADIENT_PERCENTS, bgGradientPercents );
-      widgetAdapter.preserve( PROP_BACKGROUND_GRADIENT_VERTICAL,
-                              Boolean.valueOf( bgGradientVertical ) );
+      preserveProperty( widget, ID_BACKGROUND_GRADIENT_COLORS, bgGradientColors );
+      preserveProperty( widget, ID_BACKGROUND_GRADIENT_PERCENTS, bgGradientPercents );
+      preserveProperty( widget, ID_BACKGROUND_GRADIENT_VERTICAL, bgGradientVertical );
     }
   }
 
@@ -134,10 +158,9 @@ public final class WidgetLCAUtil {
       int width = gfxAdapter.getRoundedBorderWidth();
       Color color = gfxAdapter.getRoundedBorderColor();
       Rectangle radius = gfxAdapter.getRoundedBorderRadius();
-      RemoteAdapter widgetAdapter = getAdapter( widget );
-      widgetAdapter.preserve( PROP_ROUNDED_BORDER_WIDTH, Integer.valueOf( width ) );
-      widgetAdapter.preserve( PROP_ROUNDED_BORDER_COLOR, color );
-      widgetAdapter.preserve( PROP_ROUNDED_BORDER_RADIUS, radius );
+      preserveProperty( widget, ID_ROUNDED_BORDER_WIDTH, width );
+      preserveProperty( widget, ID_ROUNDED_BORDER_COLOR, color );
+      preserveProperty( widget, ID_ROUNDED_BORDER_RADIUS, radius );
     }
   }
 
@@ -178,11 +201,13 @@ public final class WidgetLCAUtil {
   }
 
   public static void renderBounds( Widget widget, Rectangle bounds ) {
-    renderProperty( widget, Props.BOUNDS, bounds, null );
+    if( hasChanged( widget, ID_BOUNDS, bounds, null ) ) {
+      getRemoteObject( widget ).set( Props.BOUNDS, toJson( bounds ) );
+    }
   }
 
   public static void renderEnabled( Widget widget, boolean enabled ) {
-    renderProperty( widget, Props.ENABLED, enabled, true );
+    renderProperty( widget, Props.ENABLED, ID_ENABLED, enabled, true );
   }
 
   public static void renderMenu( Widget widget, Menu menu ) {
@@ -192,7 +217,7 @@ public final class WidgetLCAUtil {
   public static void renderToolTip( Widget widget, String toolTip ) {
     renderToolTipMarkupEnabled( widget );
     String text = toolTip == null ? "" : toolTip;
-    if( hasChanged( widget, PROP_TOOLTIP, text, "" ) ) {
+    if( hasChanged( widget, ID_TOOLTIP, text, "" ) ) {
       if( !isToolTipMarkupEnabledFor( widget ) ) {
         text = removeAmpersandControlCharacters( text );
       }
@@ -208,13 +233,13 @@ public final class WidgetLCAUtil {
   }
 
   public static void renderFont( Widget widget, Font font ) {
-    if( hasChanged( widget, PROP_FONT, font, null ) ) {
+    if( hasChanged( widget, ID_FONT, font, null ) ) {
       getRemoteObject( widget ).set( PROP_FONT, toJson( font ) );
     }
   }
 
   public static void renderForeground( Widget widget, Color newColor ) {
-    if( hasChanged( widget, PROP_FOREGROUND, newColor, null ) ) {
+    if( hasChanged( widget, ID_FOREGROUND, newColor, null ) ) {
       getRemoteObject( widget ).set( PROP_FOREGROUND, toJson( newColor ) );
     }
   }
@@ -224,11 +249,9 @@ public final class WidgetLCAUtil {
   }
 
   public static void renderBackground( Widget widget, Color background, boolean transparency ) {
-    boolean transparencyChanged = hasChanged( widget,
-                                              PROP_BACKGROUND_TRANSPARENCY,
-                                              Boolean.valueOf( transparency ),
-                                              Boolean.FALSE );
-    boolean colorChanged = hasChanged( widget, PROP_BACKGROUND, background, null );
+    boolean transparencyChanged
+      = hasChanged( widget, ID_BACKGROUND_TRANSPARENCY, transparency, false );
+    boolean colorChanged = hasChanged( widget, ID_BACKGROUND, background, null );
     if( transparencyChanged || colorChanged ) {
       JsonValue color = transparency && background == null
                       ? toJson( new RGB( 0, 0, 0 ), 0 )
@@ -265,18 +288,9 @@ public final class WidgetLCAUtil {
     Color[] bgGradientColors = graphicsAdapter.getBackgroundGradientColors();
     int[] bgGradientPercents = graphicsAdapter.getBackgroundGradientPercents();
     boolean bgGradientVertical = graphicsAdapter.isBackgroundGradientVertical();
-    return    hasChanged( widget,
-                          PROP_BACKGROUND_GRADIENT_COLORS,
-                          bgGradientColors,
-                          null )
-           || hasChanged( widget,
-                          PROP_BACKGROUND_GRADIENT_PERCENTS,
-                          bgGradientPercents,
-                          null )
-           || hasChanged( widget,
-                          PROP_BACKGROUND_GRADIENT_VERTICAL,
-                          Boolean.valueOf( bgGradientVertical ),
-                          Boolean.FALSE );
+    return    hasChanged( widget, ID_BACKGROUND_GRADIENT_COLORS, bgGradientColors, null )
+           || hasChanged( widget, ID_BACKGROUND_GRADIENT_PERCENTS, bgGradientPercents, null )
+           || hasChanged( widget, ID_BACKGROUND_GRADIENT_VERTICAL, bgGradientVertical, false );
   }
 
   public static void renderRoundedBorder( Widget widget ) {
@@ -306,19 +320,9 @@ public final class WidgetLCAUtil {
     int width = graphicsAdapter.getRoundedBorderWidth();
     Color color = graphicsAdapter.getRoundedBorderColor();
     Rectangle radius = graphicsAdapter.getRoundedBorderRadius();
-    return
-         hasChanged( widget,
-                     PROP_ROUNDED_BORDER_WIDTH,
-                     Integer.valueOf( width ),
-                     Integer.valueOf( 0 ) )
-      || hasChanged( widget,
-                     PROP_ROUNDED_BORDER_COLOR,
-                     color,
-                     null )
-      || hasChanged( widget,
-                     PROP_ROUNDED_BORDER_RADIUS,
-                     radius,
-                     DEF_ROUNDED_BORDER_RADIUS );
+    return    hasChanged( widget, ID_ROUNDED_BORDER_WIDTH, width, 0 )
+           || hasChanged( widget, ID_ROUNDED_BORDER_COLOR, color, null )
+           || hasChanged( widget, ID_ROUNDED_BORDER_RADIUS, radius, DEF_ROUNDED_BORDER_RADIUS );
   }
 
   public static boolean wasEventSent( Widget widget, String eventName ) {
@@ -330,11 +334,38 @@ public final class WidgetLCAUtil {
   }
 
   public static void preserveProperty( Widget widget, String property, int value ) {
-    preserveProperty( widget, property, Integer.valueOf( value ) );
+    preserveProperty( widget, getPropertyId( property ), value );
   }
 
   public static void preserveProperty( Widget widget, String property, boolean value ) {
-    preserveProperty( widget, property, Boolean.valueOf( value ) );
+    preserveProperty( widget, getPropertyId( property ), value );
+  }
+
+  public static void preserveProperty( Widget widget, int propertyId, Object value ) {
+    RemoteAdapter adapter = getAdapter( widget );
+    if( adapter instanceof WidgetRemoteAdapter ) {
+      ( ( WidgetRemoteAdapter )adapter ).preserve( propertyId, value );
+    } else {
+      adapter.preserve( getPropertyName( propertyId ), value );
+    }
+  }
+
+  public static void preserveProperty( Widget widget, int propertyId, int value ) {
+    RemoteAdapter adapter = getAdapter( widget );
+    if( adapter instanceof WidgetRemoteAdapter ) {
+      ( ( WidgetRemoteAdapter )adapter ).preserve( propertyId, value );
+    } else {
+      adapter.preserve( getPropertyName( propertyId ), Integer.valueOf( value ) );
+    }
+  }
+
+  public static void preserveProperty( Widget widget, int propertyId, boolean value ) {
+    RemoteAdapter adapter = getAdapter( widget );
+    if( adapter instanceof WidgetRemoteAdapter ) {
+      ( ( WidgetRemoteAdapter )adapter ).preserve( propertyId, value );
+    } else {
+      adapter.preserve( getPropertyName( propertyId ), Boolean.valueOf( value ) );
+    }
   }
 
   public static void renderProperty( Widget widget,
@@ -396,25 +427,61 @@ public final class WidgetLCAUtil {
                                      int newValue,
                                      int defaultValue )
   {
-    Integer newValueObject = Integer.valueOf( newValue );
-    Integer defaultValueObject = Integer.valueOf( defaultValue );
-    if( hasChanged( widget, property, newValueObject, defaultValueObject ) ) {
+    renderProperty( widget, property, getPropertyId( property ), newValue, defaultValue );
+  }
+
+  public static void renderProperty( Widget widget,
+                                     String property,
+                                     boolean newValue,
+                                     boolean defaultValue )
+  {
+    renderProperty( widget, property, getPropertyId( property ), newValue, defaultValue );
+  }
+
+  public static void renderProperty( Widget widget,
+                                     String property,
+                                     int propertyId,
+                                     int newValue,
+                                     int defaultValue )
+  {
+    if( hasChanged( widget, propertyId, newValue, defaultValue ) ) {
       getRemoteObject( widget ).set( property, newValue );
     }
   }
 
   public static void renderProperty( Widget widget,
                                      String property,
+                                     int propertyId,
                                      boolean newValue,
                                      boolean defaultValue )
   {
-    Boolean newValueObject = Boolean.valueOf( newValue );
-    Boolean defaultValueObject = Boolean.valueOf( defaultValue );
-    if( hasChanged( widget, property, newValueObject, defaultValueObject ) ) {
+    if( hasChanged( widget, propertyId, newValue, defaultValue ) ) {
+      getRemoteObject( widget ).set( property, newValue );
+    }
+  }
+
+  public static void renderProperty( Widget widget,
+                                     String property,
+                                     int propertyId,
+                                     String newValue,
+                                     String defaultValue )
+  {
+    if( hasChanged( widget, propertyId, newValue, defaultValue ) ) {
       getRemoteObject( widget ).set( property, newValue );
     }
   }
 
+  public static void renderProperty( Widget widget,
+                                     String property,
+                                     int propertyId,
+                                     Image newValue,
+                                     Image defaultValue )
+  {
+    if( hasChanged( widget, propertyId, newValue, defaultValue ) ) {
+      getRemoteObject( widget ).set( property, toJson( newValue ) );
+    }
+  }
+
   public static void renderProperty( Widget widget,
                                      String property,
                                      Image newValue,
@@ -537,7 +604,7 @@ public final class WidgetLCAUtil {
   }
 
   public static void preserveListener( Widget widget, String listener, boolean value ) {
-    getAdapter( widget ).preserve( listener, Boolean.valueOf( value ) );
+    preserveProperty( widget, getPropertyId( listener ), value );
   }
 
   public static void renderListener( Widget widget,
@@ -545,9 +612,7 @@ public final class WidgetLCAUtil {
                                      boolean newValue,
                                      boolean defaultValue )
   {
-    Boolean newValueObject = Boolean.valueOf( newValue );
-    Boolean defaultValueObject = Boolean.valueOf( defaultValue );
-    if( hasChanged( widget, listener, newValueObject, defaultValueObject ) ) {
+    if( hasChanged( widget, getPropertyId( listener ), newValue, defaultValue ) ) {
       getRemoteObject( widget ).listen( listener, newValue );
     }
   }
@@ -607,6 +672,54 @@ public final class WidgetLCAUtil {
     return changed( widget, actualValue, preservedValue, defaultValue );
   }
 
+  public static boolean hasChanged( Widget widget,
+                                    int propertyId,
+                                    Object actualValue,
+                                    Object defaultValue )
+  {
+    RemoteAdapter adapter = getAdapter( widget );
+    Object preservedValue = adapter instanceof WidgetRemoteAdapter
+                          ? ( ( WidgetRemoteAdapter )adapter ).getPreserved( propertyId )
+                          : adapter.getPreserved( getPropertyName( propertyId ) );
+    return changed( widget, actualValue, preservedValue, defaultValue );
+  }
+
+  public static boolean hasChanged( Widget widget,
+                                    int propertyId,
+                                    int actualValue,
+                                    int defaultValue )
+  {
+    RemoteAdapter adapter = getAdapter( widget );
+    if( !( adapter instanceof WidgetRemoteAdapter ) ) {
+      Integer actualValueObject = Integer.valueOf( actualValue );
+      return hasChanged( widget, propertyId, actualValueObject, Integer.valueOf( defaultValue ) );
+    }
+    WidgetRemoteAdapter remoteAdapter = ( WidgetRemoteAdapter )adapter;
+    if( remoteAdapter.isInitialized() ) {
+      return    !remoteAdapter.isPreserved( propertyId )
+             || actualValue != remoteAdapter.getPreservedInt( propertyId );
+    }
+    return actualValue != defaultValue;
+  }
+
+  public static boolean hasChanged( Widget widget,
+                                    int propertyId,
+                                    boolean actualValue,
+                                    boolean defaultValue )
+  {
+    RemoteAdapter adapter = getAdapter( widget );
+    if( !( adapter instanceof WidgetRemoteAdapter ) ) {
+      Boolean actualValueObject = Boolean.valueOf( actualValue );
+      return hasChanged( widget, propertyId, actualValueObject, Boolean.valueOf( defaultValue ) );
+    }
+    WidgetRemoteAdapter remoteAdapter = ( WidgetRemoteAdapter )adapter;
+    if( remoteAdapter.isInitialized() ) {
+      return    !remoteAdapter.isPreserved( propertyId )
+             || actualValue != remoteAdapter.getPreservedBoolean( propertyId );
+    }
+    return actualValue != defaultValue;
+  }
+
   static boolean changed( Widget widget,
                           Object actualValue,
                           Object preservedValue,
@@ -694,6 +807,10 @@ public final class WidgetLCAUtil {
     return jsonObject;
   }
 
+  private static String getPropertyName( int propertyId ) {
+    return WidgetRemoteAdapter.getPropertyName( propertyId );
+  }
+
   private static WidgetRemoteAdapter getRemoteAdapter( Widget widget ) {
     return ( WidgetRemoteAdapter )widget.getAdapter( RemoteAdapter.class );
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,26 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.protocol;
 
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.CONNECTION_ID;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.EVENT_PARAM_BUTTON;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.EVENT_PARAM_CHAR_CODE;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.EVENT_PARAM_DETAIL;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.EVENT_PARAM_HEIGHT;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.EVENT_PARAM_INDEX;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.EVENT_PARAM_ITEM;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.EVENT_PARAM_KEY_CODE;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.EVENT_PARAM_MODIFIER;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.EVENT_PARAM_TEXT;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.EVENT_PARAM_TIME;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.EVENT_PARAM_WIDTH;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.EVENT_PARAM_X;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.EVENT_PARAM_Y;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.REQUEST_COUNTER;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.SHUTDOWN;
+import static org.eclipse.rap.rwt.internal.protocol.OperationReader.readOperation;
+
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -17,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CallOperation;
 import org.eclipse.rap.rwt.internal.protocol.Operation.NotifyOperation;
 import org.eclipse.rap.rwt.internal.protocol.Operation.SetOperation;
@@ -24,33 +45,114 @@ import org.eclipse.rap.rwt.internal.protocol.Operation.SetOperation;
 
 public class ClientMessage extends RequestMessage {
 
+  private static final String[] KNOWN_NAMES = {
+    HEAD,
+    OPERATIONS,
+    CONNECTION_ID,
+    REQUEST_COUNTER,
+    SHUTDOWN,
+    EVENT_PARAM_DETAIL,
+    EVENT_PARAM_TEXT,
+    EVENT_PARAM_ITEM,
+    EVENT_PARAM_INDEX,
+    EVENT_PARAM_MODIFIER,
+    EVENT_PARAM_BUTTON,
+    EVENT_PARAM_X,
+    EVENT_PARAM_Y,
+    EVENT_PARAM_WIDTH,
+    EVENT_PARAM_HEIGHT,
+    EVENT_PARAM_TIME,
+    EVENT_PARAM_KEY_CODE,
+    EVENT_PARAM_CHAR_CODE
+  };
+
   private Map<String, List<Operation>> index;
 
   public ClientMessage( JsonObject json ) {
     super( json );
-    createOperationsIndex();
   }
 
   public ClientMessage( Message message ) {
     super( message.getHead(), message.getOperations() );
-    createOperationsIndex();
+    if( message instanceof ClientMessage ) {
+      index = ( ( ClientMessage )message ).index;
+    }
+  }
+
+  private ClientMessage( JsonObject head, List<Operation> operations ) {
+    super( head, operations );
+  }
+
+  /*
+   * Reads a client message from the given reader without creating an intermediate JSON
+   * representation of the entire message.
+   */
+  public static ClientMessage readFrom( Reader reader ) throws IOException {
+    JsonReader jsonReader = new JsonReader( reader, KNOWN_NAMES );
+    JsonObject head = null;
+    List<Operation> operations = null;
+    jsonReader.beginObject();
+    while( jsonReader.hasNext() ) {
+      String name = jsonReader.nextName();
+      if( HEAD.equals( name ) ) {
+        head = readHead( jsonReader );
+      } else if( OPERATIONS.equals( name ) ) {
+        operations = readOperations( jsonReader );
+      } else {
+        jsonReader.nextValue();
+      }
+    }
+    jsonReader.endObject();
+    if( head == null ) {
+      throw new IllegalArgumentException( "Failed to read head from JSON message" );
+    }
+    if( operations == null ) {
+      throw new IllegalArgumentException( "Failed to read operations from JSON message" );
+    }
+    return new ClientMessage( head, operations );
+  }
+
+  private static JsonObject readHead( JsonReader reader ) throws IOException {
+    try {
+      return reader.nextValue().asObject();
+    } catch( UnsupportedOperationException exception ) {
+      throw new IllegalArgumentException( "Failed to read head from JSON message", exception );
+    }
   }
 
-  private void createOperationsIndex() {
-    index = new HashMap<>();
+  private static List<Operation> readOperations( JsonReader reader ) throws IOException {
+    List<Operation> operations = new ArrayList<>();
+    reader.beginArray();
+    while( reader.hasNext() ) {
+      operations.add( readOperation( reader ) );
+    }
+    reader.endArray();
+    return operations;
+  }
+
+  private Map<String, List<Operation>> getIndex() {
+    if( index == null ) {
+      index = createOperationsIndex();
+    }
+    return index;
+  }
+
+  private Map<String, List<Operation>> createOperationsIndex() {
+    Map<String, List<Operation>> result = new HashMap<>();
     for( Operation operation : getOperations() ) {
       String target = operation.getTarget();
-      List<Operation> targetOperations = index.get( target );
+      List<Operation> targetOperations = result.get( target );
       if( targetOperations == null ) {
         targetOperations = new ArrayList<>();
       }
       targetOperations.add( operation );
-      index.put( target, targetOperations );
+      result.put( target, targetOperations );
     }
+    return result;
   }
 
   public List<Operation> getAllOperationsFor( String target ) {
-    List<Operation> operations = index.get( target );
+    List<Operation> operations = getIndex().get( target );
     if( operations == null ) {
       return Collections.emptyList();
     }
@@ -59,7 +161,7 @@ public class ClientMessage extends RequestMessage {
 
   public List<CallOperation> getAllCallOperationsFor( String target, String methodName ) {
     List<CallOperation> result = new ArrayList<>();
-    List<Operation> selected = target == null ? getOperations() : index.get( target );
+    List<Operation> selected = target == null ? getOperations() : getIndex().get( target );
     if( selected != null ) {
       for( Operation operation : selected ) {
         if( operation instanceof CallOperation ) {
@@ -75,7 +177,7 @@ public class ClientMessage extends RequestMessage {
 
   public SetOperation getLastSetOperationFor( String target, String property ) {
     SetOperation result = null;
-    List<Operation> selected = target == null ? getOperations() : index.get( target );
+    List<Operation> selected = target == null ? getOperations() : getIndex().get( target );
     if( selected != null ) {
       for( Operation operation : selected ) {
         if( operation instanceof SetOperation ) {
@@ -91,7 +193,7 @@ public class ClientMessage extends RequestMessage {
 
   public NotifyOperation getLastNotifyOperationFor( String target, String eventName ) {
     NotifyOperation result = null;
-    List<Operation> selected = target == null ? getOperations() : index.get( target );
+    List<Operation> selected = target == null ? getOperations() : getIndex().get( target );
     if( selected != null ) {
       for( Operation operation : selected ) {
         if( operation instanceof NotifyOperation ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 EclipseSource and others.
+ * Copyright (c) 2015, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,7 +12,9 @@ package org.eclipse.rap.rwt.internal.protocol;
 
 import static org.eclipse.rap.rwt.internal.protocol.OperationReader.readOperation;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -24,8 +26,8 @@ import org.eclipse.rap.rwt.internal.util.ParamCheck;
 
 public class Message implements Serializable {
 
-  private static final String HEAD = "head";
-  private static final String OPERATIONS = "operations";
+  static final String HEAD = "head";
+  static final String OPERATIONS = "operations";
 
   private final JsonObject head;
   private final List<Operation> operations;
@@ -53,12 +55,16 @@ public class Message implements Serializable {
 
   public JsonObject toJson() {
     JsonArray operationsArray = new JsonArray();
-    for( Operation operation : operations ) {
+    for( Operation operation : getOperations() ) {
       operationsArray.add( operation.toJson() );
     }
     return new JsonObject().add( HEAD, head ).add( OPERATIONS, operationsArray );
   }
 
+  public void writeTo( Writer writer ) throws IOException {
+    toJson().writeTo( writer );
+  }
+
   @Override
   public String toString() {
     return toJson().toString();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,7 +10,9 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.protocol;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.Writer;
 
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
@@ -35,6 +37,36 @@ public abstract class Operation implements Serializable {
     return new JsonArray().add( action ).add( target );
   }
 
+  /*
+   * Writes the same JSON as toJson() without creating the array.
+   */
+  void writeTo( Writer writer ) throws IOException {
+    writer.write( "[\"" );
+    writer.write( action );
+    writer.write( "\"," );
+    writeString( writer, target );
+    writeArguments( writer );
+    writer.write( ']' );
+  }
+
+  void writeArguments( Writer writer ) throws IOException {
+    // no arguments by default
+  }
+
+  static void writeArgument( Writer writer, String string ) throws IOException {
+    writer.write( ',' );
+    writeString( writer, string );
+  }
+
+  static void writeArgument( Writer writer, JsonValue value ) throws IOException {
+    writer.write( ',' );
+    value.writeTo( writer );
+  }
+
+  private static void writeString( Writer writer, String string ) throws IOException {
+    JsonValue.valueOf( string ).writeTo( writer );
+  }
+
   public static class CreateOperation extends Operation {
 
     private final JsonObject properties;
@@ -63,6 +95,12 @@ public abstract class Operation implements Serializable {
       return super.toJson().add( type ).add( properties );
     }
 
+    @Override
+    void writeArguments( Writer writer ) throws IOException {
+      writeArgument( writer, type );
+      writeArgument( writer, properties );
+    }
+
     void putProperty( String key, JsonValue value ) {
       properties.set( key, value );
     }
@@ -99,6 +137,11 @@ public abstract class Operation implements Serializable {
       return super.toJson().add( properties );
     }
 
+    @Override
+    void writeArguments( Writer writer ) throws IOException {
+      writeArgument( writer, properties );
+    }
+
     void putProperty( String key, JsonValue value ) {
       properties.set( key, value );
     }
@@ -129,6 +172,12 @@ public abstract class Operation implements Serializable {
       return super.toJson().add( method ).add( parameters );
     }
 
+    @Override
+    void writeArguments( Writer writer ) throws IOException {
+      writeArgument( writer, method );
+      writeArgument( writer, parameters );
+    }
+
   }
 
   public static class ListenOperation extends Operation {
@@ -153,6 +202,11 @@ public abstract class Operation implements Serializable {
       return super.toJson().add( properties );
     }
 
+    @Override
+    void writeArguments( Writer writer ) throws IOException {
+      writeArgument( writer, properties );
+    }
+
     void putListener( String event, boolean listening ) {
       properties.set( event, JsonValue.valueOf( listening ) );
     }
@@ -187,6 +241,12 @@ public abstract class Operation implements Serializable {
       return super.toJson().add( event ).add( properties );
     }
 
+    @Override
+    void writeArguments( Writer writer ) throws IOException {
+      writeArgument( writer, event );
+      writeArgument( writer, properties );
+    }
+
     void putProperty( String key, JsonValue value ) {
       properties.set( key, value );
     }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014 EclipseSource and others.
+ * Copyright (c) 2014, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,8 +10,11 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.protocol;
 
+import java.io.IOException;
+
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
 import org.eclipse.rap.json.JsonValue;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CallOperation;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CreateOperation;
@@ -33,6 +36,34 @@ public class OperationReader {
     }
   }
 
+  public static Operation readOperation( JsonReader reader ) throws IOException {
+    ParamCheck.notNull( reader, "reader" );
+    reader.beginArray();
+    String action = reader.nextString();
+    String target = reader.nextString();
+    Operation operation;
+    if( action.equals( "create" ) ) {
+      String type = reader.nextString();
+      operation = new CreateOperation( target, type, reader.nextValue().asObject() );
+    } else if( action.equals( "destroy" ) ) {
+      operation = new DestroyOperation( target );
+    } else if( action.equals( "set" ) ) {
+      operation = new SetOperation( target, reader.nextValue().asObject() );
+    } else if( action.equals( "call" ) ) {
+      String method = reader.nextString();
+      operation = new CallOperation( target, method, reader.nextValue().asObject() );
+    } else if( action.equals( "listen" ) ) {
+      operation = new ListenOperation( target, reader.nextValue().asObject() );
+    } else if( action.equals( "notify" ) ) {
+      String event = reader.nextString();
+      operation = new NotifyOperation( target, event, reader.nextValue().asObject() );
+    } else {
+      throw new IllegalArgumentException( "Unknown operation type: " + action );
+    }
+    reader.endArray();
+    return operation;
+  }
+
   private static Operation readOperation( JsonArray json ) {
     String action = json.get( 0 ).asString();
     String target = json.get( 1 ).asString();
@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2010, 2015 EclipseSource and others.
+* Copyright (c) 2010, 2016 EclipseSource and others.
 * All rights reserved. This program and the accompanying materials
 * are made available under the terms of the Eclipse Public License v1.0
 * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
 *******************************************************************************/
 package org.eclipse.rap.rwt.internal.protocol;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,12 +27,25 @@ public class ProtocolMessageWriter {
 
   private final JsonObject head;
   private final List<Operation> operations;
+  private final Utf8Buffer operationsBuffer;
+  private int operationCount;
   private Operation pendingOperation;
   private boolean alreadyCreated;
 
   public ProtocolMessageWriter() {
+    this( false );
+  }
+
+  /*
+   * In streaming mode, operations are serialized to a UTF-8 buffer as soon as they can no longer
+   * be modified (i.e. when the next operation is started), instead of keeping all operation
+   * objects alive until the message is created. Operations are written as tokens, no JSON array is
+   * created for them.
+   */
+  public ProtocolMessageWriter( boolean streaming ) {
     head = new JsonObject();
-    operations = new ArrayList<>();
+    operations = streaming ? null : new ArrayList<Operation>();
+    operationsBuffer = streaming ? new Utf8Buffer() : null;
   }
 
   public void appendHead( String property, int value ) {
@@ -118,6 +132,10 @@ public class ProtocolMessageWriter {
 
   private ResponseMessage createMessageObject() {
     appendPendingOperation();
+    if( operationsBuffer != null ) {
+      operationsBuffer.close();
+      return new StreamedResponseMessage( head, operationsBuffer );
+    }
     return new ResponseMessage( head, operations );
   }
 
@@ -131,7 +149,23 @@ public class ProtocolMessageWriter {
 
   private void appendPendingOperation() {
     if( pendingOperation != null ) {
-      operations.add( pendingOperation );
+      if( operationsBuffer != null ) {
+        writeOperation( pendingOperation );
+      } else {
+        operations.add( pendingOperation );
+      }
+      pendingOperation = null;
+    }
+  }
+
+  private void writeOperation( Operation operation ) {
+    if( operationCount++ > 0 ) {
+      operationsBuffer.write( ',' );
+    }
+    try {
+      operation.writeTo( operationsBuffer );
+    } catch( IOException exception ) {
+      throw new IllegalStateException( "Failed to write operation", exception );
     }
   }
 
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.protocol;
+
+import static org.eclipse.rap.rwt.internal.protocol.OperationReader.readOperation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.rap.json.JsonArray;
+import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonValue;
+import org.eclipse.rap.rwt.internal.util.ParamCheck;
+
+
+/*
+ * A response message whose operations have already been serialized to UTF-8. The operations are
+ * written to the response as is. Operation objects are only re-created when they are explicitly
+ * requested, e.g. by a message filter.
+ */
+public class StreamedResponseMessage extends ResponseMessage {
+
+  private final Utf8Buffer operationsBuffer;
+  private transient List<Operation> operations;
+
+  StreamedResponseMessage( JsonObject head, Utf8Buffer operationsBuffer ) {
+    super( head, Collections.<Operation>emptyList() );
+    ParamCheck.notNull( operationsBuffer, "operationsBuffer" );
+    this.operationsBuffer = operationsBuffer;
+  }
+
+  @Override
+  public List<Operation> getOperations() {
+    if( operations == null ) {
+      operations = readOperations( getOperationsJson() );
+    }
+    return operations;
+  }
+
+  @Override
+  public void writeTo( Writer writer ) throws IOException {
+    if( operations != null ) {
+      // operations may have been modified
+      super.writeTo( writer );
+    } else {
+      writeHead( writer );
+      writer.write( getOperationsJson() );
+      writer.write( "]}" );
+    }
+  }
+
+  /**
+   * Writes the message as UTF-8 to the given stream. Unless the operations have been requested,
+   * the serialized operations are written without being copied or decoded.
+   */
+  public void writeTo( OutputStream stream ) throws IOException {
+    Writer writer = new OutputStreamWriter( stream, StandardCharsets.UTF_8 );
+    if( operations != null ) {
+      super.writeTo( writer );
+      writer.flush();
+    } else {
+      writeHead( writer );
+      writer.flush();
+      operationsBuffer.writeTo( stream );
+      writer.write( "]}" );
+      writer.flush();
+    }
+  }
+
+  private void writeHead( Writer writer ) throws IOException {
+    writer.write( "{\"" + HEAD + "\":" );
+    getHead().writeTo( writer );
+    writer.write( ",\"" + OPERATIONS + "\":[" );
+  }
+
+  private String getOperationsJson() {
+    return new String( operationsBuffer.toByteArray(), StandardCharsets.UTF_8 );
+  }
+
+  private static List<Operation> readOperations( String json ) {
+    JsonArray operationsArray = JsonArray.readFrom( "[" + json + "]" );
+    List<Operation> operations = new ArrayList<>( operationsArray.size() );
+    for( JsonValue operation : operationsArray ) {
+      operations.add( readOperation( operation ) );
+    }
+    return operations;
+  }
+
+}
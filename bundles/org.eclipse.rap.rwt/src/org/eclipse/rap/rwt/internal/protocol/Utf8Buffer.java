@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.protocol;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/*
+ * An unsynchronized writer that encodes characters to UTF-8 as they are written. The bytes are
+ * kept in fixed-size chunks, so the buffer never copies its content when it grows and can be
+ * written to an output stream without creating an intermediate string or array.
+ */
+final class Utf8Buffer extends Writer implements Serializable {
+
+  private static final int CHUNK_SIZE = 8192;
+
+  private final List<byte[]> chunks;
+  private byte[] current;
+  private int position;
+  private int size;
+  private char highSurrogate;
+
+  Utf8Buffer() {
+    chunks = new ArrayList<>();
+    current = new byte[ CHUNK_SIZE ];
+    chunks.add( current );
+  }
+
+  @Override
+  public void write( int ch ) {
+    writeChar( ( char )ch );
+  }
+
+  @Override
+  public void write( String string ) {
+    write( string, 0, string.length() );
+  }
+
+  @Override
+  public void write( String string, int offset, int length ) {
+    for( int i = offset; i < offset + length; i++ ) {
+      writeChar( string.charAt( i ) );
+    }
+  }
+
+  @Override
+  public void write( char[] chars, int offset, int length ) {
+    for( int i = offset; i < offset + length; i++ ) {
+      writeChar( chars[ i ] );
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  void writeTo( OutputStream stream ) throws IOException {
+    int remaining = size;
+    for( byte[] chunk : chunks ) {
+      int length = Math.min( remaining, CHUNK_SIZE );
+      stream.write( chunk, 0, length );
+      remaining -= length;
+    }
+  }
+
+  byte[] toByteArray() {
+    byte[] result = new byte[ size ];
+    int offset = 0;
+    for( byte[] chunk : chunks ) {
+      int length = Math.min( size - offset, CHUNK_SIZE );
+      System.arraycopy( chunk, 0, result, offset, length );
+      offset += length;
+    }
+    return result;
+  }
+
+  @Override
+  public void flush() {
+    // nothing to flush
+  }
+
+  /*
+   * Writes a replacement character for a high surrogate that has not been followed by a low
+   * surrogate.
+   */
+  @Override
+  public void close() {
+    if( highSurrogate != 0 ) {
+      highSurrogate = 0;
+      writeByte( '?' );
+    }
+  }
+
+  private void writeChar( char ch ) {
+    if( highSurrogate != 0 ) {
+      char high = highSurrogate;
+      highSurrogate = 0;
+      if( Character.isLowSurrogate( ch ) ) {
+        writeCodePoint( Character.toCodePoint( high, ch ) );
+        return;
+      }
+      writeByte( '?' );
+    }
+    if( ch < 0x80 ) {
+      writeByte( ch );
+    } else if( ch < 0x800 ) {
+      writeByte( 0xc0 | ch >> 6 );
+      writeByte( 0x80 | ch & 0x3f );
+    } else if( Character.isHighSurrogate( ch ) ) {
+      highSurrogate = ch;
+    } else if( Character.isLowSurrogate( ch ) ) {
+      writeByte( '?' );
+    } else {
+      writeByte( 0xe0 | ch >> 12 );
+      writeByte( 0x80 | ch >> 6 & 0x3f );
+      writeByte( 0x80 | ch & 0x3f );
+    }
+  }
+
+  private void writeCodePoint( int codePoint ) {
+    writeByte( 0xf0 | codePoint >> 18 );
+    writeByte( 0x80 | codePoint >> 12 & 0x3f );
+    writeByte( 0x80 | codePoint >> 6 & 0x3f );
+    writeByte( 0x80 | codePoint & 0x3f );
+  }
+
+  private void writeByte( int value ) {
+    if( position == CHUNK_SIZE ) {
+      current = new byte[ CHUNK_SIZE ];
+      chunks.add( current );
+      position = 0;
+    }
+    current[ position++ ] = ( byte )value;
+    size++;
+  }
+
+}
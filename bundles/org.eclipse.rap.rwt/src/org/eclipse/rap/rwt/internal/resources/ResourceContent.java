@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.resources;
+
+import static org.eclipse.rap.rwt.internal.util.HTTP.ENCODING_GZIP;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+import org.eclipse.rap.rwt.internal.service.HttpCompression;
+
+
+/**
+ * Describes a registered resource by its content hash and length. The content itself is not
+ * kept in memory but read from the resource directory when it is requested. For text resources,
+ * a gzip compressed variant is created when it is first requested and kept in memory if it is
+ * small enough.
+ */
+public final class ResourceContent {
+
+  private static final String[] TEXT_EXTENSIONS = {
+    ".js", ".css", ".json", ".html", ".htm", ".txt", ".xml", ".svg"
+  };
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+  private static final int HASH_LENGTH = 8;
+  private static final int MAX_COMPRESSIBLE_LENGTH = 4 * 1024 * 1024;
+  private static final int MAX_GZIP_LENGTH = 256 * 1024;
+
+  private final File file;
+  private final boolean text;
+  private final String hash;
+  private final long length;
+  private final long lastModified;
+  private volatile byte[] gzipContent;
+  private volatile boolean gzipContentCreated;
+
+  ResourceContent( String name, File file, MessageDigest digest ) {
+    this.file = file;
+    text = isText( name );
+    hash = toHex( digest.digest() );
+    length = file.length();
+    lastModified = System.currentTimeMillis();
+  }
+
+  public long getLength() {
+    return length;
+  }
+
+  public InputStream openStream() throws IOException {
+    return new FileInputStream( file );
+  }
+
+  /**
+   * Writes the given range of the content to the given stream.
+   */
+  public void writeTo( OutputStream outputStream, long offset, long count ) throws IOException {
+    try( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ ) ) {
+      WritableByteChannel target = Channels.newChannel( outputStream );
+      long position = offset;
+      long end = offset + count;
+      while( position < end ) {
+        long transferred = channel.transferTo( position, end - position, target );
+        if( transferred <= 0 ) {
+          throw new IOException( "Unexpected end of resource: " + file );
+        }
+        position += transferred;
+      }
+    }
+  }
+
+  /**
+   * Returns the gzip compressed content or <code>null</code> if the resource is not compressed.
+   */
+  public byte[] getGzipContent() {
+    if( !gzipContentCreated && text && length <= MAX_COMPRESSIBLE_LENGTH ) {
+      try {
+        byte[] compressed = HttpCompression.compress( Files.readAllBytes( file.toPath() ),
+                                                      ENCODING_GZIP );
+        gzipContent = compressed.length < length && compressed.length <= MAX_GZIP_LENGTH
+                    ? compressed
+                    : null;
+        gzipContentCreated = true;
+      } catch( @SuppressWarnings( "unused" ) IOException exception ) {
+        // serve the content uncompressed
+      }
+    }
+    return gzipContent;
+  }
+
+  public String getHash() {
+    return hash;
+  }
+
+  public long getLastModified() {
+    return lastModified;
+  }
+
+  static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance( "SHA-1" );
+    } catch( NoSuchAlgorithmException exception ) {
+      throw new IllegalStateException( "SHA-1 is not available", exception );
+    }
+  }
+
+  private static boolean isText( String name ) {
+    String lowerCaseName = name.toLowerCase( Locale.ENGLISH );
+    for( String extension : TEXT_EXTENSIONS ) {
+      if( lowerCaseName.endsWith( extension ) ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String toHex( byte[] digest ) {
+    char[] result = new char[ HASH_LENGTH * 2 ];
+    for( int i = 0; i < HASH_LENGTH; i++ ) {
+      result[ i * 2 ] = HEX_DIGITS[ ( digest[ i ] >> 4 ) & 0xf ];
+      result[ i * 2 + 1 ] = HEX_DIGITS[ digest[ i ] & 0xf ];
+    }
+    return new String( result );
+  }
+
+}
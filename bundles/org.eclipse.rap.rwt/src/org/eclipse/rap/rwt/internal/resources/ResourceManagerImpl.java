@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,19 +12,18 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.resources;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
 import org.eclipse.rap.rwt.internal.util.StreamUtil;
 import org.eclipse.rap.rwt.service.ResourceLoader;
@@ -46,12 +45,14 @@ import org.eclipse.rap.rwt.service.ResourceManager;
  */
 public class ResourceManagerImpl implements ResourceManager {
 
+  private static final String VERSION_PARAM = "v";
+
   private final ResourceDirectory resourceDirectory;
-  private final Set<String> resources;
+  private final ConcurrentMap<String,ResourceContent> resources;
 
   public ResourceManagerImpl( ResourceDirectory resourceDirectory ) {
     this.resourceDirectory = resourceDirectory;
-    resources = Collections.synchronizedSet( new HashSet<String>() );
+    resources = new ConcurrentHashMap<>();
   }
 
   /////////////////////////////
@@ -60,7 +61,7 @@ public class ResourceManagerImpl implements ResourceManager {
   public void registerOnce( String resource, ResourceLoader loader ) {
     ParamCheck.notNull( resource, "resource" );
     ParamCheck.notNull( loader, "loader" );
-    if( !resources.contains( resource ) ) {
+    if( !resources.containsKey( resource ) ) {
       checkPath( resource );
       InputStream stream = null;
       try {
@@ -88,7 +89,7 @@ public class ResourceManagerImpl implements ResourceManager {
   public boolean unregister( String name ) {
     ParamCheck.notNull( name, "name" );
     boolean result = false;
-    if( resources.remove( name ) ) {
+    if( resources.remove( name ) != null ) {
       result = true;
       File file = getDiskLocation( name );
       file.delete();
@@ -99,33 +100,62 @@ public class ResourceManagerImpl implements ResourceManager {
   @Override
   public boolean isRegistered( String name ) {
     ParamCheck.notNull( name, "name" );
-    return resources.contains( name );
+    return resources.containsKey( name );
   }
 
   @Override
   public String getLocation( String name ) {
     ParamCheck.notNull( name, "name" );
-    if( !resources.contains( name ) ) {
+    ResourceContent content = resources.get( name );
+    if( content == null ) {
       throw new IllegalArgumentException( "Resource does not exist: " + name );
     }
-    return createRequestUrl( name );
+    String result = createRequestUrl( name );
+    if( RWTProperties.isResourceVersioningEnabled() ) {
+      result += "?" + VERSION_PARAM + "=" + content.getHash();
+    }
+    return result;
   }
 
   @Override
   public InputStream getRegisteredContent( String name ) {
     ParamCheck.notNull( name, "name" );
     InputStream result = null;
-    if( resources.contains( name ) ) {
-      File file = getDiskLocation( name );
+    ResourceContent content = resources.get( name );
+    if( content != null ) {
       try {
-        result = new FileInputStream( file );
-      } catch( FileNotFoundException fnfe ) {
-        throw new RuntimeException( fnfe );
+        result = content.openStream();
+      } catch( IOException ioe ) {
+        throw new RuntimeException( ioe );
       }
     }
     return result;
   }
 
+  /**
+   * Registers the given content like <code>register( String, InputStream )</code>, but without
+   * copying it through a stream. The array is not referenced after this method returns.
+   */
+  public void registerContent( String path, byte[] content ) {
+    ParamCheck.notNull( path, "name" );
+    ParamCheck.notNull( content, "content" );
+    checkPath( path );
+    internalRegister( path, content );
+  }
+
+  /**
+   * Returns the content of the given resource or <code>null</code> if no such resource is
+   * registered. Escaped resource names as used in resource locations are accepted as well.
+   */
+  public ResourceContent getContent( String name ) {
+    ParamCheck.notNull( name, "name" );
+    ResourceContent result = resources.get( name );
+    if( result == null ) {
+      result = resources.get( unescapeResourceName( name ) );
+    }
+    return result;
+  }
+
   //////////////////
   // helping methods
 
@@ -139,30 +169,28 @@ public class ResourceManagerImpl implements ResourceManager {
 
   private void internalRegister( String name, InputStream inputStream ) {
     File location = getDiskLocation( name );
+    MessageDigest digest = ResourceContent.createDigest();
     try {
       createDirectories( location );
-      writeResource( inputStream, location );
+      InputStream digestStream = new DigestInputStream( inputStream, digest );
+      Files.copy( digestStream, location.toPath(), REPLACE_EXISTING );
     } catch ( IOException ioe ) {
       throw new RuntimeException( "Failed to register resource: " + name, ioe );
     }
-    resources.add( name );
+    resources.put( name, new ResourceContent( name, location, digest ) );
   }
 
-  private static void writeResource( InputStream inputStream, File location )
-    throws IOException
-  {
-    BufferedInputStream bufferedStream = new BufferedInputStream( inputStream );
-    OutputStream outputStream = new BufferedOutputStream( new FileOutputStream( location ) );
+  private void internalRegister( String name, byte[] content ) {
+    File location = getDiskLocation( name );
+    MessageDigest digest = ResourceContent.createDigest();
     try {
-      byte[] buffer = new byte[ 256 ];
-      int read = bufferedStream.read( buffer );
-      while( read != -1 ) {
-        outputStream.write( buffer, 0, read );
-        read = bufferedStream.read( buffer );
-      }
-    } finally {
-      outputStream.close();
+      createDirectories( location );
+      Files.write( location.toPath(), content );
+    } catch ( IOException ioe ) {
+      throw new RuntimeException( "Failed to register resource: " + name, ioe );
     }
+    digest.update( content );
+    resources.put( name, new ResourceContent( name, location, digest ) );
   }
 
   private static void createDirectories( File file ) throws IOException {
@@ -198,4 +226,24 @@ public class ResourceManagerImpl implements ResourceManager {
       .replaceAll( "\\?", "\\$2" );
   }
 
+  private static String unescapeResourceName( String name ) {
+    StringBuilder result = new StringBuilder( name.length() );
+    for( int i = 0; i < name.length(); i++ ) {
+      char ch = name.charAt( i );
+      if( ch == '$' && i + 1 < name.length() ) {
+        char next = name.charAt( ++i );
+        if( next == '1' ) {
+          result.append( ':' );
+        } else if( next == '2' ) {
+          result.append( '?' );
+        } else {
+          result.append( next );
+        }
+      } else {
+        result.append( ch );
+      }
+    }
+    return result.toString();
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,7 +13,9 @@ package org.eclipse.rap.rwt.internal.serverpush;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.concurrent.ScheduledExecutorService;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
@@ -71,6 +73,7 @@ public final class ServerPushManager implements SerializableCompatibility {
   public void releaseBlockedRequest() {
     synchronized( lock ) {
       lock.notifyAll();
+      releaseSuspendedRequests();
     }
   }
 
@@ -124,6 +127,14 @@ public final class ServerPushManager implements SerializableCompatibility {
     return isServerPushActive() || forceServerPushForPendingRunnables();
   }
 
+  void processRequest( HttpServletRequest request, HttpServletResponse response ) {
+    if( request.isAsyncSupported() ) {
+      suspendRequest( request, response );
+    } else {
+      processRequest( response );
+    }
+  }
+
   void processRequest( HttpServletResponse response ) {
     synchronized( lock ) {
       if( isCallBackRequestBlocked() ) {
@@ -149,6 +160,62 @@ public final class ServerPushManager implements SerializableCompatibility {
     }
   }
 
+  private void suspendRequest( HttpServletRequest request, HttpServletResponse response ) {
+    synchronized( lock ) {
+      if( mustBlockCallBackRequest() ) {
+        UISession uiSession = ContextProvider.getUISession();
+        SuspendedRequest suspendedRequest
+          = new SuspendedRequest( this, request.startAsync( request, response ), uiSession );
+        serverPushRequestTracker.activate( suspendedRequest );
+        suspendedRequest.suspend( getScheduler(), requestCheckInterval );
+      }
+      // release requests that have been superseded by this one
+      releaseBlockedRequest();
+    }
+  }
+
+  void checkSuspendedRequest( SuspendedRequest suspendedRequest ) {
+    synchronized( lock ) {
+      if(    canReleaseSuspendedRequest( suspendedRequest )
+          || !isConnectionAlive( suspendedRequest.getResponse() ) )
+      {
+        releaseSuspendedRequest( suspendedRequest );
+      }
+    }
+  }
+
+  void releaseSuspendedRequest( SuspendedRequest suspendedRequest ) {
+    synchronized( lock ) {
+      serverPushRequestTracker.deactivate( suspendedRequest );
+      suspendedRequest.complete();
+    }
+  }
+
+  private void releaseSuspendedRequests() {
+    for( Object handle : serverPushRequestTracker.getAll() ) {
+      if( handle instanceof SuspendedRequest ) {
+        SuspendedRequest suspendedRequest = ( SuspendedRequest )handle;
+        if( canReleaseSuspendedRequest( suspendedRequest ) ) {
+          releaseSuspendedRequest( suspendedRequest );
+        }
+      }
+    }
+  }
+
+  private boolean canReleaseSuspendedRequest( SuspendedRequest suspendedRequest ) {
+    boolean result = false;
+    if( !mustBlockCallBackRequest() ) {
+      result = true;
+    } else if( !serverPushRequestTracker.isActive( suspendedRequest ) ) {
+      result = true;
+    } else {
+      HttpSession httpSession = suspendedRequest.getUISession().getHttpSession();
+      long currentTime = System.currentTimeMillis();
+      result = isSessionExpired( httpSession, suspendedRequest.getStartTime(), currentTime );
+    }
+    return result;
+  }
+
   private boolean canReleaseBlockedRequest( HttpServletResponse response, long requestStartTime ) {
     boolean result = false;
     if( !mustBlockCallBackRequest() ) {
@@ -188,8 +255,15 @@ public final class ServerPushManager implements SerializableCompatibility {
   }
 
   static boolean isSessionExpired( long requestStartTime, long currentTime ) {
-    boolean result = false;
     HttpSession httpSession = ContextProvider.getUISession().getHttpSession();
+    return isSessionExpired( httpSession, requestStartTime, currentTime );
+  }
+
+  private static boolean isSessionExpired( HttpSession httpSession,
+                                           long requestStartTime,
+                                           long currentTime )
+  {
+    boolean result = false;
     int maxInactiveInterval = httpSession.getMaxInactiveInterval();
     if( maxInactiveInterval > 0 ) {
       result = currentTime > requestStartTime + maxInactiveInterval * 1000;
@@ -207,6 +281,10 @@ public final class ServerPushManager implements SerializableCompatibility {
     }
   }
 
+  private static ScheduledExecutorService getScheduler() {
+    return ContextProvider.getApplicationContext().getTimerExecService();
+  }
+
   private static boolean forceServerPushForPendingRunnables() {
     boolean result = false;
     ServiceStore serviceStore = ContextProvider.getServiceStore();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,32 +10,37 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.serverpush;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
 
 class ServerPushRequestTracker {
 
-  private transient List<Thread> callBackRequests;
+  private transient List<Object> callBackRequests;
 
   ServerPushRequestTracker() {
     callBackRequests = new LinkedList<>();
   }
 
-  void deactivate( Thread thread ) {
-    callBackRequests.remove( thread );
+  void deactivate( Object handle ) {
+    callBackRequests.remove( handle );
   }
 
-  void activate( Thread thread ) {
-    callBackRequests.add( 0, thread );
+  void activate( Object handle ) {
+    callBackRequests.add( 0, handle );
   }
 
   boolean hasActive() {
     return callBackRequests.isEmpty();
   }
 
-  boolean isActive( Thread thread ) {
-    return !hasActive() && callBackRequests.get( 0 ) == thread;
+  boolean isActive( Object handle ) {
+    return !hasActive() && callBackRequests.get( 0 ) == handle;
+  }
+
+  List<Object> getAll() {
+    return new ArrayList<>( callBackRequests );
   }
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -28,7 +28,7 @@ public class ServerPushServiceHandler implements ServiceHandler {
     throws IOException
   {
     setResponseHeaders( response );
-    ServerPushManager.getInstance().processRequest( response );
+    ServerPushManager.getInstance().processRequest( request, response );
   }
 
   private static void setResponseHeaders( HttpServletResponse response ) {
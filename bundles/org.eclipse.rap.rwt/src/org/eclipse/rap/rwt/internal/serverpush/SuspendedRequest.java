@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.serverpush;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.rap.rwt.internal.service.ServletLog;
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.rap.rwt.service.UISessionEvent;
+import org.eclipse.rap.rwt.service.UISessionListener;
+
+
+/*
+ * A server push request that has been put into asynchronous mode instead of blocking the request
+ * thread. The request is completed by the ServerPushManager, by a periodic check, when the
+ * container reports a timeout or error, or when the UI session is destroyed.
+ */
+class SuspendedRequest implements AsyncListener, UISessionListener {
+
+  private transient final ServerPushManager manager;
+  private transient final AsyncContext asyncContext;
+  private transient final UISession uiSession;
+  private transient final long startTime;
+  private transient ScheduledFuture<?> check;
+  private transient boolean completed;
+
+  SuspendedRequest( ServerPushManager manager, AsyncContext asyncContext, UISession uiSession ) {
+    this.manager = manager;
+    this.asyncContext = asyncContext;
+    this.uiSession = uiSession;
+    startTime = System.currentTimeMillis();
+  }
+
+  void suspend( ScheduledExecutorService scheduler, int checkInterval ) {
+    // timeouts are handled by the periodic check
+    asyncContext.setTimeout( 0 );
+    asyncContext.addListener( this );
+    uiSession.addUISessionListener( this );
+    check = scheduler.scheduleWithFixedDelay( new Runnable() {
+      @Override
+      public void run() {
+        check();
+      }
+    }, checkInterval, checkInterval, TimeUnit.MILLISECONDS );
+  }
+
+  void check() {
+    try {
+      manager.checkSuspendedRequest( this );
+    } catch( Throwable throwable ) {
+      // An exception would silently cancel all subsequent checks, and as there is no container
+      // timeout, the request would never be completed
+      ServletLog.log( "Failed to check suspended server push request", throwable );
+      manager.releaseSuspendedRequest( this );
+    }
+  }
+
+  /*
+   * Must be called while holding the lock of the server push manager.
+   */
+  void complete() {
+    if( !completed ) {
+      completed = true;
+      if( check != null ) {
+        check.cancel( false );
+      }
+      uiSession.removeUISessionListener( this );
+      try {
+        asyncContext.complete();
+      } catch( @SuppressWarnings( "unused" ) IllegalStateException ise ) {
+        // request has already been completed or dispatched by the container
+      }
+    }
+  }
+
+  HttpServletResponse getResponse() {
+    return ( HttpServletResponse )asyncContext.getResponse();
+  }
+
+  UISession getUISession() {
+    return uiSession;
+  }
+
+  long getStartTime() {
+    return startTime;
+  }
+
+  @Override
+  public void beforeDestroy( UISessionEvent event ) {
+    manager.releaseSuspendedRequest( this );
+  }
+
+  @Override
+  public void onTimeout( AsyncEvent event ) {
+    manager.releaseSuspendedRequest( this );
+  }
+
+  @Override
+  public void onError( AsyncEvent event ) {
+    manager.releaseSuspendedRequest( this );
+  }
+
+  @Override
+  public void onComplete( AsyncEvent event ) {
+    manager.releaseSuspendedRequest( this );
+  }
+
+  @Override
+  public void onStartAsync( AsyncEvent event ) {
+  }
+
+}
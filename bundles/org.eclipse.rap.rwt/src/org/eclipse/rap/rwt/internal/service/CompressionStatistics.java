@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.service;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Counts the size of UI responses before and after compression, separately for every entry
+ * point.
+ */
+public final class CompressionStatistics {
+
+  private final ConcurrentMap<String,Counter> counters;
+
+  private static class Counter {
+    private final AtomicLong bytesBefore = new AtomicLong();
+    private final AtomicLong bytesAfter = new AtomicLong();
+  }
+
+  public CompressionStatistics() {
+    counters = new ConcurrentHashMap<>();
+  }
+
+  public void record( String entryPoint, long bytesBefore, long bytesAfter ) {
+    Counter counter = getCounter( entryPoint );
+    counter.bytesBefore.addAndGet( bytesBefore );
+    counter.bytesAfter.addAndGet( bytesAfter );
+  }
+
+  public Set<String> getEntryPoints() {
+    return new TreeSet<>( counters.keySet() );
+  }
+
+  public long getBytesBefore( String entryPoint ) {
+    Counter counter = counters.get( entryPoint );
+    return counter == null ? 0 : counter.bytesBefore.get();
+  }
+
+  public long getBytesAfter( String entryPoint ) {
+    Counter counter = counters.get( entryPoint );
+    return counter == null ? 0 : counter.bytesAfter.get();
+  }
+
+  public void reset() {
+    counters.clear();
+  }
+
+  private Counter getCounter( String entryPoint ) {
+    Counter counter = counters.get( entryPoint );
+    if( counter == null ) {
+      counter = new Counter();
+      Counter existing = counters.putIfAbsent( entryPoint, counter );
+      if( existing != null ) {
+        counter = existing;
+      }
+    }
+    return counter;
+  }
+
+}
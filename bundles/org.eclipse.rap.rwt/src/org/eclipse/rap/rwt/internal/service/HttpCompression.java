@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.service;
+
+import static org.eclipse.rap.rwt.internal.util.HTTP.ENCODING_DEFLATE;
+import static org.eclipse.rap.rwt.internal.util.HTTP.ENCODING_GZIP;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_ACCEPT_ENCODING;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_CONTENT_ENCODING;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+
+
+/**
+ * Negotiates and applies the content encoding of UI requests and responses. Idle deflater
+ * instances are pooled and reused for subsequent responses, the pool is released when the
+ * application is stopped. The size of decompressed request bodies is limited to protect against
+ * decompression bombs.
+ */
+public final class HttpCompression {
+
+  private static final byte[] GZIP_HEADER = {
+    ( byte )0x1f, ( byte )0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, ( byte )0xff
+  };
+
+  // same as the default maxPostSize of Tomcat
+  static final int DEFAULT_MAX_DECOMPRESSED_SIZE = 2 * 1024 * 1024;
+  private static final int MAX_POOLED_DEFLATERS = 16;
+
+  private static final Queue<Deflater> GZIP_DEFLATERS = new ConcurrentLinkedQueue<>();
+  private static final Queue<Deflater> ZLIB_DEFLATERS = new ConcurrentLinkedQueue<>();
+  // incremented on release, deflaters borrowed before are ended instead of being returned
+  private static volatile int generation;
+
+  /**
+   * Returns the preferred encoding that is accepted by the client, or <code>null</code> if
+   * neither gzip nor deflate is accepted.
+   */
+  public static String getAcceptedEncoding( HttpServletRequest request ) {
+    String header = request.getHeader( HEADER_ACCEPT_ENCODING );
+    String result = null;
+    if( header != null ) {
+      if( accepts( header, ENCODING_GZIP ) ) {
+        result = ENCODING_GZIP;
+      } else if( accepts( header, ENCODING_DEFLATE ) ) {
+        result = ENCODING_DEFLATE;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the body of the given request, decoded according to its Content-Encoding header.
+   * Reading a decoded body fails with an <code>IOException</code> when it exceeds the maximum
+   * decompressed request size.
+   */
+  public static InputStream getInputStream( HttpServletRequest request ) throws IOException {
+    int maxSize = RWTProperties.getMaxDecompressedRequestSize( DEFAULT_MAX_DECOMPRESSED_SIZE );
+    return getInputStream( request, maxSize );
+  }
+
+  static InputStream getInputStream( HttpServletRequest request, int maxSize )
+    throws IOException
+  {
+    InputStream inputStream = request.getInputStream();
+    String encoding = request.getHeader( HEADER_CONTENT_ENCODING );
+    if( ENCODING_GZIP.equalsIgnoreCase( encoding ) ) {
+      return new LimitedInputStream( new GZIPInputStream( inputStream ), maxSize );
+    } else if( ENCODING_DEFLATE.equalsIgnoreCase( encoding ) ) {
+      return new LimitedInputStream( new InflaterInputStream( inputStream ), maxSize );
+    }
+    return inputStream;
+  }
+
+  public static byte[] compress( byte[] content, String encoding ) {
+    ByteArrayOutputStream result = new ByteArrayOutputStream( content.length / 4 + 32 );
+    if( ENCODING_GZIP.equals( encoding ) ) {
+      result.write( GZIP_HEADER, 0, GZIP_HEADER.length );
+      deflate( GZIP_DEFLATERS, true, content, result );
+      CRC32 crc = new CRC32();
+      crc.update( content );
+      writeIntLE( result, ( int )crc.getValue() );
+      writeIntLE( result, content.length );
+    } else if( ENCODING_DEFLATE.equals( encoding ) ) {
+      deflate( ZLIB_DEFLATERS, false, content, result );
+    } else {
+      throw new IllegalArgumentException( "Unsupported encoding: " + encoding );
+    }
+    return result.toByteArray();
+  }
+
+  /**
+   * Frees the native memory of all idle pooled deflaters. Deflaters that are in use at this time
+   * are freed when they are returned instead of being put back into the pool.
+   */
+  public static void releaseDeflaters() {
+    generation++;
+    endAll( GZIP_DEFLATERS );
+    endAll( ZLIB_DEFLATERS );
+  }
+
+  private static void deflate( Queue<Deflater> pool,
+                               boolean nowrap,
+                               byte[] content,
+                               ByteArrayOutputStream out )
+  {
+    int borrowedGeneration = generation;
+    Deflater deflater = pool.poll();
+    if( deflater == null ) {
+      deflater = new Deflater( Deflater.DEFAULT_COMPRESSION, nowrap );
+    }
+    try {
+      deflater.setInput( content );
+      deflater.finish();
+      byte[] buffer = new byte[ 8192 ];
+      while( !deflater.finished() ) {
+        int count = deflater.deflate( buffer );
+        out.write( buffer, 0, count );
+      }
+    } finally {
+      release( pool, deflater, borrowedGeneration );
+    }
+  }
+
+  private static void release( Queue<Deflater> pool, Deflater deflater, int borrowedGeneration ) {
+    deflater.reset();
+    if( borrowedGeneration == generation && pool.size() < MAX_POOLED_DEFLATERS ) {
+      pool.offer( deflater );
+    } else {
+      deflater.end();
+    }
+  }
+
+  private static void endAll( Queue<Deflater> pool ) {
+    Deflater deflater = pool.poll();
+    while( deflater != null ) {
+      deflater.end();
+      deflater = pool.poll();
+    }
+  }
+
+  private static void writeIntLE( ByteArrayOutputStream out, int value ) {
+    out.write( value & 0xff );
+    out.write( ( value >> 8 ) & 0xff );
+    out.write( ( value >> 16 ) & 0xff );
+    out.write( ( value >> 24 ) & 0xff );
+  }
+
+  private static boolean accepts( String header, String encoding ) {
+    for( String part : header.split( "," ) ) {
+      String[] tokens = part.split( ";" );
+      if( tokens[ 0 ].trim().toLowerCase( Locale.ENGLISH ).equals( encoding ) ) {
+        return !hasZeroQuality( tokens );
+      }
+    }
+    return false;
+  }
+
+  private static boolean hasZeroQuality( String[] tokens ) {
+    for( int i = 1; i < tokens.length; i++ ) {
+      String token = tokens[ i ].trim();
+      if( token.startsWith( "q=" ) ) {
+        try {
+          return Float.parseFloat( token.substring( 2 ) ) == 0;
+        } catch( @SuppressWarnings( "unused" ) NumberFormatException exception ) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+
+  private HttpCompression() {
+    // prevent instantiation
+  }
+
+  private static final class LimitedInputStream extends FilterInputStream {
+
+    private final int maxSize;
+    private long count;
+
+    LimitedInputStream( InputStream inputStream, int maxSize ) {
+      super( inputStream );
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int result = super.read();
+      if( result != -1 ) {
+        count( 1 );
+      }
+      return result;
+    }
+
+    @Override
+    public int read( byte[] buffer, int offset, int length ) throws IOException {
+      int result = super.read( buffer, offset, length );
+      if( result > 0 ) {
+        count( result );
+      }
+      return result;
+    }
+
+    @Override
+    public long skip( long length ) throws IOException {
+      long result = super.skip( length );
+      count( result );
+      return result;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+
+    private void count( long length ) throws IOException {
+      count += length;
+      if( count > maxSize ) {
+        throw new IOException( "Decompressed request exceeds maximum size of " + maxSize );
+      }
+    }
+
+  }
+
+}
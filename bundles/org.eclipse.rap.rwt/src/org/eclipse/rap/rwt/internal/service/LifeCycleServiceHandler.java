@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,26 +15,37 @@ import static javax.servlet.http.HttpServletResponse.SC_FORBIDDEN;
 import static javax.servlet.http.HttpServletResponse.SC_PRECONDITION_FAILED;
 import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.REQUEST_COUNTER;
 import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.SHUTDOWN;
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
 import static org.eclipse.rap.rwt.internal.service.ContextProvider.getUISession;
+import static org.eclipse.rap.rwt.internal.service.StartupProfile.Phase.SERIALIZATION;
 import static org.eclipse.rap.rwt.internal.util.HTTP.CHARSET_UTF_8;
 import static org.eclipse.rap.rwt.internal.util.HTTP.CONTENT_TYPE_JSON;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_ACCEPT_ENCODING;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_CONTENT_ENCODING;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_VARY;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringWriter;
 
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import org.eclipse.rap.json.JsonObject;
 import org.eclipse.rap.json.JsonValue;
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleUtil;
 import org.eclipse.rap.rwt.internal.lifecycle.RequestCounter;
 import org.eclipse.rap.rwt.internal.protocol.ClientMessage;
+import org.eclipse.rap.rwt.internal.protocol.Message;
 import org.eclipse.rap.rwt.internal.protocol.ProtocolMessageWriter;
 import org.eclipse.rap.rwt.internal.protocol.RequestMessage;
 import org.eclipse.rap.rwt.internal.protocol.ResponseMessage;
+import org.eclipse.rap.rwt.internal.protocol.StreamedResponseMessage;
 import org.eclipse.rap.rwt.internal.remote.MessageChainReference;
+import org.eclipse.rap.rwt.internal.util.StreamUtil;
 import org.eclipse.rap.rwt.service.ServiceHandler;
 import org.eclipse.rap.rwt.service.UISession;
 
@@ -42,6 +53,7 @@ import org.eclipse.rap.rwt.service.UISession;
 public class LifeCycleServiceHandler implements ServiceHandler {
 
   private static final String PROP_ERROR = "error";
+  private static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
   private static final String ATTR_LAST_RESPONSE_MESSAGE
     = LifeCycleServiceHandler.class.getName() + "#lastResponseMessage";
 
@@ -92,20 +104,37 @@ public class LifeCycleServiceHandler implements ServiceHandler {
       writeEmptyMessage( response );
     } else if( !isRequestCounterValid( requestMessage ) ) {
       if( isDuplicateRequest( requestMessage ) ) {
-        writeBufferedResponse( response );
+        writeBufferedResponse( request, response );
       } else {
         writeInvalidRequestCounterError( response );
       }
     } else {
+      StartupProfile startupProfile = createStartupProfile();
       ResponseMessage responseMessage = processMessage( requestMessage );
-      writeResponseMessage( responseMessage, response );
+      StartupProfile.start( SERIALIZATION );
+      try {
+        writeResponseMessage( responseMessage, request, response );
+      } finally {
+        StartupProfile.stop( SERIALIZATION );
+      }
+      if( startupProfile != null ) {
+        StartupStatistics statistics = getApplicationContext().getStartupStatistics();
+        statistics.record( request.getServletPath(), startupProfile );
+      }
       RequestCounter.getInstance().nextRequestId();
     }
   }
 
+  private static StartupProfile createStartupProfile() {
+    if( RWTProperties.isStartupProfilingEnabled() && LifeCycleUtil.isStartup() ) {
+      return StartupProfile.attach();
+    }
+    return null;
+  }
+
   private static RequestMessage readRequestMessage( HttpServletRequest request ) {
     try {
-      return new ClientMessage( JsonObject.readFrom( getReader( request ) ) );
+      return ClientMessage.readFrom( getReader( request ) );
     } catch( IOException ioe ) {
       throw new IllegalStateException( "Unable to read the json message", ioe );
     }
@@ -121,7 +150,7 @@ public class LifeCycleServiceHandler implements ServiceHandler {
     if( encoding == null ) {
       encoding = CHARSET_UTF_8;
     }
-    return new InputStreamReader( request.getInputStream(), encoding );
+    return new InputStreamReader( HttpCompression.getInputStream( request ), encoding );
   }
 
   private ResponseMessage processMessage( RequestMessage requestMessage ) {
@@ -165,7 +194,7 @@ public class LifeCycleServiceHandler implements ServiceHandler {
     response.setStatus( statusCode );
     ProtocolMessageWriter writer = new ProtocolMessageWriter();
     writer.appendHead( PROP_ERROR, JsonValue.valueOf( errorType ) );
-    writer.createMessage().toJson().writeTo( response.getWriter() );
+    writer.createMessage().writeTo( response.getWriter() );
   }
 
   private static boolean isSessionShutdown( RequestMessage requestMessage ) {
@@ -178,19 +207,73 @@ public class LifeCycleServiceHandler implements ServiceHandler {
   }
 
   private static void writeEmptyMessage( ServletResponse response ) throws IOException {
-    new ProtocolMessageWriter().createMessage().toJson().writeTo( response.getWriter() );
+    new ProtocolMessageWriter().createMessage().writeTo( response.getWriter() );
   }
 
   private static void writeResponseMessage( ResponseMessage responseMessage,
-                                            ServletResponse response )
+                                            HttpServletRequest request,
+                                            HttpServletResponse response )
     throws IOException
   {
     bufferMessage( responseMessage );
-    responseMessage.toJson().writeTo( response.getWriter() );
+    writeMessage( responseMessage, request, response );
   }
 
-  private static void writeBufferedResponse( HttpServletResponse response ) throws IOException {
-    getBufferedMessage().toJson().writeTo( response.getWriter() );
+  private static void writeBufferedResponse( HttpServletRequest request,
+                                             HttpServletResponse response )
+    throws IOException
+  {
+    writeMessage( getBufferedMessage(), request, response );
+  }
+
+  private static void writeMessage( Message message,
+                                    HttpServletRequest request,
+                                    HttpServletResponse response )
+    throws IOException
+  {
+    String encoding = null;
+    if( RWTProperties.isResponseCompressionEnabled() ) {
+      encoding = HttpCompression.getAcceptedEncoding( request );
+    }
+    if( encoding == null ) {
+      if( message instanceof StreamedResponseMessage ) {
+        ( ( StreamedResponseMessage )message ).writeTo( response.getOutputStream() );
+      } else {
+        message.writeTo( response.getWriter() );
+      }
+    } else {
+      writeCompressedMessage( message, encoding, request, response );
+    }
+  }
+
+  private static void writeCompressedMessage( Message message,
+                                              String encoding,
+                                              HttpServletRequest request,
+                                              HttpServletResponse response )
+    throws IOException
+  {
+    byte[] content = getContent( message );
+    byte[] result = content;
+    response.setHeader( HEADER_VARY, HEADER_ACCEPT_ENCODING );
+    if( content.length >= RWTProperties.getCompressionThreshold( DEFAULT_COMPRESSION_THRESHOLD ) ) {
+      result = HttpCompression.compress( content, encoding );
+      response.setHeader( HEADER_CONTENT_ENCODING, encoding );
+    }
+    response.setContentLength( result.length );
+    StreamUtil.write( result, response.getOutputStream() );
+    CompressionStatistics statistics = getApplicationContext().getCompressionStatistics();
+    statistics.record( request.getServletPath(), content.length, result.length );
+  }
+
+  private static byte[] getContent( Message message ) throws IOException {
+    if( message instanceof StreamedResponseMessage ) {
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      ( ( StreamedResponseMessage )message ).writeTo( buffer );
+      return buffer.toByteArray();
+    }
+    StringWriter buffer = new StringWriter();
+    message.writeTo( buffer );
+    return buffer.toString().getBytes( CHARSET_UTF_8 );
   }
 
   private static void bufferMessage( ResponseMessage responseMessage ) {
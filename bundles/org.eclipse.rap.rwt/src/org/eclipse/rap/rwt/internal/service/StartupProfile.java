@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.service;
+
+
+/**
+ * Measures the time spent in the phases of the request that starts a UI session. A profile is
+ * attached to the service store of the startup request, phases that are started and stopped
+ * outside of a profiled request are ignored.
+ * <p>
+ * Phases may overlap, e.g. layout and text measurement usually happen while the UI is created.
+ * Nested starts of the same phase are counted once.
+ * </p>
+ * <p>
+ * Until the first profile is attached, starting and stopping a phase only reads a static flag,
+ * so that layout and text measurement are not slowed down when profiling is disabled.
+ * </p>
+ */
+public final class StartupProfile {
+
+  public enum Phase {
+    CREATE_UI, LAYOUT, TEXT_MEASUREMENT, RENDER, SERIALIZATION
+  }
+
+  private static final String ATTR_PROFILE = StartupProfile.class.getName() + "#profile";
+
+  private static volatile boolean attached;
+
+  private final long[] durations;
+  private final long[] startTimes;
+  private final int[] depths;
+
+  StartupProfile() {
+    int count = Phase.values().length;
+    durations = new long[ count ];
+    startTimes = new long[ count ];
+    depths = new int[ count ];
+  }
+
+  public static StartupProfile attach() {
+    StartupProfile profile = new StartupProfile();
+    ContextProvider.getServiceStore().setAttribute( ATTR_PROFILE, profile );
+    attached = true;
+    return profile;
+  }
+
+  public static StartupProfile getCurrent() {
+    if( attached && ContextProvider.hasContext() ) {
+      return ( StartupProfile )ContextProvider.getServiceStore().getAttribute( ATTR_PROFILE );
+    }
+    return null;
+  }
+
+  public static void start( Phase phase ) {
+    StartupProfile profile = getCurrent();
+    if( profile != null ) {
+      profile.startPhase( phase );
+    }
+  }
+
+  public static void stop( Phase phase ) {
+    StartupProfile profile = getCurrent();
+    if( profile != null ) {
+      profile.stopPhase( phase );
+    }
+  }
+
+  /**
+   * Returns the time spent in the given phase in nanoseconds.
+   */
+  public long getDuration( Phase phase ) {
+    return durations[ phase.ordinal() ];
+  }
+
+  void startPhase( Phase phase ) {
+    int index = phase.ordinal();
+    if( depths[ index ]++ == 0 ) {
+      startTimes[ index ] = System.nanoTime();
+    }
+  }
+
+  void stopPhase( Phase phase ) {
+    int index = phase.ordinal();
+    if( depths[ index ] > 0 && --depths[ index ] == 0 ) {
+      durations[ index ] += System.nanoTime() - startTimes[ index ];
+    }
+  }
+
+}
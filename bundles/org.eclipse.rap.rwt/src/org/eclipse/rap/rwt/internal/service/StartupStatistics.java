@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.service;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.rap.rwt.internal.service.StartupProfile.Phase;
+
+
+/**
+ * Sums up the startup profiles of UI sessions, separately for every entry point.
+ */
+public final class StartupStatistics {
+
+  private final ConcurrentMap<String,Counter> counters;
+
+  private static class Counter {
+    private final AtomicLong sessions = new AtomicLong();
+    private final AtomicLongArray durations = new AtomicLongArray( Phase.values().length );
+  }
+
+  public StartupStatistics() {
+    counters = new ConcurrentHashMap<>();
+  }
+
+  public void record( String entryPoint, StartupProfile profile ) {
+    Counter counter = getCounter( entryPoint );
+    counter.sessions.incrementAndGet();
+    for( Phase phase : Phase.values() ) {
+      counter.durations.addAndGet( phase.ordinal(), profile.getDuration( phase ) );
+    }
+  }
+
+  public Set<String> getEntryPoints() {
+    return new TreeSet<>( counters.keySet() );
+  }
+
+  public long getSessionCount( String entryPoint ) {
+    Counter counter = counters.get( entryPoint );
+    return counter == null ? 0 : counter.sessions.get();
+  }
+
+  /**
+   * Returns the total time in nanoseconds that the startup of all recorded sessions of the given
+   * entry point spent in the given phase.
+   */
+  public long getDuration( String entryPoint, Phase phase ) {
+    Counter counter = counters.get( entryPoint );
+    return counter == null ? 0 : counter.durations.get( phase.ordinal() );
+  }
+
+  public void reset() {
+    counters.clear();
+  }
+
+  private Counter getCounter( String entryPoint ) {
+    Counter counter = counters.get( entryPoint );
+    if( counter == null ) {
+      counter = new Counter();
+      Counter existing = counters.putIfAbsent( entryPoint, counter );
+      if( existing != null ) {
+        counter = existing;
+      }
+    }
+    return counter;
+  }
+
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.internal.SerializableCompatibility;
+import org.eclipse.swt.widgets.Shell;
+
+
+/**
+ * Keeps track of the shells whose layout used estimated text sizes, separately for every font
+ * that is waiting to be measured. When the measurements arrive, only these shells need to be
+ * recalculated.
+ * <p>
+ * An estimation is attributed to all shells whose layout is in progress at that time. Estimations
+ * outside of a layout (e.g. when the application calls <code>computeSize()</code> directly)
+ * cannot be attributed, a measurement of their font affects all shells. The same applies to fonts
+ * that have not been recorded at all.
+ * </p>
+ */
+public class EstimationTracker implements SerializableCompatibility {
+
+  private final List<Shell> layoutStack;
+  private final Map<FontData, Set<Shell>> consumers;
+  private final Set<FontData> unattributedFonts;
+
+  EstimationTracker() {
+    layoutStack = new ArrayList<>();
+    consumers = new HashMap<>();
+    unattributedFonts = new HashSet<>();
+  }
+
+  /**
+   * Returns the tracker of the current UI session or <code>null</code> if there is none. The
+   * tracker does not change during the lifetime of a session, callers may keep it.
+   */
+  public static EstimationTracker getInstance() {
+    if( ContextProvider.hasContext() ) {
+      MeasurementOperator operator = MeasurementUtil.getMeasurementOperator();
+      if( operator != null ) {
+        return operator.getEstimationTracker();
+      }
+    }
+    return null;
+  }
+
+  public void enterLayout( Shell shell ) {
+    layoutStack.add( shell );
+  }
+
+  public void leaveLayout() {
+    if( !layoutStack.isEmpty() ) {
+      layoutStack.remove( layoutStack.size() - 1 );
+    }
+  }
+
+  void recordEstimation( FontData fontData ) {
+    if( layoutStack.isEmpty() ) {
+      unattributedFonts.add( fontData );
+    } else {
+      Set<Shell> shells = consumers.get( fontData );
+      if( shells == null ) {
+        shells = new HashSet<>();
+        consumers.put( fontData, shells );
+      }
+      shells.addAll( layoutStack );
+    }
+  }
+
+  /**
+   * Returns those of the given shells that used estimations for one of the given fonts, in the
+   * order of the given shells.
+   */
+  Shell[] getConsumers( Collection<FontData> fonts, Shell[] shells ) {
+    discardDisposedShells();
+    Set<Shell> affectedShells = new HashSet<>();
+    for( FontData fontData : fonts ) {
+      Set<Shell> fontConsumers = consumers.get( fontData );
+      if( fontConsumers == null || unattributedFonts.contains( fontData ) ) {
+        return shells;
+      }
+      affectedShells.addAll( fontConsumers );
+    }
+    List<Shell> result = new ArrayList<>();
+    for( Shell shell : shells ) {
+      if( affectedShells.contains( shell ) ) {
+        result.add( shell );
+      }
+    }
+    return result.toArray( new Shell[ result.size() ] );
+  }
+
+  void clear() {
+    consumers.clear();
+    unattributedFonts.clear();
+  }
+
+  private void discardDisposedShells() {
+    for( Set<Shell> shells : consumers.values() ) {
+      Iterator<Shell> iterator = shells.iterator();
+      while( iterator.hasNext() ) {
+        if( iterator.next().isDisposed() ) {
+          iterator.remove();
+        }
+      }
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -48,6 +48,7 @@ class MeasurementOperator implements SerializableCompatibility {
   private final RemoteObject remoteObject;
   private final Set<Probe> probes;
   private final Set<MeasurementItem> items;
+  private final EstimationTracker estimationTracker;
 
   MeasurementOperator() {
     ConnectionImpl connection = ( ConnectionImpl )RWT.getUISession().getConnection();
@@ -55,6 +56,7 @@ class MeasurementOperator implements SerializableCompatibility {
     remoteObject.setHandler( new MeasurementOperatorHandler() );
     probes = new HashSet<>();
     items = new HashSet<>();
+    estimationTracker = new EstimationTracker();
     addStartupProbesToBuffer();
   }
 
@@ -91,6 +93,10 @@ class MeasurementOperator implements SerializableCompatibility {
     items.add( newItem );
   }
 
+  EstimationTracker getEstimationTracker() {
+    return estimationTracker;
+  }
+
   void renderMeasurementItems() {
     Probe[] probes = getProbes();
     MeasurementItem[] items = getItems();
@@ -118,44 +124,58 @@ class MeasurementOperator implements SerializableCompatibility {
         final JsonObject results = parameters.get( PARAM_RESULTS ).asObject();
         if( LifeCycleUtil.isStartup() ) {
           handleMeasuredFontProbeSizes( results );
+          discardEstimationsIfComplete();
         } else {
           ProcessActionRunner.add( new Runnable() {
             @Override
             public void run() {
-              handleMeasuredFontProbeSizes( results );
-              if( handleMeasuredTextSizes( results ) ) {
-                TextSizeRecalculation.execute();
+              Set<FontData> measuredFonts = handleMeasuredFontProbeSizes( results );
+              Set<FontData> measuredTextFonts = handleMeasuredTextSizes( results );
+              if( !measuredTextFonts.isEmpty() ) {
+                measuredFonts.addAll( measuredTextFonts );
+                TextSizeRecalculation.execute( estimationTracker, measuredFonts );
               }
+              discardEstimationsIfComplete();
             }
           } );
         }
       }
     }
 
-    private void handleMeasuredFontProbeSizes( JsonObject results ) {
+    private Set<FontData> handleMeasuredFontProbeSizes( JsonObject results ) {
+      Set<FontData> measuredFonts = new HashSet<>();
       Iterator<Probe> probeList = probes.iterator();
       while( probeList.hasNext() ) {
         Probe probe = probeList.next();
         Point size = readMeasuredSize( results, getId( probe ) );
         if( size != null ) {
           createProbeResult( probe, size );
+          measuredFonts.add( probe.getFontData() );
           probeList.remove();
         }
       }
+      return measuredFonts;
     }
 
-    private boolean handleMeasuredTextSizes( JsonObject results ) {
-      int originalItemsSize = items.size();
+    private Set<FontData> handleMeasuredTextSizes( JsonObject results ) {
+      Set<FontData> measuredFonts = new HashSet<>();
       Iterator<MeasurementItem> itemList = items.iterator();
       while( itemList.hasNext() ) {
         MeasurementItem item = itemList.next();
         Point size = readMeasuredSize( results, getId( item ) );
         if( size != null ) {
           storeTextMeasurement( item, size );
+          measuredFonts.add( item.getFontData() );
           itemList.remove();
         }
       }
-      return originalItemsSize != items.size();
+      return measuredFonts;
+    }
+
+    private void discardEstimationsIfComplete() {
+      if( probes.isEmpty() && items.isEmpty() ) {
+        estimationTracker.clear();
+      }
     }
 
     private Point readMeasuredSize( JsonObject results, String id ) {
@@ -0,0 +1,344 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rap.rwt.internal.service.ServletLog;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+
+
+/**
+ * Persists the fonts and measured text sizes of a <code>TextSizeStorage</code> in a file, so that
+ * they are available right after a restart. The file is read on activation, new entries are
+ * collected and appended to the file in the background. When the file has grown to a multiple of
+ * its live content, e.g. because of replaced or evicted entries, it is rewritten from the storage.
+ * <p>
+ * Only one database in a VM writes to a file. Other application contexts that are configured with
+ * the same file load its content, but do not persist their own measurements.
+ * </p>
+ * <p>
+ * The file format is a header followed by a sequence of font and text size records. The same
+ * format is used to export the content of a storage and import it on another node.
+ * </p>
+ */
+public final class TextSizeDatabase {
+
+  static final int MAGIC = 0x52545344;
+  static final int VERSION = 1;
+  static final long FLUSH_INTERVAL = 1000;
+  static final int COMPACTION_FACTOR = 4;
+  static final long MIN_COMPACTION_LENGTH = 64 * 1024;
+
+  private static final int HEADER_LENGTH = 8;
+  private static final byte FONT_RECORD = 1;
+  private static final byte TEXT_SIZE_RECORD = 2;
+  private static final int TEXT_SIZE_RECORD_LENGTH = 13;
+  private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+  private static final Set<String> FILES_IN_USE
+    = Collections.newSetFromMap( new ConcurrentHashMap<String, Boolean>() );
+
+  private final File file;
+  private final TextSizeStorage storage;
+  private final Queue<byte[]> pendingRecords;
+  private final Object writeLock;
+  private String lockedPath;
+  private long fileLength;
+  private long liveLength;
+  private ScheduledFuture<?> flushTask;
+
+  public TextSizeDatabase( File file, TextSizeStorage storage ) {
+    this.file = file;
+    this.storage = storage;
+    pendingRecords = new ConcurrentLinkedQueue<>();
+    writeLock = new Object();
+  }
+
+  public void activate( ScheduledExecutorService scheduler ) {
+    String path = getCanonicalPath( file );
+    boolean writable = FILES_IN_USE.add( path );
+    try {
+      load( writable );
+    } catch( IOException ioe ) {
+      ServletLog.log( "Failed to load text sizes from " + file, ioe );
+    }
+    if( !writable ) {
+      ServletLog.log( "Text size database already in use, new entries are not persisted: " + file,
+                      null );
+      return;
+    }
+    lockedPath = path;
+    storage.setDatabase( this );
+    flushTask = scheduler.scheduleWithFixedDelay( new Runnable() {
+      @Override
+      public void run() {
+        flush();
+      }
+    }, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS );
+  }
+
+  public void deactivate() {
+    if( lockedPath != null ) {
+      storage.setDatabase( null );
+      if( flushTask != null ) {
+        flushTask.cancel( false );
+        flushTask = null;
+      }
+      flush();
+      FILES_IN_USE.remove( lockedPath );
+      lockedPath = null;
+    }
+  }
+
+  public static void exportTo( TextSizeStorage storage, OutputStream outputStream )
+    throws IOException
+  {
+    DataOutputStream output = new DataOutputStream( new BufferedOutputStream( outputStream ) );
+    writeHeader( output );
+    for( FontData fontData : storage.getFontList() ) {
+      output.write( createFontRecord( fontData ) );
+    }
+    for( Map.Entry<Integer,Point> entry : storage.getTextSizes().entrySet() ) {
+      output.write( createTextSizeRecord( entry.getKey(), entry.getValue() ) );
+    }
+    output.flush();
+  }
+
+  public static void importFrom( TextSizeStorage storage, InputStream inputStream )
+    throws IOException
+  {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    byte[] buffer = new byte[ 8192 ];
+    int count = inputStream.read( buffer );
+    while( count != -1 ) {
+      bytes.write( buffer, 0, count );
+      count = inputStream.read( buffer );
+    }
+    ByteBuffer byteBuffer = ByteBuffer.wrap( bytes.toByteArray() );
+    if( !hasValidHeader( byteBuffer ) ) {
+      throw new IOException( "Unsupported text size database format" );
+    }
+    readRecords( storage, byteBuffer );
+  }
+
+  void appendFont( FontData fontData ) {
+    pendingRecords.add( createFontRecord( fontData ) );
+  }
+
+  void appendTextSize( Integer key, Point size ) {
+    pendingRecords.add( createTextSizeRecord( key, size ) );
+  }
+
+  void flush() {
+    synchronized( writeLock ) {
+      if( !pendingRecords.isEmpty() ) {
+        try {
+          writeRecords();
+          compactIfOversized();
+        } catch( IOException ioe ) {
+          ServletLog.log( "Failed to write text sizes to " + file, ioe );
+        }
+      }
+    }
+  }
+
+  private void load( boolean writable ) throws IOException {
+    if( file.isFile() && file.length() > 0 ) {
+      // read without a memory mapping, a mapped file cannot be truncated or replaced on Windows
+      ByteBuffer buffer = ByteBuffer.wrap( readFile() );
+      int validLength;
+      if( hasValidHeader( buffer ) ) {
+        validLength = readRecords( storage, buffer );
+      } else {
+        ServletLog.log( "Discarding text size database with unsupported format: " + file, null );
+        validLength = 0;
+      }
+      if( writable ) {
+        synchronized( writeLock ) {
+          truncate( buffer.capacity(), validLength );
+          fileLength = validLength;
+          liveLength = getLiveLength();
+          compactIfOversized();
+        }
+      }
+    }
+  }
+
+  private byte[] readFile() throws IOException {
+    try( RandomAccessFile randomAccessFile = new RandomAccessFile( file, "r" ) ) {
+      byte[] bytes = new byte[ ( int )randomAccessFile.length() ];
+      randomAccessFile.readFully( bytes );
+      return bytes;
+    }
+  }
+
+  // drops a record that was only partially written, e.g. when the server was killed
+  private void truncate( int length, int validLength ) throws IOException {
+    if( length > validLength ) {
+      try( RandomAccessFile randomAccessFile = new RandomAccessFile( file, "rw" ) ) {
+        randomAccessFile.setLength( validLength );
+      }
+    }
+  }
+
+  /*
+   * Must be called while holding the write lock.
+   */
+  private void compactIfOversized() throws IOException {
+    if( fileLength > MIN_COMPACTION_LENGTH && fileLength > COMPACTION_FACTOR * liveLength ) {
+      liveLength = getLiveLength();
+      if( fileLength > COMPACTION_FACTOR * liveLength ) {
+        compact();
+      }
+    }
+  }
+
+  private void compact() throws IOException {
+    // entries are visible in the storage before their records are queued, the rewritten file
+    // contains all of them
+    pendingRecords.clear();
+    File tempFile = new File( file.getPath() + ".tmp" );
+    try( OutputStream output = new FileOutputStream( tempFile ) ) {
+      exportTo( storage, output );
+    }
+    Files.move( tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+    fileLength = file.length();
+    liveLength = fileLength;
+  }
+
+  private long getLiveLength() {
+    long result = HEADER_LENGTH;
+    for( FontData fontData : storage.getFontList() ) {
+      result += getFontRecordLength( fontData );
+    }
+    return result + ( long )storage.getSize() * TEXT_SIZE_RECORD_LENGTH;
+  }
+
+  private void writeRecords() throws IOException {
+    boolean isNew = !file.isFile() || file.length() == 0;
+    try( DataOutputStream output = openForAppend() ) {
+      if( isNew ) {
+        writeHeader( output );
+      }
+      byte[] record = pendingRecords.poll();
+      while( record != null ) {
+        output.write( record );
+        record = pendingRecords.poll();
+      }
+    }
+    fileLength = file.length();
+  }
+
+  private DataOutputStream openForAppend() throws IOException {
+    File parent = file.getAbsoluteFile().getParentFile();
+    if( parent != null ) {
+      parent.mkdirs();
+    }
+    return new DataOutputStream( new BufferedOutputStream( new FileOutputStream( file, true ) ) );
+  }
+
+  private static void writeHeader( DataOutputStream output ) throws IOException {
+    output.writeInt( MAGIC );
+    output.writeInt( VERSION );
+  }
+
+  private static boolean hasValidHeader( ByteBuffer buffer ) {
+    return    buffer.remaining() >= HEADER_LENGTH
+           && buffer.getInt() == MAGIC
+           && buffer.getInt() == VERSION;
+  }
+
+  private static int readRecords( TextSizeStorage storage, ByteBuffer buffer ) {
+    int validLength = buffer.position();
+    try {
+      while( buffer.hasRemaining() ) {
+        byte type = buffer.get();
+        if( type == FONT_RECORD ) {
+          storage.storeFont( readFontData( buffer ) );
+        } else if( type == TEXT_SIZE_RECORD ) {
+          Integer key = Integer.valueOf( buffer.getInt() );
+          Point size = new Point( buffer.getInt(), buffer.getInt() );
+          storage.storeTextSize( key, size );
+        } else {
+          break;
+        }
+        validLength = buffer.position();
+      }
+    } catch( @SuppressWarnings( "unused" ) BufferUnderflowException exception ) {
+      // incomplete last record
+    }
+    return validLength;
+  }
+
+  private static FontData readFontData( ByteBuffer buffer ) {
+    byte[] name = new byte[ buffer.getShort() ];
+    buffer.get( name );
+    int height = buffer.getInt();
+    int style = buffer.getInt();
+    return new FontData( new String( name, UTF_8 ), height, style );
+  }
+
+  private static int getFontRecordLength( FontData fontData ) {
+    return 11 + fontData.getName().getBytes( UTF_8 ).length;
+  }
+
+  private static byte[] createFontRecord( FontData fontData ) {
+    byte[] name = fontData.getName().getBytes( UTF_8 );
+    ByteBuffer buffer = ByteBuffer.allocate( 11 + name.length );
+    buffer.put( FONT_RECORD );
+    buffer.putShort( ( short )name.length );
+    buffer.put( name );
+    buffer.putInt( fontData.getHeight() );
+    buffer.putInt( fontData.getStyle() );
+    return buffer.array();
+  }
+
+  private static byte[] createTextSizeRecord( Integer key, Point size ) {
+    ByteBuffer buffer = ByteBuffer.allocate( TEXT_SIZE_RECORD_LENGTH );
+    buffer.put( TEXT_SIZE_RECORD );
+    buffer.putInt( key.intValue() );
+    buffer.putInt( size.x );
+    buffer.putInt( size.y );
+    return buffer.array();
+  }
+
+  private static String getCanonicalPath( File file ) {
+    try {
+      return file.getCanonicalPath();
+    } catch( @SuppressWarnings( "unused" ) IOException ioe ) {
+      return file.getAbsolutePath();
+    }
+  }
+
+}
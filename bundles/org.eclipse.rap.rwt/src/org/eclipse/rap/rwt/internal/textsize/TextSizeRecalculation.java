@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,9 +11,12 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.textsize;
 
+import java.util.Collection;
+
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleUtil;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceStore;
+import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.widgets.ControlUtil;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
@@ -31,7 +34,18 @@ class TextSizeRecalculation {
   static final int RESIZE_OFFSET = 1000;
 
   static void execute() {
-    for( Shell shell : getShells() ) {
+    execute( getShells() );
+  }
+
+  /**
+   * Recalculates only the shells that used estimated text sizes for one of the given fonts.
+   */
+  static void execute( EstimationTracker tracker, Collection<FontData> measuredFonts ) {
+    execute( tracker.getConsumers( measuredFonts, getShells() ) );
+  }
+
+  private static void execute( Shell[] shells ) {
+    for( Shell shell : shells ) {
       forceShellRecalculations( shell );
     }
   }
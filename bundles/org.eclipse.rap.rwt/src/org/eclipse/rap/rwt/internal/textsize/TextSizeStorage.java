@@ -13,15 +13,17 @@ package org.eclipse.rap.rwt.internal.textsize;
 
 import static org.eclipse.rap.rwt.internal.RWTProperties.getTextSizeStoreSize;
 
-import java.io.Serializable;
 import java.math.BigDecimal;
 import java.text.MessageFormat;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.Point;
@@ -32,79 +34,104 @@ public final class TextSizeStorage {
   public static final int MIN_STORE_SIZE = 1000;
   public static final int DEFAULT_STORE_SIZE = 10000;
 
-  private final Object lock;
-  // access is guarded by 'lock'
   private final Set<FontData> fontDatas;
-  // access is guarded by 'lock'
-  private final Map<Integer,Entry> data;
-  private int maximumStoreSize;
-  private int clearRange;
-  private long clock;
+  private final ConcurrentMap<Integer,Entry> data;
+  // only one thread at a time evicts entries, lookups and stores are not blocked
+  private final Object evictionLock;
+  private final AtomicLong clock;
+  private final AtomicLong hitCount;
+  private final AtomicLong missCount;
+  private final AtomicLong evictionCount;
+  private volatile int maximumStoreSize;
+  private volatile int clearRange;
+  private volatile TextSizeDatabase database;
 
 
   private static class Entry {
-    private Point point;
-    private long timeStamp;
-  }
-
-  private static class EntryComparator implements Comparator<Entry>, Serializable {
+    private final Point point;
+    private volatile long timeStamp;
 
-    @Override
-    public int compare( Entry entry1, Entry entry2 ) {
-      int result = 0;
-      if( entry1.timeStamp > entry2.timeStamp ) {
-        result = 1;
-      } else if( entry1.timeStamp < entry2.timeStamp ) {
-        result = -1;
-      }
-      return result;
+    Entry( Point point ) {
+      this.point = point;
     }
   }
 
 
   public TextSizeStorage() {
-    lock = new Object();
-    data = new HashMap<>();
-    fontDatas = new HashSet<>();
+    data = new ConcurrentHashMap<>();
+    fontDatas = Collections.newSetFromMap( new ConcurrentHashMap<FontData,Boolean>() );
+    evictionLock = new Object();
+    clock = new AtomicLong();
+    hitCount = new AtomicLong();
+    missCount = new AtomicLong();
+    evictionCount = new AtomicLong();
     setMaximumStoreSize( getTextSizeStoreSize( DEFAULT_STORE_SIZE ) );
   }
 
   FontData[] getFontList() {
-    FontData[] result;
-    synchronized( lock ) {
-      result = new FontData[ fontDatas.size() ];
-      fontDatas.toArray( result );
-    }
-    return result;
+    return fontDatas.toArray( new FontData[ 0 ] );
   }
 
   void storeFont( FontData fontData ) {
-    synchronized( lock ) {
-      fontDatas.add( fontData );
+    TextSizeDatabase currentDatabase = database;
+    if( fontDatas.add( fontData ) && currentDatabase != null ) {
+      currentDatabase.appendFont( fontData );
     }
   }
 
   Point lookupTextSize( Integer key ) {
     Point result = null;
-    synchronized( lock ) {
-      Entry entry = data.get( key );
-      if( entry != null ) {
-        updateTimestamp( entry );
-        result = entry.point;
-      }
+    Entry entry = data.get( key );
+    if( entry != null ) {
+      updateTimestamp( entry );
+      result = defensiveCopy( entry.point );
+      hitCount.incrementAndGet();
+    } else {
+      missCount.incrementAndGet();
     }
-    result = defensiveCopy( result );
     return result;
   }
 
   void storeTextSize( Integer key, Point size ) {
-    Entry entry = new Entry();
-    entry.point = defensiveCopy( size );
+    Entry entry = new Entry( defensiveCopy( size ) );
     updateTimestamp( entry );
-    synchronized( lock ) {
-      data.put( key, entry );
-      handleOverFlow();
+    data.put( key, entry );
+    TextSizeDatabase currentDatabase = database;
+    if( currentDatabase != null ) {
+      currentDatabase.appendTextSize( key, entry.point );
+    }
+    handleOverFlow();
+  }
+
+  Map<Integer,Point> getTextSizes() {
+    Map<Integer,Point> result = new HashMap<>();
+    for( Map.Entry<Integer,Entry> entry : data.entrySet() ) {
+      result.put( entry.getKey(), defensiveCopy( entry.getValue().point ) );
     }
+    return result;
+  }
+
+  void setDatabase( TextSizeDatabase database ) {
+    this.database = database;
+  }
+
+  ////////////
+  // metrics
+
+  public int getSize() {
+    return data.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
   }
 
   ////////////////////
@@ -122,20 +149,42 @@ public final class TextSizeStorage {
 
   private void handleOverFlow() {
     if( data.size() >= maximumStoreSize ) {
-      Entry[] entries = sortEntries();
-      for( int i = 0; i < clearRange; i++ ) {
-        data.values().remove( entries[ i ] );
+      synchronized( evictionLock ) {
+        if( data.size() >= maximumStoreSize ) {
+          evictLeastRecentlyUsed();
+        }
       }
     }
   }
 
-  private Entry[] sortEntries() {
-    Entry[] result = new Entry[ data.size() ];
-    data.values().toArray( result );
-    Arrays.sort( result, new EntryComparator() );
-    return result;
+  private void evictLeastRecentlyUsed() {
+    long threshold = findEvictionThreshold();
+    int evicted = 0;
+    Iterator<Map.Entry<Integer,Entry>> iterator = data.entrySet().iterator();
+    while( iterator.hasNext() && evicted < clearRange ) {
+      if( iterator.next().getValue().timeStamp <= threshold ) {
+        iterator.remove();
+        evicted++;
+      }
+    }
+    evictionCount.addAndGet( evicted );
   }
 
+  private long findEvictionThreshold() {
+    long[] timeStamps = new long[ data.size() ];
+    int count = 0;
+    for( Entry entry : data.values() ) {
+      if( count == timeStamps.length ) {
+        break;
+      }
+      timeStamps[ count++ ] = entry.timeStamp;
+    }
+    if( count == 0 ) {
+      return Long.MIN_VALUE;
+    }
+    Arrays.sort( timeStamps, 0, count );
+    return timeStamps[ Math.min( clearRange, count ) - 1 ];
+  }
 
   //////////////////
   // helping methods
@@ -153,7 +202,7 @@ public final class TextSizeStorage {
   }
 
   private void updateTimestamp( Entry entry ) {
-    entry.timeStamp = clock++;
+    entry.timeStamp = clock.getAndIncrement();
   }
 
   private void calculateClearRange( int maximumStoreSize ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,9 +11,11 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.textsize;
 
+import static org.eclipse.rap.rwt.internal.service.StartupProfile.Phase.TEXT_MEASUREMENT;
 
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceStore;
+import org.eclipse.rap.rwt.internal.service.StartupProfile;
 import org.eclipse.rap.rwt.internal.util.EncodingUtil;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Font;
@@ -60,6 +62,7 @@ public class TextSizeUtil {
     } else {
       result = estimateCharHeight( font );
       addProbeToMeasure( font );
+      recordEstimation( font );
     }
     return result;
   }
@@ -71,6 +74,7 @@ public class TextSizeUtil {
     } else {
       result = estimateAvgCharWidth( font );
       addProbeToMeasure( font );
+      recordEstimation( font );
     }
     return result;
   }
@@ -93,12 +97,22 @@ public class TextSizeUtil {
   }
 
   private static Point determineTextSize( Font font, String string, int wrapWidth, int mode ) {
+    StartupProfile.start( TEXT_MEASUREMENT );
+    try {
+      return doDetermineTextSize( font, string, wrapWidth, mode );
+    } finally {
+      StartupProfile.stop( TEXT_MEASUREMENT );
+    }
+  }
+
+  private static Point doDetermineTextSize( Font font, String string, int wrapWidth, int mode ) {
     int normalizedWrapWidth = normalizeWrapWidth( wrapWidth );
     Point result = lookup( font, string, normalizedWrapWidth, mode );
     if( result == null ) {
       result = estimate( font, string, normalizedWrapWidth, mode );
       if( !isTemporaryResize() ) {
         addItemToMeasure( font, string, normalizedWrapWidth, mode );
+        recordEstimation( font );
       }
     }
 
@@ -163,6 +177,13 @@ public class TextSizeUtil {
     MeasurementUtil.getMeasurementOperator().addProbeToMeasure( FontUtil.getData( font ) );
   }
 
+  private static void recordEstimation( Font font ) {
+    EstimationTracker tracker = EstimationTracker.getInstance();
+    if( tracker != null ) {
+      tracker.recordEstimation( FontUtil.getData( font ) );
+    }
+  }
+
   private static int estimateCharHeight( Font font ) {
     return TextSizeEstimation.getCharHeight( font );
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -29,6 +29,8 @@ import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleAdapterUtil;
 import org.eclipse.rap.rwt.internal.theme.css.CssFileReader;
 import org.eclipse.rap.rwt.internal.theme.css.StyleSheet;
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
+import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer;
+import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.InstanceCreator;
 import org.eclipse.rap.rwt.service.ResourceLoader;
 import org.eclipse.swt.widgets.Widget;
 
@@ -88,11 +90,24 @@ public class ThemeManager {
     "org.eclipse.nebula.widgets.grid.Grid"
   };
 
+  /*
+   * The resources of the built-in themeable widgets are part of this bundle and don't change
+   * while this class is loaded. They are read once and shared by all application contexts.
+   */
+  private static final SharedInstanceBuffer<String, WidgetResources> STANDARD_WIDGET_RESOURCES
+    = new SharedInstanceBuffer<>();
+  private static final InstanceCreator<String, WidgetResources> WIDGET_RESOURCES_READER
+    = new InstanceCreator<String, WidgetResources>() {
+      @Override
+      public WidgetResources createInstance( String className ) {
+        return readWidgetResources( className, STANDARD_RESOURCE_LOADER );
+      }
+    };
+
   private final Map<String, Theme> themes;
   private final ThemeableWidgetHolder themeableWidgets;
   private final List<String> appearances;
   private final ThemeAdapterManager themeAdapterManager;
-  private final Map<String, String> resolvedPackageNames; // only for performance improvements
   private Theme fallbackTheme;
   private boolean initialized;
 
@@ -101,7 +116,6 @@ public class ThemeManager {
     themeableWidgets = new ThemeableWidgetHolder();
     appearances = new ArrayList<>();
     themeAdapterManager = new ThemeAdapterManager();
-    resolvedPackageNames = new HashMap<>();
     initialized = false;
     createAndAddFallbackTheme();
     addDefaultThemableWidgets();
@@ -132,7 +146,6 @@ public class ThemeManager {
     themeableWidgets.reset();
     appearances.clear();
     themeAdapterManager.reset();
-    resolvedPackageNames.clear();
     initialized = false;
     createAndAddFallbackTheme();
     addDefaultThemableWidgets();
@@ -257,37 +270,58 @@ public class ThemeManager {
   }
 
   private void loadThemeableWidgetResources( ThemeableWidget themeWidget ) {
-    String className = LifeCycleAdapterUtil.getSimpleClassName( themeWidget.className );
-    String[] variants = LifeCycleAdapterUtil.getKitPackageVariants( themeWidget.className );
+    WidgetResources resources;
+    if( themeWidget.loader == STANDARD_RESOURCE_LOADER ) {
+      resources = STANDARD_WIDGET_RESOURCES.get( themeWidget.className, WIDGET_RESOURCES_READER );
+    } else {
+      resources = readWidgetResources( themeWidget.className, themeWidget.loader );
+    }
+    themeWidget.elements = resources.elements;
+    themeWidget.defaultStyleSheet = resources.defaultStyleSheet;
+    if( resources.appearance != null ) {
+      appearances.add( resources.appearance );
+    }
+    if( themeWidget.defaultStyleSheet != null ) {
+      fallbackTheme.addStyleSheet( themeWidget.defaultStyleSheet );
+    }
+  }
+
+  private static WidgetResources readWidgetResources( String widgetClassName,
+                                                      ResourceLoader loader )
+  {
+    String className = LifeCycleAdapterUtil.getSimpleClassName( widgetClassName );
+    String[] variants = LifeCycleAdapterUtil.getKitPackageVariants( widgetClassName );
+    WidgetResources resources = new WidgetResources();
     boolean found = false;
     try {
       for( int i = 0; i < variants.length && !found ; i++ ) {
-        found |= loadThemeDef( themeWidget, variants[ i ], className );
-        found |= loadAppearanceJs( themeWidget, variants[ i ], className );
-        found |= loadDefaultCss( themeWidget, variants[ i ], className );
-      }
-      if( themeWidget.defaultStyleSheet != null ) {
-        fallbackTheme.addStyleSheet( themeWidget.defaultStyleSheet );
+        String resPkgName = variants[ i ].replace( '.', '/' );
+        found |= loadThemeDef( resources, loader, resPkgName, className );
+        found |= loadAppearanceJs( resources, loader, resPkgName, className );
+        found |= loadDefaultCss( resources, loader, resPkgName, className );
       }
     } catch( IOException e ) {
-      String msg = "Failed to initialize themeable widget: " + themeWidget.className;
+      String msg = "Failed to initialize themeable widget: " + widgetClassName;
       throw new ThemeManagerException( msg, e );
     }
+    return resources;
   }
 
-  private boolean loadThemeDef( ThemeableWidget themeWidget, String pkgName, String className )
+  private static boolean loadThemeDef( WidgetResources resources,
+                                       ResourceLoader loader,
+                                       String resPkgName,
+                                       String className )
     throws IOException
   {
     boolean result = false;
-    String resPkgName = resolvePackageName( pkgName );
     String fileName = resPkgName + "/" + className + ".theme.xml";
-    InputStream inStream = themeWidget.loader.getResourceAsStream( fileName );
+    InputStream inStream = loader.getResourceAsStream( fileName );
     if( inStream != null ) {
       result = true;
       try {
         ThemeDefinitionReader reader = new ThemeDefinitionReader( inStream, fileName );
         reader.read();
-        themeWidget.elements = reader.getThemeCssElements();
+        resources.elements = reader.getThemeCssElements();
       } catch( Exception e ) {
         String message = "Failed to parse theme definition file " + fileName;
         throw new ThemeManagerException( message, e );
@@ -298,17 +332,18 @@ public class ThemeManager {
     return result;
   }
 
-  private boolean loadAppearanceJs( ThemeableWidget themeWidget, String pkgName, String className )
+  private static boolean loadAppearanceJs( WidgetResources resources,
+                                           ResourceLoader loader,
+                                           String resPkgName,
+                                           String className )
     throws IOException
   {
     boolean result = false;
-    String resPkgName = resolvePackageName( pkgName );
     String fileName = resPkgName + "/" + className + ".appearances.js";
-    InputStream inStream = themeWidget.loader.getResourceAsStream( fileName );
+    InputStream inStream = loader.getResourceAsStream( fileName );
     if( inStream != null ) {
       try {
-        String content = AppearancesUtil.readAppearanceFile( inStream );
-        appearances.add( content );
+        resources.appearance = AppearancesUtil.readAppearanceFile( inStream );
         result = true;
       } finally {
         inStream.close();
@@ -317,19 +352,19 @@ public class ThemeManager {
     return result;
   }
 
-  private boolean loadDefaultCss( ThemeableWidget themeWidget, String pkgName, String className )
+  private static boolean loadDefaultCss( WidgetResources resources,
+                                         ResourceLoader loader,
+                                         String resPkgName,
+                                         String className )
     throws IOException
   {
     boolean result = false;
-    String resPkgName = resolvePackageName( pkgName );
     String fileName = resPkgName + "/" + className + ".default.css";
-    ResourceLoader resLoader = themeWidget.loader;
-    InputStream inStream = resLoader.getResourceAsStream( fileName );
+    InputStream inStream = loader.getResourceAsStream( fileName );
     if( inStream != null ) {
       try {
         // TODO [rst] Check for illegal element names in selector list
-        themeWidget.defaultStyleSheet
-          = CssFileReader.readStyleSheet( inStream, fileName, resLoader );
+        resources.defaultStyleSheet = CssFileReader.readStyleSheet( inStream, fileName, loader );
         result = true;
       } finally {
         inStream.close();
@@ -338,13 +373,14 @@ public class ThemeManager {
     return result;
   }
 
-  private String resolvePackageName( String packageName ) {
-    String result = resolvedPackageNames.get( packageName );
-    if( result == null ) {
-      result =  packageName.replace( '.', '/' );
-      resolvedPackageNames.put( packageName, result );
-    }
-    return result;
+  /*
+   * The theme definition, appearance and default style sheet of a themeable widget. Instances are
+   * not modified after they have been read.
+   */
+  private static final class WidgetResources {
+    CssElement[] elements;
+    String appearance;
+    StyleSheet defaultStyleSheet;
   }
 
 }
@@ -40,6 +40,9 @@ public final class ThemeUtil {
 
   public static final String CURR_THEME_ATTR = "org.eclipse.rap.theme.current";
 
+  // the default theme is part of this bundle, it is parsed once for all application contexts
+  private static volatile StyleSheet defaultThemeStyleSheet;
+
   /**
    * Returns the ids of all themes that are currently registered.
    *
@@ -91,13 +94,16 @@ public final class ThemeUtil {
   }
 
   static StyleSheet readDefaultThemeStyleSheet() {
-    StyleSheet result;
-    try {
-      ResourceLoader resLoader = ThemeManager.STANDARD_RESOURCE_LOADER;
-      result = CssFileReader.readStyleSheet( DEFAULT_THEME_CSS, resLoader );
-    } catch( IOException ioe ) {
-      String msg = "Failed to load default theme: " + DEFAULT_THEME_CSS;
-      throw new ThemeManagerException( msg, ioe );
+    StyleSheet result = defaultThemeStyleSheet;
+    if( result == null ) {
+      try {
+        ResourceLoader resLoader = ThemeManager.STANDARD_RESOURCE_LOADER;
+        result = CssFileReader.readStyleSheet( DEFAULT_THEME_CSS, resLoader );
+      } catch( IOException ioe ) {
+        String msg = "Failed to load default theme: " + DEFAULT_THEME_CSS;
+        throw new ThemeManagerException( msg, ioe );
+      }
+      defaultThemeStyleSheet = result;
     }
     return result;
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,56 +13,97 @@ package org.eclipse.rap.rwt.internal.theme;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil;
 import org.eclipse.rap.rwt.internal.theme.css.ConditionalValue;
 import org.eclipse.swt.widgets.Widget;
 
 
+/**
+ * Selects the first conditional value whose constraints are met by a given widget.
+ * <p>
+ * The constraints of every values array are resolved once. Values arrays that only depend on the
+ * style and the variant of a widget (i.e. that have no state constraints) also remember their
+ * result per style and variant. Since the values arrays belong to a theme, results of different
+ * themes never mix. A matcher is shared by all UI sessions of an application.
+ * </p>
+ */
 public final class WidgetMatcher implements ValueSelector {
 
   public static interface Constraint {
     boolean matches( Widget widget );
   }
 
+  // limits the number of remembered results per values array
+  private static final int MAX_RESULTS = 64;
+
+  private static final Constraint NEVER = new Constraint() {
+    @Override
+    public boolean matches( Widget widget ) {
+      return false;
+    }
+  };
+
+  private static final Object NO_MATCH = new Object();
+
   private final Map<String, Constraint> constraintMap;
+  private final ConcurrentMap<ConditionalValue[], Selection> selections;
+  private final AtomicLong hitCount;
+  private final AtomicLong missCount;
 
   public WidgetMatcher() {
     // This map is accessed by all UI sessions simultaneously. However, We don't need to
     // synchronize get and put since constraints are deterministic, i.e. in case of concurrent
     // insertions one constraint overwriting the other is not critical.
     constraintMap = new ConcurrentHashMap<>();
+    // arrays use identity for equals and hashCode
+    selections = new ConcurrentHashMap<>();
+    hitCount = new AtomicLong();
+    missCount = new AtomicLong();
   }
 
   public void addStyle( String string, int style ) {
     constraintMap.put( "[" + string, createStyleConstraint( style ) );
+    selections.clear();
   }
 
   public void addState( String string, Constraint constraint ) {
     constraintMap.put( ":" + string, constraint );
+    selections.clear();
   }
 
   @Override
   public CssValue select( Widget widget, ConditionalValue... values ) {
-    CssValue result = null;
-    for( int i = 0; i < values.length && result == null; i++ ) {
-      ConditionalValue condValue = values[ i ];
-      String[] constraints = condValue.constraints;
-      if( matches( widget, constraints ) ) {
-        result = condValue.value;
-      }
-    }
-    return result;
+    return getSelection( values ).select( widget );
   }
 
-  private boolean matches( Widget widget, String[] constraints ) {
-    for( String string : constraints ) {
-      Constraint constraint = getConstraint( string );
-      if( constraint == null || !constraint.matches( widget ) ) {
-        return false;
+  /**
+   * Returns the number of selections that have been answered from a remembered result.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Returns the number of selections that could have been, but have not been answered from a
+   * remembered result. Selections that depend on the state of a widget are not counted.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  private Selection getSelection( ConditionalValue[] values ) {
+    Selection selection = selections.get( values );
+    if( selection == null ) {
+      selection = new Selection( values );
+      Selection existing = selections.putIfAbsent( values, selection );
+      if( existing != null ) {
+        selection = existing;
       }
     }
-    return true;
+    return selection;
   }
 
   private Constraint getConstraint( String string ) {
@@ -97,4 +138,102 @@ public final class WidgetMatcher implements ValueSelector {
     return actualVariant != null && actualVariant.equals( variant );
   }
 
+  private final class Selection {
+
+    private final CssValue[] candidates;
+    private final Constraint[][] constraints;
+    private final boolean stateDependent;
+    private final ConcurrentMap<ResultKey, Object> results;
+
+    Selection( ConditionalValue[] values ) {
+      candidates = new CssValue[ values.length ];
+      constraints = new Constraint[ values.length ][];
+      boolean hasStates = false;
+      for( int i = 0; i < values.length; i++ ) {
+        String[] strings = values[ i ].constraints;
+        candidates[ i ] = values[ i ].value;
+        constraints[ i ] = new Constraint[ strings.length ];
+        for( int j = 0; j < strings.length; j++ ) {
+          Constraint constraint = getConstraint( strings[ j ] );
+          if( constraint == null ) {
+            constraint = NEVER;
+          } else if( strings[ j ].startsWith( ":" ) ) {
+            hasStates = true;
+          }
+          constraints[ i ][ j ] = constraint;
+        }
+      }
+      stateDependent = hasStates;
+      results = stateDependent ? null : new ConcurrentHashMap<ResultKey, Object>();
+    }
+
+    CssValue select( Widget widget ) {
+      if( stateDependent || widget == null ) {
+        return evaluate( widget );
+      }
+      ResultKey key = new ResultKey( widget.getStyle(), WidgetUtil.getVariant( widget ) );
+      Object result = results.get( key );
+      if( result != null ) {
+        hitCount.incrementAndGet();
+      } else {
+        missCount.incrementAndGet();
+        CssValue value = evaluate( widget );
+        result = value == null ? NO_MATCH : value;
+        if( results.size() < MAX_RESULTS ) {
+          results.put( key, result );
+        }
+      }
+      return result == NO_MATCH ? null : ( CssValue )result;
+    }
+
+    private CssValue evaluate( Widget widget ) {
+      for( int i = 0; i < candidates.length; i++ ) {
+        if( matches( widget, constraints[ i ] ) ) {
+          return candidates[ i ];
+        }
+      }
+      return null;
+    }
+
+    private boolean matches( Widget widget, Constraint[] constraints ) {
+      for( Constraint constraint : constraints ) {
+        if( !constraint.matches( widget ) ) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+  }
+
+  private static final class ResultKey {
+
+    private final int style;
+    private final String variant;
+
+    ResultKey( int style, String variant ) {
+      this.style = style;
+      this.variant = variant;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * style + ( variant == null ? 0 : variant.hashCode() );
+    }
+
+    @Override
+    public boolean equals( Object obj ) {
+      if( this == obj ) {
+        return true;
+      }
+      if( !( obj instanceof ResultKey ) ) {
+        return false;
+      }
+      ResultKey other = ( ResultKey )obj;
+      return style == other.style
+          && ( variant == null ? other.variant == null : variant.equals( other.variant ) );
+    }
+
+  }
+
 }
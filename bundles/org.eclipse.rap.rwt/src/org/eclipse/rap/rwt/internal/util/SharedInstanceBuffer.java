@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,65 +11,73 @@
 package org.eclipse.rap.rwt.internal.util;
 
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
+/*
+ * Instances are created outside of any global lock. Concurrent requests for the same key wait
+ * for a single creation, requests for other keys are not blocked.
+ */
 public class SharedInstanceBuffer<K, I> implements Serializable {
 
-  private final Lock readLock;
-  private final Lock writeLock;
-  private final Map<K, I> store;
+  private enum NullKey {
+    INSTANCE
+  }
+
+  private final ConcurrentMap<Object, Holder<K, I>> store;
 
   public SharedInstanceBuffer() {
-    ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
-    readLock = readWriteLock.readLock();
-    writeLock = readWriteLock.writeLock();
-    store = new HashMap<>();
+    store = new ConcurrentHashMap<>();
   }
 
   public I get( K key, InstanceCreator<K, I> instanceCreator ) {
-    I result = getInstance( key );
-    if( result == null ) {
-      result = createInstance( key, instanceCreator );
+    if( instanceCreator == null ) {
+      throw new NullPointerException( "instanceCreator" );
     }
-    return result;
+    return getHolder( key ).get( key, instanceCreator );
   }
 
   public I remove( K key ) {
-    writeLock.lock();
-    try {
-      return store.remove( key );
-    } finally {
-      writeLock.unlock();
-    }
+    Holder<K, I> holder = store.remove( maskNull( key ) );
+    return holder == null ? null : holder.instance;
   }
 
-  private I getInstance( K key ) {
-    readLock.lock();
-    try {
-      return store.get( key );
-    } finally {
-      readLock.unlock();
+  private Holder<K, I> getHolder( K key ) {
+    Object maskedKey = maskNull( key );
+    Holder<K, I> result = store.get( maskedKey );
+    if( result == null ) {
+      result = new Holder<>();
+      Holder<K, I> existing = store.putIfAbsent( maskedKey, result );
+      if( existing != null ) {
+        result = existing;
+      }
     }
+    return result;
+  }
+
+  private static Object maskNull( Object key ) {
+    return key == null ? NullKey.INSTANCE : key;
   }
 
-  private I createInstance( K key, InstanceCreator<K, I> instanceCreator ) {
-    writeLock.lock();
-    try {
-      // Re-check because another thread might have acquired write lock and created an instance
-      // before we did. See doc on ReentrantReadWriteLock.
-      I result = store.get( key );
+  private static class Holder<K, I> implements Serializable {
+
+    private volatile I instance;
+
+    I get( K key, InstanceCreator<K, I> instanceCreator ) {
+      I result = instance;
       if( result == null ) {
-        result = instanceCreator.createInstance( key );
-        store.put( key, result );
+        synchronized( this ) {
+          result = instance;
+          if( result == null ) {
+            result = instanceCreator.createInstance( key );
+            instance = result;
+          }
+        }
       }
       return result;
-    } finally {
-      writeLock.unlock();
     }
+
   }
 
   public interface InstanceCreator<K, T> extends Serializable {
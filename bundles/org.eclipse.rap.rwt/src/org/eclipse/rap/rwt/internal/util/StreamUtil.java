@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2012 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,9 +12,14 @@
 package org.eclipse.rap.rwt.internal.util;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
 
 
 public class StreamUtil {
@@ -28,6 +33,38 @@ public class StreamUtil {
     write( content, new BufferedOutputStream( out ) );
   }
 
+  /*
+   * Reads the remaining content of the given stream into a byte array. File streams are read
+   * through their channel into a buffer of the exact file size.
+   */
+  public static byte[] read( InputStream inputStream ) throws IOException {
+    if( inputStream instanceof FileInputStream ) {
+      return read( ( ( FileInputStream )inputStream ).getChannel() );
+    }
+    int size = Math.max( 32, inputStream.available() );
+    ByteArrayOutputStream result = new ByteArrayOutputStream( size );
+    byte[] buffer = new byte[ 8192 ];
+    int read = inputStream.read( buffer );
+    while( read != -1 ) {
+      result.write( buffer, 0, read );
+      read = inputStream.read( buffer );
+    }
+    return result.toByteArray();
+  }
+
+  private static byte[] read( FileChannel channel ) throws IOException {
+    long remaining = channel.size() - channel.position();
+    if( remaining > Integer.MAX_VALUE ) {
+      throw new IOException( "File too large: " + remaining + " bytes" );
+    }
+    ByteBuffer buffer = ByteBuffer.allocate( ( int )remaining );
+    while( buffer.hasRemaining() && channel.read( buffer ) != -1 ) {
+      // read until the buffer is full
+    }
+    return buffer.hasRemaining() ? Arrays.copyOf( buffer.array(), buffer.position() )
+                                 : buffer.array();
+  }
+
   public static void close( InputStream inputStream ) {
     try {
       inputStream.close();
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.widgets;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.rap.rwt.internal.util.ParamCheck;
+import org.eclipse.swt.internal.SerializableCompatibility;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Synchronizer;
+
+
+/**
+ * Instances of this class provide synchronization support for displays that receive a high
+ * number of <code>asyncExec()</code> calls from background threads.
+ * <p>
+ * Runnables passed to <code>asyncExec()</code> are collected in a non-blocking queue. Only the
+ * first runnable of a batch is handed over to the default synchronizer, all subsequent ones are
+ * added without locking and executed in the same turn of the user-interface thread. A turn only
+ * executes the runnables that were queued when it started, runnables that are added in the
+ * meantime are left to the next turn. Runnables passed to {@link #asyncExec(Object, Runnable)}
+ * are coalesced by their key, so that only the latest runnable for a key is executed.
+ * </p>
+ * <p>
+ * Asynchronous runnables are executed in the order they were queued. Unlike with the default
+ * synchronizer, this order is not preserved with respect to <code>syncExec()</code>: a runnable
+ * passed to <code>syncExec()</code> may be executed before asynchronous runnables that were
+ * queued earlier.
+ * </p>
+ * <p>
+ * Call <code>setSynchronizer()</code> right after the display was constructed.
+ * </p>
+ *
+ * @see Synchronizer
+ * @see org.eclipse.swt.widgets.Display#setSynchronizer
+ * @see org.eclipse.swt.widgets.Display#asyncExec(Runnable)
+ * @since 3.2
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class ConcurrentSynchronizer extends Synchronizer {
+
+  private final Queue<Object> messages;
+  private final ConcurrentMap<Object, Runnable> coalescedRunnables;
+  private final AtomicBoolean scheduled;
+  private final Runnable drainRunnable;
+
+  public ConcurrentSynchronizer( Display display ) {
+    super( display );
+    messages = new ConcurrentLinkedQueue<>();
+    coalescedRunnables = new ConcurrentHashMap<>();
+    scheduled = new AtomicBoolean();
+    drainRunnable = new DrainRunnable();
+  }
+
+  /**
+   * Causes the <code>run()</code> method of the runnable to be invoked by the user-interface
+   * thread at the next reasonable opportunity. If a runnable with an equal key is still pending,
+   * it is replaced by the given runnable and the given runnable is executed in its place.
+   *
+   * @param key the key to coalesce runnables by, must not be <code>null</code>
+   * @param runnable code to run on the user-interface thread, must not be <code>null</code>
+   */
+  public void asyncExec( Object key, Runnable runnable ) {
+    ParamCheck.notNull( key, "key" );
+    ParamCheck.notNull( runnable, "runnable" );
+    if( coalescedRunnables.put( key, runnable ) == null ) {
+      enqueue( new CoalescedMessage( key ) );
+    }
+  }
+
+  @Override
+  protected void asyncExec( Runnable runnable ) {
+    if( runnable == null ) {
+      super.asyncExec( runnable );
+    } else {
+      enqueue( runnable );
+    }
+  }
+
+  private void enqueue( Object message ) {
+    messages.offer( message );
+    scheduleDrain();
+  }
+
+  private void scheduleDrain() {
+    if( scheduled.compareAndSet( false, true ) ) {
+      super.asyncExec( drainRunnable );
+    }
+  }
+
+  private void drain() {
+    scheduled.set( false );
+    // do not starve the user-interface thread when producers keep adding runnables
+    int count = messages.size();
+    try {
+      for( int i = 0; i < count; i++ ) {
+        Runnable runnable = getRunnable( messages.poll() );
+        if( runnable != null ) {
+          runnable.run();
+        }
+      }
+    } finally {
+      // a runnable may have failed or more were added, execute the remaining ones in the next turn
+      if( !messages.isEmpty() ) {
+        scheduleDrain();
+      }
+    }
+  }
+
+  private Runnable getRunnable( Object message ) {
+    if( message instanceof CoalescedMessage ) {
+      return coalescedRunnables.remove( ( ( CoalescedMessage )message ).key );
+    }
+    return ( Runnable )message;
+  }
+
+  private final class DrainRunnable implements Runnable, SerializableCompatibility {
+    @Override
+    public void run() {
+      drain();
+    }
+  }
+
+  private static final class CoalescedMessage implements SerializableCompatibility {
+
+    private final Object key;
+
+    CoalescedMessage( Object key ) {
+      this.key = key;
+    }
+
+  }
+
+}
@@ -10,7 +10,7 @@
  ******************************************************************************/
 package org.eclipse.swt.internal.graphics;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.swt.graphics.Rectangle;
@@ -21,9 +21,10 @@ public final class GCAdapter {
   private final List<GCOperation> gcOperations;
   private boolean forceRedraw;
   private Rectangle paintRect;
+  private byte[] renderedFrameDigest;
 
   public GCAdapter() {
-    gcOperations = new LinkedList<>();
+    gcOperations = new ArrayList<>();
   }
 
   public void addGCOperation( GCOperation operation ) {
@@ -31,9 +32,7 @@ public final class GCAdapter {
   }
 
   public GCOperation[] getGCOperations() {
-    GCOperation[] result = new GCOperation[ gcOperations.size() ];
-    gcOperations.toArray( result );
-    return result;
+    return gcOperations.toArray( new GCOperation[ gcOperations.size() ] );
   }
 
   public void clearGCOperations() {
@@ -41,19 +40,11 @@ public final class GCAdapter {
   }
 
   public GCOperation[] getTrimmedGCOperations() {
-    int counter = 0;
-    boolean stop = false;
-    GCOperation[] operations = getGCOperations();
-    for( int i = operations.length - 1; i >= 0 && !stop; i-- ) {
-      if( isDrawOperation( operations[ i ] ) ) {
-        stop = true;
-      } else {
-        counter++;
-      }
+    int length = gcOperations.size();
+    while( length > 0 && !isDrawOperation( gcOperations.get( length - 1 ) ) ) {
+      length--;
     }
-    GCOperation[] result = new GCOperation[ operations.length - counter ];
-    System.arraycopy( operations, 0, result, 0, result.length );
-    return result;
+    return gcOperations.subList( 0, length ).toArray( new GCOperation[ length ] );
   }
 
   public void setForceRedraw( boolean forceRedraw ) {
@@ -72,6 +63,18 @@ public final class GCAdapter {
     return paintRect;
   }
 
+  /*
+   * The digest of the last frame that was rendered to the client, used to skip rendering of
+   * unchanged frames.
+   */
+  public void setRenderedFrameDigest( byte[] renderedFrameDigest ) {
+    this.renderedFrameDigest = renderedFrameDigest;
+  }
+
+  public byte[] getRenderedFrameDigest() {
+    return renderedFrameDigest;
+  }
+
   private static boolean isDrawOperation( GCOperation operation ) {
     return !( operation instanceof SetProperty );
   }
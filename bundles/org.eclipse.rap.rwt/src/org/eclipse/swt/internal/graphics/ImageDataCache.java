@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,27 +11,43 @@
  ******************************************************************************/
 package org.eclipse.swt.internal.graphics;
 
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
 import org.eclipse.swt.graphics.ImageData;
 
 
 /**
- * Cache for small image data, mainly for decorator images.
+ * Cache for small image data, mainly for decorator images. The cache is bounded by the total
+ * size of the cached pixel data, least recently used entries are evicted first.
  */
 final class ImageDataCache {
 
   /** Maximum size of image data that is being cached */
   private static final int MAX_DATA_SIZE = 1024;
 
+  /** Default maximum size of all cached image data */
+  static final long DEFAULT_MAX_WEIGHT = 1024 * 1024;
+
   private final Map<InternalImage,ImageData> cache;
   private final Object cacheLock;
+  private final long maxWeight;
+  private long weight;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
 
   ImageDataCache() {
+    this( DEFAULT_MAX_WEIGHT );
+  }
+
+  ImageDataCache( long maxWeight ) {
+    this.maxWeight = maxWeight;
     cacheLock = new Object();
-    cache = new HashMap<InternalImage,ImageData>( 25 );
+    cache = new LinkedHashMap<>( 32, 0.75f, true );
   }
 
   ImageData getImageData( InternalImage internalImage ) {
@@ -39,7 +55,13 @@ final class ImageDataCache {
     ImageData cached;
     synchronized( cacheLock ) {
       cached = cache.get( internalImage );
+      if( cached == null ) {
+        missCount++;
+      } else {
+        hitCount++;
+      }
     }
+    // ImageData is mutable, clients must not be able to modify the cached instance
     return cached != null ? ( ImageData )cached.clone() : null;
   }
 
@@ -47,10 +69,68 @@ final class ImageDataCache {
     ParamCheck.notNull( internalImage, "internalImage" );
     ParamCheck.notNull( imageData, "imageData" );
     if( imageData.data.length <= MAX_DATA_SIZE ) {
+      ImageData copy = ( ImageData )imageData.clone();
+      int entryWeight = getWeight( copy );
       synchronized( cacheLock ) {
-        // TODO [rst] Implement replacement strategy (LRU or LFU)
-        cache.put( internalImage, ( ImageData )imageData.clone() );
+        ImageData previous = cache.put( internalImage, copy );
+        if( previous != null ) {
+          weight -= getWeight( previous );
+        }
+        weight += entryWeight;
+        evict();
       }
     }
   }
+
+  long getWeight() {
+    synchronized( cacheLock ) {
+      return weight;
+    }
+  }
+
+  int getSize() {
+    synchronized( cacheLock ) {
+      return cache.size();
+    }
+  }
+
+  long getHitCount() {
+    synchronized( cacheLock ) {
+      return hitCount;
+    }
+  }
+
+  long getMissCount() {
+    synchronized( cacheLock ) {
+      return missCount;
+    }
+  }
+
+  long getEvictionCount() {
+    synchronized( cacheLock ) {
+      return evictionCount;
+    }
+  }
+
+  private void evict() {
+    Iterator<Entry<InternalImage,ImageData>> iterator = cache.entrySet().iterator();
+    while( weight > maxWeight && iterator.hasNext() ) {
+      Entry<InternalImage,ImageData> eldest = iterator.next();
+      weight -= getWeight( eldest.getValue() );
+      iterator.remove();
+      evictionCount++;
+    }
+  }
+
+  private static int getWeight( ImageData imageData ) {
+    int result = imageData.data.length;
+    if( imageData.alphaData != null ) {
+      result += imageData.alphaData.length;
+    }
+    if( imageData.maskData != null ) {
+      result += imageData.maskData.length;
+    }
+    return result;
+  }
+
 }
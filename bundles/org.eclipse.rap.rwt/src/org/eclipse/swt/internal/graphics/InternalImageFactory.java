@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2015 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,17 +11,20 @@
  ******************************************************************************/
 package org.eclipse.swt.internal.graphics;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.zip.CRC32;
 
 import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.internal.resources.ResourceManagerImpl;
 import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer;
 import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.InstanceCreator;
+import org.eclipse.rap.rwt.internal.util.StreamUtil;
+import org.eclipse.rap.rwt.service.ResourceManager;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.ImageData;
@@ -46,12 +49,12 @@ public class InternalImageFactory {
   }
 
   public InternalImage findInternalImage( InputStream stream ) {
-    final BufferedInputStream bufferedStream = new BufferedInputStream( stream );
-    final ImageData imageData = readImageData( bufferedStream );
+    final byte[] bytes = readBytes( stream );
+    final ImageData imageData = readImageData( bytes );
     final String path = createGeneratedImagePath( imageData );
     return cache.get( path, new InstanceCreator<String, InternalImage>() {
       public InternalImage createInstance( String path ) {
-        return createInternalImage( path, bufferedStream, imageData );
+        return createInternalImage( path, bytes, imageData );
       }
     } );
   }
@@ -60,8 +63,8 @@ public class InternalImageFactory {
     final String path = createGeneratedImagePath( imageData );
     return cache.get( path, new InstanceCreator<String, InternalImage>() {
       public InternalImage createInstance( String path ) {
-        InputStream stream = createInputStream( imageData );
-        return createInternalImage( path, stream, imageData );
+        byte[] bytes = encodeImageData( imageData );
+        return createInternalImage( path, bytes, imageData );
       }
     } );
   }
@@ -69,71 +72,57 @@ public class InternalImageFactory {
   InternalImage findInternalImage( String key, final InputStream inputStream ) {
     return cache.get( key, new InstanceCreator<String, InternalImage>() {
       public InternalImage createInstance( String key ) {
-        BufferedInputStream bufferedStream = new BufferedInputStream( inputStream );
-        ImageData imageData = readImageData( bufferedStream );
-        String path = createGeneratedImagePath( imageData );
-        return createInternalImage( path, bufferedStream, imageData );
+        return createInternalImage( readBytes( inputStream ) );
       }
     } );
   }
 
-  static ImageData readImageData( InputStream stream ) throws SWTException {
-    ////////////////////////////////////////////////////////////////////////////
-    // TODO: [fappel] Image size calculation and resource registration both
-    //                read the input stream. Because of this I use a workaround
-    //                with a BufferedInputStream. Resetting it after reading the
-    //                image size enables the ResourceManager to reuse it for
-    //                registration. Note that the order is crucial here, since
-    //                the ResourceManager seems to close the stream (shrug).
-    //                It would be nice to find a solution without reading the
-    //                stream twice.
-    stream.mark( Integer.MAX_VALUE );
-    ImageData result = new ImageData( stream );
-    try {
-      stream.reset();
-    } catch( IOException shouldNotHappen ) {
-      String msg = "Could not reset input stream after reading image";
-      throw new RuntimeException( msg, shouldNotHappen );
-    }
-    return result;
+  static ImageData readImageData( byte[] bytes ) throws SWTException {
+    return new ImageData( new ByteArrayInputStream( bytes ) );
   }
 
-  static InputStream createInputStream( ImageData imageData ) {
+  static byte[] encodeImageData( ImageData imageData ) {
     ImageLoader imageLoader = new ImageLoader();
     ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
     imageLoader.data = new ImageData[] { imageData };
     imageLoader.save( outputStream, getOutputFormat( imageData ) );
-    byte[] bytes = outputStream.toByteArray();
-    return new ByteArrayInputStream( bytes );
+    return outputStream.toByteArray();
+  }
+
+  private static byte[] readBytes( InputStream stream ) {
+    try {
+      return StreamUtil.read( stream );
+    } catch( IOException ioe ) {
+      throw new SWTException( SWT.ERROR_IO, ioe.getMessage() );
+    }
   }
 
   private static InternalImage createInternalImage( String fileName ) {
-    InternalImage result;
+    byte[] bytes;
     try {
-      FileInputStream stream = new FileInputStream( fileName );
-      try {
-        result = createInternalImage( stream );
-      } finally {
-        stream.close();
-      }
+      bytes = Files.readAllBytes( Paths.get( fileName ) );
     } catch( IOException ioe ) {
       throw new SWTException( SWT.ERROR_IO, ioe.getMessage() );
     }
-    return result;
+    return createInternalImage( bytes );
   }
 
-  private static InternalImage createInternalImage( InputStream stream ) {
-    InputStream bufferedStream = new BufferedInputStream( stream );
-    ImageData imageData = readImageData( bufferedStream );
+  private static InternalImage createInternalImage( byte[] bytes ) {
+    ImageData imageData = readImageData( bytes );
     String path = createGeneratedImagePath( imageData );
-    return createInternalImage( path, bufferedStream, imageData );
+    return createInternalImage( path, bytes, imageData );
   }
 
   private static InternalImage createInternalImage( String path,
-                                                    InputStream stream,
+                                                    byte[] bytes,
                                                     ImageData imageData )
   {
-    RWT.getResourceManager().register( path, stream );
+    ResourceManager resourceManager = RWT.getResourceManager();
+    if( resourceManager instanceof ResourceManagerImpl ) {
+      ( ( ResourceManagerImpl )resourceManager ).registerContent( path, bytes );
+    } else {
+      resourceManager.register( path, new ByteArrayInputStream( bytes ) );
+    }
     return new InternalImage( path, imageData.width, imageData.height, false );
   }
 
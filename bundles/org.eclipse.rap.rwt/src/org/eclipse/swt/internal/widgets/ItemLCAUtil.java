@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
  ******************************************************************************/
 package org.eclipse.swt.internal.widgets;
 
+import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.getPropertyId;
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.preserveProperty;
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.renderData;
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.renderProperty;
@@ -22,19 +23,21 @@ public class ItemLCAUtil {
 
   private static final String PROP_TEXT = "text";
   private static final String PROP_IMAGE = "image";
+  private static final int ID_TEXT = getPropertyId( PROP_TEXT );
+  private static final int ID_IMAGE = getPropertyId( PROP_IMAGE );
 
   private ItemLCAUtil() {
     // prevent instantiation
   }
 
   public static void preserve( Item item ) {
-    preserveProperty( item, PROP_TEXT, item.getText() );
-    preserveProperty( item, PROP_IMAGE, item.getImage() );
+    preserveProperty( item, ID_TEXT, item.getText() );
+    preserveProperty( item, ID_IMAGE, item.getImage() );
   }
 
   public static void renderChanges( Item item ) {
-    renderProperty( item, PROP_TEXT, item.getText(), "" );
-    renderProperty( item, PROP_IMAGE, item.getImage(), null );
+    renderProperty( item, PROP_TEXT, ID_TEXT, item.getText(), "" );
+    renderProperty( item, PROP_IMAGE, ID_IMAGE, item.getImage(), null );
     renderData( item );
   }
 
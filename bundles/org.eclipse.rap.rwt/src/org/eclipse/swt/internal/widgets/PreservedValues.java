@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/*
+ * A compact store for the preserved values of a single widget. Property names are mapped to
+ * small integer ids that are shared by all widgets, LCAs resolve them once and keep them in
+ * constants. Values are kept in parallel arrays indexed by slot, int and boolean values are
+ * stored and returned without boxing.
+ */
+final class PreservedValues {
+
+  private static final ConcurrentMap<String, Integer> PROPERTY_IDS = new ConcurrentHashMap<>();
+  private static final List<String> PROPERTY_NAMES = new CopyOnWriteArrayList<>();
+
+  private static final int INITIAL_CAPACITY = 8;
+  private static final byte OBJECT = 0;
+  private static final byte INT = 1;
+  private static final byte BOOLEAN = 2;
+
+  private int size;
+  private int lastSlot;
+  private int[] ids;
+  private byte[] kinds;
+  private int[] primitives;
+  private Object[] objects;
+
+  static int getPropertyId( String propertyName ) {
+    Integer id = PROPERTY_IDS.get( propertyName );
+    if( id == null ) {
+      synchronized( PROPERTY_NAMES ) {
+        id = PROPERTY_IDS.get( propertyName );
+        if( id == null ) {
+          id = Integer.valueOf( PROPERTY_NAMES.size() );
+          PROPERTY_NAMES.add( propertyName );
+          PROPERTY_IDS.put( propertyName, id );
+        }
+      }
+    }
+    return id.intValue();
+  }
+
+  static String getPropertyName( int id ) {
+    return PROPERTY_NAMES.get( id );
+  }
+
+  void put( int id, Object value ) {
+    int slot = getSlot( id );
+    kinds[ slot ] = OBJECT;
+    objects[ slot ] = value;
+  }
+
+  void putInt( int id, int value ) {
+    int slot = getSlot( id );
+    kinds[ slot ] = INT;
+    primitives[ slot ] = value;
+    objects[ slot ] = null;
+  }
+
+  void putBoolean( int id, boolean value ) {
+    int slot = getSlot( id );
+    kinds[ slot ] = BOOLEAN;
+    primitives[ slot ] = value ? 1 : 0;
+    objects[ slot ] = null;
+  }
+
+  /*
+   * Returns true if a non-null value has been stored for the given property.
+   */
+  boolean contains( int id ) {
+    int slot = indexOf( id );
+    return slot != -1 && ( kinds[ slot ] != OBJECT || objects[ slot ] != null );
+  }
+
+  Object get( int id ) {
+    Object result = null;
+    int slot = indexOf( id );
+    if( slot != -1 ) {
+      switch( kinds[ slot ] ) {
+        case INT:
+          result = Integer.valueOf( primitives[ slot ] );
+        break;
+        case BOOLEAN:
+          result = Boolean.valueOf( primitives[ slot ] != 0 );
+        break;
+        default:
+          result = objects[ slot ];
+        break;
+      }
+    }
+    return result;
+  }
+
+  int getInt( int id ) {
+    int result = 0;
+    int slot = indexOf( id );
+    if( slot != -1 ) {
+      if( kinds[ slot ] == INT ) {
+        result = primitives[ slot ];
+      } else if( objects[ slot ] instanceof Integer ) {
+        result = ( ( Integer )objects[ slot ] ).intValue();
+      }
+    }
+    return result;
+  }
+
+  boolean getBoolean( int id ) {
+    boolean result = false;
+    int slot = indexOf( id );
+    if( slot != -1 ) {
+      if( kinds[ slot ] == BOOLEAN ) {
+        result = primitives[ slot ] != 0;
+      } else if( objects[ slot ] instanceof Boolean ) {
+        result = ( ( Boolean )objects[ slot ] ).booleanValue();
+      }
+    }
+    return result;
+  }
+
+  int size() {
+    return size;
+  }
+
+  void clear() {
+    if( objects != null ) {
+      Arrays.fill( objects, 0, size, null );
+    }
+    size = 0;
+    lastSlot = 0;
+  }
+
+  private int indexOf( int id ) {
+    // LCAs render properties in the same order as they preserve them, so the property that is
+    // looked up next is most likely found in the slot after the previous one
+    for( int i = 0; i < size; i++ ) {
+      int slot = lastSlot + i;
+      if( slot >= size ) {
+        slot -= size;
+      }
+      if( ids[ slot ] == id ) {
+        lastSlot = slot + 1 == size ? 0 : slot + 1;
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  private int getSlot( int id ) {
+    int slot = indexOf( id );
+    if( slot == -1 ) {
+      ensureCapacity();
+      slot = size++;
+      ids[ slot ] = id;
+    }
+    return slot;
+  }
+
+  private void ensureCapacity() {
+    if( ids == null ) {
+      ids = new int[ INITIAL_CAPACITY ];
+      kinds = new byte[ INITIAL_CAPACITY ];
+      primitives = new int[ INITIAL_CAPACITY ];
+      objects = new Object[ INITIAL_CAPACITY ];
+    } else if( size == ids.length ) {
+      int capacity = size * 2;
+      ids = Arrays.copyOf( ids, capacity );
+      kinds = Arrays.copyOf( kinds, capacity );
+      primitives = Arrays.copyOf( primitives, capacity );
+      objects = Arrays.copyOf( objects, capacity );
+    }
+  }
+
+}
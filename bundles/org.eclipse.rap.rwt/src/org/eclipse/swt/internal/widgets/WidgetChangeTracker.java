@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import static org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil.getAdapter;
+import static org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil.getLCA;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.rap.rwt.internal.lifecycle.CurrentPhase;
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.internal.lifecycle.RemoteAdapter;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceStore;
+import org.eclipse.swt.widgets.Widget;
+
+
+/*
+ * Keeps track of the widgets of a display that need to be preserved and rendered in the current
+ * request. Widgets are marked dirty when they are accessed or changed. During PROCESS_ACTION the
+ * values of a widget (and of its subtree and ancestors) are preserved lazily, right before the
+ * first modification. Widgets accessed before PROCESS_ACTION (e.g. in READ_DATA) are collected
+ * and preserved together with the regular preserve step. Initialized widgets that became dirty in
+ * a previous request are reset when the tracker is first used in a new request.
+ */
+@SuppressWarnings( "deprecation" )
+public class WidgetChangeTracker {
+
+  private static final String ATTR_REQUEST_STARTED
+    = WidgetChangeTracker.class.getName() + "#requestStarted";
+
+  private final Set<Widget> dirtyWidgets;
+  private final List<Widget> pendingWidgets;
+  private final WidgetTreeVisitor preserveVisitor;
+  private boolean preserving;
+
+  public WidgetChangeTracker() {
+    dirtyWidgets = Collections.newSetFromMap( new IdentityHashMap<Widget, Boolean>() );
+    pendingWidgets = new ArrayList<>();
+    preserveVisitor = new WidgetTreeVisitor() {
+      @Override
+      public boolean visit( Widget widget ) {
+        markAndPreserve( widget );
+        return true;
+      }
+    };
+  }
+
+  public void widgetCreated( Widget widget, Widget parent ) {
+    if( !preserving ) {
+      checkRequest();
+      dirtyWidgets.add( widget );
+      if( parent != null ) {
+        widgetAccessed( parent );
+      }
+    }
+  }
+
+  public void widgetAccessed( Widget widget ) {
+    if( !preserving ) {
+      checkRequest();
+      if( !dirtyWidgets.contains( widget ) ) {
+        PhaseId phase = CurrentPhase.get();
+        if( phase == PhaseId.PROCESS_ACTION ) {
+          markTree( widget );
+        } else if( phase != PhaseId.RENDER ) {
+          pendingWidgets.add( widget );
+        }
+      }
+    }
+  }
+
+  public void widgetChanged( Widget widget ) {
+    if( !preserving ) {
+      checkRequest();
+      if( !dirtyWidgets.contains( widget ) ) {
+        if( CurrentPhase.get() == PhaseId.RENDER ) {
+          preserving = true;
+          try {
+            markAndPreserve( widget );
+          } finally {
+            preserving = false;
+          }
+        } else {
+          widgetAccessed( widget );
+        }
+      }
+    }
+  }
+
+  public void preservePending() {
+    checkRequest();
+    List<Widget> widgets = new ArrayList<>( pendingWidgets );
+    pendingWidgets.clear();
+    for( Widget widget : widgets ) {
+      if( !widget.isDisposed() && !dirtyWidgets.contains( widget ) ) {
+        markTree( widget );
+      }
+    }
+  }
+
+  public boolean isDirty( Widget widget ) {
+    return dirtyWidgets.contains( widget );
+  }
+
+  public boolean hasDirtyWidgets() {
+    return !dirtyWidgets.isEmpty();
+  }
+
+  public Collection<Widget> getDirtyWidgets() {
+    return Collections.unmodifiableSet( dirtyWidgets );
+  }
+
+  public void clear() {
+    dirtyWidgets.clear();
+    pendingWidgets.clear();
+  }
+
+  private void checkRequest() {
+    if( ContextProvider.hasContext() ) {
+      ServiceStore serviceStore = ContextProvider.getServiceStore();
+      if( serviceStore.getAttribute( ATTR_REQUEST_STARTED ) != this ) {
+        serviceStore.setAttribute( ATTR_REQUEST_STARTED, this );
+        startRequest();
+      }
+    }
+  }
+
+  private void startRequest() {
+    // values of widgets that became dirty before this request have not been preserved yet, new
+    // widgets stay dirty as they still have to be rendered completely
+    Iterator<Widget> iterator = dirtyWidgets.iterator();
+    while( iterator.hasNext() ) {
+      Widget widget = iterator.next();
+      if( widget.isDisposed() || getAdapter( widget ).isInitialized() ) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private void markTree( Widget widget ) {
+    RemoteAdapter adapter = getAdapter( widget );
+    if( adapter.isInitialized() ) {
+      preserving = true;
+      try {
+        Widget parent = adapter.getParent();
+        while( parent != null ) {
+          markAndPreserve( parent );
+          parent = getAdapter( parent ).getParent();
+        }
+        WidgetTreeUtil.accept( widget, preserveVisitor );
+      } finally {
+        preserving = false;
+      }
+    } else {
+      // new widgets are rendered completely, their children are tracked on creation
+      dirtyWidgets.add( widget );
+    }
+  }
+
+  private void markAndPreserve( Widget widget ) {
+    if( dirtyWidgets.add( widget ) && !widget.isDisposed() && getAdapter( widget ).isInitialized() ) {
+      getLCA( widget ).preserveValues( widget );
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,9 +11,6 @@
  ******************************************************************************/
 package org.eclipse.swt.internal.widgets;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.eclipse.rap.rwt.internal.lifecycle.DisposedWidgets;
 import org.eclipse.rap.rwt.internal.lifecycle.RemoteAdapter;
 import org.eclipse.rap.rwt.internal.protocol.RemoteObjectFactory;
@@ -33,7 +30,7 @@ public class WidgetRemoteAdapter implements RemoteAdapter, SerializableCompatibi
   private Widget parent;
   private boolean initialized;
   private transient int preserved;
-  private transient Map<String, Object> preservedValues;
+  private transient PreservedValues preservedValues;
   private transient long preservedListeners;
   private transient Runnable[] renderRunnables;
   private transient Object[] data;
@@ -45,7 +42,7 @@ public class WidgetRemoteAdapter implements RemoteAdapter, SerializableCompatibi
   }
 
   void initialize() {
-    preservedValues = new HashMap<>();
+    preservedValues = new PreservedValues();
   }
 
   @Override
@@ -71,14 +68,55 @@ public class WidgetRemoteAdapter implements RemoteAdapter, SerializableCompatibi
     this.initialized = initialized;
   }
 
+  /**
+   * Returns the id of the given property that can be used to preserve and read values without
+   * looking up the property name. The id is the same for all widgets and does not change, LCAs
+   * should resolve it once and keep it in a constant.
+   */
+  public static int getPropertyId( String propertyName ) {
+    return PreservedValues.getPropertyId( propertyName );
+  }
+
+  public static String getPropertyName( int propertyId ) {
+    return PreservedValues.getPropertyName( propertyId );
+  }
+
   @Override
   public void preserve( String propertyName, Object value ) {
-    preservedValues.put( propertyName, value );
+    preservedValues.put( getPropertyId( propertyName ), value );
   }
 
   @Override
   public Object getPreserved( String propertyName ) {
-    return preservedValues.get( propertyName );
+    return preservedValues.get( getPropertyId( propertyName ) );
+  }
+
+  public void preserve( int propertyId, Object value ) {
+    preservedValues.put( propertyId, value );
+  }
+
+  public void preserve( int propertyId, int value ) {
+    preservedValues.putInt( propertyId, value );
+  }
+
+  public void preserve( int propertyId, boolean value ) {
+    preservedValues.putBoolean( propertyId, value );
+  }
+
+  public boolean isPreserved( int propertyId ) {
+    return preservedValues.contains( propertyId );
+  }
+
+  public Object getPreserved( int propertyId ) {
+    return preservedValues.get( propertyId );
+  }
+
+  public int getPreservedInt( int propertyId ) {
+    return preservedValues.getInt( propertyId );
+  }
+
+  public boolean getPreservedBoolean( int propertyId ) {
+    return preservedValues.getBoolean( propertyId );
   }
 
   public void preserveListeners( long eventList ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,12 +11,16 @@
  ******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import static org.eclipse.rap.rwt.internal.service.StartupProfile.Phase.LAYOUT;
+
 import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.rap.rwt.internal.lifecycle.ProcessActionRunner;
 import org.eclipse.rap.rwt.internal.lifecycle.RemoteAdapter;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetLCA;
+import org.eclipse.rap.rwt.internal.service.StartupProfile;
+import org.eclipse.rap.rwt.internal.textsize.EstimationTracker;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Point;
@@ -566,7 +570,14 @@ public class Composite extends Scrollable {
       boolean changed = hasState( LAYOUT_CHANGED );
       removeState( LAYOUT_NEEDED | LAYOUT_CHANGED );
 // if (resize) setResizeChildren (false);
-      layout.layout( this, changed );
+      StartupProfile.start( LAYOUT );
+      EstimationTracker tracker = enterLayout();
+      try {
+        layout.layout( this, changed );
+      } finally {
+        leaveLayout( tracker );
+        StartupProfile.stop( LAYOUT );
+      }
 // if (resize) setResizeChildren (true);
     }
     if( all ) {
@@ -577,6 +588,20 @@ public class Composite extends Scrollable {
     }
   }
 
+  private EstimationTracker enterLayout() {
+    EstimationTracker tracker = display.getEstimationTracker();
+    if( tracker != null ) {
+      tracker.enterLayout( getShell() );
+    }
+    return tracker;
+  }
+
+  private static void leaveLayout( EstimationTracker tracker ) {
+    if( tracker != null ) {
+      tracker.leaveLayout();
+    }
+  }
+
   Composite findDeferredControl() {
     return layoutCount > 0 ? this : _getParent().findDeferredControl();
   }
@@ -590,7 +615,12 @@ public class Composite extends Scrollable {
       if( wHint == SWT.DEFAULT || hHint == SWT.DEFAULT ) {
         hasChanged |= hasState( LAYOUT_CHANGED );
         removeState( LAYOUT_CHANGED );
-        size = layout.computeSize( this, wHint, hHint, hasChanged );
+        EstimationTracker tracker = enterLayout();
+        try {
+          size = layout.computeSize( this, wHint, hHint, hasChanged );
+        } finally {
+          leaveLayout( tracker );
+        }
       } else {
         size = new Point( wHint, hHint );
       }
@@ -931,6 +961,7 @@ public class Composite extends Scrollable {
   }
 
   private ControlRemoteAdapter getRemoteAdapter() {
+    trackChange();
     return ( ControlRemoteAdapter )getAdapter( RemoteAdapter.class );
   }
 
@@ -2715,6 +2715,7 @@ public abstract class Control extends Widget implements Drawable {
   }
 
   private ControlRemoteAdapter getRemoteAdapter() {
+    trackChange();
     return ( ControlRemoteAdapter )getAdapter( RemoteAdapter.class );
   }
 
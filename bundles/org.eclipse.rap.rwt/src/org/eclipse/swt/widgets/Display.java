@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -31,6 +31,7 @@ import java.util.Set;
 import org.eclipse.rap.json.JsonValue;
 import org.eclipse.rap.rwt.Adaptable;
 import org.eclipse.rap.rwt.application.ExceptionHandler;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.CurrentPhase;
 import org.eclipse.rap.rwt.internal.lifecycle.IUIThreadHolder;
@@ -43,6 +44,7 @@ import org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServletLog;
+import org.eclipse.rap.rwt.internal.textsize.EstimationTracker;
 import org.eclipse.rap.rwt.internal.theme.CssColor;
 import org.eclipse.rap.rwt.internal.theme.CssImage;
 import org.eclipse.rap.rwt.internal.theme.CssValue;
@@ -64,6 +66,7 @@ import org.eclipse.swt.internal.events.EventList;
 import org.eclipse.swt.internal.events.EventUtil;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.IdGenerator;
+import org.eclipse.swt.internal.widgets.WidgetChangeTracker;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
 import org.eclipse.swt.internal.widgets.WidgetTreeUtil;
 import org.eclipse.swt.internal.widgets.WidgetTreeVisitor;
@@ -249,6 +252,9 @@ public class Display extends Device implements Adaptable {
 
   private Synchronizer synchronizer;
   private TimerExecScheduler scheduler;
+  private final boolean trackWidgetChanges;
+  private transient WidgetChangeTracker changeTracker;
+  private transient EstimationTracker estimationTracker;
 
   /**
    * Constructs a new instance of this class.
@@ -283,6 +289,7 @@ public class Display extends Device implements Adaptable {
     dpi = readDPI();
     depth = readDepth();
     synchronizer = new Synchronizer( this );
+    trackWidgetChanges = RWTProperties.isWidgetChangeTrackingEnabled();
     register();
   }
 
@@ -804,9 +811,26 @@ public class Display extends Device implements Adaptable {
       }
       return ( T )remoteAdapter;
     }
+    if( adapter == WidgetChangeTracker.class ) {
+      return ( T )getChangeTracker();
+    }
     return null;
   }
 
+  final WidgetChangeTracker getChangeTracker() {
+    if( changeTracker == null && trackWidgetChanges ) {
+      changeTracker = new WidgetChangeTracker();
+    }
+    return changeTracker;
+  }
+
+  final EstimationTracker getEstimationTracker() {
+    if( estimationTracker == null ) {
+      estimationTracker = EstimationTracker.getInstance();
+    }
+    return estimationTracker;
+  }
+
   private ApplicationContextImpl getApplicationContext() {
     return ( ApplicationContextImpl )uiSession.getApplicationContext();
   }
@@ -876,6 +900,10 @@ public class Display extends Device implements Adaptable {
 
   final void addShell( Shell shell ) {
     shells.add( shell );
+    WidgetChangeTracker changeTracker = getChangeTracker();
+    if( changeTracker != null ) {
+      changeTracker.widgetCreated( shell, null );
+    }
   }
 
   final void removeShell( Shell shell ) {
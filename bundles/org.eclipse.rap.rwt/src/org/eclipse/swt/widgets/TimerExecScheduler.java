@@ -15,12 +15,11 @@ import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectInputValidation;
 import java.io.ObjectOutputStream;
-import java.util.Collection;
-import java.util.Date;
-import java.util.LinkedList;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
 
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.engine.PostDeserialization;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.service.UISession;
@@ -32,95 +31,78 @@ class TimerExecScheduler implements SerializableCompatibility {
 
   final Display display;
   final ServerPushManager serverPushManager;
-  private final Collection<TimerExecTask> tasks;
-  private transient Timer timer;
+  private final Map<Runnable, TimerExecTask> tasks;
 
   TimerExecScheduler( Display display ) {
     this.display = display;
     serverPushManager = ServerPushManager.getInstance();
-    tasks = new LinkedList<>();
+    tasks = new IdentityHashMap<>();
   }
 
   void schedule( int milliseconds, Runnable runnable ) {
     synchronized( display.getDeviceLock() ) {
-      initializeTimer();
-      TimerExecTask task = findOrAddTask( runnable );
-      timer.schedule( task, milliseconds );
+      TimerExecTask task = tasks.get( runnable );
+      if( task == null || !task.schedule( getExecutor(), milliseconds ) ) {
+        // the task has already been fired and will be removed by the running executor thread
+        task = createTask( runnable );
+        tasks.put( runnable, task );
+        task.schedule( getExecutor(), milliseconds );
+      }
     }
   }
 
   void cancel( Runnable runnable ) {
-    TimerExecTask task = findAndRemoveTask( runnable );
-    if( task != null ) {
-      task.cancel();
+    synchronized( display.getDeviceLock() ) {
+      TimerExecTask task = tasks.remove( runnable );
+      if( task != null ) {
+        task.cancel();
+      }
     }
   }
 
   void dispose() {
     synchronized( display.getDeviceLock() ) {
-      if( timer != null ) {
-        timer.cancel();
+      for( TimerExecTask task : tasks.values() ) {
+        task.cancel();
       }
       tasks.clear();
     }
   }
 
-  private void initializeTimer() {
-    if( timer == null ) {
-      timer = createTimer();
-    }
-  }
-
-  Timer createTimer() {
-    return new Timer( "RWT timerExec scheduler", true );
-  }
-
-  private TimerExecTask findOrAddTask( Runnable runnable ) {
-    synchronized( display.getDeviceLock() ) {
-      for( TimerExecTask task : tasks ) {
-        if( task.getRunnable() == runnable ) {
-          return task;
-        }
-      }
-      TimerExecTask task = createTask( runnable );
-      tasks.add( task );
-      return task;
-    }
+  ScheduledExecutorService getExecutor() {
+    UISession uiSession = getUISession();
+    return ( ( ApplicationContextImpl )uiSession.getApplicationContext() ).getTimerExecService();
   }
 
   TimerExecTask createTask( Runnable runnable ) {
     return new TimerExecTask( this, runnable );
   }
 
-  private TimerExecTask findAndRemoveTask( Runnable runnable ) {
+  void removeTask( TimerExecTask task ) {
     synchronized( display.getDeviceLock() ) {
-      for( TimerExecTask task : tasks ) {
-        if( task.getRunnable() == runnable ) {
-          tasks.remove( task );
-          return task;
-        }
+      if( tasks.get( task.getRunnable() ) == task ) {
+        tasks.remove( task.getRunnable() );
       }
     }
-    return null;
-  }
-
-  void removeTask( TimerTask task ) {
-    synchronized( display.getDeviceLock() ) {
-      tasks.remove( task );
-    }
   }
 
   private void rescheduleTasks() {
     synchronized( display.getDeviceLock() ) {
       if( tasks.size() > 0 ) {
-        initializeTimer();
-        for( TimerExecTask task : tasks ) {
-          timer.schedule( task, new Date( task.scheduledExecutionTime() ) );
+        ScheduledExecutorService executor = getExecutor();
+        long now = System.currentTimeMillis();
+        for( TimerExecTask task : tasks.values() ) {
+          task.schedule( executor, Math.max( 0, task.scheduledExecutionTime() - now ) );
         }
       }
     }
   }
 
+  private UISession getUISession() {
+    IDisplayAdapter adapter = display.getAdapter( IDisplayAdapter.class );
+    return adapter.getUISession();
+  }
+
   private void writeObject( ObjectOutputStream stream ) throws IOException {
     synchronized( display.getDeviceLock() ) {
       stream.defaultWriteObject();
@@ -135,18 +117,12 @@ class TimerExecScheduler implements SerializableCompatibility {
   private class PostDeserializationValidation implements ObjectInputValidation {
     @Override
     public void validateObject() throws InvalidObjectException {
-      UISession uiSession = getUISession();
-      PostDeserialization.addProcessor( uiSession, new Runnable() {
+      PostDeserialization.addProcessor( getUISession(), new Runnable() {
         @Override
         public void run() {
           rescheduleTasks();
         }
       } );
     }
-
-    private UISession getUISession() {
-      IDisplayAdapter adapter = display.getAdapter( IDisplayAdapter.class );
-      return adapter.getUISession();
-    }
   }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2012 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,15 +10,19 @@
  ******************************************************************************/
 package org.eclipse.swt.widgets;
 
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.swt.internal.SerializableCompatibility;
 
 
-class TimerExecTask extends TimerTask implements SerializableCompatibility {
+class TimerExecTask implements Runnable, SerializableCompatibility {
 
   private final TimerExecScheduler scheduler;
   private final Runnable runnable;
+  private long executionTime;
+  private transient ScheduledFuture<?> future;
 
   TimerExecTask( TimerExecScheduler scheduler, Runnable runnable ) {
     this.scheduler = scheduler;
@@ -37,10 +41,27 @@ class TimerExecTask extends TimerTask implements SerializableCompatibility {
     scheduler.serverPushManager.deactivateServerPushFor( this );
   }
 
-  @Override
-  public boolean cancel() {
+  /*
+   * Returns false if the task could not be rescheduled because it has already been fired.
+   */
+  boolean schedule( ScheduledExecutorService executor, long delay ) {
+    if( future != null && !future.cancel( false ) ) {
+      return false;
+    }
+    executionTime = System.currentTimeMillis() + delay;
+    future = executor.schedule( this, delay, TimeUnit.MILLISECONDS );
+    return true;
+  }
+
+  void cancel() {
     scheduler.serverPushManager.deactivateServerPushFor( this );
-    return super.cancel();
+    if( future != null ) {
+      future.cancel( false );
+    }
+  }
+
+  long scheduledExecutionTime() {
+    return executionTime;
   }
 
   Runnable getRunnable() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -533,8 +533,7 @@ public class Tree extends Composite {
     checkWidget();
     TreeItem result = null;
     if( itemCount > 0 ) {
-      List<TreeItem> visibleItems = collectVisibleItems( null );
-      result = visibleItems.get( getTopItemIndex() );
+      result = getVisibleItem( getTopItemIndex() );
     }
     return result;
   }
@@ -1007,9 +1006,8 @@ public class Tree extends Composite {
     }
     TreeItem result = null;
     int index = ( point.y - getHeaderHeight() ) / getItemHeight() + getTopItemIndex();
-    List<TreeItem> visibleItems = collectVisibleItems( null );
-    if( 0 <= index && index < visibleItems.size() ) {
-      result = visibleItems.get( index );
+    if( 0 <= index && index < getVisibleItemsCount() ) {
+      result = getVisibleItem( index );
     }
     return result;
   }
@@ -2120,7 +2118,7 @@ public class Tree extends Composite {
 
   private int getVisibleItemsCount() {
     if( !isVisibleItemsCountValid() ) {
-      visibleItemsCount = collectVisibleItems( null ).size();
+      visibleItemsCount = countVisibleItems( null );
     }
     return visibleItemsCount;
   }
@@ -2129,20 +2127,60 @@ public class Tree extends Composite {
     return visibleItemsCount != -1;
   }
 
-  private List<TreeItem> collectVisibleItems( TreeItem parentItem ) {
-    List<TreeItem> result = new ArrayList<>();
+  private int countVisibleItems( TreeItem parentItem ) {
     TreeItem[] items = parentItem == null ? this.items : parentItem.items;
     int itemCount = parentItem == null ? this.itemCount : parentItem.itemCount;
+    int result = itemCount;
     for( int i = 0; i < itemCount; i++ ) {
       TreeItem item = items[ i ];
-      result.add( item );
       if( item != null && item.getExpanded() ) {
-        result.addAll( collectVisibleItems( item ) );
+        result += countVisibleItems( item );
       }
     }
     return result;
   }
 
+  /*
+   * Returns the item at the given index of the visible (flat) item list, or null if the item is
+   * not yet resolved. Whole subtrees are skipped using their visible item count, which is cached
+   * by updateAllItems() while the flat index is valid.
+   */
+  TreeItem getVisibleItem( int flatIndex ) {
+    TreeItem parentItem = null;
+    int remaining = flatIndex;
+    while( true ) {
+      TreeItem[] items = parentItem == null ? this.items : parentItem.items;
+      int itemCount = parentItem == null ? this.itemCount : parentItem.itemCount;
+      int index = -1;
+      for( int i = 0; i < itemCount && index == -1; i++ ) {
+        int subtreeCount = getVisibleSubtreeCount( items[ i ] );
+        if( remaining < subtreeCount ) {
+          index = i;
+        } else {
+          remaining -= subtreeCount;
+        }
+      }
+      if( index == -1 ) {
+        return null;
+      }
+      TreeItem found = items[ index ];
+      // unresolved items are collapsed and hence cover only their own slot
+      if( found == null || remaining == 0 ) {
+        return found;
+      }
+      remaining--;
+      parentItem = found;
+    }
+  }
+
+  private int getVisibleSubtreeCount( TreeItem item ) {
+    int result = 1;
+    if( item != null && item.getExpanded() ) {
+      result += isFlatIndexValid ? item.getVisibleChildrenCount() : countVisibleItems( item );
+    }
+    return result;
+  }
+
   void updateAllItems() {
     int flatIndex = 0;
     for( int index = 0; index < itemCount; index++ ) {
@@ -2170,6 +2208,9 @@ public class Tree extends Composite {
         newFlatIndex = updateAllItemsRecursively( item, i, newFlatIndex );
       }
     }
+    if( item != null ) {
+      item.setVisibleChildrenCount( newFlatIndex - flatIndex - 1 );
+    }
     return newFlatIndex;
   }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -68,6 +68,7 @@ public class TreeItem extends Item {
   int depth;
   private boolean cached;
   private int flatIndex;
+  private int visibleChildrenCount;
 
   /**
    * Constructs a new instance of this class given its parent (which must be a
@@ -1485,6 +1486,18 @@ public class TreeItem extends Item {
     this.flatIndex = flatIndex;
   }
 
+  /*
+   * The number of visible descendants as computed by the last Tree#updateAllItems(), only valid
+   * while the flat index of the tree is valid.
+   */
+  int getVisibleChildrenCount() {
+    return visibleChildrenCount;
+  }
+
+  void setVisibleChildrenCount( int visibleChildrenCount ) {
+    this.visibleChildrenCount = visibleChildrenCount;
+  }
+
   boolean hasPreferredWidthBuffer( int index ) {
     return getPreferredWidthBuffer( index ) != Data.UNKNOWN_WIDTH;
   }
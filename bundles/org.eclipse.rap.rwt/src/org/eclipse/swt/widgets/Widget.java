@@ -36,6 +36,7 @@ import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.IWidgetGraphicsAdapter;
 import org.eclipse.swt.internal.widgets.IdGenerator;
 import org.eclipse.swt.internal.widgets.ParentHolderRemoteAdapter;
+import org.eclipse.swt.internal.widgets.WidgetChangeTracker;
 import org.eclipse.swt.internal.widgets.WidgetGraphicsAdapter;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
 
@@ -158,6 +159,10 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     display = parent.display;
     reskinWidget();
     remoteAdapter = new ParentHolderRemoteAdapter( parent );
+    WidgetChangeTracker changeTracker = getChangeTracker();
+    if( changeTracker != null ) {
+      changeTracker.widgetCreated( this, parent );
+    }
   }
 
   /**
@@ -958,6 +963,21 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     if( hasState( DISPOSED ) ) {
       error( SWT.ERROR_WIDGET_DISPOSED );
     }
+    WidgetChangeTracker changeTracker = getChangeTracker();
+    if( changeTracker != null ) {
+      changeTracker.widgetAccessed( this );
+    }
+  }
+
+  final void trackChange() {
+    WidgetChangeTracker changeTracker = getChangeTracker();
+    if( changeTracker != null ) {
+      changeTracker.widgetChanged( this );
+    }
+  }
+
+  private WidgetChangeTracker getChangeTracker() {
+    return display == null ? null : display.getChangeTracker();
   }
 
   /*
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
  ******************************************************************************/
 package org.eclipse.swt.internal.widgets.buttonkit;
 
+import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.getPropertyId;
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.getStyles;
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.hasChanged;
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.preserveProperty;
@@ -53,17 +54,23 @@ public final class ButtonLCA extends WidgetLCA<Button> {
   private static final String PROP_ALIGNMENT = "alignment";
   private static final String PROP_MARKUP_ENABLED = "markupEnabled";
   private static final String PROP_BADGE = "badge";
+  private static final int ID_TEXT = getPropertyId( PROP_TEXT );
+  private static final int ID_IMAGE = getPropertyId( PROP_IMAGE );
+  private static final int ID_SELECTION = getPropertyId( PROP_SELECTION );
+  private static final int ID_GRAYED = getPropertyId( PROP_GRAYED );
+  private static final int ID_ALIGNMENT = getPropertyId( PROP_ALIGNMENT );
+  private static final int ID_BADGE = getPropertyId( PROP_BADGE );
 
   private static final String DEFAULT_ALIGNMENT = "center";
 
   @Override
   public void preserveValues( Button button ) {
-    preserveProperty( button, PROP_TEXT, button.getText() );
-    preserveProperty( button, PROP_IMAGE, button.getImage() );
-    preserveProperty( button, PROP_SELECTION, Boolean.valueOf( button.getSelection() ) );
-    preserveProperty( button, PROP_GRAYED, Boolean.valueOf( button.getGrayed() ) );
-    preserveProperty( button, PROP_ALIGNMENT, getAlignment( button ) );
-    preserveProperty( button, PROP_BADGE, getBadge( button ) );
+    preserveProperty( button, ID_TEXT, button.getText() );
+    preserveProperty( button, ID_IMAGE, button.getImage() );
+    preserveProperty( button, ID_SELECTION, button.getSelection() );
+    preserveProperty( button, ID_GRAYED, button.getGrayed() );
+    preserveProperty( button, ID_ALIGNMENT, getAlignment( button ) );
+    preserveProperty( button, ID_BADGE, getBadge( button ) );
   }
 
   @Override
@@ -81,11 +88,12 @@ public final class ButtonLCA extends WidgetLCA<Button> {
     WidgetLCAUtil.renderCustomVariant( button );
     renderText( button );
     renderMnemonicIndex( button );
-    renderProperty( button, PROP_IMAGE, button.getImage(), null );
-    renderProperty( button, PROP_ALIGNMENT, getAlignment( button ), DEFAULT_ALIGNMENT );
-    renderProperty( button, PROP_SELECTION, button.getSelection(), false );
-    renderProperty( button, PROP_GRAYED, button.getGrayed(), false );
-    renderProperty( button, PROP_BADGE, getBadge( button ), null );
+    renderProperty( button, PROP_IMAGE, ID_IMAGE, button.getImage(), null );
+    String alignment = getAlignment( button );
+    renderProperty( button, PROP_ALIGNMENT, ID_ALIGNMENT, alignment, DEFAULT_ALIGNMENT );
+    renderProperty( button, PROP_SELECTION, ID_SELECTION, button.getSelection(), false );
+    renderProperty( button, PROP_GRAYED, ID_GRAYED, button.getGrayed(), false );
+    renderProperty( button, PROP_BADGE, ID_BADGE, getBadge( button ), null );
     renderListenSelection( button );
     renderClientListeners( button );
   }
@@ -115,7 +123,7 @@ public final class ButtonLCA extends WidgetLCA<Button> {
 
   private static void renderText( Button button ) {
     String newValue = button.getText();
-    if( hasChanged( button, PROP_TEXT, newValue, "" ) ) {
+    if( hasChanged( button, ID_TEXT, newValue, "" ) ) {
       String text = removeAmpersandControlCharacters( newValue );
       getRemoteObject( button ).set( PROP_TEXT, text );
     }
@@ -123,7 +131,7 @@ public final class ButtonLCA extends WidgetLCA<Button> {
 
   private static void renderMnemonicIndex( Button button ) {
     String text = button.getText();
-    if( hasChanged( button, PROP_TEXT, text, "" ) ) {
+    if( hasChanged( button, ID_TEXT, text, "" ) ) {
       int mnemonicIndex = findMnemonicCharacterIndex( text );
       if( mnemonicIndex != -1 ) {
         getRemoteObject( button ).set( PROP_MNEMONIC_INDEX, mnemonicIndex );
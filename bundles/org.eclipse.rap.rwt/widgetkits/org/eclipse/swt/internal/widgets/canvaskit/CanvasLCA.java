@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2015 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,15 +19,19 @@ import static org.eclipse.rap.rwt.internal.protocol.RemoteObjectFactory.createRe
 import static org.eclipse.swt.internal.widgets.canvaskit.GCOperationWriter.getGcId;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.eclipse.rap.rwt.internal.lifecycle.ControlLCAUtil;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetLCA;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil;
 import org.eclipse.rap.rwt.remote.RemoteObject;
+import org.eclipse.rap.rwt.scripting.ClientListener;
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.internal.graphics.GCAdapter;
 import org.eclipse.swt.internal.graphics.GCOperation;
 import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Listener;
 
 
 public final class CanvasLCA extends WidgetLCA<Canvas> {
@@ -72,16 +76,35 @@ public final class CanvasLCA extends WidgetLCA<Canvas> {
     GCOperation[] operations = adapter.getTrimmedGCOperations();
     if( operations.length > 0 || adapter.getForceRedraw() ) {
       GCOperationWriter operationWriter = new GCOperationWriter( canvas );
-      operationWriter.initialize();
+      operationWriter.prepare();
       for( int i = 0; i < operations.length; i++ ) {
         operationWriter.write( operations[ i ] );
       }
-      operationWriter.render();
+      if( hasClientPaintListener( canvas ) ) {
+        adapter.setRenderedFrameDigest( null );
+        operationWriter.render();
+      } else {
+        byte[] digest = operationWriter.getFrameDigest();
+        if( !Arrays.equals( digest, adapter.getRenderedFrameDigest() ) ) {
+          adapter.setRenderedFrameDigest( digest );
+          operationWriter.render();
+        }
+      }
     }
     adapter.clearGCOperations();
     adapter.setForceRedraw( false );
   }
 
+  // client-side paint listeners are notified on every init, frames must not be skipped for them
+  private static boolean hasClientPaintListener( Canvas canvas ) {
+    for( Listener listener : canvas.getListeners( SWT.Paint ) ) {
+      if( listener instanceof ClientListener ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public static void renderClientArea( Canvas canvas ) {
     renderProperty( canvas, PROP_CLIENT_AREA, canvas.getClientArea(), null );
   }
@@ -14,6 +14,11 @@ import static org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil.getId;
 import static org.eclipse.rap.rwt.internal.protocol.RemoteObjectFactory.getRemoteObject;
 import static org.eclipse.rap.rwt.remote.JsonMapping.toJson;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
 import org.eclipse.rap.json.JsonValue;
@@ -47,7 +52,11 @@ final class GCOperationWriter {
   private final Control control;
   private boolean initialized;
   private JsonArray operations;
+  private boolean initSent;
+  private JsonObject initParameters;
+  private boolean strokePending;
   private int lineWidth;
+  private int alpha;
   private RGB foreground;
   private RGB background;
 
@@ -56,8 +65,17 @@ final class GCOperationWriter {
   }
 
   void initialize() {
+    prepare();
+    sendInit();
+  }
+
+  /*
+   * Prepares the writer without sending the init call. The call is sent on render().
+   */
+  void prepare() {
     if( !initialized ) {
       lineWidth = 1;
+      alpha = 255;
       foreground = control.getForeground().getRGB();
       background = control.getBackground().getRGB();
       Rectangle paintRect = getPaintRect();
@@ -69,14 +87,24 @@ final class GCOperationWriter {
         .add( "font", toJson( control.getFont() ) )
         .add( "fillStyle", toJson( background ) )
         .add( "strokeStyle", toJson( foreground ) );
-      getRemoteObject( getGcId( control ) ).call( "init", parameters );
+      initParameters = parameters;
       operations = new JsonArray();
       initialized = true;
     }
   }
 
+  private void sendInit() {
+    if( !initSent ) {
+      getRemoteObject( getGcId( control ) ).call( "init", initParameters );
+      initSent = true;
+    }
+  }
+
   void write( GCOperation operation ) {
-    initialize();
+    prepare();
+    if( strokePending && !isStrokeOperation( operation ) ) {
+      flushStroke();
+    }
     if( operation instanceof DrawLine ) {
       drawLine( ( DrawLine )operation );
     } else if( operation instanceof DrawPoint ) {
@@ -109,8 +137,30 @@ final class GCOperationWriter {
     }
   }
 
+  /*
+   * Returns the init parameters and all operations written so far, which together describe the
+   * complete frame.
+   */
+  /*
+   * Returns a digest of the serialized frame, i.e. the init parameters and the draw operations.
+   * Equal frames have equal digests.
+   */
+  byte[] getFrameDigest() {
+    prepare();
+    flushStroke();
+    DigestWriter writer = new DigestWriter();
+    try {
+      new JsonArray().add( initParameters ).add( operations ).writeTo( writer );
+    } catch( IOException exception ) {
+      throw new IllegalStateException( "Failed to serialize frame", exception );
+    }
+    return writer.digest();
+  }
+
   void render() {
     if( operations != null ) {
+      flushStroke();
+      sendInit();
       if( !operations.isEmpty() ) {
         JsonObject parameters = new JsonObject().add( "operations", operations );
         getRemoteObject( getGcId( control ) ).call( "draw", parameters );
@@ -121,10 +171,10 @@ final class GCOperationWriter {
 
   private void drawLine( DrawLine operation ) {
     float offset = getOffset( false );
-    addClientOperation( "beginPath" );
+    beginStrokePath();
     addClientOperation( "moveTo", operation.x1 + offset, operation.y1 + offset );
     addClientOperation( "lineTo", operation.x2 + offset, operation.y2 + offset );
-    addClientOperation( "stroke" );
+    endStrokePath();
   }
 
   private void drawPoint( DrawPoint operation ) {
@@ -246,7 +296,11 @@ final class GCOperationWriter {
   private void drawPolyline( DrawPolyline operation ) {
     int[] points = operation.points;
     float offset = getOffset( operation.fill );
-    addClientOperation( "beginPath" );
+    if( operation.fill ) {
+      addClientOperation( "beginPath" );
+    } else {
+      beginStrokePath();
+    }
     for( int i = 0; i < points.length; i += 2 ) {
       if( i == 0 ) {
         addClientOperation( "moveTo", points[ i ] + offset, points[ i + 1 ] + offset );
@@ -257,7 +311,11 @@ final class GCOperationWriter {
     if( operation.close && points.length > 1 ) {
       addClientOperation( "lineTo", points[ 0 ] + offset, points[ 1 ] + offset );
     }
-    addClientOperation( operation.fill ? "fill" : "stroke" );
+    if( operation.fill ) {
+      addClientOperation( "fill" );
+    } else {
+      endStrokePath();
+    }
   }
 
   private void drawImage( DrawImage operation ) {
@@ -316,8 +374,8 @@ final class GCOperationWriter {
         value = toJson( background );
       break;
       case SetProperty.ALPHA:
-        float alpha = ( ( Integer )operation.value ).floatValue();
-        float globalAlpha = round( alpha / 255, 2 );
+        alpha = ( ( Integer )operation.value ).intValue();
+        float globalAlpha = round( ( float )alpha / 255, 2 );
         name = "globalAlpha";
         value = JsonValue.valueOf( globalAlpha );
       break;
@@ -441,6 +499,36 @@ final class GCOperationWriter {
     operations.add( operation );
   }
 
+  /*
+   * Consecutive stroked lines and polylines are merged into a single path with one stroke. This is
+   * only done for opaque drawing, where overlapping segments look the same either way.
+   */
+  private void beginStrokePath() {
+    if( !strokePending ) {
+      addClientOperation( "beginPath" );
+    }
+  }
+
+  private void endStrokePath() {
+    if( alpha == 255 ) {
+      strokePending = true;
+    } else {
+      addClientOperation( "stroke" );
+    }
+  }
+
+  private void flushStroke() {
+    if( strokePending ) {
+      addClientOperation( "stroke" );
+      strokePending = false;
+    }
+  }
+
+  private static boolean isStrokeOperation( GCOperation operation ) {
+    return    operation instanceof DrawLine
+           || operation instanceof DrawPolyline && !( ( DrawPolyline )operation ).fill;
+  }
+
   private float getOffset( boolean fill ) {
     float result = 0;
     if( !fill && lineWidth % 2 != 0 ) {
@@ -467,4 +555,60 @@ final class GCOperationWriter {
     return getId( widget ) + ".gc";
   }
 
+  private static final class DigestWriter extends Writer {
+
+    private final MessageDigest digest;
+    private final byte[] buffer;
+    private int position;
+
+    DigestWriter() {
+      try {
+        digest = MessageDigest.getInstance( "SHA-1" );
+      } catch( NoSuchAlgorithmException exception ) {
+        throw new IllegalStateException( "SHA-1 is not available", exception );
+      }
+      buffer = new byte[ 2048 ];
+    }
+
+    @Override
+    public void write( int ch ) {
+      if( position == buffer.length ) {
+        flush();
+      }
+      buffer[ position++ ] = ( byte )( ch >> 8 );
+      buffer[ position++ ] = ( byte )ch;
+    }
+
+    @Override
+    public void write( String string, int offset, int length ) {
+      for( int i = offset; i < offset + length; i++ ) {
+        write( string.charAt( i ) );
+      }
+    }
+
+    @Override
+    public void write( char[] chars, int offset, int length ) {
+      for( int i = offset; i < offset + length; i++ ) {
+        write( chars[ i ] );
+      }
+    }
+
+    @Override
+    public void flush() {
+      digest.update( buffer, 0, position );
+      position = 0;
+    }
+
+    @Override
+    public void close() {
+      flush();
+    }
+
+    byte[] digest() {
+      flush();
+      return digest.digest();
+    }
+
+  }
+
 }
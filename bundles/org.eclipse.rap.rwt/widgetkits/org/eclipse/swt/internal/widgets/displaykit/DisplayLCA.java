@@ -48,6 +48,7 @@ import org.eclipse.rap.rwt.remote.OperationHandler;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.internal.widgets.ControlRemoteAdapter;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
+import org.eclipse.swt.internal.widgets.WidgetChangeTracker;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
 import org.eclipse.swt.internal.widgets.WidgetTreeUtil;
 import org.eclipse.swt.internal.widgets.WidgetTreeVisitor;
@@ -80,14 +81,19 @@ public class DisplayLCA {
     ActiveKeysUtil.preserveCancelKeys( display );
     ActiveKeysUtil.preserveMnemonicActivator( display );
     if( adapter.isInitialized() ) {
-      for( Shell shell : getShells( display ) ) {
-        WidgetTreeUtil.accept( shell, new WidgetTreeVisitor() {
-          @Override
-          public boolean visit( Widget widget ) {
-            getLCA( widget ).preserveValues( widget );
-            return true;
-          }
-        } );
+      WidgetChangeTracker changeTracker = getChangeTracker( display );
+      if( changeTracker != null ) {
+        changeTracker.preservePending();
+      } else {
+        for( Shell shell : getShells( display ) ) {
+          WidgetTreeUtil.accept( shell, new WidgetTreeVisitor() {
+            @Override
+            public boolean visit( Widget widget ) {
+              getLCA( widget ).preserveValues( widget );
+              return true;
+            }
+          } );
+        }
       }
     }
   }
@@ -114,14 +120,22 @@ public class DisplayLCA {
 
   public void clearPreserved( Display display ) {
     ( ( WidgetRemoteAdapter )getAdapter( display ) ).clearPreserved();
-    for( Shell shell : getShells( display ) ) {
-      WidgetTreeUtil.accept( shell, new WidgetTreeVisitor() {
-        @Override
-        public boolean visit( Widget widget ) {
-          ( ( WidgetRemoteAdapter )getAdapter( widget ) ).clearPreserved();
-          return true;
-        }
-      } );
+    WidgetChangeTracker changeTracker = getChangeTracker( display );
+    if( changeTracker != null ) {
+      for( Widget widget : changeTracker.getDirtyWidgets() ) {
+        ( ( WidgetRemoteAdapter )getAdapter( widget ) ).clearPreserved();
+      }
+      changeTracker.clear();
+    } else {
+      for( Shell shell : getShells( display ) ) {
+        WidgetTreeUtil.accept( shell, new WidgetTreeVisitor() {
+          @Override
+          public boolean visit( Widget widget ) {
+            ( ( WidgetRemoteAdapter )getAdapter( widget ) ).clearPreserved();
+            return true;
+          }
+        } );
+      }
     }
   }
 
@@ -170,7 +184,13 @@ public class DisplayLCA {
   }
 
   private static void renderShells( Display display ) throws IOException {
-    RenderVisitor visitor = new RenderVisitor();
+    WidgetChangeTracker changeTracker = getChangeTracker( display );
+    if( changeTracker == null || !getAdapter( display ).isInitialized() ) {
+      changeTracker = null;
+    } else if( !changeTracker.hasDirtyWidgets() ) {
+      return;
+    }
+    RenderVisitor visitor = new RenderVisitor( changeTracker );
     for( Shell shell : getShells( display ) ) {
       WidgetTreeUtil.accept( shell, visitor );
       visitor.reThrowProblem();
@@ -286,15 +306,26 @@ public class DisplayLCA {
     return getDisplayAdapter( display ).getShells();
   }
 
+  private static WidgetChangeTracker getChangeTracker( Display display ) {
+    return display.getAdapter( WidgetChangeTracker.class );
+  }
+
   private static final class RenderVisitor implements WidgetTreeVisitor {
 
+    private final WidgetChangeTracker changeTracker;
     private IOException ioProblem;
 
+    RenderVisitor( WidgetChangeTracker changeTracker ) {
+      this.changeTracker = changeTracker;
+    }
+
     @Override
     public boolean visit( Widget widget ) {
       ioProblem = null;
       try {
-        render( widget );
+        if( changeTracker == null || changeTracker.isDirty( widget ) ) {
+          render( widget );
+        }
         runRenderRunnables( widget );
       } catch( IOException ioe ) {
         ioProblem = ioe;
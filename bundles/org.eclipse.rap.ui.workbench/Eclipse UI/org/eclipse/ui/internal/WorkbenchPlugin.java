@@ -66,6 +66,7 @@ import org.eclipse.ui.internal.themes.IThemeRegistry;
 import org.eclipse.ui.internal.themes.ThemeRegistry;
 import org.eclipse.ui.internal.themes.ThemeRegistryReader;
 import org.eclipse.ui.internal.util.BundleUtility;
+import org.eclipse.ui.internal.wizards.AbstractExtensionWizardRegistry;
 import org.eclipse.ui.internal.wizards.ExportWizardRegistry;
 import org.eclipse.ui.internal.wizards.ImportWizardRegistry;
 import org.eclipse.ui.internal.wizards.NewWizardRegistry;
@@ -1342,6 +1343,9 @@ public class WorkbenchPlugin extends AbstractUIPlugin {
 
         // RAP [rh] unregister multi-session-aware LocaleProvider service
         localeProviderService.unregister();
+
+        // RAP: release the wizard elements shared by all sessions
+        AbstractExtensionWizardRegistry.disposeSharedElements();
         
     	// TODO normally super.stop(*) would be the last statement in this
     	// method
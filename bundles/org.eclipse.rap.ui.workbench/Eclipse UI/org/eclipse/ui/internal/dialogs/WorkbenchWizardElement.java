@@ -40,13 +40,15 @@ public class WorkbenchWizardElement extends WorkbenchAdapter implements
         IAdaptable, IPluginContribution, IWizardDescriptor {
     private String id;
     
-    private ImageDescriptor imageDescriptor;
+	// elements are shared between sessions, lazily created values are published
+	// through volatile fields
+	private volatile ImageDescriptor imageDescriptor;
 
-    private SelectionEnabler selectionEnabler;
+	private volatile SelectionEnabler selectionEnabler;
 
     private IConfigurationElement configurationElement;
 
-    private ImageDescriptor descriptionImage;
+	private volatile ImageDescriptor descriptionImage;
     
     private WizardCollectionElement parentCategory;
     
@@ -59,7 +61,7 @@ public class WorkbenchWizardElement extends WorkbenchAdapter implements
 
 	private static final String [] PROJECT_TAGS = new String[] {TAG_PROJECT};
 
-	private String[] keywordLabels;
+	private volatile String[] keywordLabels;
 
     
     /**
@@ -159,16 +161,18 @@ public class WorkbenchWizardElement extends WorkbenchAdapter implements
      * Answer the icon of this element.
      */
     public ImageDescriptor getImageDescriptor() {
-    	if (imageDescriptor == null) {
-    		String iconName = configurationElement
-                    .getAttribute(IWorkbenchRegistryConstants.ATT_ICON);
-	        if (iconName == null) {
+		ImageDescriptor result = imageDescriptor;
+		if (result == null) {
+			String iconName = configurationElement
+					.getAttribute(IWorkbenchRegistryConstants.ATT_ICON);
+			if (iconName == null) {
 				return null;
 			}
-            imageDescriptor = AbstractUIPlugin.imageDescriptorFromPlugin(
-                    configurationElement.getNamespaceIdentifier(), iconName);    
-    	}
-        return imageDescriptor;
+			result = AbstractUIPlugin.imageDescriptorFromPlugin(
+					configurationElement.getNamespaceIdentifier(), iconName);
+			imageDescriptor = result;
+		}
+		return result;
     }
 
     /**
@@ -189,11 +193,13 @@ public class WorkbenchWizardElement extends WorkbenchAdapter implements
      * Answer self's action enabler, creating it first iff necessary
      */
     protected SelectionEnabler getSelectionEnabler() {
-        if (selectionEnabler == null) {
-			selectionEnabler = new SelectionEnabler(configurationElement);
+		SelectionEnabler result = selectionEnabler;
+		if (result == null) {
+			result = new SelectionEnabler(configurationElement);
+			selectionEnabler = result;
 		}
 
-        return selectionEnabler;
+		return result;
     }
 
     /**
@@ -238,15 +244,17 @@ public class WorkbenchWizardElement extends WorkbenchAdapter implements
      * @see org.eclipse.ui.wizards.INewWizardDescriptor#getDescriptionImage()
      */
     public ImageDescriptor getDescriptionImage() {
-    	if (descriptionImage == null) {
-    		String descImage = configurationElement.getAttribute(IWorkbenchRegistryConstants.ATT_DESCRIPTION_IMAGE);
-    		if (descImage == null) {
+		ImageDescriptor result = descriptionImage;
+		if (result == null) {
+			String descImage = configurationElement.getAttribute(IWorkbenchRegistryConstants.ATT_DESCRIPTION_IMAGE);
+			if (descImage == null) {
 				return null;
 			}
-            descriptionImage = AbstractUIPlugin.imageDescriptorFromPlugin(
-                    configurationElement.getNamespaceIdentifier(), descImage);
-    	}
-        return descriptionImage;
+			result = AbstractUIPlugin.imageDescriptorFromPlugin(
+					configurationElement.getNamespaceIdentifier(), descImage);
+			descriptionImage = result;
+		}
+		return result;
     }
 
     /* (non-Javadoc)
@@ -342,18 +350,21 @@ public class WorkbenchWizardElement extends WorkbenchAdapter implements
 	}
 
 	public String[] getKeywordLabels() {
-		if (keywordLabels == null) {
+		String[] result = keywordLabels;
+		if (result == null) {
 
 			IConfigurationElement[] children = configurationElement
 					.getChildren(IWorkbenchRegistryConstants.TAG_KEYWORD_REFERENCE);
-			keywordLabels = new String[children.length];
+			// fill a local array and publish it when complete
+			result = new String[children.length];
 			KeywordRegistry registry = KeywordRegistry.getInstance();
 			for (int i = 0; i < children.length; i++) {
 				String id = children[i]
 						.getAttribute(IWorkbenchRegistryConstants.ATT_ID);
-				keywordLabels[i] = registry.getKeywordLabel(id);
+				result[i] = registry.getKeywordLabel(id);
 			}
+			keywordLabels = result;
 		}
-		return keywordLabels;
+		return result;
 	}
 }
@@ -117,7 +117,9 @@ public abstract class AbstractWizardRegistry implements IWizardRegistry {
 	 * 
 	 * @return whether the registry has been read
 	 */
-	private boolean isInitialized() {
+	// RAP: subclasses re-read the registry when the shared wizard elements changed
+//	private boolean isInitialized() {
+	protected boolean isInitialized() {
 		return initialized;
 	}
 
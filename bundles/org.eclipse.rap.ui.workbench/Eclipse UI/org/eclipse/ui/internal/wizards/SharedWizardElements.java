@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.ui.internal.wizards;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.dynamichelpers.ExtensionTracker;
+import org.eclipse.core.runtime.dynamichelpers.IExtensionChangeHandler;
+import org.eclipse.core.runtime.dynamichelpers.IExtensionTracker;
+import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer;
+import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.InstanceCreator;
+import org.eclipse.ui.internal.dialogs.WizardCollectionElement;
+import org.eclipse.ui.internal.dialogs.WorkbenchWizardElement;
+import org.eclipse.ui.internal.registry.WizardsRegistryReader;
+
+
+/**
+ * The wizard elements contributed to one extension point, shared by all sessions.
+ * <p>
+ * The elements are read once per locale, since the registry reader resolves labels (e.g. of the
+ * "Other" category) in the locale of the current session. A snapshot is never modified after it
+ * has been read. When extensions are added or removed, all snapshots are discarded and the next
+ * access reads a new one.
+ * </p>
+ */
+final class SharedWizardElements implements IExtensionChangeHandler {
+
+  private static final ConcurrentMap<String, SharedWizardElements> INSTANCES
+    = new ConcurrentHashMap<>();
+
+  private final String plugin;
+  private final String extensionPoint;
+  private final Object lock;
+  private volatile SharedInstanceBuffer<Locale, Snapshot> snapshots;
+  private volatile int generation;
+  private IExtensionTracker tracker;
+
+  static SharedWizardElements getInstance( String plugin, String extensionPoint ) {
+    String key = plugin + "." + extensionPoint;
+    SharedWizardElements result = INSTANCES.get( key );
+    if( result == null ) {
+      result = new SharedWizardElements( plugin, extensionPoint );
+      SharedWizardElements existing = INSTANCES.putIfAbsent( key, result );
+      if( existing != null ) {
+        result = existing;
+      }
+    }
+    return result;
+  }
+
+  static void disposeAll() {
+    for( SharedWizardElements instance : INSTANCES.values() ) {
+      instance.dispose();
+    }
+    INSTANCES.clear();
+  }
+
+  private SharedWizardElements( String plugin, String extensionPoint ) {
+    this.plugin = plugin;
+    this.extensionPoint = extensionPoint;
+    lock = new Object();
+    snapshots = new SharedInstanceBuffer<>();
+  }
+
+  Snapshot getSnapshot( Locale locale ) {
+    startTracking();
+    return snapshots.get( locale, new InstanceCreator<Locale, Snapshot>() {
+      @Override
+      public Snapshot createInstance( Locale key ) {
+        return readSnapshot();
+      }
+    } );
+  }
+
+  boolean isCurrent( Snapshot snapshot ) {
+    return snapshot.generation == generation;
+  }
+
+  @Override
+  public void addExtension( IExtensionTracker extensionTracker, IExtension extension ) {
+    discardSnapshots();
+  }
+
+  @Override
+  public void removeExtension( IExtension extension, Object[] objects ) {
+    discardSnapshots();
+  }
+
+  private Snapshot readSnapshot() {
+    int currentGeneration = generation;
+    WizardsRegistryReader reader = new WizardsRegistryReader( plugin, extensionPoint );
+    WizardCollectionElement wizardElements = reader.getWizardElements();
+    return new Snapshot( wizardElements, reader.getPrimaryWizards(), currentGeneration );
+  }
+
+  private void discardSnapshots() {
+    synchronized( lock ) {
+      generation++;
+      snapshots = new SharedInstanceBuffer<>();
+    }
+  }
+
+  private void startTracking() {
+    synchronized( lock ) {
+      if( tracker == null ) {
+        tracker = new ExtensionTracker( Platform.getExtensionRegistry() );
+        IExtensionPoint point = Platform.getExtensionRegistry().getExtensionPoint( plugin,
+                                                                                   extensionPoint );
+        tracker.registerHandler( this, ExtensionTracker.createExtensionPointFilter( point ) );
+      }
+    }
+  }
+
+  private void dispose() {
+    synchronized( lock ) {
+      if( tracker != null ) {
+        tracker.close();
+        tracker = null;
+      }
+      discardSnapshots();
+    }
+  }
+
+  static final class Snapshot {
+
+    private final WizardCollectionElement wizardElements;
+    private final WorkbenchWizardElement[] primaryWizards;
+    private final int generation;
+
+    private Snapshot( WizardCollectionElement wizardElements,
+                      WorkbenchWizardElement[] primaryWizards,
+                      int generation )
+    {
+      this.wizardElements = wizardElements;
+      this.primaryWizards = primaryWizards;
+      this.generation = generation;
+    }
+
+    WizardCollectionElement getWizardElements() {
+      return wizardElements;
+    }
+
+    WorkbenchWizardElement[] getPrimaryWizards() {
+      return primaryWizards.clone();
+    }
+
+  }
+
+}
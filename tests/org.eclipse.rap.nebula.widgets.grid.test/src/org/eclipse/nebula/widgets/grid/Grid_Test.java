@@ -280,6 +280,38 @@ public class Grid_Test {
     assertEquals( 2, grid.indexOf( items[ 4 ] ) );
   }
 
+  @Test
+  public void testIndexOf_AfterInsert() {
+    GridItem[] items = createGridItems( grid, 3, 1 );
+
+    GridItem item = new GridItem( grid, SWT.NONE, 1 );
+
+    assertEquals( 0, grid.indexOf( items[ 0 ] ) );
+    assertEquals( 2, grid.indexOf( item ) );
+    assertEquals( 3, grid.indexOf( items[ 2 ] ) );
+    assertEquals( 6, grid.indexOf( items[ 5 ] ) );
+  }
+
+  @Test
+  public void testIndexOf_AfterInsertChild() {
+    GridItem[] items = createGridItems( grid, 3, 1 );
+
+    GridItem item = new GridItem( items[ 0 ], SWT.NONE, 0 );
+
+    assertEquals( 1, grid.indexOf( item ) );
+    assertEquals( 2, grid.indexOf( items[ 1 ] ) );
+  }
+
+  @Test
+  public void testIndexOf_DisposedItem() {
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    GridItem item = items[ 2 ];
+
+    item.dispose();
+
+    assertEquals( -1, grid.internalIndexOf( item ) );
+  }
+
   @Test
   public void testGetColumnCount() {
     createGridColumns( grid, 5, SWT.NONE );
@@ -1338,6 +1370,17 @@ public class Grid_Test {
     assertTrue( Arrays.equals( indicies, grid.getSelectionIndices() ) );
   }
 
+  @Test
+  public void testGetSelectionIndicies_AfterInsert() {
+    grid = new Grid( shell, SWT.MULTI );
+    createGridItems( grid, 5, 0 );
+    grid.setSelection( new int[]{ 3, 1 } );
+
+    new GridItem( grid, SWT.NONE, 0 );
+
+    assertTrue( Arrays.equals( new int[]{ 4, 2 }, grid.getSelectionIndices() ) );
+  }
+
   @Test
   public void testGetSelectionIndicies_WithoutSelection() {
     assertTrue( Arrays.equals( new int[ 0 ], grid.getSelectionIndices() ) );
@@ -2869,6 +2912,91 @@ public class Grid_Test {
     assertTrue( grid.getItem( 3 ).isResolved() );
   }
 
+  @Test
+  public void testResolvedItems_onVirtual_withPreloadedItems() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100 );
+    grid.setData( RWT.PRELOADED_ITEMS, Integer.valueOf( 2 ) );
+
+    doFakeRedraw();
+
+    assertEquals( 6, countResolvedGridItems() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testSetPreloadedItems_withInvalidValue() {
+    grid.setData( RWT.PRELOADED_ITEMS, "foo" );
+  }
+
+  @Test
+  public void testGetVirtualCacheMargin_initial() {
+    assertEquals( -1, grid.getVirtualCacheMargin() );
+  }
+
+  @Test
+  public void testVirtualCacheMargin_keepsAllItemsByDefault() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100 );
+    doFakeRedraw();
+
+    grid.setTopIndex( 50 );
+    doFakeRedraw();
+
+    assertTrue( grid.getItem( 0 ).isCached() );
+    assertTrue( grid.getItem( 50 ).isCached() );
+  }
+
+  @Test
+  public void testVirtualCacheMargin_clearsItemsOutsideOfMargin() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100 );
+    grid.setVirtualCacheMargin( 10 );
+    doFakeRedraw();
+
+    grid.setTopIndex( 50 );
+    doFakeRedraw();
+
+    assertFalse( grid.getItem( 0 ).isCached() );
+    assertFalse( grid.getItem( 3 ).isCached() );
+    assertTrue( grid.getItem( 50 ).isCached() );
+  }
+
+  @Test
+  public void testVirtualCacheMargin_keepsItemsWithinMargin() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100 );
+    grid.setVirtualCacheMargin( 50 );
+    doFakeRedraw();
+
+    grid.setTopIndex( 50 );
+    doFakeRedraw();
+
+    assertTrue( grid.getItem( 0 ).isCached() );
+  }
+
+  @Test
+  public void testVirtualCacheMargin_requestsClearedItemsAgain() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100 );
+    grid.setVirtualCacheMargin( 0 );
+    doFakeRedraw();
+    grid.setTopIndex( 50 );
+    doFakeRedraw();
+    grid.addListener( SWT.SetData, new LoggingListener() );
+
+    grid.setTopIndex( 0 );
+    doFakeRedraw();
+
+    assertEquals( 4, eventLog.size() );
+    assertSame( grid.getItem( 0 ), eventLog.get( 0 ).item );
+    assertFalse( grid.getItem( 50 ).isCached() );
+  }
+
   @Test
   public void testRemoveAll_disposeInReverseOrder() {
     final List<String> log = new ArrayList<String>();
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.cluster.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.eclipse.rap.rwt.cluster.test.entrypoints.ButtonEntryPoint;
+import org.eclipse.rap.rwt.cluster.testfixture.load.LatencyRecorder;
+import org.eclipse.rap.rwt.cluster.testfixture.load.LoadGenerator;
+import org.eclipse.rap.rwt.cluster.testfixture.load.LoadReport;
+import org.eclipse.rap.rwt.cluster.testfixture.load.LoadScenario;
+import org.eclipse.rap.rwt.cluster.testfixture.load.LoadSession;
+import org.eclipse.rap.rwt.cluster.testfixture.server.IServletEngine;
+import org.eclipse.rap.rwt.cluster.testfixture.server.IServletEngineFactory;
+import org.eclipse.rap.rwt.cluster.testfixture.server.JettyFactory;
+import org.eclipse.rap.rwt.cluster.testfixture.server.TomcatFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+
+@RunWith( Parameterized.class )
+public class Load_Test {
+
+  private static final int SESSION_COUNT = 20;
+
+  private final IServletEngineFactory servletEngineFactory;
+  private IServletEngine servletEngine;
+
+  @Parameters
+  public static Collection<Object[]> getParameters() {
+    return Arrays.asList( new Object[][] { { new JettyFactory() }, { new TomcatFactory() } } );
+  }
+
+  public Load_Test( IServletEngineFactory servletEngineFactory ) {
+    this.servletEngineFactory = servletEngineFactory;
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    servletEngine = servletEngineFactory.createServletEngine();
+    servletEngine.start( ButtonEntryPoint.class );
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    servletEngine.stop();
+  }
+
+  @Test
+  public void testConcurrentSessions() throws Exception {
+    LoadGenerator generator = new LoadGenerator( servletEngine, new ButtonScenario() );
+    generator.setSessionCount( SESSION_COUNT );
+    generator.setConcurrency( 5 );
+
+    LoadReport report = generator.run();
+
+    LatencyRecorder latencies = report.getLatencies();
+    assertEquals( 0, report.getFailedSessionCount() );
+    assertEquals( SESSION_COUNT, latencies.getCount( LoadSession.STARTUP ) );
+    assertEquals( SESSION_COUNT, latencies.getCount( LoadSession.INITIALIZATION ) );
+    assertEquals( 2 * SESSION_COUNT, latencies.getCount( LoadSession.WIDGET_SELECTED ) );
+    assertEquals( SESSION_COUNT, report.getLiveSessionCount() );
+  }
+
+  private static class ButtonScenario implements LoadScenario {
+    @Override
+    public void run( LoadSession session ) throws IOException {
+      session.sendStartupRequest();
+      session.sendInitializationRequest();
+      session.sendWidgetSelectedRequest( "w5" );
+      session.sendWidgetSelectedRequest( "w5" );
+    }
+  }
+
+}
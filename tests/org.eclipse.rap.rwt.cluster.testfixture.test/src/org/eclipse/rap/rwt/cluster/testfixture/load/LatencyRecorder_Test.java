@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.cluster.testfixture.load;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class LatencyRecorder_Test {
+
+  private LatencyRecorder recorder;
+
+  @Before
+  public void setUp() {
+    recorder = new LatencyRecorder();
+  }
+
+  @Test
+  public void testInitialState() {
+    assertTrue( recorder.getRequestTypes().isEmpty() );
+    assertEquals( 0, recorder.getTotalCount() );
+    assertEquals( 0, recorder.getCount( "foo" ) );
+    assertEquals( -1, recorder.getPercentile( "foo", 50 ) );
+  }
+
+  @Test
+  public void testRecord() {
+    recorder.record( "foo", 1 );
+    recorder.record( "foo", 2 );
+    recorder.record( "bar", 3 );
+
+    assertEquals( new HashSet<String>( Arrays.asList( "bar", "foo" ) ),
+                  recorder.getRequestTypes() );
+    assertEquals( 2, recorder.getCount( "foo" ) );
+    assertEquals( 1, recorder.getCount( "bar" ) );
+    assertEquals( 3, recorder.getTotalCount() );
+  }
+
+  @Test
+  public void testRecordFailure() {
+    recorder.recordFailure( "foo" );
+
+    assertEquals( 0, recorder.getCount( "foo" ) );
+    assertEquals( 1, recorder.getFailureCount( "foo" ) );
+  }
+
+  @Test
+  public void testGetPercentile() {
+    for( int i = 100; i > 0; i-- ) {
+      recorder.record( "foo", i );
+    }
+
+    assertEquals( 1, recorder.getPercentile( "foo", 0 ) );
+    assertEquals( 50, recorder.getPercentile( "foo", 50 ) );
+    assertEquals( 99, recorder.getPercentile( "foo", 99 ) );
+    assertEquals( 100, recorder.getPercentile( "foo", 100 ) );
+  }
+
+  @Test
+  public void testGetPercentile_withSingleSample() {
+    recorder.record( "foo", 7 );
+
+    assertEquals( 7, recorder.getPercentile( "foo", 50 ) );
+    assertEquals( 7, recorder.getPercentile( "foo", 99 ) );
+  }
+
+  @Test
+  public void testRecord_concurrently() throws InterruptedException {
+    Thread[] threads = new Thread[ 4 ];
+    for( int i = 0; i < threads.length; i++ ) {
+      threads[ i ] = new Thread( new Runnable() {
+        @Override
+        public void run() {
+          for( int j = 0; j < 1000; j++ ) {
+            recorder.record( "foo", j );
+          }
+        }
+      } );
+      threads[ i ].start();
+    }
+    for( Thread thread : threads ) {
+      thread.join();
+    }
+
+    assertEquals( 4000, recorder.getCount( "foo" ) );
+  }
+
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.cluster.testfixture.load;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.eclipse.rap.rwt.cluster.testfixture.client.RWTClient;
+import org.eclipse.rap.rwt.cluster.testfixture.client.Response;
+import org.eclipse.rap.rwt.cluster.testfixture.test.TestServletEngine;
+import org.junit.Test;
+
+
+public class LoadGenerator_Test {
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testSetSessionCount_negative() {
+    new LoadGenerator( new TestServletEngine(), new NullScenario() ).setSessionCount( -1 );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testSetConcurrency_zero() {
+    new LoadGenerator( new TestServletEngine(), new NullScenario() ).setConcurrency( 0 );
+  }
+
+  @Test
+  public void testRun() throws InterruptedException {
+    LoadGenerator generator = new LoadGenerator( new TestServletEngine(), new NullScenario() );
+    generator.setSessionCount( 20 );
+    generator.setConcurrency( 4 );
+
+    LoadReport report = generator.run();
+
+    assertEquals( 20, report.getSessionCount() );
+    assertEquals( 0, report.getFailedSessionCount() );
+    assertEquals( 20, report.getLatencies().getCount( "foo" ) );
+    assertEquals( 0, report.getLiveSessionCount() );
+    assertTrue( report.getPeakThreadCount() > 0 );
+    assertTrue( report.getThroughput() > 0 );
+  }
+
+  @Test
+  public void testRun_countsFailedSessions() throws InterruptedException {
+    LoadGenerator generator = new LoadGenerator( new TestServletEngine(), new LoadScenario() {
+      @Override
+      public void run( LoadSession session ) throws IOException {
+        session.send( "foo", new FailingRequest() );
+      }
+    } );
+    generator.setSessionCount( 3 );
+
+    LoadReport report = generator.run();
+
+    assertEquals( 3, report.getFailedSessionCount() );
+    assertEquals( 3, report.getLatencies().getFailureCount( "foo" ) );
+  }
+
+  @Test
+  public void testReport_toString() throws InterruptedException {
+    LoadGenerator generator = new LoadGenerator( new TestServletEngine(), new NullScenario() );
+    generator.setSessionCount( 1 );
+
+    String report = generator.run().toString();
+
+    assertTrue( report.contains( "sessions: 1 (failed: 0)" ) );
+    assertTrue( report.contains( "foo" ) );
+  }
+
+  private static class NullScenario implements LoadScenario {
+    @Override
+    public void run( LoadSession session ) throws IOException {
+      session.send( "foo", new LoadSession.Request() {
+        @Override
+        public Response send( RWTClient client ) {
+          return null;
+        }
+      } );
+    }
+  }
+
+  private static class FailingRequest implements LoadSession.Request {
+    @Override
+    public Response send( RWTClient client ) throws IOException {
+      throw new IOException( "failed" );
+    }
+  }
+
+}
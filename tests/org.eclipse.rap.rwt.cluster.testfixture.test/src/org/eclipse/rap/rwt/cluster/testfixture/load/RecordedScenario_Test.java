@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.cluster.testfixture.load;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+
+public class RecordedScenario_Test {
+
+  @Test
+  public void testRead() throws IOException {
+    String recording = "# comment\n"
+                     + "[\"notify\",\"w5\",\"Selection\",{}]\n"
+                     + "\n"
+                     + "\n"
+                     + "[\"set\",\"w1\",{\"cursorLocation\":[1,2]}]\n"
+                     + "[\"notify\",\"w6\",\"Selection\",{}]\n";
+
+    RecordedScenario scenario = RecordedScenario.read( new StringReader( recording ) );
+
+    List<List<String>> messages = scenario.getMessages();
+    assertEquals( 2, messages.size() );
+    assertEquals( Arrays.asList( "[\"notify\",\"w5\",\"Selection\",{}]" ), messages.get( 0 ) );
+    assertEquals( 2, messages.get( 1 ).size() );
+  }
+
+  @Test
+  public void testRead_empty() throws IOException {
+    RecordedScenario scenario = RecordedScenario.read( new StringReader( "" ) );
+
+    assertEquals( 0, scenario.getMessages().size() );
+  }
+
+  @Test
+  public void testGetRequestType_withEvent() {
+    List<String> operations = Arrays.asList( "[\"notify\",\"w5\",\"Selection\",{}]" );
+
+    assertEquals( "notify Selection", RecordedScenario.getRequestType( operations ) );
+  }
+
+  @Test
+  public void testGetRequestType_withProperties() {
+    List<String> operations = Arrays.asList( "[ \"set\", \"w1\", {\"bounds\":[0,0,1,1]} ]" );
+
+    assertEquals( "set", RecordedScenario.getRequestType( operations ) );
+  }
+
+  @Test
+  public void testGetRequestType_withoutOperations() {
+    List<String> operations = Collections.emptyList();
+
+    assertEquals( "message", RecordedScenario.getRequestType( operations ) );
+  }
+
+}
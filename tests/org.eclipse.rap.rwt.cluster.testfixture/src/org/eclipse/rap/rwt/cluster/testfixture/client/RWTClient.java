@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -147,7 +147,7 @@ public class RWTClient {
     return new Response( connection );
   }
 
-  Response sendPostRequest( JsonMessage message ) throws IOException {
+  public Response sendPostRequest( JsonMessage message ) throws IOException {
     if( requestCounter >= 0 ) {
       message.setRequestCounter( requestCounter );
     }
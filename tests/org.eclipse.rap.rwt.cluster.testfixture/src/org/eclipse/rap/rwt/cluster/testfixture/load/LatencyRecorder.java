@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.cluster.testfixture.load;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * Collects request latencies per request type. Instances are thread-safe.
+ */
+public class LatencyRecorder {
+
+  private final ConcurrentMap<String, Samples> samples;
+
+  public LatencyRecorder() {
+    samples = new ConcurrentHashMap<String, Samples>();
+  }
+
+  public void record( String requestType, long nanos ) {
+    getSamples( requestType ).add( nanos );
+  }
+
+  public void recordFailure( String requestType ) {
+    getSamples( requestType ).addFailure();
+  }
+
+  public Set<String> getRequestTypes() {
+    return new TreeSet<String>( samples.keySet() );
+  }
+
+  public int getCount( String requestType ) {
+    Samples result = samples.get( requestType );
+    return result == null ? 0 : result.getCount();
+  }
+
+  public int getFailureCount( String requestType ) {
+    Samples result = samples.get( requestType );
+    return result == null ? 0 : result.getFailureCount();
+  }
+
+  public int getTotalCount() {
+    int result = 0;
+    for( Samples value : samples.values() ) {
+      result += value.getCount();
+    }
+    return result;
+  }
+
+  /**
+   * Returns the latency in nanoseconds below which the given percentage of the requests of the
+   * given type completed (nearest rank), or -1 if no request of this type was recorded.
+   */
+  public long getPercentile( String requestType, double percentile ) {
+    Samples result = samples.get( requestType );
+    return result == null ? -1 : result.getPercentile( percentile );
+  }
+
+  private Samples getSamples( String requestType ) {
+    Samples result = samples.get( requestType );
+    if( result == null ) {
+      result = new Samples();
+      Samples existing = samples.putIfAbsent( requestType, result );
+      if( existing != null ) {
+        result = existing;
+      }
+    }
+    return result;
+  }
+
+  private static class Samples {
+
+    private long[] values = new long[ 64 ];
+    private int count;
+    private int failureCount;
+
+    synchronized void add( long value ) {
+      if( count == values.length ) {
+        values = Arrays.copyOf( values, count * 2 );
+      }
+      values[ count++ ] = value;
+    }
+
+    synchronized void addFailure() {
+      failureCount++;
+    }
+
+    synchronized int getCount() {
+      return count;
+    }
+
+    synchronized int getFailureCount() {
+      return failureCount;
+    }
+
+    synchronized long getPercentile( double percentile ) {
+      if( count == 0 ) {
+        return -1;
+      }
+      long[] sorted = Arrays.copyOf( values, count );
+      Arrays.sort( sorted );
+      int rank = ( int )Math.ceil( percentile / 100 * count );
+      return sorted[ Math.min( count, Math.max( 1, rank ) ) - 1 ];
+    }
+
+  }
+
+}
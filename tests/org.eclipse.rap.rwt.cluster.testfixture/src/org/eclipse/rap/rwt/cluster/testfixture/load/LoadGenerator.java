@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.cluster.testfixture.load;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.HttpSession;
+
+import org.eclipse.rap.rwt.cluster.testfixture.client.RWTClient;
+import org.eclipse.rap.rwt.cluster.testfixture.server.IServletEngine;
+
+
+/**
+ * Runs a {@link LoadScenario} for a number of simulated sessions against a servlet engine and
+ * reports latency percentiles per request type, throughput, heap usage per session and thread
+ * counts.
+ * <p>
+ * Heap and thread figures are measured in the current VM and are therefore only meaningful for
+ * an engine that runs embedded in the same VM, as the engines created by the
+ * <code>IServletEngineFactory</code> implementations do.
+ * </p>
+ * <pre>
+ * IServletEngine servletEngine = new JettyFactory().createServletEngine();
+ * servletEngine.start( MyEntryPoint.class );
+ * LoadGenerator generator = new LoadGenerator( servletEngine, scenario );
+ * generator.setSessionCount( 2000 );
+ * generator.setConcurrency( 50 );
+ * System.out.println( generator.run() );
+ * </pre>
+ */
+public class LoadGenerator {
+
+  private final IServletEngine servletEngine;
+  private final LoadScenario scenario;
+  private int sessionCount;
+  private int concurrency;
+
+  public LoadGenerator( IServletEngine servletEngine, LoadScenario scenario ) {
+    this.servletEngine = servletEngine;
+    this.scenario = scenario;
+    sessionCount = 100;
+    concurrency = 10;
+  }
+
+  public void setSessionCount( int sessionCount ) {
+    if( sessionCount < 0 ) {
+      throw new IllegalArgumentException( "sessionCount must not be negative" );
+    }
+    this.sessionCount = sessionCount;
+  }
+
+  public void setConcurrency( int concurrency ) {
+    if( concurrency < 1 ) {
+      throw new IllegalArgumentException( "concurrency must be positive" );
+    }
+    this.concurrency = concurrency;
+  }
+
+  public LoadReport run() throws InterruptedException {
+    final LatencyRecorder recorder = new LatencyRecorder();
+    final AtomicInteger failedSessions = new AtomicInteger();
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    int sessionsBefore = getSessionCount( servletEngine );
+    long heapBefore = getUsedHeap();
+    threadBean.resetPeakThreadCount();
+    ExecutorService executor = Executors.newFixedThreadPool( concurrency );
+    long start = System.nanoTime();
+    for( int i = 0; i < sessionCount; i++ ) {
+      executor.execute( new Runnable() {
+        @Override
+        public void run() {
+          LoadSession session = new LoadSession( new RWTClient( servletEngine ), recorder );
+          try {
+            scenario.run( session );
+          } catch( Exception exception ) {
+            failedSessions.incrementAndGet();
+          }
+        }
+      } );
+    }
+    executor.shutdown();
+    executor.awaitTermination( Long.MAX_VALUE, TimeUnit.NANOSECONDS );
+    long duration = System.nanoTime() - start;
+    int peakThreadCount = threadBean.getPeakThreadCount();
+    int liveSessions = Math.max( 0, getSessionCount( servletEngine ) - sessionsBefore );
+    long heapGrowth = Math.max( 0, getUsedHeap() - heapBefore );
+    long heapPerSession = liveSessions == 0 ? 0 : heapGrowth / liveSessions;
+    return new LoadReport( recorder,
+                           sessionCount,
+                           failedSessions.get(),
+                           duration,
+                           liveSessions,
+                           heapPerSession,
+                           peakThreadCount );
+  }
+
+  private static int getSessionCount( IServletEngine servletEngine ) {
+    HttpSession[] sessions = servletEngine.getSessions();
+    return sessions == null ? 0 : sessions.length;
+  }
+
+  private static long getUsedHeap() {
+    // a single request is not guaranteed to collect everything
+    for( int i = 0; i < 3; i++ ) {
+      System.gc();
+    }
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.cluster.testfixture.load;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * The results of a {@link LoadGenerator} run. Latencies are given in nanoseconds.
+ */
+public class LoadReport {
+
+  private static final double[] PERCENTILES = { 50, 90, 99, 100 };
+
+  private final LatencyRecorder recorder;
+  private final int sessionCount;
+  private final int failedSessionCount;
+  private final long duration;
+  private final int liveSessionCount;
+  private final long heapPerSession;
+  private final int peakThreadCount;
+
+  LoadReport( LatencyRecorder recorder,
+              int sessionCount,
+              int failedSessionCount,
+              long duration,
+              int liveSessionCount,
+              long heapPerSession,
+              int peakThreadCount )
+  {
+    this.recorder = recorder;
+    this.sessionCount = sessionCount;
+    this.failedSessionCount = failedSessionCount;
+    this.duration = duration;
+    this.liveSessionCount = liveSessionCount;
+    this.heapPerSession = heapPerSession;
+    this.peakThreadCount = peakThreadCount;
+  }
+
+  public LatencyRecorder getLatencies() {
+    return recorder;
+  }
+
+  public int getSessionCount() {
+    return sessionCount;
+  }
+
+  public int getFailedSessionCount() {
+    return failedSessionCount;
+  }
+
+  public long getDuration() {
+    return duration;
+  }
+
+  /**
+   * Returns the number of completed requests per second.
+   */
+  public double getThroughput() {
+    double seconds = duration / ( double )TimeUnit.SECONDS.toNanos( 1 );
+    return seconds == 0 ? 0 : recorder.getTotalCount() / seconds;
+  }
+
+  /**
+   * Returns the number of sessions that were created on the server during the run and were still
+   * alive at its end.
+   */
+  public int getLiveSessionCount() {
+    return liveSessionCount;
+  }
+
+  /**
+   * Returns the growth of the used heap during the run in bytes, divided by the number of live
+   * sessions.
+   */
+  public long getHeapPerSession() {
+    return heapPerSession;
+  }
+
+  public int getPeakThreadCount() {
+    return peakThreadCount;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append( format( "sessions: %d (failed: %d), duration: %.1f s, throughput: %.1f req/s%n",
+                            sessionCount,
+                            failedSessionCount,
+                            duration / ( double )TimeUnit.SECONDS.toNanos( 1 ),
+                            getThroughput() ) );
+    builder.append( format( "heap per session: %d KiB (%d live sessions), peak threads: %d%n",
+                            heapPerSession / 1024,
+                            liveSessionCount,
+                            peakThreadCount ) );
+    builder.append( format( "%-24s %8s %8s %9s %9s %9s %9s%n",
+                            "request type", "count", "failed", "p50 ms", "p90 ms", "p99 ms",
+                            "max ms" ) );
+    for( String requestType : recorder.getRequestTypes() ) {
+      builder.append( format( "%-24s %8d %8d",
+                              requestType,
+                              recorder.getCount( requestType ),
+                              recorder.getFailureCount( requestType ) ) );
+      for( double percentile : PERCENTILES ) {
+        long nanos = recorder.getPercentile( requestType, percentile );
+        builder.append( format( " %9.1f", nanos / ( double )TimeUnit.MILLISECONDS.toNanos( 1 ) ) );
+      }
+      builder.append( format( "%n" ) );
+    }
+    return builder.toString();
+  }
+
+  private static String format( String pattern, Object... arguments ) {
+    return String.format( Locale.ENGLISH, pattern, arguments );
+  }
+
+}
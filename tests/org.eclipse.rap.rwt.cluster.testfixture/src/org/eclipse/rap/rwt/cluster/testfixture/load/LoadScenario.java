@@ -0,0 +1,23 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.cluster.testfixture.load;
+
+import java.io.IOException;
+
+
+/**
+ * The sequence of requests that is sent by a single simulated session.
+ */
+public interface LoadScenario {
+
+  void run( LoadSession session ) throws IOException;
+
+}
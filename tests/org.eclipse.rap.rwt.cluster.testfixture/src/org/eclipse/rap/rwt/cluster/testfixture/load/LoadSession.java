@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.cluster.testfixture.load;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipse.rap.rwt.cluster.testfixture.client.JsonMessage;
+import org.eclipse.rap.rwt.cluster.testfixture.client.RWTClient;
+import org.eclipse.rap.rwt.cluster.testfixture.client.Response;
+
+
+/**
+ * A simulated session that records the latency of each request it sends.
+ */
+public class LoadSession {
+
+  public static final String STARTUP = "startup";
+  public static final String INITIALIZATION = "initialization";
+  public static final String WIDGET_SELECTED = "widgetSelected";
+  public static final String SERVER_PUSH = "serverPush";
+
+  private final RWTClient client;
+  private final LatencyRecorder recorder;
+
+  LoadSession( RWTClient client, LatencyRecorder recorder ) {
+    this.client = client;
+    this.recorder = recorder;
+  }
+
+  public RWTClient getClient() {
+    return client;
+  }
+
+  public Response sendStartupRequest() throws IOException {
+    return send( STARTUP, new Request() {
+      @Override
+      public Response send( RWTClient client ) throws IOException {
+        return client.sendStartupRequest();
+      }
+    } );
+  }
+
+  public Response sendInitializationRequest() throws IOException {
+    return send( INITIALIZATION, new Request() {
+      @Override
+      public Response send( RWTClient client ) throws IOException {
+        return client.sendInitializationRequest();
+      }
+    } );
+  }
+
+  public Response sendWidgetSelectedRequest( final String widgetId ) throws IOException {
+    return send( WIDGET_SELECTED, new Request() {
+      @Override
+      public Response send( RWTClient client ) throws IOException {
+        return client.sendWidgetSelectedRequest( widgetId );
+      }
+    } );
+  }
+
+  public Response sendServerPushRequest( final int timeout ) throws IOException {
+    return send( SERVER_PUSH, new Request() {
+      @Override
+      public Response send( RWTClient client ) throws IOException {
+        return client.sendServerPushRequest( timeout );
+      }
+    } );
+  }
+
+  public Response sendMessage( String requestType, List<String> operations ) throws IOException {
+    final JsonMessage message = new JsonMessage();
+    for( String operation : operations ) {
+      message.addOperation( operation );
+    }
+    return send( requestType, new Request() {
+      @Override
+      public Response send( RWTClient client ) throws IOException {
+        return client.sendPostRequest( message );
+      }
+    } );
+  }
+
+  public Response send( String requestType, Request request ) throws IOException {
+    long start = System.nanoTime();
+    try {
+      Response response = request.send( client );
+      recorder.record( requestType, System.nanoTime() - start );
+      return response;
+    } catch( IOException exception ) {
+      recorder.recordFailure( requestType );
+      throw exception;
+    }
+  }
+
+  public interface Request {
+    Response send( RWTClient client ) throws IOException;
+  }
+
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.cluster.testfixture.load;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * A scenario that replays a recorded sequence of protocol messages. Every session sends a startup
+ * and an initialization request and then the recorded messages in order.
+ * <p>
+ * A recording contains one protocol operation per line, e.g.
+ * <code>["notify","w5","Selection",{}]</code>. Messages are separated by empty lines, lines
+ * starting with <code>#</code> are ignored. The latency of a message is recorded under the type
+ * of its first operation, e.g. <code>notify Selection</code>.
+ * </p>
+ */
+public class RecordedScenario implements LoadScenario {
+
+  private static final Pattern OPERATION_PATTERN
+    = Pattern.compile( "^\\[\\s*\"(\\w+)\"\\s*,\\s*\"[^\"]*\"\\s*(?:,\\s*\"(\\w+)\")?" );
+
+  private final List<List<String>> messages;
+
+  public RecordedScenario( List<List<String>> messages ) {
+    this.messages = new ArrayList<List<String>>( messages );
+  }
+
+  public static RecordedScenario read( Reader reader ) throws IOException {
+    List<List<String>> messages = new ArrayList<List<String>>();
+    List<String> operations = new ArrayList<String>();
+    BufferedReader bufferedReader = new BufferedReader( reader );
+    String line = bufferedReader.readLine();
+    while( line != null ) {
+      String trimmed = line.trim();
+      if( trimmed.length() == 0 ) {
+        if( !operations.isEmpty() ) {
+          messages.add( operations );
+          operations = new ArrayList<String>();
+        }
+      } else if( !trimmed.startsWith( "#" ) ) {
+        operations.add( trimmed );
+      }
+      line = bufferedReader.readLine();
+    }
+    if( !operations.isEmpty() ) {
+      messages.add( operations );
+    }
+    return new RecordedScenario( messages );
+  }
+
+  public List<List<String>> getMessages() {
+    return Collections.unmodifiableList( messages );
+  }
+
+  @Override
+  public void run( LoadSession session ) throws IOException {
+    session.sendStartupRequest();
+    session.sendInitializationRequest();
+    for( List<String> operations : messages ) {
+      session.sendMessage( getRequestType( operations ), operations );
+    }
+  }
+
+  static String getRequestType( List<String> operations ) {
+    String result = "message";
+    if( !operations.isEmpty() ) {
+      Matcher matcher = OPERATION_PATTERN.matcher( operations.get( 0 ) );
+      if( matcher.find() ) {
+        result = matcher.group( 2 ) == null ? matcher.group( 1 )
+                                            : matcher.group( 1 ) + " " + matcher.group( 2 );
+      }
+    }
+    return result;
+  }
+
+}
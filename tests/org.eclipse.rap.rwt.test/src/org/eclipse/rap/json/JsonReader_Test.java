@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.json;
+
+import static org.eclipse.rap.json.TestUtil.assertException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.hamcrest.core.StringStartsWith;
+import org.junit.Test;
+
+
+public class JsonReader_Test {
+
+  @Test( expected = NullPointerException.class )
+  public void constructor_failsWithNullReader() {
+    new JsonReader( null );
+  }
+
+  @Test
+  public void readsEmptyArray() throws IOException {
+    JsonReader reader = createReader( " [ ] " );
+
+    reader.beginArray();
+    assertFalse( reader.hasNext() );
+    reader.endArray();
+  }
+
+  @Test
+  public void readsArrayElements() throws IOException {
+    JsonReader reader = createReader( "[ \"foo\", 23, true, null ]" );
+
+    reader.beginArray();
+    assertEquals( "foo", reader.nextString() );
+    assertEquals( 23, reader.nextInt() );
+    assertTrue( reader.nextBoolean() );
+    assertSame( JsonValue.NULL, reader.nextValue() );
+    assertFalse( reader.hasNext() );
+    reader.endArray();
+  }
+
+  @Test
+  public void readsObjectMembers() throws IOException {
+    JsonReader reader = createReader( "{ \"a\" : 1, \"b\" : { \"c\" : [ 2 ] } }" );
+
+    reader.beginObject();
+    assertEquals( "a", reader.nextName() );
+    assertEquals( 1, reader.nextInt() );
+    assertTrue( reader.hasNext() );
+    assertEquals( "b", reader.nextName() );
+    assertEquals( new JsonObject().add( "c", new JsonArray().add( 2 ) ), reader.nextValue() );
+    assertFalse( reader.hasNext() );
+    reader.endObject();
+  }
+
+  @Test
+  public void readsNestedArrays() throws IOException {
+    JsonReader reader = createReader( "[ [ 1, 2 ], [], [ 3 ] ]" );
+
+    int sum = 0;
+    reader.beginArray();
+    while( reader.hasNext() ) {
+      reader.beginArray();
+      while( reader.hasNext() ) {
+        sum += reader.nextInt();
+      }
+      reader.endArray();
+    }
+    reader.endArray();
+
+    assertEquals( 6, sum );
+  }
+
+  @Test
+  public void nextInt_readsNegativeNumbers() throws IOException {
+    assertEquals( -23, createReader( "-23" ).nextInt() );
+  }
+
+  @Test
+  public void nextInt_readsLimits() throws IOException {
+    assertEquals( Integer.MAX_VALUE, createReader( "2147483647" ).nextInt() );
+    assertEquals( Integer.MIN_VALUE, createReader( "-2147483648" ).nextInt() );
+  }
+
+  @Test
+  public void nextInt_failsOutOfRange() {
+    assertParseException( "Integer out of range", "2147483648", new ReadAction() {
+      public void read( JsonReader reader ) throws IOException {
+        reader.nextInt();
+      }
+    } );
+  }
+
+  @Test
+  public void nextInt_failsWithFraction() {
+    assertParseException( "Expected integer", "2.5", new ReadAction() {
+      public void read( JsonReader reader ) throws IOException {
+        reader.nextInt();
+      }
+    } );
+  }
+
+  @Test
+  public void nextString_failsWithNumber() {
+    assertParseException( "Expected string", "23", new ReadAction() {
+      public void read( JsonReader reader ) throws IOException {
+        reader.nextString();
+      }
+    } );
+  }
+
+  @Test
+  public void failsWithMissingSeparator() {
+    assertParseException( "Expected ','", "[ 1 2 ]", new ReadAction() {
+      public void read( JsonReader reader ) throws IOException {
+        reader.beginArray();
+        reader.nextInt();
+        reader.nextInt();
+      }
+    } );
+  }
+
+  @Test
+  public void failsWithUnterminatedArray() {
+    assertParseException( "Expected ',' or ']'", "[ 1 }", new ReadAction() {
+      public void read( JsonReader reader ) throws IOException {
+        reader.beginArray();
+        reader.nextInt();
+        reader.endArray();
+      }
+    } );
+  }
+
+  @Test
+  public void returnsKnownNames() throws IOException {
+    String name = new String( "foo" );
+    JsonReader reader = new JsonReader( new StringReader( "{ \"foo\" : { \"foo\" : 1 } }" ),
+                                        new String[] { name } );
+
+    reader.beginObject();
+    assertSame( name, reader.nextName() );
+    assertSame( name, reader.nextValue().asObject().names().get( 0 ) );
+  }
+
+  @Test
+  public void returnsNewStringsForUnknownNames() throws IOException {
+    String name = new String( "foo" );
+    JsonReader reader = new JsonReader( new StringReader( "{ \"bar\" : 1 }" ),
+                                        new String[] { name } );
+
+    reader.beginObject();
+    assertNotSame( name, reader.nextName() );
+  }
+
+  @Test
+  public void returnsKnownNamesThatExceedBufferSize() throws IOException {
+    String name = new String( "lorem ipsum" );
+    JsonParser parser = new JsonParser( new StringReader( "{ \"lorem ipsum\" : 1 }" ), 3 );
+    parser.setNameTable( new NameTable( new String[] { name } ) );
+
+    parser.beginObject();
+
+    assertEquals( name, parser.nextName() );
+  }
+
+  private static JsonReader createReader( String json ) {
+    return new JsonReader( new StringReader( json ) );
+  }
+
+  private static void assertParseException( String message,
+                                            String json,
+                                            final ReadAction action )
+  {
+    final JsonReader reader = createReader( json );
+    ParseException exception = assertException( ParseException.class, new Runnable() {
+      public void run() {
+        try {
+          action.read( reader );
+        } catch( IOException exception ) {
+          throw new RuntimeException( exception );
+        }
+      }
+    } );
+    assertThat( exception.getMessage(), StringStartsWith.startsWith( message + " at" ) );
+  }
+
+  private interface ReadAction {
+    void read( JsonReader reader ) throws IOException;
+  }
+
+}
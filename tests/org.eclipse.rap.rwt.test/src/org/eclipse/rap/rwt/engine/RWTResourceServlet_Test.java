@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.engine;
+
+import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_MODIFIED;
+import static javax.servlet.http.HttpServletResponse.SC_PARTIAL_CONTENT;
+import static javax.servlet.http.HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE;
+import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.resources.ResourceContent;
+import org.eclipse.rap.rwt.internal.resources.ResourceManagerImpl;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
+import org.eclipse.rap.rwt.testfixture.internal.TestResponse;
+import org.eclipse.rap.rwt.testfixture.internal.TestServletOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class RWTResourceServlet_Test {
+
+  private static final byte[] BYTES = "0123456789".getBytes();
+
+  private ApplicationContextImpl applicationContext;
+  private RWTResourceServlet servlet;
+  private TestRequest request;
+  private TestResponse response;
+
+  @Before
+  public void setUp() throws ServletException {
+    Fixture.setUp( true );
+    applicationContext = getApplicationContext();
+    register( "foo.bin", BYTES );
+    servlet = new RWTResourceServlet() {
+      @Override
+      public ServletContext getServletContext() {
+        return mockServletContext( applicationContext );
+      }
+    };
+    servlet.init();
+    request = new TestRequest();
+    response = new TestResponse();
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testDoGet_sendsContent() throws Exception {
+    request.setPathInfo( "/foo.bin" );
+
+    servlet.doGet( request, response );
+
+    assertArrayEquals( BYTES, getContentBytes() );
+    assertEquals( "W/\"" + getContent( "foo.bin" ).getHash() + "\"", response.getHeader( "ETag" ) );
+    assertEquals( "no-cache", response.getHeader( "Cache-Control" ) );
+    assertEquals( "bytes", response.getHeader( "Accept-Ranges" ) );
+  }
+
+  @Test
+  public void testDoGet_unknownResource() throws Exception {
+    request.setPathInfo( "/unknown.bin" );
+
+    servlet.doGet( request, response );
+
+    assertEquals( SC_NOT_FOUND, response.getErrorStatus() );
+  }
+
+  @Test
+  public void testDoGet_inactiveApplicationContext() throws Exception {
+    applicationContext = mock( ApplicationContextImpl.class );
+    servlet.init();
+    request.setPathInfo( "/foo.bin" );
+
+    servlet.doGet( request, response );
+
+    assertEquals( SC_SERVICE_UNAVAILABLE, response.getErrorStatus() );
+  }
+
+  @Test
+  public void testDoGet_versionedRequestIsCachedForever() throws Exception {
+    request.setPathInfo( "/foo.bin" );
+    request.setParameter( "v", getContent( "foo.bin" ).getHash() );
+
+    servlet.doGet( request, response );
+
+    assertEquals( "public, max-age=31536000, immutable", response.getHeader( "Cache-Control" ) );
+  }
+
+  @Test
+  public void testDoGet_outdatedVersionIsRevalidated() throws Exception {
+    request.setPathInfo( "/foo.bin" );
+    request.setParameter( "v", "outdated" );
+
+    servlet.doGet( request, response );
+
+    assertEquals( "no-cache", response.getHeader( "Cache-Control" ) );
+  }
+
+  @Test
+  public void testDoGet_notModified() throws Exception {
+    request.setPathInfo( "/foo.bin" );
+    request.setHeader( "If-None-Match", "W/\"" + getContent( "foo.bin" ).getHash() + "\"" );
+
+    servlet.doGet( request, response );
+
+    assertEquals( SC_NOT_MODIFIED, response.getStatus() );
+    assertEquals( 0, getContentBytes().length );
+  }
+
+  @Test
+  public void testDoGet_modified() throws Exception {
+    request.setPathInfo( "/foo.bin" );
+    request.setHeader( "If-None-Match", "\"other\"" );
+
+    servlet.doGet( request, response );
+
+    assertArrayEquals( BYTES, getContentBytes() );
+  }
+
+  @Test
+  public void testDoGet_range() throws Exception {
+    request.setPathInfo( "/foo.bin" );
+    request.setHeader( "Range", "bytes=2-4" );
+
+    servlet.doGet( request, response );
+
+    assertEquals( SC_PARTIAL_CONTENT, response.getStatus() );
+    assertEquals( "bytes 2-4/10", response.getHeader( "Content-Range" ) );
+    assertArrayEquals( "234".getBytes(), getContentBytes() );
+  }
+
+  @Test
+  public void testDoGet_unsatisfiableRange() throws Exception {
+    request.setPathInfo( "/foo.bin" );
+    request.setHeader( "Range", "bytes=20-" );
+
+    servlet.doGet( request, response );
+
+    assertEquals( SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.getErrorStatus() );
+    assertEquals( "bytes */10", response.getHeader( "Content-Range" ) );
+  }
+
+  @Test
+  public void testDoGet_gzipVariant() throws Exception {
+    byte[] text = createText();
+    register( "foo.js", text );
+    request.setPathInfo( "/foo.js" );
+    request.setHeader( "Accept-Encoding", "gzip, deflate" );
+
+    servlet.doGet( request, response );
+
+    assertEquals( "gzip", response.getHeader( "Content-Encoding" ) );
+    assertEquals( "Accept-Encoding", response.getHeader( "Vary" ) );
+    assertArrayEquals( getContent( "foo.js" ).getGzipContent(), getContentBytes() );
+  }
+
+  @Test
+  public void testDoGet_gzipVariantNotAccepted() throws Exception {
+    byte[] text = createText();
+    register( "foo.js", text );
+    request.setPathInfo( "/foo.js" );
+
+    servlet.doGet( request, response );
+
+    assertNull( response.getHeader( "Content-Encoding" ) );
+    assertArrayEquals( text, getContentBytes() );
+  }
+
+  @Test
+  public void testParseRange() {
+    assertArrayEquals( new long[] { 0, 9 }, RWTResourceServlet.parseRange( "bytes=0-9", 10 ) );
+    assertArrayEquals( new long[] { 5, 9 }, RWTResourceServlet.parseRange( "bytes=5-", 10 ) );
+    assertArrayEquals( new long[] { 7, 9 }, RWTResourceServlet.parseRange( "bytes=-3", 10 ) );
+    assertArrayEquals( new long[] { 0, 9 }, RWTResourceServlet.parseRange( "bytes=0-99", 10 ) );
+  }
+
+  @Test
+  public void testParseRange_invalid() {
+    assertNull( RWTResourceServlet.parseRange( "bytes=10-", 10 ) );
+    assertNull( RWTResourceServlet.parseRange( "bytes=5-2", 10 ) );
+    assertNull( RWTResourceServlet.parseRange( "bytes=0-1,3-4", 10 ) );
+    assertNull( RWTResourceServlet.parseRange( "bytes=a-b", 10 ) );
+    assertNull( RWTResourceServlet.parseRange( "items=0-1", 10 ) );
+  }
+
+  private void register( String name, byte[] content ) {
+    applicationContext.getResourceManager().register( name, new ByteArrayInputStream( content ) );
+  }
+
+  private ResourceContent getContent( String name ) {
+    return ( ( ResourceManagerImpl )applicationContext.getResourceManager() ).getContent( name );
+  }
+
+  private byte[] getContentBytes() throws IOException {
+    return ( ( TestServletOutputStream )response.getOutputStream() ).getContent().toByteArray();
+  }
+
+  private static byte[] createText() {
+    StringBuilder builder = new StringBuilder();
+    for( int i = 0; i < 100; i++ ) {
+      builder.append( "var foo" ).append( i ).append( " = 'bar';\n" );
+    }
+    return builder.toString().getBytes();
+  }
+
+  private static ServletContext mockServletContext( ApplicationContextImpl applicationContext ) {
+    ServletContext servletContext = mock( ServletContext.class );
+    when( servletContext.getAttribute( anyString() ) ).thenReturn( applicationContext );
+    return servletContext;
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -32,6 +32,7 @@ import static org.mockito.Mockito.when;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.servlet.ServletContext;
@@ -274,6 +275,39 @@ public class ApplicationContextImpl_Test {
     checkStartupPageTemplateHasBeenReset();
   }
 
+  @Test
+  public void testGetTimerExecService_returnsSharedInstance() {
+    applicationContext = new ApplicationContextImpl( null, null );
+
+    ScheduledExecutorService service = applicationContext.getTimerExecService();
+
+    assertNotNull( service );
+    assertSame( service, applicationContext.getTimerExecService() );
+  }
+
+  @Test
+  public void testDeactivate_shutsDownTimerExecService() {
+    ServletContext servletContext = createServletContext();
+    applicationContext = new ApplicationContextImpl( createConfiguration(), servletContext );
+    applicationContext.activate();
+    ScheduledExecutorService service = applicationContext.getTimerExecService();
+
+    applicationContext.deactivate();
+
+    assertTrue( service.isShutdown() );
+  }
+
+  @Test( expected = IllegalStateException.class )
+  public void testGetTimerExecService_afterDeactivate() {
+    ServletContext servletContext = createServletContext();
+    applicationContext = new ApplicationContextImpl( createConfiguration(), servletContext );
+    applicationContext.activate();
+    applicationContext.getTimerExecService();
+    applicationContext.deactivate();
+
+    applicationContext.getTimerExecService();
+  }
+
   @Test
   public void testSetToServletContext() {
     ServletContext servletContext = Fixture.createServletContext();
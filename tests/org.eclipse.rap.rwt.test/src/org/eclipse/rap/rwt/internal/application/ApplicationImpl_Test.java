@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,6 +16,8 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
+import java.util.concurrent.ThreadFactory;
+
 import javax.servlet.FilterRegistration;
 import javax.servlet.Servlet;
 
@@ -164,6 +166,20 @@ public class ApplicationImpl_Test {
     application.setExceptionHandler( null );
   }
 
+  @Test
+  public void testSetUIThreadFactory() {
+    ThreadFactory threadFactory = mock( ThreadFactory.class );
+
+    application.setUIThreadFactory( threadFactory );
+
+    assertSame( threadFactory, applicationContext.getUIThreadFactory() );
+  }
+
+  @Test( expected = NullPointerException.class )
+  public void testSetUIThreadFactory_failsWithNullArgument() {
+    application.setUIThreadFactory( null );
+  }
+
   private void assertFilterRegistered( Class<RWTClusterSupport> filterClass ) {
     FilterRegistration[] filterRegistrations = getFilterRegistrations();
     boolean found = false;
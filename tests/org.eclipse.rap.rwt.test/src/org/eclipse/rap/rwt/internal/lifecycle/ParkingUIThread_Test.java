@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.rap.rwt.internal.lifecycle.UIThread.UIThreadTerminatedError;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ParkingUIThread_Test {
+
+  private ThreadFactory threadFactory;
+  private StringBuffer log;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    log = new StringBuffer();
+    threadFactory = new ThreadFactory() {
+      @Override
+      public Thread newThread( Runnable runnable ) {
+        Thread thread = new Thread( runnable );
+        thread.setDaemon( true );
+        return thread;
+      }
+    };
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testGetThread_createdByFactory() {
+    Thread thread = new Thread();
+    ThreadFactory threadFactory = mock( ThreadFactory.class );
+    when( threadFactory.newThread( any( Runnable.class ) ) ).thenReturn( thread );
+
+    ParkingUIThread uiThread = new ParkingUIThread( threadFactory, null );
+
+    assertSame( thread, uiThread.getThread() );
+    assertFalse( thread.isAlive() );
+  }
+
+  @Test( expected = IllegalStateException.class )
+  public void testCreate_failsWithoutThread() {
+    new ParkingUIThread( mock( ThreadFactory.class ), null );
+  }
+
+  @Test
+  public void testStartThread_waitsForSwitch() {
+    final AtomicReference<ParkingUIThread> uiThread = new AtomicReference<>();
+    uiThread.set( new ParkingUIThread( threadFactory, new Runnable() {
+      @Override
+      public void run() {
+        log.append( "a" );
+        uiThread.get().switchThread();
+        log.append( "b" );
+        uiThread.get().switchThread();
+      }
+    } ) );
+
+    uiThread.get().startThread();
+    assertEquals( "a", log.toString() );
+    uiThread.get().switchThread();
+
+    assertEquals( "ab", log.toString() );
+  }
+
+  @Test
+  public void testSwitchThread_returnsWhenUIThreadEnds() throws InterruptedException {
+    final AtomicReference<ParkingUIThread> uiThread = new AtomicReference<>();
+    uiThread.set( new ParkingUIThread( threadFactory, new Runnable() {
+      @Override
+      public void run() {
+        uiThread.get().switchThread();
+        log.append( "end" );
+      }
+    } ) );
+    uiThread.get().startThread();
+
+    uiThread.get().switchThread();
+    uiThread.get().getThread().join();
+
+    assertEquals( "end", log.toString() );
+  }
+
+  @Test
+  public void testGetCurrent() {
+    final AtomicReference<IUIThreadHolder> current = new AtomicReference<>();
+    ParkingUIThread uiThread = new ParkingUIThread( threadFactory, new Runnable() {
+      @Override
+      public void run() {
+        current.set( ParkingUIThread.getCurrent() );
+      }
+    } );
+
+    uiThread.startThread();
+
+    assertSame( uiThread, current.get() );
+  }
+
+  @Test
+  public void testTerminateThread() {
+    final AtomicBoolean terminated = new AtomicBoolean();
+    final AtomicReference<ParkingUIThread> uiThread = new AtomicReference<>();
+    uiThread.set( new ParkingUIThread( threadFactory, new Runnable() {
+      @Override
+      public void run() {
+        try {
+          while( true ) {
+            uiThread.get().switchThread();
+          }
+        } catch( @SuppressWarnings( "unused" ) UIThreadTerminatedError error ) {
+          terminated.set( true );
+        }
+      }
+    } ) );
+    uiThread.get().setUISession( ContextProvider.getUISession() );
+    uiThread.get().startThread();
+
+    uiThread.get().terminateThread();
+
+    assertTrue( terminated.get() );
+    assertFalse( uiThread.get().getThread().isAlive() );
+  }
+
+}
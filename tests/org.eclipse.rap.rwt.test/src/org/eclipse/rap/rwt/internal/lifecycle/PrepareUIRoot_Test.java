@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,12 +13,15 @@ package org.eclipse.rap.rwt.internal.lifecycle;
 import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
 
 import org.eclipse.rap.rwt.application.EntryPoint;
+import org.eclipse.rap.rwt.internal.service.StartupProfile;
+import org.eclipse.rap.rwt.internal.service.StartupProfile.Phase;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
 import org.eclipse.swt.widgets.Display;
@@ -72,6 +75,28 @@ public class PrepareUIRoot_Test {
     verify( runnable ).run();
   }
 
+  @Test
+  public void testExecuteInFirstRequest_stopsProfileWhenCreateUIFails() throws IOException {
+    EntryPointManager entryPointManager = getApplicationContext().getEntryPointManager();
+    entryPointManager.register( TestRequest.DEFAULT_SERVLET_PATH, FailingEntryPoint.class, null );
+    StartupProfile profile = StartupProfile.attach();
+    Fixture.fakePhase( PhaseId.PREPARE_UI_ROOT );
+
+    try {
+      phase.execute( null );
+      fail();
+    } catch( IllegalStateException expected ) {
+    }
+
+    assertTrue( profile.getDuration( Phase.CREATE_UI ) > 0 );
+  }
+
+  private static class FailingEntryPoint implements EntryPoint {
+    public int createUI() {
+      throw new IllegalStateException();
+    }
+  }
+
   private static class TestEntryPoint implements EntryPoint {
     static boolean wasInvoked;
     public int createUI() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -29,7 +29,12 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -114,6 +119,79 @@ public class RWTLifeCycle_Test {
     assertEquals( DISPLAY_CREATED, log.toString() );
   }
 
+  @Test
+  public void testExecute_withUIThreadFactory() throws IOException {
+    entryPointManager.register( TestRequest.DEFAULT_SERVLET_PATH,
+                                TestEntryPointWithLog.class,
+                                null );
+    final List<Thread> threads = new ArrayList<>();
+    getApplicationContext().setUIThreadFactory( new ThreadFactory() {
+      @Override
+      public Thread newThread( Runnable runnable ) {
+        Thread thread = new Thread( runnable );
+        thread.setDaemon( true );
+        threads.add( thread );
+        return thread;
+      }
+    } );
+    RWTLifeCycle lifeCycle = getLifeCycle();
+
+    lifeCycle.execute();
+
+    assertEquals( DISPLAY_CREATED, log.toString() );
+    assertEquals( 1, threads.size() );
+    assertSame( threads.get( 0 ), RWTLifeCycle.getUIThreadHolder().getThread() );
+  }
+
+  @Test
+  public void testExecute_withUIThreadFactory_moreParkedSessionsThanProcessors() throws Throwable {
+    entryPointManager.register( TestRequest.DEFAULT_SERVLET_PATH,
+                                TestEntryPointWithLog.class,
+                                null );
+    getApplicationContext().setUIThreadFactory( createLightweightThreadFactory() );
+    final int sessionCount = 2 * Runtime.getRuntime().availableProcessors() + 1;
+    final List<UISession> uiSessions = new ArrayList<>();
+    final List<Thread> uiThreads = new ArrayList<>();
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread requestThread = new Thread( new Runnable() {
+      @Override
+      public void run() {
+        try {
+          for( int i = 0; i < sessionCount; i++ ) {
+            newSession();
+            Fixture.fakeNewRequest();
+            getLifeCycle().execute();
+            synchronized( uiSessions ) {
+              uiSessions.add( ContextProvider.getUISession() );
+              uiThreads.add( RWTLifeCycle.getUIThreadHolder().getThread() );
+            }
+          }
+        } catch( Throwable throwable ) {
+          failure.set( throwable );
+        } finally {
+          ContextProvider.disposeContext();
+        }
+      }
+    } );
+    requestThread.setDaemon( true );
+
+    try {
+      requestThread.start();
+      requestThread.join( 10000 );
+
+      assertFalse( "request thread blocked by parked sessions", requestThread.isAlive() );
+      assertNull( failure.get() );
+      assertEquals( sessionCount, uiSessions.size() );
+      assertHoldNoMonitors( uiThreads );
+    } finally {
+      synchronized( uiSessions ) {
+        for( UISession uiSession : uiSessions ) {
+          invalidateSession( uiSession );
+        }
+      }
+    }
+  }
+
   @Test
   public void testParamOfExistingEntryPoint() throws IOException {
     fakeServletPath( MY_ENTRY_POINT );
@@ -1042,6 +1120,35 @@ public class RWTLifeCycle_Test {
     Fixture.fakeClient( new WebClient() );
   }
 
+  private static ThreadFactory createLightweightThreadFactory() {
+    // virtual threads are only available on Java 21 and later
+    try {
+      Object builder = Thread.class.getMethod( "ofVirtual" ).invoke( null );
+      Class<?> builderClass = Class.forName( "java.lang.Thread$Builder" );
+      return ( ThreadFactory )builderClass.getMethod( "factory" ).invoke( builder );
+    } catch( @SuppressWarnings( "unused" ) ReflectiveOperationException exception ) {
+      return new ThreadFactory() {
+        @Override
+        public Thread newThread( Runnable runnable ) {
+          Thread thread = new Thread( runnable );
+          thread.setDaemon( true );
+          return thread;
+        }
+      };
+    }
+  }
+
+  private static void assertHoldNoMonitors( List<Thread> threads ) {
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    for( Thread thread : threads ) {
+      // no thread info for virtual threads, they are covered by the timeout
+      ThreadInfo info = threadBean.getThreadInfo( new long[] { thread.getId() }, true, false )[ 0 ];
+      if( info != null ) {
+        assertEquals( 0, info.getLockedMonitors().length );
+      }
+    }
+  }
+
   private static UIThread getUIThread() {
     UISession uiSession = ContextProvider.getUISession();
     return ( UIThread )LifeCycleUtil.getUIThread( uiSession );
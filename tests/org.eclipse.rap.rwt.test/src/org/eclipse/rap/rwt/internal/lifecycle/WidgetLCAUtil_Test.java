@@ -870,7 +870,7 @@ public class WidgetLCAUtil_Test {
   public void testRenderClientListeners_withoutClientListeners() {
     WidgetLCAUtil.renderClientListeners( widget );
 
-    assertEquals( 0, getProtocolMessage().getOperationCount() );
+    assertNull( getProtocolMessage().findSetOperation( widget, "foo" ) );
   }
 
   @Test
@@ -1040,4 +1040,49 @@ public class WidgetLCAUtil_Test {
     assertEquals( JsonValue.TRUE, operation.getProperties().get( "foo" ) );
   }
 
+  @Test
+  public void testRenderProperty_int_withPropertyId_unchanged() {
+    int propertyId = WidgetLCAUtil.getPropertyId( "foo" );
+    Fixture.markInitialized( widget );
+    WidgetLCAUtil.preserveProperty( widget, propertyId, 23 );
+
+    WidgetLCAUtil.renderProperty( widget, "foo", propertyId, 23, 0 );
+
+    assertNull( getProtocolMessage().findSetOperation( widget, "foo" ) );
+  }
+
+  @Test
+  public void testRenderProperty_int_withPropertyId_changed() {
+    int propertyId = WidgetLCAUtil.getPropertyId( "foo" );
+    Fixture.markInitialized( widget );
+    WidgetLCAUtil.preserveProperty( widget, propertyId, 23 );
+
+    WidgetLCAUtil.renderProperty( widget, "foo", propertyId, 42, 0 );
+
+    SetOperation operation = ( SetOperation )getProtocolMessage().getOperation( 0 );
+    assertEquals( JsonValue.valueOf( 42 ), operation.getProperties().get( "foo" ) );
+  }
+
+  @Test
+  public void testRenderProperty_int_withPropertyId_notPreserved() {
+    int propertyId = WidgetLCAUtil.getPropertyId( "foo" );
+    Fixture.markInitialized( widget );
+
+    WidgetLCAUtil.renderProperty( widget, "foo", propertyId, 0, 0 );
+
+    SetOperation operation = ( SetOperation )getProtocolMessage().getOperation( 0 );
+    assertEquals( JsonValue.valueOf( 0 ), operation.getProperties().get( "foo" ) );
+  }
+
+  @Test
+  public void testRenderProperty_boolean_withPropertyId_unchanged() {
+    int propertyId = WidgetLCAUtil.getPropertyId( "foo" );
+    Fixture.markInitialized( widget );
+    WidgetLCAUtil.preserveProperty( widget, propertyId, true );
+
+    WidgetLCAUtil.renderProperty( widget, "foo", propertyId, true, false );
+
+    assertNull( getProtocolMessage().findSetOperation( widget, "foo" ) );
+  }
+
 }
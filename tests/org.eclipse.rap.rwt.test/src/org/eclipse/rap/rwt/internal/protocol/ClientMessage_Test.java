@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2014 EclipseSource and others.
+ * Copyright (c) 2012, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,8 +12,11 @@ package org.eclipse.rap.rwt.internal.protocol;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.List;
 
 import org.eclipse.rap.json.JsonObject;
@@ -48,6 +51,64 @@ public class ClientMessage_Test {
     assertFalse( message.getAllOperationsFor( "w3" ).isEmpty() );
   }
 
+  @Test
+  public void testReadFrom() throws IOException {
+    String json = "{ \"head\" : { \"requestCounter\" : 3 }, \"operations\" : ["
+                + "[ \"set\", \"w3\", { \"foo\" : 23 } ],"
+                + "[ \"notify\", \"w4\", \"Selection\", { \"detail\" : \"check\" } ],"
+                + "[ \"call\", \"w5\", \"method\", {} ],"
+                + "[ \"destroy\", \"w6\" ]"
+                + "] }";
+
+    ClientMessage message = ClientMessage.readFrom( new StringReader( json ) );
+
+    assertEquals( new ClientMessage( JsonObject.readFrom( json ) ).toJson(), message.toJson() );
+  }
+
+  @Test
+  public void testReadFrom_createsIndex() throws IOException {
+    String json = "{ \"head\" : {}, \"operations\" : ["
+                + "[ \"set\", \"w3\", { \"foo\" : 23 } ]"
+                + "] }";
+
+    ClientMessage message = ClientMessage.readFrom( new StringReader( json ) );
+
+    assertFalse( message.getAllOperationsFor( "w3" ).isEmpty() );
+  }
+
+  @Test
+  public void testReadFrom_ignoresUnknownMembers() throws IOException {
+    String json = "{ \"foo\" : [ 1, 2 ], \"head\" : {}, \"operations\" : [] }";
+
+    ClientMessage message = ClientMessage.readFrom( new StringReader( json ) );
+
+    assertTrue( message.getOperations().isEmpty() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testReadFrom_withoutHead() throws IOException {
+    ClientMessage.readFrom( new StringReader( "{ \"operations\" : [] }" ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testReadFrom_withUnknownOperation() throws IOException {
+    String json = "{ \"head\" : {}, \"operations\" : [ [ \"foo\", \"w3\" ] ] }";
+
+    ClientMessage.readFrom( new StringReader( json ) );
+  }
+
+  @Test
+  public void testReadFrom_internsKnownNames() throws IOException {
+    String json = "{ \"head\" : {}, \"operations\" : ["
+                + "[ \"notify\", \"w4\", \"Selection\", { \"detail\" : \"check\" } ]"
+                + "] }";
+
+    ClientMessage message = ClientMessage.readFrom( new StringReader( json ) );
+
+    NotifyOperation operation = ( NotifyOperation )message.getOperations().get( 0 );
+    assertSame( ClientMessageConst.EVENT_PARAM_DETAIL, operation.getProperties().names().get( 0 ) );
+  }
+
   @Test
   public void testGetAllOperationsFor_selectsMatchingOperations() {
     String json = "{ \"head\" : {}, \"operations\" : ["
@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2011, 2014 EclipseSource and others.
+* Copyright (c) 2011, 2016 EclipseSource and others.
 * All rights reserved. This program and the accompanying materials
 * are made available under the terms of the Eclipse Public License v1.0
 * which accompanies this distribution, and is available at
@@ -18,6 +18,10 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.eclipse.rap.json.JsonArray;
@@ -303,6 +307,95 @@ public class ProtocolMessageWriter_Test {
     assertEquals( 1, buttonCallOperation.getParameters().size() );
   }
 
+  @Test
+  public void testStreaming_writesSameJson() throws IOException {
+    Button button = new Button( shell, SWT.PUSH );
+    String expected = writeMixedOperations( button, new ProtocolMessageWriter() );
+
+    String actual = writeMixedOperations( button, new ProtocolMessageWriter( true ) );
+
+    assertEquals( expected, actual );
+  }
+
+  @Test
+  public void testStreaming_createsStreamedMessage() {
+    writer = new ProtocolMessageWriter( true );
+
+    assertTrue( writer.createMessage() instanceof StreamedResponseMessage );
+  }
+
+  @Test
+  public void testStreaming_mergesSetOperations() {
+    writer = new ProtocolMessageWriter( true );
+
+    writer.appendSet( shellId, "key1", "a" );
+    writer.appendSet( shellId, "key2", "b" );
+
+    List<Operation> operations = createMessage().getOperations();
+    assertEquals( 1, operations.size() );
+    assertEquals( 2, ( ( SetOperation )operations.get( 0 ) ).getProperties().size() );
+  }
+
+  @Test
+  public void testStreaming_writesModifiedOperations() throws IOException {
+    writer = new ProtocolMessageWriter( true );
+    writer.appendDestroy( shellId );
+    Message message = createMessage();
+
+    message.getOperations().clear();
+
+    StringWriter stringWriter = new StringWriter();
+    message.writeTo( stringWriter );
+    assertEquals( "{\"head\":{},\"operations\":[]}", stringWriter.toString() );
+  }
+
+  @Test
+  public void testStreaming_writesSameJsonToStream() throws IOException {
+    Button button = new Button( shell, SWT.PUSH );
+    String expected = writeMixedOperations( button, new ProtocolMessageWriter() );
+    appendMixedOperations( button, new ProtocolMessageWriter( true ) );
+
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    ( ( StreamedResponseMessage )writer.createMessage() ).writeTo( stream );
+
+    assertEquals( expected, new String( stream.toByteArray(), StandardCharsets.UTF_8 ) );
+  }
+
+  @Test
+  public void testStreaming_encodesNonAsciiCharacters() throws IOException {
+    String text = "\u00e4\u20ac\ud83d\ude00\"\n";
+    writer = new ProtocolMessageWriter( true );
+    writer.appendSet( shellId, "text", text );
+    StreamedResponseMessage message = ( StreamedResponseMessage )writer.createMessage();
+
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    message.writeTo( stream );
+
+    String json = new String( stream.toByteArray(), StandardCharsets.UTF_8 );
+    SetOperation operation = ( SetOperation )message.getOperations().get( 0 );
+    assertEquals( text, operation.getProperties().get( "text" ).asString() );
+    assertTrue( json.contains( "\u00e4\u20ac\ud83d\ude00\\\"\\n" ) );
+  }
+
+  private String writeMixedOperations( Button button, ProtocolMessageWriter writer )
+    throws IOException
+  {
+    appendMixedOperations( button, writer );
+    StringWriter stringWriter = new StringWriter();
+    writer.createMessage().writeTo( stringWriter );
+    return stringWriter.toString();
+  }
+
+  private void appendMixedOperations( Button button, ProtocolMessageWriter writer ) {
+    this.writer = writer;
+    writer.appendHead( "requestCounter", 1 );
+    addShellCreate( shell );
+    addShellListeners( shell );
+    addButtonCreate( button );
+    addButtonCall( button );
+    writer.appendDestroy( shellId );
+  }
+
   private void addShellCreate( Shell shell ) {
     writer.appendCreate( shellId, "org.eclipse.swt.widgets.Shell" );
     writer.appendSet( shellId, "styles", new JsonArray().add( "SHELL_TRIM" ) );
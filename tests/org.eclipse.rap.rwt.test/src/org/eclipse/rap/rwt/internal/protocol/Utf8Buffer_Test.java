@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.protocol;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class Utf8Buffer_Test {
+
+  private Utf8Buffer buffer;
+
+  @Before
+  public void setUp() {
+    buffer = new Utf8Buffer();
+  }
+
+  @Test
+  public void testWrite_encodesAsUtf8() {
+    String string = "a\u00e4\u20ac\ud83d\ude00";
+
+    buffer.write( string );
+
+    assertArrayEquals( string.getBytes( StandardCharsets.UTF_8 ), buffer.toByteArray() );
+  }
+
+  @Test
+  public void testWrite_surrogatePairAcrossWrites() {
+    buffer.write( "a\ud83d" );
+    buffer.write( "\ude00" );
+
+    assertEquals( "a\ud83d\ude00", getContent() );
+  }
+
+  @Test
+  public void testWrite_loneLowSurrogate() {
+    buffer.write( "a\ude00b" );
+
+    assertEquals( "a?b", getContent() );
+  }
+
+  @Test
+  public void testWrite_highSurrogateWithoutLowSurrogate() {
+    buffer.write( "a\ud83db" );
+
+    assertEquals( "a?b", getContent() );
+  }
+
+  @Test
+  public void testClose_writesTrailingHighSurrogateAsReplacement() {
+    buffer.write( "a\ud83d" );
+
+    buffer.close();
+
+    assertEquals( "a?", getContent() );
+    assertEquals( 2, buffer.size() );
+  }
+
+  @Test
+  public void testClose_withoutPendingHighSurrogate() {
+    buffer.write( "a" );
+
+    buffer.close();
+
+    assertEquals( "a", getContent() );
+  }
+
+  private String getContent() {
+    return new String( buffer.toByteArray(), StandardCharsets.UTF_8 );
+  }
+
+}
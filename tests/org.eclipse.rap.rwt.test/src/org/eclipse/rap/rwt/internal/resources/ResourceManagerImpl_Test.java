@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
@@ -26,12 +27,14 @@ import static org.mockito.Mockito.verify;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.service.ResourceLoader;
 import org.eclipse.rap.rwt.testfixture.internal.FileUtil;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
@@ -55,6 +58,7 @@ public class ResourceManagerImpl_Test {
   public void tearDown() {
     File path = new File( getWebContextDirectory(), ResourceDirectory.DIRNAME );
     FileUtil.delete( path );
+    System.getProperties().remove( RWTProperties.RESOURCE_VERSIONING );
     Fixture.tearDown();
   }
 
@@ -70,6 +74,17 @@ public class ResourceManagerImpl_Test {
     assertArrayEquals( bytes, read( jarFile ) );
   }
 
+  @Test
+  public void testRegistrationWithByteArray() throws Exception {
+    String resource = "path/to/resource";
+    byte[] bytes = new byte[] { 1, 2, 3 };
+    resourceManager.registerContent( resource, bytes );
+
+    assertTrue( resourceManager.isRegistered( resource ) );
+    assertArrayEquals( bytes, read( getResourceCopyFile( resource ) ) );
+    assertEquals( bytes.length, resourceManager.getContent( resource ).getLength() );
+  }
+
   @Test
   public void testRegisterOverridesPreviousVersion() {
     String resource = "path/to/resource";
@@ -150,6 +165,87 @@ public class ResourceManagerImpl_Test {
     }
   }
 
+  @Test
+  public void testGetLocationWithResourceVersioning() {
+    System.setProperty( RWTProperties.RESOURCE_VERSIONING, "true" );
+    resourceManager.register( "path/to/resource", createInputStream() );
+
+    String location = resourceManager.getLocation( "path/to/resource" );
+
+    String hash = resourceManager.getContent( "path/to/resource" ).getHash();
+    assertEquals( "rwt-resources/path/to/resource?v=" + hash, location );
+  }
+
+  @Test
+  public void testGetContent() {
+    resourceManager.register( "myfile", createInputStream() );
+
+    ResourceContent content = resourceManager.getContent( "myfile" );
+
+    assertEquals( 3, content.getLength() );
+    assertEquals( 16, content.getHash().length() );
+  }
+
+  @Test
+  public void testGetContentHashIsSameForStreamAndByteArray() {
+    resourceManager.register( "myfile", createInputStream() );
+    resourceManager.registerContent( "otherfile", new byte[] { 1, 2, 3 } );
+
+    String hash = resourceManager.getContent( "myfile" ).getHash();
+
+    assertEquals( hash, resourceManager.getContent( "otherfile" ).getHash() );
+  }
+
+  @Test
+  public void testGetContentReadsFromResourceDirectory() throws IOException {
+    resourceManager.register( "myfile", createInputStream() );
+    ResourceContent content = resourceManager.getContent( "myfile" );
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    content.writeTo( outputStream, 1, 2 );
+
+    assertArrayEquals( new byte[] { 2, 3 }, outputStream.toByteArray() );
+  }
+
+  @Test
+  public void testGetContentWithUnregisteredResource() {
+    assertNull( resourceManager.getContent( "myfile" ) );
+  }
+
+  @Test
+  public void testGetContentWithEscapedName() {
+    String path = "http://host:port/path$1";
+    resourceManager.register( path, createInputStream() );
+
+    ResourceContent content = resourceManager.getContent( "http$1//host$1port/path$$1" );
+
+    assertSame( resourceManager.getContent( path ), content );
+  }
+
+  @Test
+  public void testGetContentHashChangesWithContent() {
+    resourceManager.register( "myfile", createInputStream() );
+    String hash = resourceManager.getContent( "myfile" ).getHash();
+
+    resourceManager.register( "myfile", new ByteArrayInputStream( new byte[] { 4, 5 } ) );
+
+    assertFalse( hash.equals( resourceManager.getContent( "myfile" ).getHash() ) );
+  }
+
+  @Test
+  public void testGetContentCompressesTextResources() {
+    resourceManager.register( "script.js", new ByteArrayInputStream( createText() ) );
+
+    assertNotNull( resourceManager.getContent( "script.js" ).getGzipContent() );
+  }
+
+  @Test
+  public void testGetContentDoesNotCompressBinaryResources() {
+    resourceManager.register( "image.gif", new ByteArrayInputStream( createText() ) );
+
+    assertNull( resourceManager.getContent( "image.gif" ).getGzipContent() );
+  }
+
   @Test
   public void testGetRegisteredContent() throws IOException {
     InputStream inputStream = createInputStream();
@@ -157,9 +253,10 @@ public class ResourceManagerImpl_Test {
     inputStream.close();
 
     InputStream content = resourceManager.getRegisteredContent( "myfile" );
+    byte[] bytes = read( content );
     content.close();
 
-    assertNotNull( content );
+    assertArrayEquals( new byte[] { 1, 2, 3 }, bytes );
   }
 
   @SuppressWarnings( "resource" )
@@ -335,9 +432,10 @@ public class ResourceManagerImpl_Test {
     resourceManager.registerOnce( "myfile", createResourceLoader() );
 
     InputStream content = resourceManager.getRegisteredContent( "myfile" );
+    byte[] bytes = read( content );
     content.close();
 
-    assertNotNull( content );
+    assertArrayEquals( new byte[] { 1, 2, 3 }, bytes );
   }
 
   /*
@@ -400,6 +498,14 @@ public class ResourceManagerImpl_Test {
     }
   }
 
+  private static byte[] createText() {
+    StringBuilder builder = new StringBuilder();
+    for( int i = 0; i < 100; i++ ) {
+      builder.append( "var foo" ).append( i ).append( " = 'bar';\n" );
+    }
+    return builder.toString().getBytes();
+  }
+
   private InputStream createInputStream() {
     return new ByteArrayInputStream( new byte[] { 1, 2, 3 } );
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -18,7 +18,10 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -28,6 +31,12 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import javax.servlet.http.HttpSessionBindingListener;
 
@@ -47,6 +56,7 @@ import org.eclipse.swt.widgets.Display;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 
 public class ServerPushManager_Test {
@@ -552,6 +562,156 @@ public class ServerPushManager_Test {
     assertNotNull( response.getHeader( "Expires" ) );
   }
 
+  @Test
+  public void testProcessRequest_withAsyncSupport_doesNotBlock() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+
+    manager.processRequest( createAsyncRequest( asyncContext ), ContextProvider.getResponse() );
+
+    assertTrue( manager.isCallBackRequestBlocked() );
+    verify( asyncContext, never() ).complete();
+  }
+
+  @Test
+  public void testProcessRequest_withAsyncSupport_doesNotSuspendWhenInactive() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    HttpServletRequest request = createAsyncRequest( asyncContext );
+
+    manager.processRequest( request, ContextProvider.getResponse() );
+
+    assertFalse( manager.isCallBackRequestBlocked() );
+    verify( request, never() ).startAsync( any( ServletRequest.class ),
+                                           any( ServletResponse.class ) );
+  }
+
+  @Test
+  public void testProcessRequest_withAsyncSupport_completedByWakeClient() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+    manager.processRequest( createAsyncRequest( asyncContext ), ContextProvider.getResponse() );
+
+    manager.setHasRunnables( true );
+    manager.wakeClient();
+
+    verify( asyncContext ).complete();
+    assertFalse( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testProcessRequest_withAsyncSupport_notCompletedWhileUIThreadRunning() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+    manager.processRequest( createAsyncRequest( asyncContext ), ContextProvider.getResponse() );
+    manager.notifyUIThreadStart();
+
+    manager.setHasRunnables( true );
+    manager.wakeClient();
+
+    verify( asyncContext, never() ).complete();
+  }
+
+  @Test
+  public void testProcessRequest_withAsyncSupport_completedOnDeactivate() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+    manager.processRequest( createAsyncRequest( asyncContext ), ContextProvider.getResponse() );
+
+    manager.deactivateServerPushFor( HANDLE_1 );
+
+    verify( asyncContext ).complete();
+  }
+
+  @Test
+  public void testProcessRequest_withAsyncSupport_completesPreviousRequest() {
+    AsyncContext asyncContext1 = mock( AsyncContext.class );
+    AsyncContext asyncContext2 = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+    manager.processRequest( createAsyncRequest( asyncContext1 ), ContextProvider.getResponse() );
+
+    manager.processRequest( createAsyncRequest( asyncContext2 ), ContextProvider.getResponse() );
+
+    verify( asyncContext1 ).complete();
+    verify( asyncContext2, never() ).complete();
+    assertTrue( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testProcessRequest_withAsyncSupport_completedOnTimeout() throws IOException {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+    manager.processRequest( createAsyncRequest( asyncContext ), ContextProvider.getResponse() );
+    AsyncListener listener = getAsyncListener( asyncContext );
+
+    listener.onTimeout( mock( AsyncEvent.class ) );
+
+    verify( asyncContext ).complete();
+    assertFalse( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testProcessRequest_withAsyncSupport_completedWhenSessionExpired() throws Exception {
+    ContextProvider.getUISession().getHttpSession().setMaxInactiveInterval( 1 );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+    manager.processRequest( createAsyncRequest( asyncContext ), ContextProvider.getResponse() );
+    SuspendedRequest suspendedRequest = ( SuspendedRequest )getAsyncListener( asyncContext );
+    Thread.sleep( 1100 );
+
+    manager.checkSuspendedRequest( suspendedRequest );
+
+    verify( asyncContext ).complete();
+  }
+
+  @Test
+  public void testProcessRequest_withAsyncSupport_completedWhenConnectionBreaks() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    TestResponse response = new TestResponse() {
+      @Override
+      public PrintWriter getWriter() throws IOException {
+        PrintWriter failingWriter = mock( PrintWriter.class );
+        when( Boolean.valueOf( failingWriter.checkError() ) ).thenReturn( Boolean.TRUE );
+        return failingWriter;
+      }
+    };
+    when( asyncContext.getResponse() ).thenReturn( response );
+    manager.activateServerPushFor( HANDLE_1 );
+    manager.processRequest( createAsyncRequest( asyncContext ), response );
+    SuspendedRequest suspendedRequest = ( SuspendedRequest )getAsyncListener( asyncContext );
+
+    manager.checkSuspendedRequest( suspendedRequest );
+
+    verify( asyncContext ).complete();
+  }
+
+  @Test
+  public void testProcessRequest_withAsyncSupport_completedWhenCheckFails() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    when( asyncContext.getResponse() ).thenThrow( new IllegalStateException() );
+    manager.activateServerPushFor( HANDLE_1 );
+    manager.processRequest( createAsyncRequest( asyncContext ), ContextProvider.getResponse() );
+    SuspendedRequest suspendedRequest = ( SuspendedRequest )getAsyncListener( asyncContext );
+
+    suspendedRequest.check();
+
+    verify( asyncContext ).complete();
+    assertFalse( manager.isCallBackRequestBlocked() );
+  }
+
+  private static HttpServletRequest createAsyncRequest( AsyncContext asyncContext ) {
+    HttpServletRequest request = mock( HttpServletRequest.class );
+    when( Boolean.valueOf( request.isAsyncSupported() ) ).thenReturn( Boolean.TRUE );
+    when( request.startAsync( any( ServletRequest.class ), any( ServletResponse.class ) ) )
+      .thenReturn( asyncContext );
+    return request;
+  }
+
+  private static AsyncListener getAsyncListener( AsyncContext asyncContext ) {
+    ArgumentCaptor<AsyncListener> captor = ArgumentCaptor.forClass( AsyncListener.class );
+    verify( asyncContext ).addListener( captor.capture() );
+    return captor.getValue();
+  }
+
   private void simulateBackgroundAddition( final ServiceContext serviceContext ) throws Throwable {
     Runnable runnable = new Runnable() {
       @Override
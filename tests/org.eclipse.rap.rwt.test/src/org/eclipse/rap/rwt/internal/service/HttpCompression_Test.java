@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.Test;
+
+
+public class HttpCompression_Test {
+
+  private static final byte[] CONTENT = createContent();
+
+  @Test
+  public void testGetAcceptedEncoding_withoutHeader() {
+    HttpServletRequest request = mockRequest( null );
+
+    assertNull( HttpCompression.getAcceptedEncoding( request ) );
+  }
+
+  @Test
+  public void testGetAcceptedEncoding_prefersGzip() {
+    HttpServletRequest request = mockRequest( "deflate, gzip;q=0.8" );
+
+    assertEquals( "gzip", HttpCompression.getAcceptedEncoding( request ) );
+  }
+
+  @Test
+  public void testGetAcceptedEncoding_deflate() {
+    HttpServletRequest request = mockRequest( "deflate" );
+
+    assertEquals( "deflate", HttpCompression.getAcceptedEncoding( request ) );
+  }
+
+  @Test
+  public void testGetAcceptedEncoding_ignoresZeroQuality() {
+    HttpServletRequest request = mockRequest( "gzip;q=0, deflate" );
+
+    assertEquals( "deflate", HttpCompression.getAcceptedEncoding( request ) );
+  }
+
+  @Test
+  public void testGetAcceptedEncoding_unsupportedEncoding() {
+    HttpServletRequest request = mockRequest( "br, identity" );
+
+    assertNull( HttpCompression.getAcceptedEncoding( request ) );
+  }
+
+  @Test
+  public void testCompress_gzip() throws IOException {
+    byte[] compressed = HttpCompression.compress( CONTENT, "gzip" );
+
+    assertTrue( compressed.length < CONTENT.length );
+    InputStream inputStream = new GZIPInputStream( new ByteArrayInputStream( compressed ) );
+    assertArrayEquals( CONTENT, read( inputStream ) );
+  }
+
+  @Test
+  public void testCompress_deflate() throws IOException {
+    byte[] compressed = HttpCompression.compress( CONTENT, "deflate" );
+
+    InputStream inputStream = new InflaterInputStream( new ByteArrayInputStream( compressed ) );
+    assertArrayEquals( CONTENT, read( inputStream ) );
+  }
+
+  @Test
+  public void testCompress_reusesDeflater() throws IOException {
+    HttpCompression.compress( CONTENT, "gzip" );
+    byte[] compressed = HttpCompression.compress( CONTENT, "gzip" );
+
+    InputStream inputStream = new GZIPInputStream( new ByteArrayInputStream( compressed ) );
+    assertArrayEquals( CONTENT, read( inputStream ) );
+  }
+
+  @Test
+  public void testCompress_afterReleaseDeflaters() throws IOException {
+    HttpCompression.compress( CONTENT, "gzip" );
+    HttpCompression.compress( CONTENT, "deflate" );
+
+    HttpCompression.releaseDeflaters();
+    byte[] compressed = HttpCompression.compress( CONTENT, "gzip" );
+
+    InputStream inputStream = new GZIPInputStream( new ByteArrayInputStream( compressed ) );
+    assertArrayEquals( CONTENT, read( inputStream ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testCompress_unsupportedEncoding() {
+    HttpCompression.compress( CONTENT, "br" );
+  }
+
+  @Test
+  public void testGetInputStream_uncompressed() throws IOException {
+    HttpServletRequest request = mockRequestBody( null, CONTENT );
+
+    assertArrayEquals( CONTENT, read( HttpCompression.getInputStream( request ) ) );
+  }
+
+  @Test
+  public void testGetInputStream_gzip() throws IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    try( GZIPOutputStream outputStream = new GZIPOutputStream( body ) ) {
+      outputStream.write( CONTENT );
+    }
+    HttpServletRequest request = mockRequestBody( "gzip", body.toByteArray() );
+
+    assertArrayEquals( CONTENT, read( HttpCompression.getInputStream( request ) ) );
+  }
+
+  @Test
+  public void testGetInputStream_deflate() throws IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    try( DeflaterOutputStream outputStream = new DeflaterOutputStream( body ) ) {
+      outputStream.write( CONTENT );
+    }
+    HttpServletRequest request = mockRequestBody( "deflate", body.toByteArray() );
+
+    assertArrayEquals( CONTENT, read( HttpCompression.getInputStream( request ) ) );
+  }
+
+  @Test
+  public void testGetInputStream_gzipWithinMaxSize() throws IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    try( GZIPOutputStream outputStream = new GZIPOutputStream( body ) ) {
+      outputStream.write( CONTENT );
+    }
+    HttpServletRequest request = mockRequestBody( "gzip", body.toByteArray() );
+
+    InputStream inputStream = HttpCompression.getInputStream( request, CONTENT.length );
+
+    assertArrayEquals( CONTENT, read( inputStream ) );
+  }
+
+  @Test( expected = IOException.class )
+  public void testGetInputStream_gzipExceedsMaxSize() throws IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    try( GZIPOutputStream outputStream = new GZIPOutputStream( body ) ) {
+      outputStream.write( CONTENT );
+    }
+    HttpServletRequest request = mockRequestBody( "gzip", body.toByteArray() );
+
+    read( HttpCompression.getInputStream( request, CONTENT.length - 1 ) );
+  }
+
+  @Test( expected = IOException.class )
+  public void testGetInputStream_deflateExceedsMaxSize() throws IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    try( DeflaterOutputStream outputStream = new DeflaterOutputStream( body ) ) {
+      outputStream.write( CONTENT );
+    }
+    HttpServletRequest request = mockRequestBody( "deflate", body.toByteArray() );
+
+    read( HttpCompression.getInputStream( request, CONTENT.length - 1 ) );
+  }
+
+  @Test
+  public void testGetInputStream_uncompressedIgnoresMaxSize() throws IOException {
+    HttpServletRequest request = mockRequestBody( null, CONTENT );
+
+    InputStream inputStream = HttpCompression.getInputStream( request, 1 );
+
+    assertArrayEquals( CONTENT, read( inputStream ) );
+  }
+
+  private static HttpServletRequest mockRequest( String acceptEncoding ) {
+    HttpServletRequest request = mock( HttpServletRequest.class );
+    when( request.getHeader( "Accept-Encoding" ) ).thenReturn( acceptEncoding );
+    return request;
+  }
+
+  private static HttpServletRequest mockRequestBody( String contentEncoding, byte[] body )
+    throws IOException
+  {
+    final InputStream inputStream = new ByteArrayInputStream( body );
+    HttpServletRequest request = mock( HttpServletRequest.class );
+    when( request.getHeader( "Content-Encoding" ) ).thenReturn( contentEncoding );
+    when( request.getInputStream() ).thenReturn( new ServletInputStream() {
+      @Override
+      public int read() throws IOException {
+        return inputStream.read();
+      }
+      @Override
+      public boolean isFinished() {
+        return false;
+      }
+      @Override
+      public boolean isReady() {
+        return true;
+      }
+      @Override
+      public void setReadListener( ReadListener readListener ) {
+      }
+    } );
+    return request;
+  }
+
+  private static byte[] read( InputStream inputStream ) throws IOException {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    byte[] buffer = new byte[ 1024 ];
+    int count = inputStream.read( buffer );
+    while( count != -1 ) {
+      result.write( buffer, 0, count );
+      count = inputStream.read( buffer );
+    }
+    return result.toByteArray();
+  }
+
+  private static byte[] createContent() {
+    StringBuilder builder = new StringBuilder();
+    for( int i = 0; i < 500; i++ ) {
+      builder.append( "[\"set\",\"w" ).append( i ).append( "\",{\"visible\":true}]," );
+    }
+    return builder.toString().getBytes();
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,7 +11,9 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.service;
 
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
 import static org.eclipse.rap.rwt.internal.service.ContextProvider.getUISession;
+import static org.eclipse.rap.rwt.internal.service.StartupProfile.Phase.SERIALIZATION;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -26,9 +28,13 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -37,6 +43,7 @@ import javax.servlet.http.HttpSession;
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
 import org.eclipse.rap.rwt.client.WebClient;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.lifecycle.RequestCounter;
 import org.eclipse.rap.rwt.internal.protocol.ClientMessageConst;
 import org.eclipse.rap.rwt.internal.protocol.RequestMessage;
@@ -54,6 +61,7 @@ import org.eclipse.rap.rwt.testfixture.internal.TestMessage;
 import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
 import org.eclipse.rap.rwt.testfixture.internal.TestResponse;
 import org.eclipse.rap.rwt.testfixture.internal.TestResponseMessage;
+import org.eclipse.rap.rwt.testfixture.internal.TestServletOutputStream;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -83,6 +91,9 @@ public class LifeCycleServiceHandler_Test {
 
   @After
   public void tearDown() {
+    System.getProperties().remove( RWTProperties.RESPONSE_COMPRESSION );
+    System.getProperties().remove( RWTProperties.COMPRESSION_THRESHOLD );
+    System.getProperties().remove( RWTProperties.STARTUP_PROFILING );
     Fixture.tearDown();
   }
 
@@ -288,6 +299,82 @@ public class LifeCycleServiceHandler_Test {
     JsonObject.readFrom( getResponse().getContent() );
   }
 
+  @Test
+  public void testCompressesResponse() throws IOException {
+    System.setProperty( RWTProperties.RESPONSE_COMPRESSION, "true" );
+    System.setProperty( RWTProperties.COMPRESSION_THRESHOLD, "0" );
+    simulateUiRequest();
+    getRequest().setHeader( "Accept-Encoding", "gzip" );
+
+    service( serviceHandler );
+
+    TestResponse response = getResponse();
+    assertEquals( "gzip", response.getHeader( "Content-Encoding" ) );
+    assertEquals( "Accept-Encoding", response.getHeader( "Vary" ) );
+    InputStream body = new GZIPInputStream( getResponseBody() );
+    JsonObject.readFrom( new InputStreamReader( body, "UTF-8" ) );
+  }
+
+  @Test
+  public void testCompressesResponse_skipsSmallResponse() throws IOException {
+    System.setProperty( RWTProperties.RESPONSE_COMPRESSION, "true" );
+    simulateUiRequest();
+    getRequest().setHeader( "Accept-Encoding", "gzip" );
+
+    service( serviceHandler );
+
+    assertNull( getResponse().getHeader( "Content-Encoding" ) );
+    JsonObject.readFrom( new InputStreamReader( getResponseBody(), "UTF-8" ) );
+  }
+
+  @Test
+  public void testCompressesResponse_recordsStatistics() throws IOException {
+    System.setProperty( RWTProperties.RESPONSE_COMPRESSION, "true" );
+    System.setProperty( RWTProperties.COMPRESSION_THRESHOLD, "0" );
+    simulateUiRequest();
+    getRequest().setHeader( "Accept-Encoding", "deflate" );
+
+    service( serviceHandler );
+
+    CompressionStatistics statistics = getApplicationContext().getCompressionStatistics();
+    int length = getResponseBody().available();
+    assertEquals( length, statistics.getBytesAfter( TestRequest.DEFAULT_SERVLET_PATH ) );
+    assertTrue( statistics.getBytesBefore( TestRequest.DEFAULT_SERVLET_PATH ) > 0 );
+  }
+
+  @Test
+  public void testDoesNotCompressResponse_whenDisabled() throws IOException {
+    simulateUiRequest();
+    getRequest().setHeader( "Accept-Encoding", "gzip" );
+
+    service( serviceHandler );
+
+    assertNull( getResponse().getHeader( "Content-Encoding" ) );
+    JsonObject.readFrom( getResponse().getContent() );
+  }
+
+  @Test
+  public void testRecordsStartupProfile() throws IOException {
+    System.setProperty( RWTProperties.STARTUP_PROFILING, "true" );
+    simulateUiRequest();
+
+    service( serviceHandler );
+
+    StartupStatistics statistics = getApplicationContext().getStartupStatistics();
+    assertEquals( 1, statistics.getSessionCount( TestRequest.DEFAULT_SERVLET_PATH ) );
+    assertTrue( statistics.getDuration( TestRequest.DEFAULT_SERVLET_PATH, SERIALIZATION ) > 0 );
+  }
+
+  @Test
+  public void testDoesNotRecordStartupProfile_whenDisabled() throws IOException {
+    simulateUiRequest();
+
+    service( serviceHandler );
+
+    StartupStatistics statistics = getApplicationContext().getStartupStatistics();
+    assertTrue( statistics.getEntryPoints().isEmpty() );
+  }
+
   @Test
   public void testIsRequestCounterValid_trueWithValidParameter() {
     int nextRequestId = RequestCounter.getInstance().nextRequestId();
@@ -422,6 +509,12 @@ public class LifeCycleServiceHandler_Test {
     return ( TestResponse )ContextProvider.getResponse();
   }
 
+  private static InputStream getResponseBody() throws IOException {
+    TestServletOutputStream outputStream
+      = ( TestServletOutputStream )getResponse().getOutputStream();
+    return new ByteArrayInputStream( outputStream.getContent().toByteArray() );
+  }
+
   private static String getError( JsonObject message ) {
     return message.get( "head" ).asObject().get( "error" ).asString();
   }
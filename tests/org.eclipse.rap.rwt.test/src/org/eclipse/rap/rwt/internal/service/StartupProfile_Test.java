@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.service;
+
+import static org.eclipse.rap.rwt.internal.service.StartupProfile.Phase.CREATE_UI;
+import static org.eclipse.rap.rwt.internal.service.StartupProfile.Phase.LAYOUT;
+import static org.eclipse.rap.rwt.internal.service.StartupProfile.Phase.RENDER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class StartupProfile_Test {
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testGetCurrent_withoutProfile() {
+    assertNull( StartupProfile.getCurrent() );
+  }
+
+  @Test
+  public void testGetCurrent_withAttachedProfile() {
+    StartupProfile profile = StartupProfile.attach();
+
+    assertSame( profile, StartupProfile.getCurrent() );
+  }
+
+  @Test
+  public void testGetCurrent_isRequestScoped() {
+    StartupProfile.attach();
+
+    Fixture.fakeNewRequest();
+
+    assertNull( StartupProfile.getCurrent() );
+  }
+
+  @Test
+  public void testStartAndStop_withoutProfile() {
+    StartupProfile.start( LAYOUT );
+    StartupProfile.stop( LAYOUT );
+  }
+
+  @Test
+  public void testStartAndStop_measuresPhase() throws InterruptedException {
+    StartupProfile profile = StartupProfile.attach();
+
+    StartupProfile.start( RENDER );
+    Thread.sleep( 1 );
+    StartupProfile.stop( RENDER );
+
+    assertTrue( profile.getDuration( RENDER ) >= 1000000 );
+    assertEquals( 0, profile.getDuration( LAYOUT ) );
+  }
+
+  @Test
+  public void testStartAndStop_countsNestedPhaseOnce() throws InterruptedException {
+    StartupProfile profile = StartupProfile.attach();
+
+    StartupProfile.start( LAYOUT );
+    StartupProfile.start( LAYOUT );
+    Thread.sleep( 1 );
+    StartupProfile.stop( LAYOUT );
+    long nestedDuration = profile.getDuration( LAYOUT );
+    StartupProfile.stop( LAYOUT );
+
+    assertEquals( 0, nestedDuration );
+    assertTrue( profile.getDuration( LAYOUT ) >= 1000000 );
+  }
+
+  @Test
+  public void testStop_withoutStart() {
+    StartupProfile profile = StartupProfile.attach();
+
+    StartupProfile.stop( CREATE_UI );
+    StartupProfile.start( CREATE_UI );
+    StartupProfile.stop( CREATE_UI );
+    StartupProfile.stop( CREATE_UI );
+
+    assertTrue( profile.getDuration( CREATE_UI ) >= 0 );
+  }
+
+  @Test
+  public void testStatistics_sumsProfilesPerEntryPoint() {
+    StartupStatistics statistics = new StartupStatistics();
+    StartupProfile profile = new StartupProfile();
+    profile.startPhase( RENDER );
+    profile.stopPhase( RENDER );
+
+    statistics.record( "/foo", profile );
+    statistics.record( "/foo", profile );
+    statistics.record( "/bar", profile );
+
+    assertEquals( 2, statistics.getSessionCount( "/foo" ) );
+    assertEquals( 1, statistics.getSessionCount( "/bar" ) );
+    assertEquals( 2 * profile.getDuration( RENDER ), statistics.getDuration( "/foo", RENDER ) );
+    assertEquals( 0, statistics.getDuration( "/unknown", RENDER ) );
+  }
+
+  @Test
+  public void testStatistics_reset() {
+    StartupStatistics statistics = new StartupStatistics();
+    statistics.record( "/foo", new StartupProfile() );
+
+    statistics.reset();
+
+    assertTrue( statistics.getEntryPoints().isEmpty() );
+    assertEquals( 0, statistics.getSessionCount( "/foo" ) );
+  }
+
+}
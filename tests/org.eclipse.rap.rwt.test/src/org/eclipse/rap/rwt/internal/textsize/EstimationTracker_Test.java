@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class EstimationTracker_Test {
+
+  private static final FontData FONT_DATA = new FontData( "arial", 23, SWT.BOLD );
+  private static final FontData OTHER_FONT_DATA = new FontData( "courier", 14, SWT.NONE );
+
+  private Display display;
+  private Shell shell;
+  private Shell otherShell;
+  private EstimationTracker tracker;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    display = new Display();
+    shell = new Shell( display );
+    otherShell = new Shell( display );
+    tracker = EstimationTracker.getInstance();
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testGetInstance_isSessionScoped() {
+    Fixture.fakeNewRequest();
+
+    assertSame( tracker, EstimationTracker.getInstance() );
+  }
+
+  @Test
+  public void testGetConsumers_withoutEstimation() {
+    Shell[] consumers = tracker.getConsumers( asList( FONT_DATA ), getShells() );
+
+    assertArrayEquals( getShells(), consumers );
+  }
+
+  @Test
+  public void testGetConsumers_withEstimationDuringLayout() {
+    recordEstimationDuringLayout( shell, FONT_DATA );
+
+    Shell[] consumers = tracker.getConsumers( asList( FONT_DATA ), getShells() );
+
+    assertArrayEquals( new Shell[] { shell }, consumers );
+  }
+
+  @Test
+  public void testGetConsumers_withEstimationDuringNestedLayout() {
+    tracker.enterLayout( shell );
+    recordEstimationDuringLayout( otherShell, FONT_DATA );
+    tracker.leaveLayout();
+
+    Shell[] consumers = tracker.getConsumers( asList( FONT_DATA ), getShells() );
+
+    assertArrayEquals( getShells(), consumers );
+  }
+
+  @Test
+  public void testGetConsumers_withEstimationOfOtherFont() {
+    recordEstimationDuringLayout( shell, FONT_DATA );
+    recordEstimationDuringLayout( otherShell, OTHER_FONT_DATA );
+
+    Shell[] consumers = tracker.getConsumers( asList( OTHER_FONT_DATA ), getShells() );
+
+    assertArrayEquals( new Shell[] { otherShell }, consumers );
+  }
+
+  @Test
+  public void testGetConsumers_withEstimationOutsideOfLayout() {
+    recordEstimationDuringLayout( shell, FONT_DATA );
+    tracker.recordEstimation( FONT_DATA );
+
+    Shell[] consumers = tracker.getConsumers( asList( FONT_DATA ), getShells() );
+
+    assertArrayEquals( getShells(), consumers );
+  }
+
+  @Test
+  public void testGetConsumers_ignoresDisposedShells() {
+    recordEstimationDuringLayout( shell, FONT_DATA );
+    recordEstimationDuringLayout( otherShell, FONT_DATA );
+    shell.dispose();
+
+    Shell[] consumers = tracker.getConsumers( asList( FONT_DATA ), getShells() );
+
+    assertArrayEquals( new Shell[] { otherShell }, consumers );
+  }
+
+  @Test
+  public void testGetConsumers_afterClear() {
+    recordEstimationDuringLayout( shell, FONT_DATA );
+
+    tracker.clear();
+
+    assertArrayEquals( getShells(), tracker.getConsumers( asList( FONT_DATA ), getShells() ) );
+  }
+
+  @Test
+  public void testLayout_recordsEstimationForShell() {
+    shell.setLayout( new GridLayout() );
+    Label label = new Label( shell, SWT.NONE );
+    label.setFont( new Font( display, FONT_DATA ) );
+    label.setText( "text" );
+
+    shell.layout();
+
+    Shell[] consumers = tracker.getConsumers( asList( FONT_DATA ), getShells() );
+    assertArrayEquals( new Shell[] { shell }, consumers );
+  }
+
+  @Test
+  public void testLeaveLayout_withoutEnterLayout() {
+    tracker.leaveLayout();
+    tracker.recordEstimation( FONT_DATA );
+
+    Shell[] consumers = tracker.getConsumers( asList( FONT_DATA ), getShells() );
+    assertArrayEquals( getShells(), consumers );
+  }
+
+  private void recordEstimationDuringLayout( Shell layoutShell, FontData fontData ) {
+    tracker.enterLayout( layoutShell );
+    tracker.recordEstimation( fontData );
+    tracker.leaveLayout();
+  }
+
+  private Shell[] getShells() {
+    return display.getShells();
+  }
+
+}
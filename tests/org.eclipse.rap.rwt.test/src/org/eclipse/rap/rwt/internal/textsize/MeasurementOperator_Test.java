@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -25,6 +25,7 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -128,6 +129,29 @@ public class MeasurementOperator_Test {
     verify( listener, times( 2 ) ).handleEvent( any( Event.class ) );
   }
 
+  @Test
+  public void testOperationHandler_handleCall_recalculatesOnlyAffectedShells() {
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    operator.addProbeToMeasure( FONT_DATA_1 );
+    operator.addItemToMeasure( MEASUREMENT_ITEM_1 );
+    Shell shell = new Shell( display );
+    Shell otherShell = new Shell( display );
+    EstimationTracker tracker = operator.getEstimationTracker();
+    tracker.enterLayout( shell );
+    tracker.recordEstimation( FONT_DATA_1 );
+    tracker.leaveLayout();
+    Listener listener = mock( Listener.class );
+    Listener otherListener = mock( Listener.class );
+    shell.addListener( SWT.Resize, listener );
+    otherShell.addListener( SWT.Resize, otherListener );
+
+    JsonObject parameters = createMeasurementResult( FONT_DATA_1, MEASUREMENT_ITEM_1 );
+    getOperationHandler( TYPE ).handleCall( METHOD_STORE_MEASUREMENTS, parameters );
+
+    verify( listener, times( 2 ) ).handleEvent( any( Event.class ) );
+    verify( otherListener, never() ).handleEvent( any( Event.class ) );
+  }
+
   @Test
   public void testAddItemToMeasure() {
     operator.addItemToMeasure( MEASUREMENT_ITEM_1 );
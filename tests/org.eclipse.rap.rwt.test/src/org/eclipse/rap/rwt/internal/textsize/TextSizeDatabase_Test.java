@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class TextSizeDatabase_Test {
+
+  private static final FontData FONT_DATA = new FontData( "arial", 10, SWT.BOLD );
+  private static final Integer KEY = Integer.valueOf( 23 );
+  private static final Point SIZE = new Point( 100, 12 );
+
+  private File file;
+  private TextSizeStorage storage;
+  private ScheduledExecutorService scheduler;
+
+  @Before
+  public void setUp() throws IOException {
+    Fixture.setUp();
+    file = File.createTempFile( "rap-", ".textsizes" );
+    file.delete();
+    storage = new TextSizeStorage();
+    scheduler = mock( ScheduledExecutorService.class );
+  }
+
+  @After
+  public void tearDown() {
+    file.delete();
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testActivate_withoutFile() {
+    TextSizeDatabase database = new TextSizeDatabase( file, storage );
+
+    database.activate( scheduler );
+
+    assertEquals( 0, storage.getFontList().length );
+    assertEquals( 0, storage.getSize() );
+  }
+
+  @Test
+  public void testDeactivate_writesPendingEntries() {
+    TextSizeDatabase database = new TextSizeDatabase( file, storage );
+    database.activate( scheduler );
+    storage.storeFont( FONT_DATA );
+    storage.storeTextSize( KEY, SIZE );
+
+    database.deactivate();
+
+    TextSizeStorage restoredStorage = new TextSizeStorage();
+    new TextSizeDatabase( file, restoredStorage ).activate( scheduler );
+    assertArrayEquals( new FontData[] { FONT_DATA }, restoredStorage.getFontList() );
+    assertEquals( SIZE, restoredStorage.lookupTextSize( KEY ) );
+  }
+
+  @Test
+  public void testFlush_appendsToExistingFile() {
+    TextSizeDatabase database = new TextSizeDatabase( file, storage );
+    database.activate( scheduler );
+    storage.storeTextSize( KEY, SIZE );
+    database.flush();
+    storage.storeTextSize( Integer.valueOf( 42 ), new Point( 1, 2 ) );
+    database.flush();
+
+    TextSizeStorage restoredStorage = new TextSizeStorage();
+    new TextSizeDatabase( file, restoredStorage ).activate( scheduler );
+    assertEquals( SIZE, restoredStorage.lookupTextSize( KEY ) );
+    assertEquals( new Point( 1, 2 ), restoredStorage.lookupTextSize( Integer.valueOf( 42 ) ) );
+  }
+
+  @Test
+  public void testActivate_doesNotAppendLoadedEntries() {
+    TextSizeDatabase database = new TextSizeDatabase( file, storage );
+    database.activate( scheduler );
+    storage.storeTextSize( KEY, SIZE );
+    database.deactivate();
+    long length = file.length();
+
+    database = new TextSizeDatabase( file, new TextSizeStorage() );
+    database.activate( scheduler );
+    database.deactivate();
+
+    assertEquals( length, file.length() );
+  }
+
+  @Test
+  public void testActivate_dropsIncompleteRecord() throws IOException {
+    TextSizeDatabase database = new TextSizeDatabase( file, storage );
+    database.activate( scheduler );
+    storage.storeTextSize( KEY, SIZE );
+    database.deactivate();
+    long length = file.length();
+    try( RandomAccessFile randomAccessFile = new RandomAccessFile( file, "rw" ) ) {
+      randomAccessFile.setLength( length + 5 );
+    }
+
+    TextSizeStorage restoredStorage = new TextSizeStorage();
+    new TextSizeDatabase( file, restoredStorage ).activate( scheduler );
+
+    assertEquals( SIZE, restoredStorage.lookupTextSize( KEY ) );
+    assertEquals( length, file.length() );
+  }
+
+  @Test
+  public void testActivate_discardsUnsupportedFile() throws IOException {
+    try( RandomAccessFile randomAccessFile = new RandomAccessFile( file, "rw" ) ) {
+      randomAccessFile.writeBytes( "no text sizes" );
+    }
+
+    new TextSizeDatabase( file, storage ).activate( scheduler );
+
+    assertEquals( 0, storage.getSize() );
+    assertEquals( 0, file.length() );
+  }
+
+  @Test
+  public void testActivate_compactsOversizedFile() throws IOException {
+    storage.storeTextSize( KEY, SIZE );
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    TextSizeDatabase.exportTo( storage, outputStream );
+    byte[] bytes = outputStream.toByteArray();
+    try( FileOutputStream output = new FileOutputStream( file ) ) {
+      output.write( bytes );
+      // the same entry over and over again, as written when a text size is measured repeatedly
+      while( file.length() <= TextSizeDatabase.MIN_COMPACTION_LENGTH ) {
+        output.write( bytes, 8, bytes.length - 8 );
+        output.flush();
+      }
+    }
+
+    TextSizeStorage restoredStorage = new TextSizeStorage();
+    TextSizeDatabase database = new TextSizeDatabase( file, restoredStorage );
+    database.activate( scheduler );
+
+    assertEquals( SIZE, restoredStorage.lookupTextSize( KEY ) );
+    assertEquals( bytes.length, file.length() );
+    database.deactivate();
+  }
+
+  @Test
+  public void testFlush_compactsOversizedFile() {
+    TextSizeDatabase database = new TextSizeDatabase( file, storage );
+    database.activate( scheduler );
+
+    // writes about twice the minimum compaction length
+    for( int round = 0; round < 10; round++ ) {
+      for( int i = 0; i < 1000; i++ ) {
+        storage.storeTextSize( KEY, SIZE );
+      }
+      database.flush();
+    }
+    database.deactivate();
+
+    assertTrue( file.length() < TextSizeDatabase.MIN_COMPACTION_LENGTH );
+    TextSizeStorage restoredStorage = new TextSizeStorage();
+    new TextSizeDatabase( file, restoredStorage ).activate( scheduler );
+    assertEquals( SIZE, restoredStorage.lookupTextSize( KEY ) );
+  }
+
+  @Test
+  public void testActivate_withFileInUse_loadsEntries() {
+    TextSizeDatabase database = new TextSizeDatabase( file, storage );
+    database.activate( scheduler );
+    storage.storeTextSize( KEY, SIZE );
+    database.flush();
+
+    TextSizeStorage otherStorage = new TextSizeStorage();
+    TextSizeDatabase otherDatabase = new TextSizeDatabase( file, otherStorage );
+    otherDatabase.activate( scheduler );
+
+    assertEquals( SIZE, otherStorage.lookupTextSize( KEY ) );
+    database.deactivate();
+    otherDatabase.deactivate();
+  }
+
+  @Test
+  public void testActivate_withFileInUse_doesNotWrite() {
+    TextSizeDatabase database = new TextSizeDatabase( file, storage );
+    database.activate( scheduler );
+    storage.storeTextSize( KEY, SIZE );
+    database.flush();
+    long length = file.length();
+
+    TextSizeStorage otherStorage = new TextSizeStorage();
+    TextSizeDatabase otherDatabase = new TextSizeDatabase( file, otherStorage );
+    otherDatabase.activate( scheduler );
+    otherStorage.storeTextSize( Integer.valueOf( 42 ), new Point( 1, 2 ) );
+    otherDatabase.deactivate();
+
+    assertEquals( length, file.length() );
+    database.deactivate();
+  }
+
+  @Test
+  public void testDeactivate_releasesFile() {
+    TextSizeDatabase database = new TextSizeDatabase( file, storage );
+    database.activate( scheduler );
+    database.deactivate();
+
+    TextSizeStorage otherStorage = new TextSizeStorage();
+    TextSizeDatabase otherDatabase = new TextSizeDatabase( file, otherStorage );
+    otherDatabase.activate( scheduler );
+    otherStorage.storeTextSize( KEY, SIZE );
+    otherDatabase.deactivate();
+
+    TextSizeStorage restoredStorage = new TextSizeStorage();
+    new TextSizeDatabase( file, restoredStorage ).activate( scheduler );
+    assertEquals( SIZE, restoredStorage.lookupTextSize( KEY ) );
+  }
+
+  @Test
+  public void testExportAndImport() throws IOException {
+    storage.storeFont( FONT_DATA );
+    storage.storeTextSize( KEY, SIZE );
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    TextSizeDatabase.exportTo( storage, outputStream );
+    TextSizeStorage importedStorage = new TextSizeStorage();
+    byte[] bytes = outputStream.toByteArray();
+    TextSizeDatabase.importFrom( importedStorage, new ByteArrayInputStream( bytes ) );
+
+    assertArrayEquals( new FontData[] { FONT_DATA }, importedStorage.getFontList() );
+    assertEquals( SIZE, importedStorage.lookupTextSize( KEY ) );
+  }
+
+  @Test
+  public void testImport_isPersisted() throws IOException {
+    storage.storeTextSize( KEY, SIZE );
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    TextSizeDatabase.exportTo( storage, outputStream );
+    TextSizeStorage importedStorage = new TextSizeStorage();
+    TextSizeDatabase database = new TextSizeDatabase( file, importedStorage );
+    database.activate( scheduler );
+
+    byte[] bytes = outputStream.toByteArray();
+    TextSizeDatabase.importFrom( importedStorage, new ByteArrayInputStream( bytes ) );
+    database.deactivate();
+
+    TextSizeStorage restoredStorage = new TextSizeStorage();
+    new TextSizeDatabase( file, restoredStorage ).activate( scheduler );
+    assertEquals( SIZE, restoredStorage.lookupTextSize( KEY ) );
+  }
+
+  @Test
+  public void testImport_withUnsupportedFormat() {
+    try {
+      byte[] bytes = "no text sizes".getBytes();
+      TextSizeDatabase.importFrom( storage, new ByteArrayInputStream( bytes ) );
+      fail();
+    } catch( @SuppressWarnings( "unused" ) IOException expected ) {
+    }
+    assertNull( storage.lookupTextSize( KEY ) );
+  }
+
+}
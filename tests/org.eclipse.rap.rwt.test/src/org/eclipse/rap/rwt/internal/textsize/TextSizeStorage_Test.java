@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -117,6 +117,54 @@ public class TextSizeStorage_Test {
     assertEquals( 20000, storage.getMaximumStoreSize() );
   }
 
+  @Test
+  public void testHitAndMissCount() {
+    storage.storeTextSize( KEY_FIRST, SIZE_FIRST );
+
+    storage.lookupTextSize( KEY_FIRST );
+    storage.lookupTextSize( KEY_FIRST );
+    storage.lookupTextSize( KEY_OVERFLOW );
+
+    assertEquals( 2, storage.getHitCount() );
+    assertEquals( 1, storage.getMissCount() );
+  }
+
+  @Test
+  public void testEvictionCount() {
+    populateUntilOverflowThresholdIsReached();
+
+    forceOverflow();
+
+    assertEquals( 100, storage.getEvictionCount() );
+    assertEquals( TextSizeStorage.MIN_STORE_SIZE - 100, storage.getSize() );
+  }
+
+  @Test
+  public void testConcurrentAccess() throws InterruptedException {
+    storage.setMaximumStoreSize( TextSizeStorage.MIN_STORE_SIZE );
+    Thread[] threads = new Thread[ 4 ];
+    for( int i = 0; i < threads.length; i++ ) {
+      final int offset = i * 10000;
+      threads[ i ] = new Thread( new Runnable() {
+        @Override
+        public void run() {
+          for( int j = 0; j < 5000; j++ ) {
+            Integer key = Integer.valueOf( offset + j );
+            storage.storeTextSize( key, new Point( j, j ) );
+            storage.lookupTextSize( key );
+          }
+        }
+      } );
+      threads[ i ].start();
+    }
+    for( Thread thread : threads ) {
+      thread.join();
+    }
+
+    assertTrue( storage.getSize() < TextSizeStorage.MIN_STORE_SIZE );
+    assertEquals( 20000, storage.getHitCount() + storage.getMissCount() );
+  }
+
   private void populateUntilOverflowThresholdIsReached() {
     storage.setMaximumStoreSize( TextSizeStorage.MIN_STORE_SIZE );
     for( int i = 0; i < TextSizeStorage.MIN_STORE_SIZE - 1; i++ ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -17,12 +17,15 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.internal.theme.css.StyleRule;
 import org.eclipse.rap.rwt.internal.theme.css.StyleSheet;
+import org.eclipse.rap.rwt.service.ResourceLoader;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Widget;
@@ -144,6 +147,41 @@ public class ThemeManager_Test {
     assertTrue( joinedAppearances.contains( "\"sash-handle\" : {" ) );
   }
 
+  @Test
+  public void testStandardWidgetResourcesAreShared() {
+    ThemeManager otherManager = new ThemeManager();
+
+    manager.activate();
+    otherManager.activate();
+
+    ThemeableWidget widget = manager.getThemeableWidget( Button.class );
+    ThemeableWidget otherWidget = otherManager.getThemeableWidget( Button.class );
+    assertSame( widget.elements, otherWidget.elements );
+    assertSame( widget.defaultStyleSheet, otherWidget.defaultStyleSheet );
+  }
+
+  @Test
+  public void testCustomWidgetResourcesAreNotShared() {
+    final List<String> requestedResources = new ArrayList<>();
+    ResourceLoader loader = new ResourceLoader() {
+      @Override
+      public InputStream getResourceAsStream( String resourceName ) {
+        requestedResources.add( resourceName );
+        return null;
+      }
+    };
+    ThemeManager otherManager = new ThemeManager();
+    manager.addThemeableWidget( CustomWidget.class.getName(), loader );
+    otherManager.addThemeableWidget( CustomWidget.class.getName(), loader );
+
+    manager.activate();
+    int requestCount = requestedResources.size();
+    otherManager.activate();
+
+    assertTrue( requestCount > 0 );
+    assertEquals( 2 * requestCount, requestedResources.size() );
+  }
+
   private Theme getFallbackTheme() {
     return manager.getTheme( ThemeManager.FALLBACK_THEME_ID );
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import org.eclipse.rap.rwt.RWT;
@@ -168,4 +169,89 @@ public class WidgetMatcher_Test {
     assertEquals( BLUE, result );
   }
 
+  @Test
+  public void testSelect_withStyle_remembersResult() {
+    matcher.addStyle( "BORDER", SWT.BORDER );
+    ConditionalValue[] values = {
+      new ConditionalValue( RED, "[BORDER" ),
+      new ConditionalValue( BLUE )
+    };
+
+    CssValue first = matcher.select( new Button( shell, SWT.BORDER ), values );
+    CssValue second = matcher.select( new Button( shell, SWT.BORDER ), values );
+    CssValue other = matcher.select( new Button( shell, SWT.NONE ), values );
+
+    assertSame( RED, first );
+    assertSame( RED, second );
+    assertSame( BLUE, other );
+    assertEquals( 1, matcher.getHitCount() );
+    assertEquals( 2, matcher.getMissCount() );
+  }
+
+  @Test
+  public void testSelect_withVariant_remembersResultPerVariant() {
+    Widget widget = new Button( shell, SWT.PUSH );
+    ConditionalValue[] values = { new ConditionalValue( RED, ".special" ) };
+
+    CssValue withoutVariant = matcher.select( widget, values );
+    widget.setData( RWT.CUSTOM_VARIANT, "special" );
+    CssValue withVariant = matcher.select( widget, values );
+
+    assertNull( withoutVariant );
+    assertSame( RED, withVariant );
+    assertEquals( 0, matcher.getHitCount() );
+  }
+
+  @Test
+  public void testSelect_withNoMatch_remembersResult() {
+    Widget widget = new Button( shell, SWT.PUSH );
+    ConditionalValue[] values = { new ConditionalValue( RED, "[UNKNOWN" ) };
+
+    matcher.select( widget, values );
+    CssValue result = matcher.select( widget, values );
+
+    assertNull( result );
+    assertEquals( 1, matcher.getHitCount() );
+  }
+
+  @Test
+  public void testSelect_withState_evaluatesConstraintEveryTime() {
+    Constraint constraint = mock( Constraint.class );
+    Widget widget = new Button( shell, SWT.PUSH );
+    matcher.addState( "selected", constraint );
+    ConditionalValue[] values = { new ConditionalValue( RED, ":selected" ) };
+
+    matcher.select( widget, values );
+    matcher.select( widget, values );
+
+    verify( constraint, times( 2 ) ).matches( widget );
+    assertEquals( 0, matcher.getHitCount() );
+    assertEquals( 0, matcher.getMissCount() );
+  }
+
+  @Test
+  public void testSelect_afterAddStyle_discardsRememberedResults() {
+    Widget widget = new Button( shell, SWT.PUSH );
+    ConditionalValue[] values = { new ConditionalValue( RED, "[PUSH" ) };
+    matcher.select( widget, values );
+
+    matcher.addStyle( "PUSH", SWT.PUSH );
+    CssValue result = matcher.select( widget, values );
+
+    assertSame( RED, result );
+  }
+
+  @Test
+  public void testSelect_withDifferentValues_doesNotMixResults() {
+    Widget widget = new Button( shell, SWT.PUSH );
+    ConditionalValue[] values = { new ConditionalValue( RED ) };
+    ConditionalValue[] otherValues = { new ConditionalValue( BLUE ) };
+
+    CssValue result = matcher.select( widget, values );
+    CssValue otherResult = matcher.select( widget, otherValues );
+
+    assertSame( RED, result );
+    assertSame( BLUE, otherResult );
+  }
+
 }
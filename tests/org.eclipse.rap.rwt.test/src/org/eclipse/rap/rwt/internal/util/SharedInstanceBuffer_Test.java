@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,14 +10,22 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.util;
 
+import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serializeAndDeserialize;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.InstanceCreator;
 import org.junit.Before;
 import org.junit.Test;
@@ -106,6 +114,121 @@ public class SharedInstanceBuffer_Test {
     assertSame( value, removed );
   }
 
+  @Test
+  public void testGet_doesNotBlockOtherKeysDuringCreation() throws Exception {
+    final CountDownLatch creationStarted = new CountDownLatch( 1 );
+    final CountDownLatch creationReleased = new CountDownLatch( 1 );
+    Thread thread = new Thread( new Runnable() {
+      @Override
+      public void run() {
+        keyValueStore.get( key, new InstanceCreator<Object, Object>() {
+          @Override
+          public Object createInstance( Object key ) {
+            creationStarted.countDown();
+            await( creationReleased );
+            return value;
+          }
+        } );
+      }
+    } );
+    thread.start();
+    creationStarted.await();
+
+    Object otherValue = keyValueStore.get( new Object(), mockInstanceCreator( "other" ) );
+    creationReleased.countDown();
+    thread.join();
+
+    assertSame( "other", otherValue );
+  }
+
+  @Test
+  public void testGet_createsInstanceOnceForConcurrentRequests() throws Exception {
+    final AtomicInteger creations = new AtomicInteger();
+    final CountDownLatch start = new CountDownLatch( 1 );
+    final AtomicReference<Object> firstResult = new AtomicReference<>();
+    final AtomicReference<Object> secondResult = new AtomicReference<>();
+    final InstanceCreator<Object, Object> instanceCreator = new InstanceCreator<Object, Object>() {
+      @Override
+      public Object createInstance( Object key ) {
+        creations.incrementAndGet();
+        return new Object();
+      }
+    };
+    Thread thread1 = startThread( start, firstResult, instanceCreator );
+    Thread thread2 = startThread( start, secondResult, instanceCreator );
+
+    start.countDown();
+    thread1.join();
+    thread2.join();
+
+    assertEquals( 1, creations.get() );
+    assertSame( firstResult.get(), secondResult.get() );
+  }
+
+  @Test
+  public void testGet_retriesAfterFailedCreation() {
+    InstanceCreator<Object, Object> failingCreator = mockInstanceCreator( value );
+    when( failingCreator.createInstance( key ) ).thenThrow( new IllegalStateException() );
+    try {
+      keyValueStore.get( key, failingCreator );
+    } catch( IllegalStateException expected ) {
+    }
+
+    Object returnedValue = keyValueStore.get( key, mockInstanceCreator( value ) );
+
+    assertSame( value, returnedValue );
+  }
+
+  @Test
+  public void testSerialization() throws Exception {
+    SharedInstanceBuffer<String,String> buffer = new SharedInstanceBuffer<>();
+    buffer.get( "key", new TestInstanceCreator( "value" ) );
+    buffer.get( null, new TestInstanceCreator( "nullValue" ) );
+
+    SharedInstanceBuffer<String,String> deserialized = serializeAndDeserialize( buffer );
+
+    assertEquals( "value", deserialized.get( "key", new TestInstanceCreator( "other" ) ) );
+    assertEquals( "nullValue", deserialized.get( null, new TestInstanceCreator( "other" ) ) );
+  }
+
+  private Thread startThread( final CountDownLatch start,
+                              final AtomicReference<Object> result,
+                              final InstanceCreator<Object, Object> instanceCreator )
+  {
+    Thread thread = new Thread( new Runnable() {
+      @Override
+      public void run() {
+        await( start );
+        result.set( keyValueStore.get( key, instanceCreator ) );
+      }
+    } );
+    thread.start();
+    return thread;
+  }
+
+  private static void await( CountDownLatch latch ) {
+    try {
+      assertTrue( latch.await( 5, TimeUnit.SECONDS ) );
+    } catch( InterruptedException exception ) {
+      throw new RuntimeException( exception );
+    }
+  }
+
+  private static class TestInstanceCreator implements InstanceCreator<String, String> {
+
+    private final String value;
+
+    TestInstanceCreator( String value ) {
+      this.value = value;
+    }
+
+    @Override
+    public String createInstance( String key ) {
+      return value;
+    }
+
+  }
+
   @SuppressWarnings( "unchecked" )
   private static InstanceCreator<Object, Object> mockInstanceCreator( Object value ) {
     InstanceCreator mock = mock( InstanceCreator.class );
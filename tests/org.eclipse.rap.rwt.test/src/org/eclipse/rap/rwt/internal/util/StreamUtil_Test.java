@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2012 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,15 +11,20 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.util;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 
 import org.junit.Test;
 
@@ -49,6 +54,33 @@ public class StreamUtil_Test {
     assertEquals( CONTENT[ 0 ], buffered[ 0 ] );
   }
 
+  @Test
+  public void testRead() throws IOException {
+    byte[] content = createContent( 20000 );
+
+    byte[] read = StreamUtil.read( new ByteArrayInputStream( content ) );
+
+    assertArrayEquals( content, read );
+  }
+
+  @Test
+  public void testRead_fromFile() throws IOException {
+    byte[] content = createContent( 20000 );
+    File file = File.createTempFile( "streamutil", ".bin" );
+    try {
+      Files.write( file.toPath(), content );
+      try( FileInputStream inputStream = new FileInputStream( file ) ) {
+        inputStream.read();
+
+        byte[] read = StreamUtil.read( inputStream );
+
+        assertEquals( content.length - 1, read.length );
+        assertEquals( content[ 1 ], read[ 0 ] );
+      }
+    } finally {
+      file.delete();
+    }
+  }
 
   @SuppressWarnings( "resource" )
   @Test
@@ -72,4 +104,12 @@ public class StreamUtil_Test {
     }
   }
 
+  private static byte[] createContent( int length ) {
+    byte[] result = new byte[ length ];
+    for( int i = 0; i < length; i++ ) {
+      result[ i ] = ( byte )i;
+    }
+    return result;
+  }
+
 }
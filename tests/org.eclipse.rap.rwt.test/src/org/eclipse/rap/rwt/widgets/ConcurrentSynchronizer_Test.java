@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.widgets;
+
+import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.joinThreads;
+import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.startThreads;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ConcurrentSynchronizer_Test {
+
+  private Display display;
+  private ConcurrentSynchronizer synchronizer;
+  private List<String> log;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    display = new Display();
+    synchronizer = new ConcurrentSynchronizer( display );
+    display.setSynchronizer( synchronizer );
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    log = new ArrayList<>();
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testAsyncExec_executesRunnablesInOrder() {
+    display.asyncExec( new LogRunnable( "a" ) );
+    display.asyncExec( new LogRunnable( "b" ) );
+    display.asyncExec( new LogRunnable( "c" ) );
+
+    display.readAndDispatch();
+
+    assertEquals( "[a, b, c]", log.toString() );
+  }
+
+  @Test
+  public void testAsyncExec_executesBatchInSingleTurn() {
+    display.asyncExec( new LogRunnable( "a" ) );
+    display.asyncExec( new LogRunnable( "b" ) );
+
+    assertTrue( display.readAndDispatch() );
+    assertFalse( display.readAndDispatch() );
+  }
+
+  @Test
+  public void testAsyncExec_executesRunnablesAddedDuringTurnInNextTurn() {
+    display.asyncExec( new Runnable() {
+      @Override
+      public void run() {
+        log.add( "a" );
+        display.asyncExec( new LogRunnable( "b" ) );
+      }
+    } );
+
+    display.readAndDispatch();
+    assertEquals( "[a]", log.toString() );
+    display.readAndDispatch();
+
+    assertEquals( "[a, b]", log.toString() );
+  }
+
+  @Test
+  public void testAsyncExec_notifiesServerPush() {
+    display.asyncExec( new LogRunnable( "a" ) );
+
+    assertTrue( ServerPushManager.getInstance().hasRunnables() );
+  }
+
+  @Test
+  public void testAsyncExec_resetsServerPushAfterExecution() {
+    display.asyncExec( new LogRunnable( "a" ) );
+    display.asyncExec( new LogRunnable( "b" ) );
+
+    display.readAndDispatch();
+
+    assertFalse( ServerPushManager.getInstance().hasRunnables() );
+  }
+
+  @Test
+  public void testAsyncExec_withKey_executesLatestRunnable() {
+    Runnable first = mock( Runnable.class );
+
+    synchronizer.asyncExec( "key", first );
+    synchronizer.asyncExec( "key", new LogRunnable( "latest" ) );
+    display.readAndDispatch();
+
+    verify( first, never() ).run();
+    assertEquals( "[latest]", log.toString() );
+  }
+
+  @Test
+  public void testAsyncExec_withKey_keepsPositionOfFirstRunnable() {
+    synchronizer.asyncExec( "key", new LogRunnable( "a1" ) );
+    display.asyncExec( new LogRunnable( "b" ) );
+    synchronizer.asyncExec( "key", new LogRunnable( "a2" ) );
+
+    display.readAndDispatch();
+
+    assertEquals( "[a2, b]", log.toString() );
+  }
+
+  @Test
+  public void testAsyncExec_withDifferentKeys() {
+    synchronizer.asyncExec( "key1", new LogRunnable( "a" ) );
+    synchronizer.asyncExec( "key2", new LogRunnable( "b" ) );
+
+    display.readAndDispatch();
+
+    assertEquals( "[a, b]", log.toString() );
+  }
+
+  @Test
+  public void testAsyncExec_withKey_afterExecution() {
+    synchronizer.asyncExec( "key", new LogRunnable( "a" ) );
+    display.readAndDispatch();
+
+    synchronizer.asyncExec( "key", new LogRunnable( "b" ) );
+    display.readAndDispatch();
+
+    assertEquals( "[a, b]", log.toString() );
+  }
+
+  @Test( expected = NullPointerException.class )
+  public void testAsyncExec_withNullKey() {
+    synchronizer.asyncExec( null, mock( Runnable.class ) );
+  }
+
+  @Test( expected = NullPointerException.class )
+  public void testAsyncExec_withKeyAndNullRunnable() {
+    synchronizer.asyncExec( "key", null );
+  }
+
+  @Test
+  public void testAsyncExec_executesRemainingRunnablesAfterException() {
+    final RuntimeException exception = new RuntimeException();
+    display.asyncExec( new Runnable() {
+      @Override
+      public void run() {
+        throw exception;
+      }
+    } );
+    display.asyncExec( new LogRunnable( "b" ) );
+
+    try {
+      display.readAndDispatch();
+      fail();
+    } catch( SWTException swtException ) {
+      assertEquals( SWT.ERROR_FAILED_EXEC, swtException.code );
+      assertSame( exception, swtException.throwable );
+    }
+    display.readAndDispatch();
+
+    assertEquals( "[b]", log.toString() );
+  }
+
+  @Test
+  public void testAsyncExec_fromConcurrentThreads() throws Exception {
+    final AtomicInteger counter = new AtomicInteger();
+    final Runnable increment = new Runnable() {
+      @Override
+      public void run() {
+        counter.incrementAndGet();
+      }
+    };
+    Runnable producer = new Runnable() {
+      @Override
+      public void run() {
+        for( int i = 0; i < 1000; i++ ) {
+          display.asyncExec( increment );
+        }
+      }
+    };
+
+    Thread[] threads = startThreads( 10, producer );
+    joinThreads( threads );
+    while( display.readAndDispatch() ) {
+      // execute all pending runnables
+    }
+
+    assertEquals( 10000, counter.get() );
+  }
+
+  private class LogRunnable implements Runnable {
+
+    private final String name;
+
+    LogRunnable( String name ) {
+      this.name = name;
+    }
+
+    @Override
+    public void run() {
+      log.add( name );
+    }
+
+  }
+
+}
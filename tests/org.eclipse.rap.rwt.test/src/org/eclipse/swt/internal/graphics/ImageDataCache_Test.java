@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,7 @@
 package org.eclipse.swt.internal.graphics;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -23,6 +24,8 @@ import java.util.Arrays;
 
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -88,6 +91,61 @@ public class ImageDataCache_Test {
     assertEqualsImageData( copyData1, copyData2 );
   }
 
+  @Test
+  public void testEvictsLeastRecentlyUsedEntry() {
+    ImageDataCache cache = new ImageDataCache( 150 );
+    InternalImage image1 = createInternalImage( "image1" );
+    InternalImage image2 = createInternalImage( "image2" );
+    InternalImage image3 = createInternalImage( "image3" );
+    cache.putImageData( image1, createImageData() );
+    cache.putImageData( image2, createImageData() );
+    cache.getImageData( image1 );
+
+    cache.putImageData( image3, createImageData() );
+
+    assertNotNull( cache.getImageData( image1 ) );
+    assertNull( cache.getImageData( image2 ) );
+    assertNotNull( cache.getImageData( image3 ) );
+    assertEquals( 1, cache.getEvictionCount() );
+  }
+
+  @Test
+  public void testWeight() {
+    ImageDataCache cache = new ImageDataCache();
+    InternalImage internalImage = createInternalImage( "image" );
+
+    cache.putImageData( internalImage, createImageData() );
+    cache.putImageData( internalImage, createImageData() );
+
+    assertEquals( 1, cache.getSize() );
+    assertEquals( 64, cache.getWeight() );
+  }
+
+  @Test
+  public void testHitAndMissCount() {
+    ImageDataCache cache = new ImageDataCache();
+    InternalImage internalImage = createInternalImage( "image" );
+
+    cache.getImageData( internalImage );
+    cache.putImageData( internalImage, createImageData() );
+    cache.getImageData( internalImage );
+    cache.getImageData( internalImage );
+
+    assertEquals( 2, cache.getHitCount() );
+    assertEquals( 1, cache.getMissCount() );
+  }
+
+  private static InternalImage createInternalImage( String path ) {
+    return new InternalImage( path, 8, 8, false );
+  }
+
+  private static ImageData createImageData() {
+    PaletteData paletteData = new PaletteData( new RGB[] {
+      new RGB( 0, 0, 0 ), new RGB( 255, 255, 255 )
+    } );
+    return new ImageData( 8, 8, 8, paletteData ); // 64 bytes
+  }
+
   private ImageData getImageData( String resource ) throws IOException {
     InputStream inputStream = getClass().getClassLoader().getResourceAsStream( resource );
     try {
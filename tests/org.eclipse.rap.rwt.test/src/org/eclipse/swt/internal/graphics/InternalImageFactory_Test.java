@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,13 +19,13 @@ import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 
 import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.internal.util.StreamUtil;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
@@ -74,7 +74,7 @@ public class InternalImageFactory_Test {
   @Test
   public void testReadImageData() throws IOException {
     InputStream inputStream = CLASS_LOADER.getResourceAsStream( Fixture.IMAGE_100x50 );
-    ImageData data = InternalImageFactory.readImageData( new BufferedInputStream( inputStream ) );
+    ImageData data = InternalImageFactory.readImageData( StreamUtil.read( inputStream ) );
     inputStream.close();
 
     assertEquals( 100, data.width );
@@ -84,7 +84,7 @@ public class InternalImageFactory_Test {
   @Test
   public void testImageWithUndefinedType() {
     // imageData without type field should not throw SWT exception
-    assertNotNull( InternalImageFactory.createInputStream( createImageDataWithoutType() ) );
+    assertNotNull( InternalImageFactory.encodeImageData( createImageDataWithoutType() ) );
   }
 
   @Test
@@ -207,7 +207,8 @@ public class InternalImageFactory_Test {
 
   @Test
   public void testImageExtension_UndefinedType() throws IOException {
-    InputStream stream = InternalImageFactory.createInputStream( createImageDataWithoutType() );
+    byte[] bytes = InternalImageFactory.encodeImageData( createImageDataWithoutType() );
+    InputStream stream = new ByteArrayInputStream( bytes );
 
     InternalImage internalImage = internalImageFactory.findInternalImage( stream );
     stream.close();
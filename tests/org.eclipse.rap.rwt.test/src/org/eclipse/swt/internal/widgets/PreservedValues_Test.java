@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class PreservedValues_Test {
+
+  private static final int FOO = PreservedValues.getPropertyId( "foo" );
+  private static final int BAR = PreservedValues.getPropertyId( "bar" );
+
+  private PreservedValues values;
+
+  @Before
+  public void setUp() {
+    values = new PreservedValues();
+  }
+
+  @Test
+  public void testGetPropertyId_isStable() {
+    int id = PreservedValues.getPropertyId( "foo" );
+
+    assertEquals( id, PreservedValues.getPropertyId( new String( "foo" ) ) );
+  }
+
+  @Test
+  public void testGetPropertyId_differsForDifferentNames() {
+    int id1 = PreservedValues.getPropertyId( "foo" );
+    int id2 = PreservedValues.getPropertyId( "bar" );
+
+    assertTrue( id1 != id2 );
+  }
+
+  @Test
+  public void testGet_unknownProperty() {
+    assertNull( values.get( FOO ) );
+  }
+
+  @Test
+  public void testPut() {
+    Object value = new Object();
+
+    values.put( FOO, value );
+
+    assertSame( value, values.get( FOO ) );
+  }
+
+  @Test
+  public void testPut_nullValue() {
+    values.put( FOO, null );
+
+    assertNull( values.get( FOO ) );
+    assertEquals( 1, values.size() );
+  }
+
+  @Test
+  public void testPut_replacesValue() {
+    values.put( FOO, "a" );
+
+    values.put( FOO, "b" );
+
+    assertEquals( "b", values.get( FOO ) );
+    assertEquals( 1, values.size() );
+  }
+
+  @Test
+  public void testPutInt() {
+    values.putInt( FOO, 1234 );
+
+    assertEquals( Integer.valueOf( 1234 ), values.get( FOO ) );
+  }
+
+  @Test
+  public void testPutBoolean() {
+    values.putBoolean( FOO, true );
+    values.putBoolean( BAR, false );
+
+    assertEquals( Boolean.TRUE, values.get( FOO ) );
+    assertEquals( Boolean.FALSE, values.get( BAR ) );
+  }
+
+  @Test
+  public void testPut_growsBeyondInitialCapacity() {
+    for( int i = 0; i < 20; i++ ) {
+      values.putInt( PreservedValues.getPropertyId( "prop" + i ), i );
+    }
+
+    assertEquals( 20, values.size() );
+    for( int i = 0; i < 20; i++ ) {
+      assertEquals( i, values.getInt( PreservedValues.getPropertyId( "prop" + i ) ) );
+    }
+  }
+
+  @Test
+  public void testGetPropertyName() {
+    assertEquals( "foo", PreservedValues.getPropertyName( FOO ) );
+  }
+
+  @Test
+  public void testGetInt() {
+    values.putInt( FOO, 1234 );
+
+    assertEquals( 1234, values.getInt( FOO ) );
+  }
+
+  @Test
+  public void testGetInt_withIntegerObject() {
+    values.put( FOO, Integer.valueOf( 1234 ) );
+
+    assertEquals( 1234, values.getInt( FOO ) );
+  }
+
+  @Test
+  public void testGetBoolean() {
+    values.putBoolean( FOO, true );
+    values.putBoolean( BAR, false );
+
+    assertTrue( values.getBoolean( FOO ) );
+    assertFalse( values.getBoolean( BAR ) );
+  }
+
+  @Test
+  public void testGetBoolean_withBooleanObject() {
+    values.put( FOO, Boolean.TRUE );
+
+    assertTrue( values.getBoolean( FOO ) );
+  }
+
+  @Test
+  public void testContains() {
+    values.putInt( FOO, 0 );
+
+    assertTrue( values.contains( FOO ) );
+    assertFalse( values.contains( BAR ) );
+  }
+
+  @Test
+  public void testContains_withNullValue() {
+    values.put( FOO, null );
+
+    assertFalse( values.contains( FOO ) );
+  }
+
+  @Test
+  public void testGet_inDifferentOrder() {
+    values.putInt( FOO, 1 );
+    values.putInt( BAR, 2 );
+
+    assertEquals( 2, values.getInt( BAR ) );
+    assertEquals( 2, values.getInt( BAR ) );
+    assertEquals( 1, values.getInt( FOO ) );
+    assertEquals( 2, values.getInt( BAR ) );
+  }
+
+  @Test
+  public void testClear() {
+    values.put( FOO, "a" );
+    values.putInt( BAR, 1 );
+
+    values.clear();
+
+    assertEquals( 0, values.size() );
+    assertNull( values.get( FOO ) );
+    assertNull( values.get( BAR ) );
+  }
+
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import static org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil.getAdapter;
+import static org.eclipse.rap.rwt.testfixture.internal.Fixture.getProtocolMessage;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.lifecycle.DisplayUtil;
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.testfixture.TestContext;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.rap.rwt.testfixture.internal.TestMessage;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Widget;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+
+public class WidgetChangeTracker_Test {
+
+  private Display display;
+  private Shell shell;
+  private Composite composite;
+  private Button button;
+  private Button otherButton;
+  private WidgetChangeTracker changeTracker;
+
+  @Rule
+  public TestContext context = new TestContext();
+
+  @Before
+  public void setUp() {
+    System.setProperty( RWTProperties.WIDGET_CHANGE_TRACKING, "true" );
+    display = new Display();
+    shell = new Shell( display );
+    composite = new Composite( shell, SWT.NONE );
+    button = new Button( composite, SWT.PUSH );
+    otherButton = new Button( shell, SWT.PUSH );
+    changeTracker = display.getAdapter( WidgetChangeTracker.class );
+    Fixture.markInitialized( display );
+    markInitialized( shell, composite, button, otherButton );
+    changeTracker.clear();
+  }
+
+  @After
+  public void tearDown() {
+    System.getProperties().remove( RWTProperties.WIDGET_CHANGE_TRACKING );
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    System.getProperties().remove( RWTProperties.WIDGET_CHANGE_TRACKING );
+    display.dispose();
+
+    Display otherDisplay = new Display();
+
+    assertNull( otherDisplay.getAdapter( WidgetChangeTracker.class ) );
+  }
+
+  @Test
+  public void testWidgetCreated_isDirty() {
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+
+    Button newButton = new Button( shell, SWT.PUSH );
+
+    assertTrue( changeTracker.isDirty( newButton ) );
+    assertTrue( changeTracker.isDirty( shell ) );
+  }
+
+  @Test
+  public void testWidgetAccessed_inProcessAction_marksSubtreeAndAncestors() {
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+
+    composite.getSize();
+
+    assertTrue( changeTracker.isDirty( composite ) );
+    assertTrue( changeTracker.isDirty( button ) );
+    assertTrue( changeTracker.isDirty( shell ) );
+    assertFalse( changeTracker.isDirty( otherButton ) );
+  }
+
+  @Test
+  public void testWidgetAccessed_inProcessAction_preservesBeforeChange() {
+    button.setText( "old" );
+    changeTracker.clear();
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+
+    button.setText( "new" );
+
+    assertEquals( "old", getAdapter( button ).getPreserved( "text" ) );
+  }
+
+  @Test
+  public void testWidgetAccessed_inRender_isIgnored() {
+    Fixture.fakePhase( PhaseId.RENDER );
+
+    button.getText();
+
+    assertFalse( changeTracker.hasDirtyWidgets() );
+  }
+
+  @Test
+  public void testWidgetAccessed_inReadData_isPreservedWithOtherWidgets() {
+    Fixture.fakePhase( PhaseId.READ_DATA );
+    button.setText( "new" );
+    assertFalse( changeTracker.isDirty( button ) );
+
+    DisplayUtil.getLCA( display ).preserveValues( display );
+
+    assertTrue( changeTracker.isDirty( button ) );
+    assertEquals( "new", getAdapter( button ).getPreserved( "text" ) );
+  }
+
+  @Test
+  public void testWidgetAccessed_inNewRequest_preservesWidgetDirtyFromPreviousRequest() {
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    button.setText( "old" );
+
+    Fixture.fakeNewRequest();
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    button.setText( "new" );
+
+    assertEquals( "old", getAdapter( button ).getPreserved( "text" ) );
+  }
+
+  @Test
+  public void testNewRequest_keepsUninitializedWidgetsDirty() {
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    Button newButton = new Button( shell, SWT.PUSH );
+
+    Fixture.fakeNewRequest();
+    Fixture.fakePhase( PhaseId.READ_DATA );
+    DisplayUtil.getLCA( display ).preserveValues( display );
+
+    assertTrue( changeTracker.isDirty( newButton ) );
+    assertFalse( changeTracker.isDirty( shell ) );
+  }
+
+  @Test
+  public void testClearPreserved_clearsDirtyWidgets() {
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    button.setText( "new" );
+
+    Fixture.fakePhase( PhaseId.RENDER );
+    DisplayUtil.getLCA( display ).clearPreserved( display );
+
+    assertFalse( changeTracker.hasDirtyWidgets() );
+    assertNull( getAdapter( button ).getPreserved( "text" ) );
+  }
+
+  @Test
+  public void testRender_rendersDirtyWidgetsOnly() throws IOException {
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    button.setText( "foo" );
+    otherButton.setText( "bar" );
+    otherButton.setText( "" );
+
+    Fixture.fakePhase( PhaseId.RENDER );
+    DisplayUtil.getLCA( display ).render( display );
+
+    TestMessage message = getProtocolMessage();
+    assertNotNull( message.findSetOperation( button, "text" ) );
+    assertNull( message.findSetOperation( otherButton, "text" ) );
+  }
+
+  @Test
+  public void testRender_withoutDirtyWidgets() throws IOException {
+    Fixture.fakePhase( PhaseId.RENDER );
+    DisplayUtil.getLCA( display ).render( display );
+
+    assertEquals( 0, getProtocolMessage().getOperationCount() );
+  }
+
+  private static void markInitialized( Widget... widgets ) {
+    for( Widget widget : widgets ) {
+      Fixture.markInitialized( widget );
+    }
+  }
+
+}
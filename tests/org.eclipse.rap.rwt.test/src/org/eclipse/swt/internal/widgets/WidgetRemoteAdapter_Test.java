@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -115,6 +115,67 @@ public class WidgetRemoteAdapter_Test {
     assertNull( adapter.getPreserved( "prop" ) );
   }
 
+  @Test
+  public void testPreserveIntProperty() {
+    int propertyId = WidgetRemoteAdapter.getPropertyId( "prop" );
+
+    adapter.preserve( propertyId, 23 );
+
+    assertEquals( 23, adapter.getPreservedInt( propertyId ) );
+    assertEquals( Integer.valueOf( 23 ), adapter.getPreserved( "prop" ) );
+  }
+
+  @Test
+  public void testPreserveBooleanProperty() {
+    int propertyId = WidgetRemoteAdapter.getPropertyId( "prop" );
+
+    adapter.preserve( propertyId, true );
+
+    assertTrue( adapter.getPreservedBoolean( propertyId ) );
+    assertEquals( Boolean.TRUE, adapter.getPreserved( "prop" ) );
+  }
+
+  @Test
+  public void testPreserveProperty_withPropertyId() {
+    Object value = new Object();
+    int propertyId = WidgetRemoteAdapter.getPropertyId( "prop" );
+
+    adapter.preserve( propertyId, value );
+
+    assertSame( value, adapter.getPreserved( "prop" ) );
+    assertSame( value, adapter.getPreserved( propertyId ) );
+  }
+
+  @Test
+  public void testPreserveProperty_overridesPrimitiveValue() {
+    Object value = new Object();
+    adapter.preserve( WidgetRemoteAdapter.getPropertyId( "prop" ), 23 );
+
+    adapter.preserve( "prop", value );
+
+    assertSame( value, adapter.getPreserved( "prop" ) );
+  }
+
+  @Test
+  public void testIsPreserved() {
+    int propertyId = WidgetRemoteAdapter.getPropertyId( "prop" );
+
+    adapter.preserve( propertyId, false );
+
+    assertTrue( adapter.isPreserved( propertyId ) );
+  }
+
+  @Test
+  public void testPreserveIntProperty_isCleared() {
+    int propertyId = WidgetRemoteAdapter.getPropertyId( "prop" );
+    adapter.preserve( propertyId, 23 );
+
+    adapter.clearPreserved();
+
+    assertFalse( adapter.isPreserved( propertyId ) );
+    assertNull( adapter.getPreserved( "prop" ) );
+  }
+
   @Test
   public void testPreserveProperty_isTransient() throws Exception {
     adapter.preserve( "prop", new Object() );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2015 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -159,7 +159,8 @@ public class CanvasLCA_Test {
     lca.renderChanges( canvas );
 
     CallOperation draw = getGCOperation( canvas, "draw" );
-    assertEquals( 8, draw.getParameters().get( "operations" ).asArray().size() );
+    // both lines are merged into one path
+    assertEquals( 6, draw.getParameters().get( "operations" ).asArray().size() );
   }
 
   // see bug 323080
@@ -204,7 +205,8 @@ public class CanvasLCA_Test {
     lca.renderChanges( canvas );
 
     CallOperation draw = getGCOperation( canvas, "draw" );
-    assertEquals( 8, draw.getParameters().get( "operations" ).asArray().size() );
+    // both lines are merged into one path
+    assertEquals( 6, draw.getParameters().get( "operations" ).asArray().size() );
     assertEquals( 0, adapter.getGCOperations().length );
   }
 
@@ -275,7 +277,8 @@ public class CanvasLCA_Test {
     assertEquals( 150, init.getParameters().get( "width" ).asInt() );
     assertEquals( 150, init.getParameters().get( "height" ).asInt() );
     CallOperation draw = getGCOperation( canvas, "draw" );
-    assertEquals( 8, draw.getParameters().get( "operations" ).asArray().size() );
+    // both lines are merged into one path
+    assertEquals( 6, draw.getParameters().get( "operations" ).asArray().size() );
   }
 
   @Test
@@ -299,7 +302,8 @@ public class CanvasLCA_Test {
     lca.renderChanges( canvas );
 
     CallOperation draw = getGCOperation( canvas, "draw" );
-    assertEquals( 8, draw.getParameters().get( "operations" ).asArray().size() );
+    // both lines are merged into one path
+    assertEquals( 6, draw.getParameters().get( "operations" ).asArray().size() );
   }
 
   @Test
@@ -325,6 +329,66 @@ public class CanvasLCA_Test {
     assertNull( getGCOperation( canvas, "draw" ) );
   }
 
+  @Test
+  public void testRenderOperations_skipsUnchangedFrame() throws IOException {
+    prepareRedraw( new PaintListener() {
+      @Override
+      public void paintControl( PaintEvent event ) {
+        event.gc.drawLine( 1, 2, 3, 4 );
+      }
+    } );
+    canvas.redraw();
+    lca.renderChanges( canvas );
+    Fixture.fakeResponseWriter();
+
+    canvas.redraw();
+    lca.renderChanges( canvas );
+
+    assertNull( getGCOperation( canvas, "init" ) );
+    assertNull( getGCOperation( canvas, "draw" ) );
+  }
+
+  @Test
+  public void testRenderOperations_rendersChangedFrame() throws IOException {
+    final int[] offset = { 0 };
+    prepareRedraw( new PaintListener() {
+      @Override
+      public void paintControl( PaintEvent event ) {
+        event.gc.drawLine( offset[ 0 ], 2, 3, 4 );
+      }
+    } );
+    canvas.redraw();
+    lca.renderChanges( canvas );
+    Fixture.fakeResponseWriter();
+
+    offset[ 0 ] = 1;
+    canvas.redraw();
+    lca.renderChanges( canvas );
+
+    assertNotNull( getGCOperation( canvas, "init" ) );
+    assertNotNull( getGCOperation( canvas, "draw" ) );
+  }
+
+  @Test
+  public void testRenderOperations_doesNotSkipFrameWithClientPaintListener() throws IOException {
+    prepareRedraw( new PaintListener() {
+      @Override
+      public void paintControl( PaintEvent event ) {
+        event.gc.drawLine( 1, 2, 3, 4 );
+      }
+    } );
+    canvas.addListener( SWT.Paint, new ClientListener( "" ) );
+    canvas.redraw();
+    lca.renderChanges( canvas );
+    Fixture.fakeResponseWriter();
+
+    canvas.redraw();
+    lca.renderChanges( canvas );
+
+    assertNotNull( getGCOperation( canvas, "init" ) );
+    assertNotNull( getGCOperation( canvas, "draw" ) );
+  }
+
   @Test
   public void testRenderClientArea() {
     canvas.setSize( 110, 120 );
@@ -369,6 +433,16 @@ public class CanvasLCA_Test {
     assertNotNull( message.findCallOperation( canvas, "addListener" ) );
   }
 
+  private void prepareRedraw( PaintListener paintListener ) {
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    canvas.setSize( 50, 50 );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( canvas );
+    Fixture.preserveWidgets();
+    canvas.addPaintListener( paintListener );
+    Fixture.fakeResponseWriter();
+  }
+
   private Rectangle toRectangle( Object property ) {
     JsonArray jsonArray = ( JsonArray )property;
     Rectangle result = new Rectangle(
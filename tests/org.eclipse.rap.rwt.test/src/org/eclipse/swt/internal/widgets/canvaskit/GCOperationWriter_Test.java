@@ -12,11 +12,14 @@ package org.eclipse.swt.internal.widgets.canvaskit;
 
 import static org.eclipse.rap.rwt.testfixture.internal.TestUtil.createImage;
 import static org.eclipse.swt.internal.widgets.canvaskit.GCOperationWriter.getGcId;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
@@ -209,6 +212,89 @@ public class GCOperationWriter_Test {
     assertEquals( "[\"stroke\"]", getOperation( 3, ops ) );
   }
 
+  @Test
+  public void testDrawLine_mergesConsecutiveLines() {
+    gc.drawLine( 10, 11, 20, 21 );
+    gc.drawLine( 30, 31, 40, 41 );
+
+    JsonArray ops = getGCOperations( canvas );
+    assertEquals( 6, ops.size() );
+    assertEquals( "[\"beginPath\"]", getOperation( 0, ops ) );
+    assertEquals( "[\"moveTo\",10.5,11.5]", getOperation( 1, ops ) );
+    assertEquals( "[\"lineTo\",20.5,21.5]", getOperation( 2, ops ) );
+    assertEquals( "[\"moveTo\",30.5,31.5]", getOperation( 3, ops ) );
+    assertEquals( "[\"lineTo\",40.5,41.5]", getOperation( 4, ops ) );
+    assertEquals( "[\"stroke\"]", getOperation( 5, ops ) );
+  }
+
+  @Test
+  public void testDrawLine_mergesLinesAndPolylines() {
+    gc.drawLine( 10, 11, 20, 21 );
+    gc.drawPolyline( new int[]{ 30, 31, 40, 41, 50, 51 } );
+
+    JsonArray ops = getGCOperations( canvas );
+    assertEquals( 7, ops.size() );
+    assertEquals( "[\"moveTo\",30.5,31.5]", getOperation( 3, ops ) );
+    assertEquals( "[\"stroke\"]", getOperation( 6, ops ) );
+  }
+
+  @Test
+  public void testDrawLine_doesNotMergeAcrossPropertyChange() {
+    gc.drawLine( 10, 11, 20, 21 );
+    gc.setLineWidth( 2 );
+    gc.drawLine( 30, 31, 40, 41 );
+
+    JsonArray ops = getGCOperations( canvas );
+    assertEquals( "[\"stroke\"]", getOperation( 3, ops ) );
+    assertEquals( "[\"lineWidth\",2]", getOperation( 4, ops ) );
+    assertEquals( "[\"beginPath\"]", getOperation( 5, ops ) );
+    assertEquals( "[\"stroke\"]", getOperation( 8, ops ) );
+  }
+
+  @Test
+  public void testDrawLine_doesNotMergeTranslucentLines() {
+    gc.setAlpha( 100 );
+    gc.drawLine( 10, 11, 20, 21 );
+    gc.drawLine( 30, 31, 40, 41 );
+
+    JsonArray ops = getGCOperations( canvas );
+    assertEquals( 9, ops.size() );
+    assertEquals( "[\"stroke\"]", getOperation( 4, ops ) );
+    assertEquals( "[\"beginPath\"]", getOperation( 5, ops ) );
+  }
+
+  @Test
+  public void testGetFrameDigest_equalForSameOperations() {
+    gc.drawLine( 10, 11, 20, 21 );
+    GCOperation[] operations = getGCAdapter( canvas ).getGCOperations();
+
+    GCOperationWriter writer1 = new GCOperationWriter( canvas );
+    GCOperationWriter writer2 = new GCOperationWriter( canvas );
+    for( GCOperation operation : operations ) {
+      writer1.write( operation );
+      writer2.write( operation );
+    }
+
+    assertArrayEquals( writer1.getFrameDigest(), writer2.getFrameDigest() );
+  }
+
+  @Test
+  public void testGetFrameDigest_differsForOtherOperations() {
+    gc.drawLine( 10, 11, 20, 21 );
+    GCOperationWriter writer1 = new GCOperationWriter( canvas );
+    for( GCOperation operation : getGCAdapter( canvas ).getGCOperations() ) {
+      writer1.write( operation );
+    }
+    getGCAdapter( canvas ).clearGCOperations();
+    gc.drawLine( 10, 11, 20, 22 );
+    GCOperationWriter writer2 = new GCOperationWriter( canvas );
+    for( GCOperation operation : getGCAdapter( canvas ).getGCOperations() ) {
+      writer2.write( operation );
+    }
+
+    assertFalse( Arrays.equals( writer1.getFrameDigest(), writer2.getFrameDigest() ) );
+  }
+
   @Test
   public void testDrawPoint() {
     gc.setForeground( new Color( display, 255, 0, 7 ) );
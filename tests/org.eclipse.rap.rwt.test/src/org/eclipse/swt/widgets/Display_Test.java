@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -44,6 +44,7 @@ import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleUtil;
 import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
 import org.eclipse.rap.rwt.internal.lifecycle.RemoteAdapter;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil;
+import org.eclipse.rap.rwt.internal.textsize.EstimationTracker;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTError;
@@ -84,6 +85,21 @@ public class Display_Test {
     Fixture.tearDown();
   }
 
+  @Test
+  public void testGetEstimationTracker() {
+    EstimationTracker tracker = display.getEstimationTracker();
+
+    assertNotNull( tracker );
+    assertSame( EstimationTracker.getInstance(), tracker );
+  }
+
+  @Test
+  public void testGetEstimationTracker_returnsSameInstance() {
+    EstimationTracker tracker = display.getEstimationTracker();
+
+    assertSame( tracker, display.getEstimationTracker() );
+  }
+
   @Test
   public void testGetAdapter_forDisplayAdapter() {
     Object adapter = display.getAdapter( IDisplayAdapter.class );
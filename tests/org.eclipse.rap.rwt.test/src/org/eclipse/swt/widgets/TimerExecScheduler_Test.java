@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,18 +14,27 @@ import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.joinT
 import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.startThreads;
 import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serialize;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
-import java.util.Timer;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.rap.rwt.testfixture.internal.NoOpRunnable;
 import org.junit.After;
@@ -39,23 +48,23 @@ public class TimerExecScheduler_Test {
   private TimerExecScheduler scheduler;
   private Display display;
   private Collection<Throwable> exceptions;
-  private Timer timer;
+  private ScheduledExecutorService executor;
+  private ScheduledFuture<?> future;
 
   @Before
   public void setUp() {
     Fixture.setUp();
     display = new Display();
-    timer = mock( Timer.class );
+    executor = mock( ScheduledExecutorService.class );
+    future = mock( ScheduledFuture.class );
+    when( Boolean.valueOf( future.cancel( false ) ) ).thenReturn( Boolean.TRUE );
+    doReturn( future ).when( executor ).schedule( any( Runnable.class ),
+                                                  anyLong(),
+                                                  any( TimeUnit.class ) );
     scheduler = new TimerExecScheduler( display ) {
       @Override
-      Timer createTimer() {
-        return timer;
-      }
-      @Override
-      TimerExecTask createTask( Runnable runnable ) {
-        TimerExecTask task = mock( TimerExecTask.class );
-        when( task.getRunnable() ).thenReturn( runnable );
-        return task;
+      ScheduledExecutorService getExecutor() {
+        return executor;
       }
     };
     exceptions = Collections.synchronizedList( new LinkedList<Throwable>() );
@@ -73,7 +82,7 @@ public class TimerExecScheduler_Test {
     scheduler.schedule( 23, runnable );
 
     ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 23L ) );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 23L ), eq( TimeUnit.MILLISECONDS ) );
     assertSame( runnable, taskCaptor.getValue().getRunnable() );
   }
 
@@ -85,11 +94,58 @@ public class TimerExecScheduler_Test {
     scheduler.schedule( 42, runnable );
 
     ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 23L ) );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 42L ) );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 23L ), eq( TimeUnit.MILLISECONDS ) );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 42L ), eq( TimeUnit.MILLISECONDS ) );
     assertSame( taskCaptor.getAllValues().get( 0 ), taskCaptor.getAllValues().get( 1 ) );
   }
 
+  @Test
+  public void testSchedule_reschedulingCancelsPendingExecution() {
+    Runnable runnable = mock( Runnable.class );
+
+    scheduler.schedule( 23, runnable );
+    scheduler.schedule( 42, runnable );
+
+    verify( future ).cancel( false );
+  }
+
+  @Test
+  public void testSchedule_createsNewTaskWhenPendingExecutionAlreadyFired() {
+    Runnable runnable = mock( Runnable.class );
+    scheduler.schedule( 23, runnable );
+    when( Boolean.valueOf( future.cancel( false ) ) ).thenReturn( Boolean.FALSE );
+
+    scheduler.schedule( 42, runnable );
+
+    ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 23L ), eq( TimeUnit.MILLISECONDS ) );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 42L ), eq( TimeUnit.MILLISECONDS ) );
+    assertNotSame( taskCaptor.getAllValues().get( 0 ), taskCaptor.getAllValues().get( 1 ) );
+  }
+
+  @Test
+  public void testSchedule_firedTaskDoesNotRemoveItsReplacement() {
+    Runnable runnable = mock( Runnable.class );
+    scheduler.schedule( 23, runnable );
+    when( Boolean.valueOf( future.cancel( false ) ) ).thenReturn( Boolean.FALSE );
+    scheduler.schedule( 42, runnable );
+    ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 23L ), eq( TimeUnit.MILLISECONDS ) );
+
+    taskCaptor.getValue().run();
+    scheduler.cancel( runnable );
+
+    verify( future, times( 2 ) ).cancel( false );
+    assertFalse( ServerPushManager.getInstance().isServerPushActive() );
+  }
+
+  @Test
+  public void testSchedule_activatesServerPush() {
+    scheduler.schedule( 23, mock( Runnable.class ) );
+
+    assertTrue( ServerPushManager.getInstance().isServerPushActive() );
+  }
+
   @Test
   public void testCancel_cancelsTask() {
     Runnable runnable = mock( Runnable.class );
@@ -97,9 +153,8 @@ public class TimerExecScheduler_Test {
 
     scheduler.cancel( runnable );
 
-    ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 23L ) );
-    verify( taskCaptor.getValue() ).cancel();
+    verify( future ).cancel( false );
+    assertFalse( ServerPushManager.getInstance().isServerPushActive() );
   }
 
   @Test
@@ -116,11 +171,22 @@ public class TimerExecScheduler_Test {
     scheduler.schedule( 42, runnable );
 
     ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 23L ) );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 42L ) );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 23L ), eq( TimeUnit.MILLISECONDS ) );
+    verify( executor ).schedule( taskCaptor.capture(), eq( 42L ), eq( TimeUnit.MILLISECONDS ) );
     assertNotSame( taskCaptor.getAllValues().get( 0 ), taskCaptor.getAllValues().get( 1 ) );
   }
 
+  @Test
+  public void testDispose_cancelsAllTasks() {
+    scheduler.schedule( 23, mock( Runnable.class ) );
+    scheduler.schedule( 42, mock( Runnable.class ) );
+
+    scheduler.dispose();
+
+    verify( future, times( 2 ) ).cancel( false );
+    assertFalse( ServerPushManager.getInstance().isServerPushActive() );
+  }
+
   @Test
   public void testSerializationIsThreadSafe() throws Exception {
     scheduler = new TimerExecScheduler( display );
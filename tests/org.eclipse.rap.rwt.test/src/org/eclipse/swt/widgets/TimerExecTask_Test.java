@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2014 EclipseSource and others.
+ * Copyright (c) 2012, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,12 +14,19 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.junit.After;
@@ -114,4 +121,55 @@ public class TimerExecTask_Test {
     assertFalse( ServerPushManager.getInstance().isServerPushActive() );
   }
 
+  @Test
+  public void testSchedule_submitsToExecutor() {
+    ScheduledExecutorService executor = mock( ScheduledExecutorService.class );
+    TimerExecTask task = new TimerExecTask( scheduler, mock( Runnable.class ) );
+
+    task.schedule( executor, 23 );
+
+    verify( executor ).schedule( same( task ), eq( 23L ), eq( TimeUnit.MILLISECONDS ) );
+  }
+
+  @Test
+  public void testSchedule_recordsExecutionTime() {
+    TimerExecTask task = new TimerExecTask( scheduler, mock( Runnable.class ) );
+    long before = System.currentTimeMillis();
+
+    task.schedule( mock( ScheduledExecutorService.class ), 1000 );
+
+    assertTrue( task.scheduledExecutionTime() >= before + 1000 );
+    assertTrue( task.scheduledExecutionTime() <= System.currentTimeMillis() + 1000 );
+  }
+
+  @Test
+  public void testSchedule_failsWhenAlreadyFired() {
+    ScheduledExecutorService executor = mock( ScheduledExecutorService.class );
+    ScheduledFuture<?> future = mock( ScheduledFuture.class );
+    doReturn( future ).when( executor ).schedule( any( Runnable.class ),
+                                                  anyLong(),
+                                                  any( TimeUnit.class ) );
+    TimerExecTask task = new TimerExecTask( scheduler, mock( Runnable.class ) );
+    task.schedule( executor, 23 );
+
+    boolean rescheduled = task.schedule( executor, 42 );
+
+    assertFalse( rescheduled );
+  }
+
+  @Test
+  public void testCancel_cancelsScheduledExecution() {
+    ScheduledExecutorService executor = mock( ScheduledExecutorService.class );
+    ScheduledFuture<?> future = mock( ScheduledFuture.class );
+    doReturn( future ).when( executor ).schedule( any( Runnable.class ),
+                                                  anyLong(),
+                                                  any( TimeUnit.class ) );
+    TimerExecTask task = new TimerExecTask( scheduler, mock( Runnable.class ) );
+    task.schedule( executor, 23 );
+
+    task.cancel();
+
+    verify( future ).cancel( false );
+  }
+
 }
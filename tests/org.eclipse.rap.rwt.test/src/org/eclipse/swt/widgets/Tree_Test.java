@@ -1586,6 +1586,74 @@ public class Tree_Test {
     assertSame( item1, result );
   }
 
+  @Test
+  public void testGetItemByPoint_withExpandedItems() {
+    TreeItem item = new TreeItem( tree, SWT.NONE );
+    TreeItem subItem = new TreeItem( item, SWT.NONE );
+    new TreeItem( subItem, SWT.NONE );
+    TreeItem subSubItem = new TreeItem( subItem, SWT.NONE );
+    TreeItem lastItem = new TreeItem( tree, SWT.NONE );
+    item.setExpanded( true );
+    subItem.setExpanded( true );
+    tree.setSize( 100, 500 );
+    int itemHeight = tree.getItemHeight();
+
+    assertSame( subSubItem, tree.getItem( new Point( 5, 3 * itemHeight + 1 ) ) );
+    assertSame( lastItem, tree.getItem( new Point( 5, 4 * itemHeight + 1 ) ) );
+    assertNull( tree.getItem( new Point( 5, 5 * itemHeight + 1 ) ) );
+  }
+
+  @Test
+  public void testGetVisibleItem() {
+    TreeItem item = new TreeItem( tree, SWT.NONE );
+    TreeItem subItem = new TreeItem( item, SWT.NONE );
+    TreeItem subSubItem = new TreeItem( subItem, SWT.NONE );
+    TreeItem lastItem = new TreeItem( tree, SWT.NONE );
+    item.setExpanded( true );
+    subItem.setExpanded( true );
+
+    assertSame( item, tree.getVisibleItem( 0 ) );
+    assertSame( subItem, tree.getVisibleItem( 1 ) );
+    assertSame( subSubItem, tree.getVisibleItem( 2 ) );
+    assertSame( lastItem, tree.getVisibleItem( 3 ) );
+    assertNull( tree.getVisibleItem( 4 ) );
+  }
+
+  @Test
+  public void testGetVisibleItem_afterCollapse() {
+    TreeItem item = new TreeItem( tree, SWT.NONE );
+    new TreeItem( item, SWT.NONE );
+    TreeItem lastItem = new TreeItem( tree, SWT.NONE );
+    item.setExpanded( true );
+
+    item.setExpanded( false );
+
+    assertSame( lastItem, tree.getVisibleItem( 1 ) );
+  }
+
+  @Test
+  public void testGetVisibleItem_withInvalidFlatIndex() {
+    TreeItem item = new TreeItem( tree, SWT.NONE );
+    new TreeItem( item, SWT.NONE );
+    item.setExpanded( true );
+
+    TreeItem newSubItem = new TreeItem( item, SWT.NONE );
+
+    assertFalse( tree.isFlatIndexValid );
+    assertSame( newSubItem, tree.getVisibleItem( 2 ) );
+  }
+
+  @Test
+  public void testGetVisibleItem_virtualWithUnresolvedItems() {
+    tree = new Tree( shell, SWT.VIRTUAL );
+    tree.setItemCount( 100 );
+
+    TreeItem item = tree.getItem( 50 );
+
+    assertNull( tree.getVisibleItem( 49 ) );
+    assertSame( item, tree.getVisibleItem( 50 ) );
+  }
+
   @Test
   public void testPreferredWidthBufferHandlingOfTreeItem() throws IOException {
     TreeItem item1 = new TreeItem( tree, SWT.NONE );
@@ -300,7 +300,7 @@ public final class Fixture {
   private static void finishResponse( TestResponse response ) {
     if( response.getContent().length() == 0 ) {
       try {
-        getProtocolWriter().createMessage().toJson().writeTo( response.getWriter() );
+        getProtocolWriter().createMessage().writeTo( response.getWriter() );
       } catch( IOException exception ) {
         throw new IllegalStateException( "Failed to get response writer", exception );
       }
@@ -616,6 +616,9 @@ public final class Fixture {
         }
       }
       @Override
+      public void startThread() {
+      }
+      @Override
       public void updateServiceContext() {
       }
       @Override
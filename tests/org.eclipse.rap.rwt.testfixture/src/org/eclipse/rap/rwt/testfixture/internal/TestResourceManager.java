@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2013 EclipseSource and others.
+ * Copyright (c) 2009, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -42,6 +42,11 @@ public class TestResourceManager extends ResourceManagerImpl {
     registeredResources.add( name );
   }
 
+  @Override
+  public void registerContent( String name, byte[] content ) {
+    registeredResources.add( name );
+  }
+
   @Override
   public boolean unregister( String name ) {
     return registeredResources.remove( name );
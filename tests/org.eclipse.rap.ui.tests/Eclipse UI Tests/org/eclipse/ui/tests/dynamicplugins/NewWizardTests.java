@@ -12,6 +12,7 @@ package org.eclipse.ui.tests.dynamicplugins;
 
 import org.eclipse.ui.internal.WorkbenchPlugin;
 import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
+import org.eclipse.ui.internal.wizards.NewWizardRegistry;
 import org.eclipse.ui.wizards.IWizardRegistry;
 import org.eclipse.ui.wizards.IWizardDescriptor;
 
@@ -47,6 +48,33 @@ public class NewWizardTests extends DynamicTestCase {
 		}
 	}
 
+	public void testNewWizardElementsShared() {
+		NewWizardRegistry registry = NewWizardRegistry.getInstance();
+		getBundle();
+		IWizardDescriptor wizard = registry.findWizard(WIZARD_ID);
+		assertNotNull(wizard);
+
+		// a disposed registry reads the elements again, as in a new session
+		registry.dispose();
+
+		assertSame(wizard, registry.findWizard(WIZARD_ID));
+	}
+
+	public void testNewWizardElementsDiscardedOnExtensionChange() {
+		NewWizardRegistry registry = NewWizardRegistry.getInstance();
+		getBundle();
+		IWizardDescriptor wizard = registry.findWizard(WIZARD_ID);
+		assertNotNull(wizard);
+		removeBundle();
+		assertNull(registry.findWizard(WIZARD_ID));
+
+		getBundle();
+		IWizardDescriptor addedWizard = registry.findWizard(WIZARD_ID);
+
+		assertNotNull(addedWizard);
+		assertNotSame(wizard, addedWizard);
+	}
+
 	/**
 	 * @param wizard
 	 */